@@ -19,36 +19,166 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 import static org.openkilda.messaging.Utils.PAYLOAD;
 import static org.openkilda.messaging.Utils.TIMESTAMP;
 
+import org.openkilda.messaging.Utils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.base.Utf8;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A page of a response which is split into several messages. Every message carries a list of items, the receiver
+ * collects the pages by their indexes until all of {@code totalMessages} pages are received.
+ * <p/>
+ * The messages of the former format, with a single item in the {@code payload} and the page index as the prefix of
+ * {@code message_id}, are still accepted.
+ */
 @Getter
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
 public class ChunkedInfoMessage extends InfoMessage {
+    private static final TypeReference<List<InfoData>> ITEMS_TYPE = new TypeReference<List<InfoData>>() {};
 
     @JsonProperty("message_id")
     private String messageId;
 
+    @JsonProperty("message_index")
+    private int messageIndex;
+
     @JsonProperty("total_messages")
     private int totalMessages;
 
-    public ChunkedInfoMessage(@JsonProperty(PAYLOAD) InfoData data,
+    @Getter(onMethod_ = @JsonIgnore)
+    private List<InfoData> items;
+
+    /**
+     * The JSON of the items made while splitting the response, so the items are not serialized twice.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient String itemsJson;
+
+    @JsonCreator
+    public ChunkedInfoMessage(@JsonProperty("items") List<InfoData> items,
+                              @JsonProperty(PAYLOAD) InfoData payload,
                               @JsonProperty(TIMESTAMP) long timestamp,
                               @JsonProperty(CORRELATION_ID) String correlationId,
                               @JsonProperty("message_id") String messageId,
+                              @JsonProperty("message_index") Integer messageIndex,
                               @JsonProperty("total_messages") int totalMessages) {
-        super(data, timestamp, correlationId);
+        super(null, timestamp, correlationId);
+        if (items != null) {
+            this.items = items;
+        } else {
+            this.items = payload != null ? Collections.singletonList(payload) : Collections.emptyList();
+        }
         this.messageId = messageId;
+        this.messageIndex = messageIndex != null ? messageIndex : parseMessageIndex(messageId);
         this.totalMessages = totalMessages;
     }
 
-    public ChunkedInfoMessage(InfoData data, long timestamp, String correlationId,
+    public ChunkedInfoMessage(List<InfoData> items, long timestamp, String correlationId,
                               int messageIndex, int totalMessages) {
-        super(data, timestamp, correlationId);
-        this.messageId = String.join(" : ", String.valueOf(messageIndex), correlationId);
-        this.totalMessages = totalMessages;
+        this(items, null, timestamp, correlationId, String.join(" : ", String.valueOf(messageIndex), correlationId),
+                messageIndex, totalMessages);
+    }
+
+    private ChunkedInfoMessage(List<InfoData> items, String itemsJson, long timestamp, String correlationId,
+                               int messageIndex, int totalMessages) {
+        this(items, timestamp, correlationId, messageIndex, totalMessages);
+        this.itemsJson = itemsJson;
+    }
+
+    /**
+     * Splits the response into pages. A page is closed when it reaches {@code maxItems} items or when adding the next
+     * item would make the JSON of the page items exceed {@code maxBytes}, an item bigger than {@code maxBytes} makes
+     * a page on its own. An empty response results in a single page without items.
+     * <p/>
+     * When the pages are limited by bytes, every item is serialized once to measure it, and the pages reuse this JSON
+     * when they are serialized.
+     *
+     * @param maxItems the maximum number of items per page.
+     * @param maxBytes the maximum size of the page items in bytes, 0 means the page size is not limited by bytes.
+     */
+    public static List<ChunkedInfoMessage> createChunkedList(List<? extends InfoData> response, String correlationId,
+                                                             int maxItems, int maxBytes)
+            throws JsonProcessingException {
+        if (maxItems <= 0 || maxBytes < 0) {
+            throw new IllegalArgumentException("Page size limits must be positive");
+        }
+
+        List<List<InfoData>> pages = new ArrayList<>();
+        List<StringJoiner> pagesJson = new ArrayList<>();
+        List<InfoData> page = new ArrayList<>();
+        StringJoiner pageJson = maxBytes > 0 ? makeItemsJoiner() : null;
+        long pageBytes = 0;
+        for (InfoData item : response) {
+            String itemJson = maxBytes > 0 ? Utils.MAPPER.writeValueAsString(item) : null;
+            long itemBytes = itemJson != null ? Utf8.encodedLength(itemJson) : 0;
+            if (page.size() == maxItems || (!page.isEmpty() && pageBytes + itemBytes > maxBytes && maxBytes > 0)) {
+                pages.add(page);
+                pagesJson.add(pageJson);
+                page = new ArrayList<>();
+                pageJson = maxBytes > 0 ? makeItemsJoiner() : null;
+                pageBytes = 0;
+            }
+            page.add(item);
+            if (pageJson != null) {
+                pageJson.add(itemJson);
+            }
+            pageBytes += itemBytes;
+        }
+        if (!page.isEmpty() || pages.isEmpty()) {
+            pages.add(page);
+            pagesJson.add(pageJson);
+        }
+
+        long timestamp = System.currentTimeMillis();
+        int totalMessages = response.isEmpty() ? 0 : pages.size();
+        List<ChunkedInfoMessage> messages = new ArrayList<>(pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            String itemsJson = pagesJson.get(i) != null ? pagesJson.get(i).toString() : null;
+            messages.add(new ChunkedInfoMessage(pages.get(i), itemsJson, timestamp, correlationId, i, totalMessages));
+        }
+        return messages;
+    }
+
+    @JsonProperty("items")
+    @JsonRawValue
+    private String getItemsJson() throws JsonProcessingException {
+        if (itemsJson != null) {
+            return itemsJson;
+        }
+        return Utils.MAPPER.writerFor(ITEMS_TYPE).writeValueAsString(items);
+    }
+
+    private static StringJoiner makeItemsJoiner() {
+        return new StringJoiner(",", "[", "]");
+    }
+
+    private static int parseMessageIndex(String messageId) {
+        // the former messages carry the page index as the prefix of the message ID
+        int separator = messageId != null ? messageId.indexOf(" : ") : -1;
+        if (separator < 0) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(messageId.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
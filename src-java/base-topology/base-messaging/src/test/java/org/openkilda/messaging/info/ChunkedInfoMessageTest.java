@@ -0,0 +1,136 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.StringSerializer;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.event.SwitchChangeType;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ChunkedInfoMessageTest {
+    private static final String CORRELATION_ID = "chunked-request";
+
+    @Test
+    public void shouldSplitResponseByItems() throws Exception {
+        List<ChunkedInfoMessage> messages = ChunkedInfoMessage.createChunkedList(makeResponse(25), CORRELATION_ID,
+                10, 0);
+
+        assertEquals(3, messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            assertEquals(i, messages.get(i).getMessageIndex());
+            assertEquals(3, messages.get(i).getTotalMessages());
+            assertEquals(CORRELATION_ID, messages.get(i).getCorrelationId());
+        }
+        assertEquals(10, messages.get(0).getItems().size());
+        assertEquals(10, messages.get(1).getItems().size());
+        assertEquals(5, messages.get(2).getItems().size());
+    }
+
+    @Test
+    public void shouldSplitResponseByBytes() throws Exception {
+        List<InfoData> response = makeResponse(20);
+        int itemBytes = Utils.MAPPER.writeValueAsBytes(response.get(0)).length;
+
+        List<ChunkedInfoMessage> messages = ChunkedInfoMessage.createChunkedList(response, CORRELATION_ID,
+                100, itemBytes * 4 + itemBytes / 2);
+
+        assertEquals(5, messages.size());
+        messages.forEach(message -> assertEquals(4, message.getItems().size()));
+    }
+
+    @Test
+    public void shouldPutOversizedItemIntoItsOwnPage() throws Exception {
+        List<ChunkedInfoMessage> messages = ChunkedInfoMessage.createChunkedList(makeResponse(3), CORRELATION_ID,
+                100, 1);
+
+        assertEquals(3, messages.size());
+        messages.forEach(message -> assertEquals(1, message.getItems().size()));
+    }
+
+    @Test
+    public void shouldMakeSinglePageForEmptyResponse() throws Exception {
+        List<ChunkedInfoMessage> messages = ChunkedInfoMessage.createChunkedList(Collections.emptyList(),
+                CORRELATION_ID, 10, 0);
+
+        assertEquals(1, messages.size());
+        assertEquals(0, messages.get(0).getTotalMessages());
+        assertTrue(messages.get(0).getItems().isEmpty());
+    }
+
+    @Test
+    public void serializeLoop() throws Exception {
+        ChunkedInfoMessage origin = ChunkedInfoMessage.createChunkedList(makeResponse(3), CORRELATION_ID, 10, 0)
+                .get(0);
+        StringSerializer serializer = new StringSerializer();
+        serializer.serialize(origin);
+
+        ChunkedInfoMessage reconstruct = (ChunkedInfoMessage) serializer.deserialize();
+        assertEquals(origin, reconstruct);
+        assertEquals(new SwitchId(1002), ((SwitchInfoData) reconstruct.getItems().get(2)).getSwitchId());
+    }
+
+    @Test
+    public void shouldSerializePagesSplitByBytesAsOtherPages() throws Exception {
+        List<InfoData> response = makeResponse(3);
+        ChunkedInfoMessage splitByBytes = ChunkedInfoMessage.createChunkedList(response, CORRELATION_ID, 10, 1_000_000)
+                .get(0);
+        ChunkedInfoMessage splitByItems = ChunkedInfoMessage.createChunkedList(response, CORRELATION_ID, 10, 0)
+                .get(0);
+
+        JsonNode expected = Utils.MAPPER.readTree(Utils.MAPPER.writeValueAsString(splitByItems));
+        JsonNode actual = Utils.MAPPER.readTree(Utils.MAPPER.writeValueAsString(splitByBytes));
+        assertEquals(expected.get("items"), actual.get("items"));
+
+        ChunkedInfoMessage reconstruct = Utils.MAPPER.readValue(Utils.MAPPER.writeValueAsString(splitByBytes),
+                ChunkedInfoMessage.class);
+        assertEquals(response, reconstruct.getItems());
+    }
+
+    @Test
+    public void shouldDeserializeSingleItemPayloadMessage() throws Exception {
+        InfoData item = makeResponse(1).get(0);
+        String json = String.format("{\"clazz\":\"%s\",\"payload\":%s,\"timestamp\":1,"
+                        + "\"correlation_id\":\"%s\",\"message_id\":\"2 : %s\",\"total_messages\":3}",
+                ChunkedInfoMessage.class.getName(), Utils.MAPPER.writeValueAsString(item), CORRELATION_ID,
+                CORRELATION_ID);
+
+        ChunkedInfoMessage message = (ChunkedInfoMessage) Utils.MAPPER.readValue(json, Message.class);
+        assertEquals(Collections.singletonList(item), message.getItems());
+        assertEquals(2, message.getMessageIndex());
+        assertEquals(3, message.getTotalMessages());
+    }
+
+    private static List<InfoData> makeResponse(int size) {
+        List<InfoData> response = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            response.add(new SwitchInfoData(new SwitchId(i + 1000), SwitchChangeType.ACTIVATED, null, null, null,
+                    null, false));
+        }
+        return response;
+    }
+}
@@ -21,6 +21,7 @@ import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.bluegreen.Signal;
 import org.openkilda.persistence.context.PersistenceContextRequired;
 import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.metrics.PersistenceMetric;
 import org.openkilda.wfm.share.zk.ZkStreams;
 
 import lombok.AccessLevel;
@@ -182,6 +183,7 @@ public abstract class AbstractBolt extends BaseRichBolt {
         this.output = collector;
         this.taskId = context.getThisTaskId();
         this.componentId = String.format("%s:%d", context.getThisComponentId(), this.taskId);
+        PersistenceMetric.registerOnce(stormConf, context);
 
         init();
     }
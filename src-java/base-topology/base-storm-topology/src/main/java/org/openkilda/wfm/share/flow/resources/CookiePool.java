@@ -24,9 +24,6 @@ import org.openkilda.persistence.tx.TransactionRequired;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Optional;
-import java.util.Random;
-
 /**
  * The resource pool is responsible for cookie de-/allocation.
  */
@@ -35,20 +32,16 @@ public class CookiePool {
     private final TransactionManager transactionManager;
     private final FlowCookieRepository flowCookieRepository;
 
-    private final long minCookie;
-    private final long maxCookie;
-    private final int poolSize;
-
-    private long nextCookie = 0;
+    private final ResourceIdBitmap cookies;
 
     public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie, int poolSize) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowCookieRepository = repositoryFactory.createFlowCookieRepository();
 
-        this.minCookie = minCookie;
-        this.maxCookie = maxCookie;
-        this.poolSize = poolSize;
+        cookies = new ResourceIdBitmap(minCookie, maxCookie, poolSize,
+                () -> flowCookieRepository.findAssignedCookies(minCookie, maxCookie).stream()
+                        .mapToLong(Long::longValue));
     }
 
     /**
@@ -58,40 +51,10 @@ public class CookiePool {
      */
     @TransactionRequired
     public long allocate(String flowId) {
-        if (nextCookie > 0) {
-            if (nextCookie <= maxCookie && !flowCookieRepository.exists(nextCookie)) {
-                addCookie(flowId, nextCookie);
-                return nextCookie++;
-            } else {
-                nextCookie = 0;
-            }
-        }
-        // The pool requires (re-)initialization.
-        if (nextCookie == 0) {
-            long numOfPools = (maxCookie - minCookie) / poolSize;
-            if (numOfPools > 1) {
-                long poolToTake = Math.abs(new Random().nextInt()) % numOfPools;
-                Optional<Long> availableCookie = flowCookieRepository.findFirstUnassignedCookie(
-                        minCookie + poolToTake * poolSize,
-                        minCookie + (poolToTake + 1) * poolSize - 1);
-                if (availableCookie.isPresent()) {
-                    nextCookie = availableCookie.get();
-                    addCookie(flowId, nextCookie);
-                    return nextCookie++;
-                }
-            }
-            // The pool requires full scan.
-            nextCookie = -1;
-        }
-        if (nextCookie == -1) {
-            Optional<Long> availableCookie = flowCookieRepository.findFirstUnassignedCookie(minCookie, maxCookie);
-            if (availableCookie.isPresent()) {
-                nextCookie = availableCookie.get();
-                addCookie(flowId, nextCookie);
-                return nextCookie++;
-            }
-        }
-        throw new ResourceNotAvailableException("No cookie available");
+        long cookie = cookies.allocate(flowCookieRepository::exists)
+                .orElseThrow(() -> new ResourceNotAvailableException("No cookie available"));
+        addCookie(flowId, cookie);
+        return cookie;
     }
 
     private void addCookie(String flowId, long cookie) {
@@ -108,7 +71,10 @@ public class CookiePool {
     public void deallocate(long unmaskedCookie) {
         transactionManager.doInTransaction(() ->
                 flowCookieRepository.findByCookie(unmaskedCookie)
-                        .ifPresent(flowCookieRepository::remove)
+                        .ifPresent(flowCookie -> {
+                            flowCookieRepository.remove(flowCookie);
+                            cookies.release(unmaskedCookie);
+                        })
         );
     }
 }
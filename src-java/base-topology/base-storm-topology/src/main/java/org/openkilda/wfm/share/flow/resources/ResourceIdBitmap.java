@@ -0,0 +1,154 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static java.lang.String.format;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.BitSet;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory bitmap of the resource ids in use within a range, so pools don't probe the repository id by id.
+ * <p/>
+ * The bitmap is a hint only: pools of other workers allocate from the same range, and transactions which allocate
+ * or release ids may be rolled back. So ids are taken sequentially from a randomly chosen chunk of the range to keep
+ * concurrent pools apart, every candidate is confirmed against the repository within the allocation transaction,
+ * and the bitmap is rebuilt from the repository when it runs out of candidates or hits too many conflicts.
+ * <p/>
+ * The bitmap is loaded on the first allocation. It is not thread-safe.
+ */
+@Slf4j
+public class ResourceIdBitmap {
+    private static final int MAX_CONFLICTS_BEFORE_RELOAD = 16;
+
+    private final long minId;
+    private final int size;
+    private final int chunkSize;
+    private final Supplier<LongStream> assignedIdsLoader;
+    private final Random random = new Random();
+
+    private BitSet used;
+    private int cursor;
+    private int chunkEnd;
+
+    /**
+     * Creates a bitmap for the range.
+     *
+     * @param minId the lowest id of the range (inclusive).
+     * @param maxId the highest id of the range (inclusive).
+     * @param chunkSize the number of sequential ids to allocate before jumping to another random chunk.
+     * @param assignedIdsLoader provides the ids of the range which are assigned in the repository.
+     */
+    public ResourceIdBitmap(long minId, long maxId, int chunkSize, Supplier<LongStream> assignedIdsLoader) {
+        if (maxId < minId || maxId - minId >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid resource id range %d..%d", minId, maxId));
+        }
+        this.minId = minId;
+        this.size = (int) (maxId - minId + 1);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.assignedIdsLoader = assignedIdsLoader;
+    }
+
+    /**
+     * Picks an id which is not in use and marks it as used.
+     *
+     * @param isAssigned confirms whether the candidate id is already assigned in the repository.
+     * @return the picked id or empty if all ids of the range are assigned.
+     */
+    public OptionalLong allocate(LongPredicate isAssigned) {
+        boolean reloaded = false;
+        if (used == null) {
+            reload();
+            reloaded = true;
+        }
+
+        int conflicts = 0;
+        while (true) {
+            int offset = nextCandidate();
+            if (offset < 0) {
+                if (reloaded) {
+                    return OptionalLong.empty();
+                }
+                reload();
+                reloaded = true;
+                continue;
+            }
+
+            used.set(offset);
+            long id = minId + offset;
+            if (!isAssigned.test(id)) {
+                return OptionalLong.of(id);
+            }
+
+            log.debug("Resource id {} is already assigned, the in-memory bitmap is outdated", id);
+            if (!reloaded && ++conflicts >= MAX_CONFLICTS_BEFORE_RELOAD) {
+                reload();
+                reloaded = true;
+            }
+        }
+    }
+
+    /**
+     * Marks the id as not in use.
+     */
+    public void release(long id) {
+        if (used != null && id >= minId && id - minId < size) {
+            used.clear((int) (id - minId));
+        }
+    }
+
+    private int nextCandidate() {
+        if (cursor < chunkEnd) {
+            int offset = used.nextClearBit(cursor);
+            if (offset < chunkEnd) {
+                cursor = offset + 1;
+                return offset;
+            }
+        }
+
+        // The chunk is exhausted, take the first free id starting from a random chunk.
+        int chunkCount = (size - 1) / chunkSize + 1;
+        int start = random.nextInt(chunkCount) * chunkSize;
+        int offset = used.nextClearBit(start);
+        if (offset >= size) {
+            offset = used.nextClearBit(0);
+            if (offset >= start) {
+                return -1;
+            }
+        }
+        cursor = offset + 1;
+        chunkEnd = Math.min(size, (offset / chunkSize + 1) * chunkSize);
+        return offset;
+    }
+
+    private void reload() {
+        BitSet bitmap = new BitSet(size);
+        assignedIdsLoader.get()
+                .filter(id -> id >= minId && id - minId < size)
+                .forEach(id -> bitmap.set((int) (id - minId)));
+        log.debug("Loaded {} assigned resource ids of the range starting at {}", bitmap.cardinality(), minId);
+
+        used = bitmap;
+        cursor = 0;
+        chunkEnd = 0;
+    }
+}
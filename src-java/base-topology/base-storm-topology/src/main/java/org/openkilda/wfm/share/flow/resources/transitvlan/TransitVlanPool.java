@@ -24,13 +24,13 @@ import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.persistence.tx.TransactionRequired;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
 import java.util.Optional;
-import java.util.Random;
 
 /**
  * The resource pool is responsible for transit vlan de-/allocation.
@@ -40,11 +40,7 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     private final TransactionManager transactionManager;
     private final TransitVlanRepository transitVlanRepository;
 
-    private final int minTransitVlan;
-    private final int maxTransitVlan;
-    private final int poolSize;
-
-    private int nextVlan = 0;
+    private final ResourceIdBitmap vlans;
 
     public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan,
                            int poolSize) {
@@ -52,9 +48,9 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         transitVlanRepository = repositoryFactory.createTransitVlanRepository();
 
-        this.minTransitVlan = minTransitVlan;
-        this.maxTransitVlan = maxTransitVlan;
-        this.poolSize = poolSize;
+        vlans = new ResourceIdBitmap(minTransitVlan, maxTransitVlan, poolSize,
+                () -> transitVlanRepository.findAssignedVlans(minTransitVlan, maxTransitVlan).stream()
+                        .mapToLong(Integer::longValue));
     }
 
     /**
@@ -68,38 +64,9 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
     @TransactionRequired
     private TransitVlanEncapsulation allocate(Flow flow, PathId pathId) {
-        if (nextVlan > 0) {
-            if (nextVlan <= maxTransitVlan && !transitVlanRepository.exists(nextVlan)) {
-                return addVlan(flow, pathId, nextVlan++);
-            } else {
-                nextVlan = 0;
-            }
-        }
-        // The pool requires (re-)initialization.
-        if (nextVlan == 0) {
-            long numOfPools = (maxTransitVlan - minTransitVlan) / poolSize;
-            if (numOfPools > 1) {
-                long poolToTake = Math.abs(new Random().nextInt()) % numOfPools;
-                Optional<Integer> availableVlan = transitVlanRepository.findFirstUnassignedVlan(
-                        minTransitVlan + (int) poolToTake * poolSize,
-                        minTransitVlan + (int) (poolToTake + 1) * poolSize - 1);
-                if (availableVlan.isPresent()) {
-                    nextVlan = availableVlan.get();
-                    return addVlan(flow, pathId, nextVlan++);
-                }
-            }
-            // The pool requires full scan.
-            nextVlan = -1;
-        }
-        if (nextVlan == -1) {
-            Optional<Integer> availableVlan = transitVlanRepository.findFirstUnassignedVlan(minTransitVlan,
-                    minTransitVlan);
-            if (availableVlan.isPresent()) {
-                nextVlan = availableVlan.get();
-                return addVlan(flow, pathId, nextVlan++);
-            }
-        }
-        throw new ResourceNotAvailableException("No vlan available");
+        long vlan = vlans.allocate(candidate -> transitVlanRepository.exists((int) candidate))
+                .orElseThrow(() -> new ResourceNotAvailableException("No vlan available"));
+        return addVlan(flow, pathId, (int) vlan);
     }
 
     private TransitVlanEncapsulation addVlan(Flow flow, PathId pathId, int vlan) {
@@ -122,7 +89,10 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 transitVlanRepository.findByPathId(pathId, null)
-                        .forEach(transitVlanRepository::remove));
+                        .forEach(transitVlan -> {
+                            transitVlanRepository.remove(transitVlan);
+                            vlans.release(transitVlan.getVlan());
+                        }));
     }
 
     /**
@@ -125,6 +125,16 @@ public abstract class WorkerBolt extends CoordinatedBolt {
         } catch (PipelineException e) {
             throw new IllegalStateException(String.format("Can't extract request key from %s: %s", input, e), e);
         }
+        emitResponseToHub(key, values);
+    }
+
+    /**
+     * Send response to the hub bolt for the request with specified key. Used when one tuple carries responses for
+     * several requests.
+     * @param key operation's key.
+     * @param values response to be sent to the hub.
+     */
+    protected void emitResponseToHub(String key, Values values) {
         cancelCallback(key);
 
         Tuple processingRequest = pendingTasks.remove(key);
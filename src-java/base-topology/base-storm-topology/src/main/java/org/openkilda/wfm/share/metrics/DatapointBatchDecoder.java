@@ -0,0 +1,165 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Decodes batches produced by {@link DatapointBatchEncoder}. Datapoints of a batch which have the same tags share
+ * a single unmodifiable tags map.
+ */
+public final class DatapointBatchDecoder {
+    private final byte[] data;
+    private int position;
+
+    private DatapointBatchDecoder(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Checks whether the data is a datapoint batch rather than a JSON encoded message.
+     */
+    public static boolean isBatch(byte[] data) {
+        return data != null && data.length >= 3
+                && data[0] == DatapointBatchEncoder.MAGIC_0 && data[1] == DatapointBatchEncoder.MAGIC_1;
+    }
+
+    /**
+     * Decodes the batch passing its datapoints to the consumer in the order they were added to the batch.
+     *
+     * @throws IllegalArgumentException if the data is not a valid batch.
+     */
+    public static void decode(byte[] data, Consumer<Datapoint> consumer) {
+        if (!isBatch(data)) {
+            throw new IllegalArgumentException("The data is not a datapoint batch");
+        }
+        if (data[2] != DatapointBatchEncoder.VERSION) {
+            throw new IllegalArgumentException(format("Unsupported datapoint batch version %d", data[2]));
+        }
+        try {
+            DatapointBatchDecoder decoder = new DatapointBatchDecoder(data);
+            decoder.position = 3;
+            decoder.decode(consumer);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The datapoint batch is truncated", e);
+        }
+    }
+
+    private void decode(Consumer<Datapoint> consumer) {
+        String[] strings = new String[readCount()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readCount();
+            strings[i] = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String>[] tagSets = new Map[readCount()];
+        for (int i = 0; i < tagSets.length; i++) {
+            int count = readCount();
+            Map<String, String> tags = new HashMap<>(count * 2);
+            for (int j = 0; j < count; j++) {
+                tags.put(strings[readIndex()], strings[readIndex()]);
+            }
+            tagSets[i] = Collections.unmodifiableMap(tags);
+        }
+
+        int size = readCount();
+        int[] metrics = new int[size];
+        for (int i = 0; i < size; i++) {
+            metrics[i] = readIndex();
+        }
+        int[] tagSetRefs = new int[size];
+        for (int i = 0; i < size; i++) {
+            tagSetRefs[i] = readIndex();
+        }
+        long[] timestamps = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += readSignedVarint();
+            timestamps[i] = previous;
+        }
+        int valueTypesPosition = position;
+        position += size;
+        for (int i = 0; i < size; i++) {
+            Number value;
+            byte valueType = data[valueTypesPosition + i];
+            if (valueType == DatapointBatchEncoder.VALUE_TYPE_LONG) {
+                value = readSignedVarint();
+            } else if (valueType == DatapointBatchEncoder.VALUE_TYPE_DOUBLE) {
+                value = Double.longBitsToDouble(readLong());
+            } else if (valueType == DatapointBatchEncoder.VALUE_TYPE_NULL) {
+                value = null;
+            } else {
+                throw new IllegalArgumentException(format("Unknown datapoint value type %d", valueType));
+            }
+            consumer.accept(new Datapoint(strings[metrics[i]], timestamps[i], tagSets[tagSetRefs[i]], value));
+        }
+    }
+
+    /**
+     * Reads the number of elements or bytes which follow. Every element takes at least a byte, so a count greater
+     * than the number of remaining bytes means the batch is corrupted or truncated.
+     */
+    private int readCount() {
+        int value = readIndex();
+        if (value > data.length - position) {
+            throw new IllegalArgumentException(format(
+                    "Datapoint batch count %d exceeds the remaining %d bytes", value, data.length - position));
+        }
+        return value;
+    }
+
+    private int readIndex() {
+        long value = readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid datapoint batch number %d", value));
+        }
+        return (int) value;
+    }
+
+    private long readSignedVarint() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte current = data[position++];
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in the datapoint batch");
+    }
+
+    private long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,206 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates datapoints and encodes them into a compact binary batch, which is decoded by
+ * {@link DatapointBatchDecoder}.
+ * <p/>
+ * The batch is columnar: metric names and tag sets are interned into tables, so a tag set shared by several
+ * datapoints is written once, and every datapoint is encoded as indexes into the tables, a timestamp delta and
+ * a value. Layout (all integers are unsigned varints, signed ones are zigzag encoded):
+ * <pre>
+ * magic(2 bytes) version(1 byte)
+ * string count, strings: (byte length, UTF-8 bytes)*
+ * tag set count, tag sets: (tag count, (key string index, value string index)*)*
+ * datapoint count
+ * metric string indexes, tag set indexes, signed timestamp deltas (each column has a value per datapoint)
+ * value types (a byte per datapoint), values (signed varint for integral numbers, 8 bytes for floating point)
+ * </pre>
+ * The encoder is not thread-safe.
+ */
+public class DatapointBatchEncoder {
+    static final byte MAGIC_0 = 0;
+    static final byte MAGIC_1 = 'D';
+    static final byte VERSION = 1;
+
+    static final byte VALUE_TYPE_LONG = 0;
+    static final byte VALUE_TYPE_DOUBLE = 1;
+    static final byte VALUE_TYPE_NULL = 2;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<Map<String, String>, Integer> tagSetIndexes = new HashMap<>();
+    private final List<int[]> tagSets = new ArrayList<>();
+
+    private int size;
+    private int[] metrics = new int[INITIAL_CAPACITY];
+    private int[] tagSetRefs = new int[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private byte[] valueTypes = new byte[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+
+    /**
+     * Adds the datapoint to the batch.
+     */
+    public void add(String metric, long timestamp, Number value, Map<String, String> tags) {
+        if (size == metrics.length) {
+            int capacity = size * 2;
+            metrics = Arrays.copyOf(metrics, capacity);
+            tagSetRefs = Arrays.copyOf(tagSetRefs, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            valueTypes = Arrays.copyOf(valueTypes, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        metrics[size] = internString(metric);
+        tagSetRefs[size] = internTagSet(tags != null ? tags : Collections.emptyMap());
+        timestamps[size] = timestamp;
+        if (value == null) {
+            valueTypes[size] = VALUE_TYPE_NULL;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            valueTypes[size] = VALUE_TYPE_LONG;
+            values[size] = value.longValue();
+        } else {
+            valueTypes[size] = VALUE_TYPE_DOUBLE;
+            values[size] = Double.doubleToRawLongBits(value.doubleValue());
+        }
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Encodes the accumulated datapoints and resets the encoder.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + size * 8);
+        out.write(MAGIC_0);
+        out.write(MAGIC_1);
+        out.write(VERSION);
+
+        writeVarint(out, strings.size());
+        for (String entry : strings) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        writeVarint(out, tagSets.size());
+        for (int[] tagSet : tagSets) {
+            writeVarint(out, tagSet.length / 2);
+            for (int index : tagSet) {
+                writeVarint(out, index);
+            }
+        }
+
+        writeVarint(out, size);
+        for (int i = 0; i < size; i++) {
+            writeVarint(out, metrics[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            writeVarint(out, tagSetRefs[i]);
+        }
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            writeSignedVarint(out, timestamps[i] - previous);
+            previous = timestamps[i];
+        }
+        out.write(valueTypes, 0, size);
+        for (int i = 0; i < size; i++) {
+            if (valueTypes[i] == VALUE_TYPE_LONG) {
+                writeSignedVarint(out, values[i]);
+            } else if (valueTypes[i] == VALUE_TYPE_DOUBLE) {
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) (values[i] >>> shift));
+                }
+            }
+        }
+
+        reset();
+        return out.toByteArray();
+    }
+
+    /**
+     * Drops the accumulated datapoints.
+     */
+    public void reset() {
+        stringIndexes.clear();
+        strings.clear();
+        tagSetIndexes.clear();
+        tagSets.clear();
+        size = 0;
+    }
+
+    private int internString(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Metric names and tags must not be null");
+        }
+        Integer index = stringIndexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            stringIndexes.put(value, index);
+        }
+        return index;
+    }
+
+    private int internTagSet(Map<String, String> tags) {
+        Integer index = tagSetIndexes.get(tags);
+        if (index == null) {
+            int[] tagSet = new int[tags.size() * 2];
+            int position = 0;
+            for (Map.Entry<String, String> entry : tags.entrySet()) {
+                tagSet[position++] = internString(entry.getKey());
+                tagSet[position++] = internString(entry.getValue());
+            }
+            index = tagSets.size();
+            tagSets.add(tagSet);
+            // Copy the key, the caller is free to modify its map once the datapoint is added.
+            tagSetIndexes.put(new HashMap<>(tags), index);
+        }
+        return index;
+    }
+
+    private static void writeSignedVarint(ByteArrayOutputStream out, long value) {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
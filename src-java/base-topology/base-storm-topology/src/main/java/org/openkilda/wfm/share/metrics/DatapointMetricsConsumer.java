@@ -0,0 +1,124 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.Datapoint;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.storm.Config;
+import org.apache.storm.metric.api.IMetricsConsumer;
+import org.apache.storm.task.IErrorReporter;
+import org.apache.storm.task.TopologyContext;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A metrics consumer which sends the {@link Datapoint} values of Storm metrics to the OpenTSDB Kafka topic, so they
+ * reach OpenTSDB the same way as the datapoints emitted by topologies. The datapoints are tagged with the topology
+ * and the worker which produced them, values of other types are ignored.
+ * <p/>
+ * The Kafka producer is created on the first datapoint, so workers which have nothing to report don't open it.
+ */
+@Slf4j
+public class DatapointMetricsConsumer implements IMetricsConsumer {
+    public static final String TOPIC_ARGUMENT = "topic";
+    public static final String PRODUCER_PROPERTIES_ARGUMENT = "producer-properties";
+
+    private String topic;
+    private String topologyName;
+    private Properties producerProperties;
+    private KafkaProducer<String, String> producer;
+
+    /**
+     * Makes the registration argument of the consumer. It's a part of the topology config, so it consists of
+     * strings and maps only.
+     */
+    public static Map<String, Object> makeRegistrationArgument(String topic, Properties producerProperties) {
+        Map<String, String> properties = new HashMap<>();
+        for (String name : producerProperties.stringPropertyNames()) {
+            properties.put(name, producerProperties.getProperty(name));
+        }
+
+        Map<String, Object> argument = new HashMap<>();
+        argument.put(TOPIC_ARGUMENT, topic);
+        argument.put(PRODUCER_PROPERTIES_ARGUMENT, properties);
+        return argument;
+    }
+
+    @Override
+    public void prepare(Map stormConf, Object registrationArgument, TopologyContext context,
+                        IErrorReporter errorReporter) {
+        Map<?, ?> argument = (Map<?, ?>) registrationArgument;
+        topic = (String) argument.get(TOPIC_ARGUMENT);
+        topologyName = (String) stormConf.get(Config.TOPOLOGY_NAME);
+
+        producerProperties = new Properties();
+        producerProperties.putAll((Map<?, ?>) argument.get(PRODUCER_PROPERTIES_ARGUMENT));
+    }
+
+    @Override
+    public void handleDataPoints(TaskInfo taskInfo, Collection<DataPoint> dataPoints) {
+        for (DataPoint dataPoint : dataPoints) {
+            if (!(dataPoint.value instanceof Collection)) {
+                continue;
+            }
+            for (Object value : (Collection<?>) dataPoint.value) {
+                if (value instanceof Datapoint) {
+                    send(taskInfo, (Datapoint) value);
+                }
+            }
+        }
+    }
+
+    private void send(TaskInfo taskInfo, Datapoint datapoint) {
+        Map<String, String> tags = new HashMap<>();
+        if (datapoint.getTags() != null) {
+            tags.putAll(datapoint.getTags());
+        }
+        if (topologyName != null) {
+            tags.put("topology", topologyName);
+        }
+        tags.put("host", taskInfo.srcWorkerHost);
+        tags.put("port", String.valueOf(taskInfo.srcWorkerPort));
+        Datapoint tagged = new Datapoint(datapoint.getMetric(), datapoint.getTime(), tags, datapoint.getValue());
+        try {
+            getProducer().send(new ProducerRecord<>(topic, Utils.MAPPER.writeValueAsString(tagged)));
+        } catch (JsonProcessingException e) {
+            log.error("Unable to serialize the datapoint {}", tagged, e);
+        }
+    }
+
+    private KafkaProducer<String, String> getProducer() {
+        if (producer == null) {
+            producer = new KafkaProducer<>(producerProperties);
+        }
+        return producer;
+    }
+
+    @Override
+    public void cleanup() {
+        if (producer != null) {
+            producer.close();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.persistence.metrics.PersistenceMetrics;
+import org.openkilda.persistence.metrics.PersistenceMetrics.Sample;
+import org.openkilda.wfm.share.utils.MetricFormatter;
+
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.TopologyContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A Storm metric which drains {@link PersistenceMetrics} of the worker into OpenTSDB datapoints, they are delivered
+ * to OpenTSDB by {@link DatapointMetricsConsumer}. As the statistics are collected per JVM, the metric is registered
+ * only by the first task prepared in the worker.
+ */
+public class PersistenceMetric implements IMetric {
+    public static final String NAME = "persistence";
+    public static final String INTERVAL_CONFIG = "kilda.persistence.metrics.interval";
+    public static final String PREFIX_CONFIG = "kilda.persistence.metrics.prefix";
+
+    private static final AtomicBoolean registered = new AtomicBoolean();
+
+    private final MetricFormatter metricFormatter;
+
+    PersistenceMetric(String metricPrefix) {
+        this.metricFormatter = new MetricFormatter(metricPrefix);
+    }
+
+    /**
+     * Registers the metric if it's enabled in the topology config and not registered in the worker yet.
+     */
+    public static void registerOnce(Map<?, ?> stormConf, TopologyContext context) {
+        Object interval = stormConf != null ? stormConf.get(INTERVAL_CONFIG) : null;
+        if (!(interval instanceof Number) || ((Number) interval).intValue() <= 0) {
+            return;
+        }
+        if (registered.compareAndSet(false, true)) {
+            PersistenceMetric metric = new PersistenceMetric((String) stormConf.get(PREFIX_CONFIG));
+            context.registerMetric(NAME, metric, ((Number) interval).intValue());
+        }
+    }
+
+    /**
+     * Returns the datapoints of the interval, or null if the worker did no persistence calls within the interval.
+     * Storm doesn't pass null values to the metrics consumers, so workers which don't use persistence report nothing.
+     */
+    @Override
+    public Object getValueAndReset() {
+        List<Sample> samples = PersistenceMetrics.getInstance().drain();
+        if (samples.isEmpty()) {
+            return null;
+        }
+
+        long timestamp = System.currentTimeMillis();
+        List<Datapoint> datapoints = new ArrayList<>();
+        for (Sample sample : samples) {
+            datapoints.add(new Datapoint(metricFormatter.format(sample.getMetric()), timestamp, sample.getTags(),
+                    sample.getValue()));
+        }
+        return datapoints;
+    }
+}
@@ -42,6 +42,8 @@ import org.openkilda.wfm.kafka.CustomNamedSubscription;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.kafka.MessageSerializer;
 import org.openkilda.wfm.kafka.ObjectSerializer;
+import org.openkilda.wfm.share.metrics.DatapointMetricsConsumer;
+import org.openkilda.wfm.share.metrics.PersistenceMetric;
 import org.openkilda.wfm.topology.utils.AbstractMessageTranslator;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
@@ -255,6 +257,13 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         if (topologyConfig.getUseLocalCluster()) {
             getTopologyParallelism().ifPresent(stormConfig::setMaxTaskParallelism);
         }
+        if (topologyConfig.getPersistenceMetricsInterval() > 0) {
+            stormConfig.put(PersistenceMetric.INTERVAL_CONFIG, topologyConfig.getPersistenceMetricsInterval());
+            stormConfig.put(PersistenceMetric.PREFIX_CONFIG, topologyConfig.getPersistenceMetricsPrefix());
+            stormConfig.registerMetricsConsumer(DatapointMetricsConsumer.class,
+                    DatapointMetricsConsumer.makeRegistrationArgument(topologyConfig.getKafkaTopics().getOtsdbTopic(),
+                            getKafkaProducerProperties(COMMON_COMPONENT_NAME, COMMON_COMPONENT_RUN_ID)), 1);
+        }
         if (topologyDef != null && topologyDef.getConfig() != null) {
             stormConfig.putAll(topologyDef.getConfig());
         }
@@ -49,6 +49,17 @@ public interface AbstractTopologyConfig {
         return getKafkaTopics().getCtrlTopic();
     }
 
+    /**
+     * The interval (in seconds) of reporting persistence metrics to OpenTSDB, 0 disables the reporting.
+     */
+    @Key("persistence.metrics.interval")
+    @Default("60")
+    int getPersistenceMetricsInterval();
+
+    @Key("opentsdb.metric.prefix")
+    @Default("kilda.")
+    String getPersistenceMetricsPrefix();
+
     @Key("blue.green.mode")
     @Default("blue")
     String getBlueGreenMode();
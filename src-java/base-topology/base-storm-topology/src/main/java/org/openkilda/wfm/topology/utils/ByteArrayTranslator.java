@@ -0,0 +1,49 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import org.openkilda.wfm.CommandContext;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Values;
+
+/**
+ * Passes raw record payload into the tuple, leaving its decoding to the consuming bolt.
+ */
+public class ByteArrayTranslator extends KafkaRecordTranslator<String, byte[], byte[]> {
+    public static final Fields STREAM_FIELDS = new Fields(FIELD_ID_KEY, FIELD_ID_PAYLOAD);
+
+    @Override
+    public Fields getFieldsFor(String stream) {
+        return STREAM_FIELDS;
+    }
+
+    @Override
+    protected byte[] decodePayload(byte[] payload) {
+        return payload;
+    }
+
+    @Override
+    protected CommandContext makeContext(ConsumerRecord<?, ?> record, byte[] payload) {
+        return null;  // there is no context in output stream
+    }
+
+    @Override
+    protected Values makeTuple(ConsumerRecord<String, byte[]> record, byte[] payload, CommandContext context) {
+        return new Values(record.key(), payload);
+    }
+}
@@ -0,0 +1,97 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResourceIdBitmapTest {
+    private static final long MIN_ID = 10;
+    private static final long MAX_ID = 29;
+
+    private final Set<Long> assigned = new HashSet<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ResourceIdBitmap bitmap = new ResourceIdBitmap(MIN_ID, MAX_ID, 5, () -> {
+        loads.incrementAndGet();
+        return assigned.stream().mapToLong(Long::longValue);
+    });
+
+    @Test
+    public void shouldAllocateAllIdsOfRange() {
+        for (int i = 0; i < MAX_ID - MIN_ID + 1; i++) {
+            long id = allocate().getAsLong();
+            assertTrue(id >= MIN_ID && id <= MAX_ID);
+            assertTrue(assigned.add(id));
+        }
+
+        assertFalse(allocate().isPresent());
+    }
+
+    @Test
+    public void shouldAllocateSequentiallyWithinChunk() {
+        long first = allocate().getAsLong();
+        long second = allocate().getAsLong();
+
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    public void shouldSkipIdsAssignedInRepository() {
+        assigned.add(MIN_ID);
+        allocate();
+        for (long id = MIN_ID; id <= MAX_ID; id++) {
+            assigned.add(id);
+        }
+        assigned.remove(MAX_ID);
+
+        assertEquals(MAX_ID, allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldReloadWhenRunOutOfIds() {
+        for (long id = MIN_ID; id <= MAX_ID; id++) {
+            assigned.add(allocate().getAsLong());
+        }
+        assigned.remove(15L);
+
+        assertEquals(15L, allocate().getAsLong());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldReuseReleasedId() {
+        for (long id = MIN_ID; id <= MAX_ID; id++) {
+            assigned.add(allocate().getAsLong());
+        }
+        assigned.remove(20L);
+        bitmap.release(20L);
+
+        assertEquals(20L, allocate().getAsLong());
+        assertEquals(1, loads.get());
+    }
+
+    private OptionalLong allocate() {
+        return bitmap.allocate(assigned::contains);
+    }
+}
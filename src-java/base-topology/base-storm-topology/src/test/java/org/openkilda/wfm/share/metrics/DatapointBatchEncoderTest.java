@@ -0,0 +1,149 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DatapointBatchEncoderTest {
+    private final DatapointBatchEncoder encoder = new DatapointBatchEncoder();
+
+    @Test
+    public void shouldDecodeEncodedDatapoints() {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("switchid", "00:00:00:00:00:00:00:01");
+        tags.put("port", "1");
+        encoder.add("kilda.switch.rx-bytes", 1500000000000L, 42L, tags);
+        encoder.add("kilda.switch.rx-bits", 1499999999000L, 336, tags);
+        encoder.add("kilda.flow.latency", 1500000001000L, 0.25, Collections.singletonMap("flowid", "f1"));
+        encoder.add("kilda.switch.tx-bytes", 1500000002000L, -7L, null);
+        encoder.add("kilda.switch.tx-bytes", 1500000002000L, null, Collections.emptyMap());
+        assertEquals(5, encoder.size());
+
+        byte[] batch = encoder.encode();
+        assertTrue(encoder.isEmpty());
+        assertTrue(DatapointBatchDecoder.isBatch(batch));
+
+        List<Datapoint> datapoints = decode(batch);
+        assertEquals(5, datapoints.size());
+        assertDatapoint(datapoints.get(0), "kilda.switch.rx-bytes", 1500000000000L, 42L, tags);
+        assertDatapoint(datapoints.get(1), "kilda.switch.rx-bits", 1499999999000L, 336L, tags);
+        assertDatapoint(datapoints.get(2), "kilda.flow.latency", 1500000001000L, 0.25,
+                Collections.singletonMap("flowid", "f1"));
+        assertDatapoint(datapoints.get(3), "kilda.switch.tx-bytes", 1500000002000L, -7L, Collections.emptyMap());
+        assertNull(datapoints.get(4).getValue());
+        assertSame(datapoints.get(0).getTags(), datapoints.get(1).getTags());
+    }
+
+    @Test
+    public void shouldNotShareTagsModifiedAfterAdding() {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("port", "1");
+        encoder.add("metric", 1L, 1L, tags);
+        tags.put("port", "2");
+        encoder.add("metric", 2L, 2L, tags);
+
+        List<Datapoint> datapoints = decode(encoder.encode());
+        assertEquals("1", datapoints.get(0).getTags().get("port"));
+        assertEquals("2", datapoints.get(1).getTags().get("port"));
+    }
+
+    @Test
+    public void shouldGrowBeyondInitialCapacity() {
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            encoder.add("metric", i, i * 1000L, Collections.singletonMap("id", String.valueOf(i % 10)));
+        }
+
+        List<Datapoint> datapoints = decode(encoder.encode());
+        assertEquals(count, datapoints.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals((long) i, datapoints.get(i).getTime().longValue());
+            assertEquals(i * 1000L, datapoints.get(i).getValue());
+            assertEquals(String.valueOf(i % 10), datapoints.get(i).getTags().get("id"));
+        }
+    }
+
+    @Test
+    public void shouldNotTreatJsonAsBatch() {
+        assertFalse(DatapointBatchDecoder.isBatch("{\"clazz\":\"x\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectTruncatedBatch() {
+        encoder.add("metric", 1L, 1L, Collections.singletonMap("key", "value"));
+        byte[] batch = encoder.encode();
+        decode(Arrays.copyOf(batch, batch.length - 1));
+    }
+
+    @Test
+    public void shouldRejectBatchTruncatedAtAnyPosition() {
+        encoder.add("metric", 1L, 0.5, Collections.singletonMap("key", "value"));
+        encoder.add("other", 2L, 2L, Collections.singletonMap("key", "other"));
+        byte[] batch = encoder.encode();
+        for (int length = 3; length < batch.length; length++) {
+            try {
+                decode(Arrays.copyOf(batch, length));
+                fail("Batch truncated to " + length + " bytes is decoded");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectStringLongerThanBatch() {
+        decode(new byte[] {DatapointBatchEncoder.MAGIC_0, DatapointBatchEncoder.MAGIC_1, DatapointBatchEncoder.VERSION,
+                1, 100, 'a', 'b'});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNegativeCount() {
+        decode(new byte[] {DatapointBatchEncoder.MAGIC_0, DatapointBatchEncoder.MAGIC_1, DatapointBatchEncoder.VERSION,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, 0x01});
+    }
+
+    private static List<Datapoint> decode(byte[] batch) {
+        List<Datapoint> datapoints = new ArrayList<>();
+        DatapointBatchDecoder.decode(batch, datapoints::add);
+        return datapoints;
+    }
+
+    private static void assertDatapoint(Datapoint datapoint, String metric, long timestamp, Number value,
+                                        Map<String, String> tags) {
+        assertEquals(metric, datapoint.getMetric());
+        assertEquals(timestamp, datapoint.getTime().longValue());
+        assertEquals(value, datapoint.getValue());
+        assertEquals(tags, datapoint.getTags());
+    }
+}
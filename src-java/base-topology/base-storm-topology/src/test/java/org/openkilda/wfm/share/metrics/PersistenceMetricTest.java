@@ -0,0 +1,62 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.METHOD_TAG;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.REPOSITORY_CALLS;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.REPOSITORY_TAG;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.persistence.metrics.PersistenceMetrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class PersistenceMetricTest {
+    private static final String PREFIX = "kilda.";
+
+    private final PersistenceMetric metric = new PersistenceMetric(PREFIX);
+
+    @Before
+    public void setUp() {
+        PersistenceMetrics.getInstance().drain();
+    }
+
+    @Test
+    public void shouldDrainPersistenceMetricsIntoDatapoints() {
+        PersistenceMetrics.getInstance().recordRepositoryCall("FermaFlowRepository", "findById", 1000, 1, false);
+
+        List<Datapoint> datapoints = getValueAndReset();
+        Datapoint calls = datapoints.stream()
+                .filter(datapoint -> datapoint.getMetric().equals(PREFIX + REPOSITORY_CALLS))
+                .findAny()
+                .orElseThrow(() -> new AssertionError("No repository calls datapoint"));
+        assertEquals(1L, calls.getValue());
+        assertEquals("FermaFlowRepository", calls.getTags().get(REPOSITORY_TAG));
+        assertEquals("findById", calls.getTags().get(METHOD_TAG));
+
+        assertNull(getValueAndReset());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Datapoint> getValueAndReset() {
+        return (List<Datapoint>) metric.getValueAndReset();
+    }
+}
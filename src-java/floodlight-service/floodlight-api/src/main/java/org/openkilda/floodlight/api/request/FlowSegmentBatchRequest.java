@@ -0,0 +1,59 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.api.request;
+
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set of flow segment requests addressed to the same switch. Speaker executes all of them at once and replies with
+ * single {@link org.openkilda.floodlight.api.response.SpeakerFlowSegmentBatchResponse}.
+ */
+@Getter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class FlowSegmentBatchRequest extends SpeakerRequest {
+    @JsonProperty("requests")
+    private final List<FlowSegmentRequest> requests;
+
+    @JsonCreator
+    public FlowSegmentBatchRequest(
+            @JsonProperty("message_context") MessageContext messageContext,
+            @JsonProperty("switch_id") SwitchId switchId,
+            @JsonProperty("command_id") UUID commandId,
+            @JsonProperty("requests") @NonNull List<FlowSegmentRequest> requests) {
+        super(messageContext, switchId, commandId);
+
+        for (FlowSegmentRequest entry : requests) {
+            if (! switchId.equals(entry.getSwitchId())) {
+                throw new IllegalArgumentException(String.format(
+                        "Flow segment request %s is addressed to %s, not to the batch switch %s",
+                        entry.getCommandId(), entry.getSwitchId(), switchId));
+            }
+        }
+        this.requests = requests;
+    }
+}
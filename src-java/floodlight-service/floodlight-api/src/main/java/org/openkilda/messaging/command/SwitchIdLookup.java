@@ -0,0 +1,127 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command;
+
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
+import org.openkilda.messaging.command.flow.BaseInstallFlow;
+import org.openkilda.messaging.command.flow.DeleteMeterRequest;
+import org.openkilda.messaging.command.flow.InstallFlowForSwitchManagerRequest;
+import org.openkilda.messaging.command.flow.MeterModifyCommandRequest;
+import org.openkilda.messaging.command.flow.ReinstallDefaultFlowForSwitchManagerRequest;
+import org.openkilda.messaging.command.flow.RemoveFlow;
+import org.openkilda.messaging.command.flow.RemoveFlowForSwitchManagerRequest;
+import org.openkilda.messaging.command.switches.DeleterMeterForSwitchManagerRequest;
+import org.openkilda.messaging.command.switches.DumpGroupsRequest;
+import org.openkilda.messaging.command.switches.DumpMetersForNbworkerRequest;
+import org.openkilda.messaging.command.switches.DumpMetersForSwitchManagerRequest;
+import org.openkilda.messaging.command.switches.DumpMetersRequest;
+import org.openkilda.messaging.command.switches.DumpPortDescriptionRequest;
+import org.openkilda.messaging.command.switches.DumpRulesForNbworkerRequest;
+import org.openkilda.messaging.command.switches.DumpRulesForSwitchManagerRequest;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.command.switches.DumpSwitchPortsDescriptionRequest;
+import org.openkilda.messaging.command.switches.GetExpectedDefaultMetersRequest;
+import org.openkilda.messaging.command.switches.GetExpectedDefaultRulesRequest;
+import org.openkilda.messaging.command.switches.PortConfigurationRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesInstallRequest;
+import org.openkilda.messaging.floodlight.request.PingRequest;
+import org.openkilda.messaging.floodlight.request.RemoveBfdSession;
+import org.openkilda.messaging.floodlight.request.SetupBfdSession;
+import org.openkilda.messaging.payload.switches.InstallIslDefaultRulesCommand;
+import org.openkilda.messaging.payload.switches.RemoveIslDefaultRulesCommand;
+import org.openkilda.model.SwitchId;
+
+import java.util.Optional;
+
+public final class SwitchIdLookup {
+    private SwitchIdLookup() {
+    }
+
+    /**
+     * Lookup the switch the command is addressed to.
+     *
+     * @param commandData - target
+     * @return - SwitchId or empty if the command is not addressed to a single switch
+     */
+    public static Optional<SwitchId> lookup(CommandData commandData) {
+        SwitchId switchId = null;
+        if (commandData instanceof BaseInstallFlow) {
+            switchId = ((BaseInstallFlow) commandData).getSwitchId();
+        } else if (commandData instanceof RemoveFlow) {
+            switchId = ((RemoveFlow) commandData).getSwitchId();
+        } else if (commandData instanceof DiscoverIslCommandData) {
+            switchId = ((DiscoverIslCommandData) commandData).getSwitchId();
+        } else if (commandData instanceof DiscoverIslBatchCommandData) {
+            switchId = ((DiscoverIslBatchCommandData) commandData).getSwitchId();
+        } else if (commandData instanceof PingRequest) {
+            switchId = ((PingRequest) commandData).getPing().getSource().getDatapath();
+        } else if (commandData instanceof DiscoverPathCommandData) {
+            switchId = ((DiscoverPathCommandData) commandData).getSrcSwitchId();
+        } else if (commandData instanceof SwitchRulesDeleteRequest) {
+            switchId = ((SwitchRulesDeleteRequest) commandData).getSwitchId();
+        } else if (commandData instanceof SwitchRulesInstallRequest) {
+            switchId = ((SwitchRulesInstallRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpRulesRequest) {
+            switchId = ((DumpRulesRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DeleteMeterRequest) {
+            switchId = ((DeleteMeterRequest) commandData).getSwitchId();
+        } else if (commandData instanceof PortConfigurationRequest) {
+            switchId = ((PortConfigurationRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpSwitchPortsDescriptionRequest) {
+            switchId = ((DumpSwitchPortsDescriptionRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpPortDescriptionRequest) {
+            switchId = ((DumpPortDescriptionRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpMetersRequest) {
+            switchId = ((DumpMetersRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpRulesForNbworkerRequest) {
+            switchId = ((DumpRulesForNbworkerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof MeterModifyCommandRequest) {
+            switchId = ((MeterModifyCommandRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpRulesForSwitchManagerRequest) {
+            switchId = ((DumpRulesForSwitchManagerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof GetExpectedDefaultRulesRequest) {
+            switchId = ((GetExpectedDefaultRulesRequest) commandData).getSwitchId();
+        } else if (commandData instanceof GetExpectedDefaultMetersRequest) {
+            switchId = ((GetExpectedDefaultMetersRequest) commandData).getSwitchId();
+        } else if (commandData instanceof InstallFlowForSwitchManagerRequest) {
+            switchId = ((InstallFlowForSwitchManagerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof RemoveFlowForSwitchManagerRequest) {
+            switchId = ((RemoveFlowForSwitchManagerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof ReinstallDefaultFlowForSwitchManagerRequest) {
+            switchId = ((ReinstallDefaultFlowForSwitchManagerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpMetersForSwitchManagerRequest) {
+            switchId = ((DumpMetersForSwitchManagerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DumpMetersForNbworkerRequest) {
+            switchId = ((DumpMetersForNbworkerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof DeleterMeterForSwitchManagerRequest) {
+            switchId = ((DeleterMeterForSwitchManagerRequest) commandData).getSwitchId();
+        } else if (commandData instanceof SetupBfdSession) {
+            switchId = ((SetupBfdSession) commandData).getBfdSession().getTarget().getDatapath();
+        } else if (commandData instanceof RemoveBfdSession) {
+            switchId = ((RemoveBfdSession) commandData).getBfdSession().getTarget().getDatapath();
+        } else if (commandData instanceof InstallIslDefaultRulesCommand) {
+            switchId = ((InstallIslDefaultRulesCommand) commandData).getSrcSwitch();
+        } else if (commandData instanceof RemoveIslDefaultRulesCommand) {
+            switchId = ((RemoveIslDefaultRulesCommand) commandData).getSrcSwitch();
+        } else if (commandData instanceof DumpGroupsRequest) {
+            switchId = ((DumpGroupsRequest) commandData).getSwitchId();
+        }
+        return Optional.ofNullable(switchId);
+    }
+}
@@ -39,6 +39,19 @@ public interface KildaCoreConfig {
     @Default("00:26:E1:FF:FF:FE")
     String getFlowPingMagicSrcMacAddress();
 
+    /**
+     * OF messages written by sessions of the same switch are accumulated during this delay and written into the
+     * switch connection in a single batch, closed sessions share a single barrier request. Zero delay disables
+     * accumulation.
+     */
+    @Key("session-write-flush-delay-millis")
+    @Default("1")
+    long getSessionWriteFlushDelayMillis();
+
+    @Key("session-write-max-batch-size")
+    @Default("64")
+    int getSessionWriteMaxBatchSize();
+
     /**
      * This offset is used for encoding flow in_port number into udp_src port of Server 42 RTT packets.
      * Example: Flow with in_port 10. Server 42 Input rule will match RTT packets by
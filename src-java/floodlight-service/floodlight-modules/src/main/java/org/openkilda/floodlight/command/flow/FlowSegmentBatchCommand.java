@@ -0,0 +1,94 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.command.flow;
+
+import org.openkilda.floodlight.command.SpeakerCommand;
+import org.openkilda.floodlight.command.SpeakerCommandProcessor;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Execute a set of flow segment commands addressed to the same switch.
+ *
+ * <p>All commands are started at once, so OF messages produced by them are written into the switch together and
+ * share the closing barrier (see {@link org.openkilda.floodlight.service.session.SessionService}). The report
+ * contains results of all commands.
+ */
+public class FlowSegmentBatchCommand extends SpeakerCommand<FlowSegmentBatchReport> {
+    @Getter
+    private final List<FlowSegmentCommand> commands;
+
+    @JsonCreator
+    public FlowSegmentBatchCommand(
+            @JsonProperty("message_context") MessageContext messageContext,
+            @JsonProperty("switch_id") SwitchId switchId,
+            @JsonProperty("command_id") UUID commandId,
+            @JsonProperty("requests") @NonNull List<FlowSegmentCommand> commands) {
+        super(messageContext, switchId, commandId);
+        this.commands = commands;
+    }
+
+    @Override
+    protected void validate() {
+        super.validate();
+
+        for (FlowSegmentCommand entry : commands) {
+            if (! switchId.equals(entry.getSwitchId())) {
+                throw new IllegalArgumentException(String.format(
+                        "Flow segment command %s is addressed to %s, not to the batch switch %s",
+                        entry.getCommandId(), entry.getSwitchId(), switchId));
+            }
+        }
+    }
+
+    @Override
+    protected CompletableFuture<FlowSegmentBatchReport> makeExecutePlan(SpeakerCommandProcessor commandProcessor) {
+        List<CompletableFuture<FlowSegmentReport>> results = new ArrayList<>(commands.size());
+        for (FlowSegmentCommand entry : commands) {
+            results.add(commandProcessor.chain(entry));
+        }
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignore -> new FlowSegmentBatchReport(this, results.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList())));
+    }
+
+    @Override
+    protected FlowSegmentBatchReport makeReport(Exception error) {
+        List<FlowSegmentReport> reports = commands.stream()
+                .map(entry -> entry.makeReport(error))
+                .collect(Collectors.toList());
+        return new FlowSegmentBatchReport(this, reports);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "<flow-segment-batch{commandId=%s, switchId=%s, commands=%s}>", commandId, switchId, commands);
+    }
+}
@@ -0,0 +1,52 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.command.flow;
+
+import org.openkilda.floodlight.KafkaChannel;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentBatchResponse;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
+import org.openkilda.floodlight.command.SpeakerCommandRemoteReport;
+import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlowSegmentBatchReport extends SpeakerCommandRemoteReport {
+    private final FlowSegmentBatchCommand command;
+
+    @Getter
+    private final List<FlowSegmentReport> reports;
+
+    FlowSegmentBatchReport(@NonNull FlowSegmentBatchCommand command, @NonNull List<FlowSegmentReport> reports) {
+        // errors of the nested commands are reported via nested reports
+        super(command, null);
+        this.command = command;
+        this.reports = reports;
+    }
+
+    @Override
+    public void reply(KafkaChannel kafkaChannel, IKafkaProducerService kafkaProducerService, String requestKey) {
+        List<SpeakerFlowSegmentResponse> responses = reports.stream()
+                .map(FlowSegmentReport::assembleResponse)
+                .collect(Collectors.toList());
+        SpeakerFlowSegmentBatchResponse response = new SpeakerFlowSegmentBatchResponse(
+                command.getMessageContext(), command.getCommandId(), command.getSwitchId(), responses);
+        kafkaProducerService.sendMessageAndTrack(kafkaChannel.getSpeakerFlowHsTopic(), requestKey, response);
+    }
+}
@@ -17,7 +17,6 @@ package org.openkilda.floodlight.command.flow;
 
 import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
-import org.openkilda.floodlight.api.response.SpeakerResponse;
 import org.openkilda.floodlight.command.SpeakerCommandRemoteReport;
 import org.openkilda.floodlight.error.SessionErrorResponseException;
 import org.openkilda.floodlight.error.SwitchMissingFlowsException;
@@ -50,7 +49,7 @@ public class FlowSegmentReport extends SpeakerCommandRemoteReport {
         kafkaProducerService.sendMessageAndTrack(kafkaChannel.getSpeakerFlowHsTopic(), requestKey, assembleResponse());
     }
 
-    private SpeakerResponse assembleResponse() {
+    SpeakerFlowSegmentResponse assembleResponse() {
         FlowErrorResponseBuilder errorResponse = makeErrorTemplate();
         try {
             raiseError();
@@ -75,7 +74,7 @@ public class FlowSegmentReport extends SpeakerCommandRemoteReport {
         return response;
     }
 
-    private SpeakerResponse makeSuccessReply() {
+    private SpeakerFlowSegmentResponse makeSuccessReply() {
         return SpeakerFlowSegmentResponse.builder()
                 .commandId(command.getCommandId())
                 .metadata(command.getMetadata())
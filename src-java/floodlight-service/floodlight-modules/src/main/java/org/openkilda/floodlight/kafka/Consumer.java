@@ -23,9 +23,11 @@ import org.openkilda.floodlight.kafka.RecordHandler.Factory;
 import org.openkilda.floodlight.service.kafka.KafkaConsumerSetup;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
+import org.openkilda.model.SwitchId;
 
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
@@ -34,26 +36,33 @@ import org.apache.kafka.common.errors.InterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutorService;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Consumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
 
-    private final ExecutorService handlersPool;
+    private final KeyOrderedExecutor handlersPool;
     private final RecordHandler.Factory handlerFactory;
     private final KafkaConsumerSetup kafkaSetup;
     private final long commitInterval;
     private final long pollTimeout;
+    private final int maxInFlightRecords;
 
     private final KafkaUtilityService kafkaUtilityService;
     private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
-    public Consumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    public Consumer(FloodlightModuleContext moduleContext, KeyOrderedExecutor handlersPool,
                     KafkaConsumerSetup kafkaSetup, Factory handlerFactory,
-                    long commitInterval, long pollTimeout) {
+                    long commitInterval, long pollTimeout, int maxInFlightRecords) {
         this.handlersPool = requireNonNull(handlersPool);
         this.handlerFactory = requireNonNull(handlerFactory);
         this.kafkaSetup = kafkaSetup;
@@ -62,6 +71,8 @@ public class Consumer implements Runnable {
         this.commitInterval = commitInterval;
         checkArgument(pollTimeout > 0, "pollTimeout must be positive");
         this.pollTimeout = pollTimeout;
+        checkArgument(maxInFlightRecords > 0, "maxInFlightRecords must be positive");
+        this.maxInFlightRecords = maxInFlightRecords;
 
         kafkaUtilityService = moduleContext.getServiceImpl(KafkaUtilityService.class);
         switchManager = moduleContext.getServiceImpl(ISwitchManager.class);
@@ -84,7 +95,9 @@ public class Consumer implements Runnable {
                          kafkaUtilityService.makeConsumer(kafkaSetup)) {
                 logger.info("Kafka consumer: start. Topics: {}", kafkaSetup.getTopics());
 
-                KafkaOffsetRegistry offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
+                KafkaOffsetRegistry offsetRegistry = new KafkaOffsetRegistry(
+                        consumer, commitInterval, maxInFlightRecords);
+                kafkaSetup.applyInstance(consumer, offsetRegistry);
 
                 while (true) {
                     try {
@@ -92,10 +105,15 @@ public class Consumer implements Runnable {
                         if (! batch.isEmpty()) {
                             handle(batch, offsetRegistry);
                         }
-                        tick();
-                    } finally {
-                        // force to commit after each completed batch or in a case of an exception / error.
+                        tick(offsetRegistry);
+
+                        offsetRegistry.commitIfIntervalPassed();
+                        // pause partitions with too many records in flight instead of blocking the poll loop
+                        offsetRegistry.updatePausedPartitions();
+                    } catch (RuntimeException e) {
+                        // commit offsets of the handled records before the consumer is re-created
                         offsetRegistry.commitOffsets();
+                        throw e;
                     }
 
                     switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
@@ -114,79 +132,237 @@ public class Consumer implements Runnable {
     private void handle(ConsumerRecords<String, String> recordsBatch, KafkaOffsetRegistry offsetRegistry) {
         logger.debug("Received records batch contain {} messages", recordsBatch.count());
         for (ConsumerRecord<String, String> record : recordsBatch) {
-            handle(record);
-            offsetRegistry.addAndCommit(record);
+            handle(record, offsetRegistry.add(record));
         }
     }
 
-    private void handle(ConsumerRecord<String, String> record) {
+    private void handle(ConsumerRecord<String, String> record, TrackedOffset offset) {
         logger.trace("received message: {} - key:{}, value:{}", record.offset(), record.key(), record.value());
-        handlersPool.execute(handlerFactory.produce(record));
+        RecordHandler handler = handlerFactory.produce(record);
+        // records of the same switch are handled one by one in the order they were received, the record key is
+        // the request key of the producer, so it is used only for records not addressed to a single switch. The
+        // record itself is parsed by the handler on the lane thread.
+        String laneKey = handler.lookupSwitchId()
+                .map(SwitchId::toString)
+                .orElse(record.key());
+        handlersPool.execute(laneKey, () -> {
+            try {
+                handler.run();
+            } finally {
+                offset.complete();
+            }
+        });
     }
 
-    private void tick() {
-        handlersPool.execute(new TickHandler(handlerFactory.getContext()));
+    private void tick(KafkaOffsetRegistry offsetRegistry) {
+        TickHandler handler = new TickHandler(handlerFactory.getContext());
+        TrackedOffset tick = offsetRegistry.trackTick();
+        handlersPool.execute(() -> {
+            try {
+                handler.run();
+            } finally {
+                tick.complete();
+            }
+        });
     }
 
     /**
-     * Holds offsets for Kafka partitions and performs sync commits of them.
+     * Tracks offsets of the records being handled and commits offsets of the handled ones. An offset is committed
+     * only when all records of the partition before it are handled, so no record is lost if the consumer is
+     * re-created. Partitions with too many records in flight are paused until the handlers catch up. Ticks share
+     * the handlers with the records, so ticks in flight are counted for every partition.
+     * <p/>
+     * On rebalance the offsets of the revoked partitions are committed and their tracking is dropped, the tracking
+     * of the assigned partitions starts from scratch as their records can be redelivered.
      * <p/>
-     * Note: the implementation is not thread-safe.
+     * Note: the implementation is not thread-safe, except {@link TrackedOffset#complete()} which can be called by
+     * any thread.
      */
     @VisibleForTesting
-    static class KafkaOffsetRegistry {
+    static class KafkaOffsetRegistry implements ConsumerRebalanceListener {
         private final org.apache.kafka.clients.consumer.Consumer<String, String> consumer;
         private final long autoCommitInterval;
+        private final int maxInFlightRecords;
 
-        private final Map<TopicPartition, Long> partitionToUncommittedOffset = new HashMap<>();
+        private final Map<TopicPartition, PartitionOffsets> partitionOffsets = new HashMap<>();
+        private final AtomicInteger ticksInFlight = new AtomicInteger();
         private long lastCommitTime;
 
         KafkaOffsetRegistry(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
-                            long autoCommitInterval) {
+                            long autoCommitInterval, int maxInFlightRecords) {
             this.consumer = consumer;
             this.autoCommitInterval = autoCommitInterval;
+            this.maxInFlightRecords = maxInFlightRecords;
 
             lastCommitTime = System.currentTimeMillis();
         }
 
         /**
-         * Add the record's offset to the registry and perform a commit
-         * if more than autoCommitInterval ms passed since the last commit.
+         * Add the record's offset to the registry. The returned offset must be completed once the record is handled.
          */
-        void addAndCommit(ConsumerRecord<String, String> record) {
+        TrackedOffset add(ConsumerRecord<String, String> record) {
             TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            return partitionOffsets.computeIfAbsent(partition, key -> new PartitionOffsets())
+                    .add(record.offset());
+        }
 
-            Long previousOffset = partitionToUncommittedOffset.get(partition);
-            if (previousOffset != null && previousOffset > record.offset()) {
-                throw new IllegalArgumentException(
-                        format("The record has offset %d which less than the previously added %d.",
-                                record.offset(), previousOffset));
-            }
-
-            partitionToUncommittedOffset.put(partition, record.offset());
+        /**
+         * Track the tick being handled. The returned offset must be completed once the tick is handled.
+         */
+        TrackedOffset trackTick() {
+            ticksInFlight.incrementAndGet();
+            return new TrackedOffset(-1, ticksInFlight);
+        }
 
-            // commit offsets of processed messages
+        /**
+         * Perform a commit if more than autoCommitInterval ms passed since the last commit.
+         */
+        void commitIfIntervalPassed() {
             if ((System.currentTimeMillis() - lastCommitTime) >= autoCommitInterval) {
                 commitOffsets();
             }
         }
 
         /**
-         * Commits the offsets added since the last commit.
+         * Commits the offsets of the records handled since the last commit.
          */
         void commitOffsets() {
-            if (!partitionToUncommittedOffset.isEmpty()) {
-                Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
-                for (Entry<TopicPartition, Long> e : partitionToUncommittedOffset.entrySet()) {
-                    partitionToMetadata.put(e.getKey(), new OffsetAndMetadata(e.getValue() + 1));
+            Set<TopicPartition> assignment = consumer.assignment();
+            partitionOffsets.keySet().removeIf(partition -> !assignment.contains(partition));
+            commitOffsets(assignment);
+
+            lastCommitTime = System.currentTimeMillis();
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            // the records which are still in flight are redelivered to the new owner of the partition
+            commitOffsets(partitions);
+            partitionOffsets.keySet().removeAll(partitions);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            partitionOffsets.keySet().removeAll(partitions);
+        }
+
+        private void commitOffsets(Collection<TopicPartition> partitions) {
+            Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                PartitionOffsets offsets = partitionOffsets.get(partition);
+                if (offsets != null && offsets.pollCompleted()) {
+                    partitionToMetadata.put(partition, new OffsetAndMetadata(offsets.getCompletedOffset() + 1));
                 }
+            }
 
+            if (!partitionToMetadata.isEmpty()) {
                 consumer.commitSync(partitionToMetadata);
+            }
+        }
+
+        /**
+         * Pauses assigned partitions which have maxInFlightRecords or more records and ticks not handled yet and
+         * resumes paused ones when the number drops to the half of it.
+         */
+        void updatePausedPartitions() {
+            Set<TopicPartition> assignment = consumer.assignment();
+            Set<TopicPartition> paused = consumer.paused();
+            List<TopicPartition> toPause = new ArrayList<>();
+            List<TopicPartition> toResume = new ArrayList<>();
+            int ticks = ticksInFlight.get();
+            for (Entry<TopicPartition, PartitionOffsets> entry : partitionOffsets.entrySet()) {
+                if (!assignment.contains(entry.getKey())) {
+                    continue;
+                }
 
-                partitionToUncommittedOffset.clear();
+                int inFlight = entry.getValue().getInFlight() + ticks;
+                if (paused.contains(entry.getKey())) {
+                    if (inFlight <= maxInFlightRecords / 2) {
+                        toResume.add(entry.getKey());
+                    }
+                } else if (inFlight >= maxInFlightRecords) {
+                    toPause.add(entry.getKey());
+                }
             }
 
-            lastCommitTime = System.currentTimeMillis();
+            if (!toPause.isEmpty()) {
+                logger.warn("Pause consuming of {} - too many records in flight", toPause);
+                consumer.pause(toPause);
+            }
+            if (!toResume.isEmpty()) {
+                logger.info("Resume consuming of {}", toResume);
+                consumer.resume(toResume);
+            }
+        }
+    }
+
+    private static class PartitionOffsets {
+        // accessed only by the consumer thread
+        private final Deque<TrackedOffset> offsets = new ArrayDeque<>();
+        private long completedOffset = -1;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        TrackedOffset add(long offset) {
+            TrackedOffset last = offsets.peekLast();
+            long previousOffset = last != null ? last.offset : completedOffset;
+            if (previousOffset >= offset) {
+                throw new IllegalArgumentException(
+                        format("The record has offset %d which less than the previously added %d.",
+                                offset, previousOffset));
+            }
+
+            TrackedOffset entry = new TrackedOffset(offset, inFlight);
+            offsets.addLast(entry);
+            inFlight.incrementAndGet();
+            return entry;
+        }
+
+        /**
+         * Drops the completed offsets from the head of the queue.
+         *
+         * @return true if the completed offset advanced.
+         */
+        boolean pollCompleted() {
+            boolean advanced = false;
+            while (!offsets.isEmpty() && offsets.peekFirst().completed) {
+                completedOffset = offsets.pollFirst().offset;
+                advanced = true;
+            }
+            return advanced;
+        }
+
+        long getCompletedOffset() {
+            return completedOffset;
+        }
+
+        int getInFlight() {
+            return inFlight.get();
+        }
+    }
+
+    /**
+     * Offset of the record being handled.
+     */
+    @VisibleForTesting
+    static class TrackedOffset {
+        private final long offset;
+        private final AtomicInteger partitionInFlight;
+        private volatile boolean completed = false;
+
+        TrackedOffset(long offset, AtomicInteger partitionInFlight) {
+            this.offset = offset;
+            this.partitionInFlight = partitionInFlight;
+        }
+
+        /**
+         * Marks the record as handled. Can be called by any thread.
+         */
+        void complete() {
+            if (!completed) {
+                completed = true;
+                partitionInFlight.decrementAndGet();
+            }
         }
     }
 }
@@ -41,6 +41,15 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     long getAutoCommitInterval();
 
+    /**
+     * Max number of records of a partition which are received but not handled yet. The partition is paused when
+     * the number is reached and resumed when it drops to the half.
+     */
+    @Key("consumer-max-in-flight-records")
+    @Default("1000")
+    @Min(1)
+    int getMaxInFlightRecords();
+
     @Key("kafka-consumer-poll-timeout-millis")
     @Default("100")
     @Min(1)
@@ -0,0 +1,84 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes tasks on a fixed set of single threaded lanes. All tasks with the same key are executed by the same lane,
+ * so they are executed one by one in the order they were submitted. Tasks without a key are spread over the lanes.
+ * <p/>
+ * Lanes have unbounded queues, so submission never blocks. The caller is responsible for limiting the number of
+ * submitted but not yet executed tasks.
+ */
+public class KeyOrderedExecutor {
+    private final ExecutorService[] lanes;
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    public KeyOrderedExecutor(String name, int laneCount) {
+        checkArgument(laneCount > 0, "laneCount must be positive");
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat(name + "-%d")
+                .setDaemon(true)
+                .build();
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    /**
+     * Submits the task into the lane of the key, a task without a key goes into the next lane.
+     */
+    public void execute(String key, Runnable task) {
+        if (key == null) {
+            execute(task);
+        } else {
+            lanes[laneOf(key)].execute(task);
+        }
+    }
+
+    /**
+     * Submits the task which has no ordering requirements.
+     */
+    public void execute(Runnable task) {
+        int lane = Math.floorMod(nextLane.getAndIncrement(), lanes.length);
+        lanes[lane].execute(task);
+    }
+
+    /**
+     * Stops accepting tasks, already submitted tasks are still executed.
+     */
+    public void shutdown() {
+        for (ExecutorService entry : lanes) {
+            entry.shutdown();
+        }
+    }
+
+    int laneOf(String key) {
+        int hash = key.hashCode();
+        // spread the hash as HashMap does, so keys which differ only in high bits don't share a lane
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+}
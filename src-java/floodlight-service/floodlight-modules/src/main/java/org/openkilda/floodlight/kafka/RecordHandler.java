@@ -87,6 +87,7 @@ import org.openkilda.messaging.MessageContext;
 import org.openkilda.messaging.command.BroadcastWrapper;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
@@ -169,9 +170,14 @@ import org.openkilda.model.cookie.FlowSharedSegmentCookie;
 import org.openkilda.model.cookie.FlowSharedSegmentCookie.SharedSegmentType;
 import org.openkilda.model.cookie.PortColourCookie;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import lombok.Getter;
 import net.floodlightcontroller.core.IOFSwitch;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -200,6 +206,12 @@ class RecordHandler implements Runnable {
 
     private static final UUID EMPTY_COMMAND_ID = new UUID(0, 0);
 
+    private static final ObjectReader SPEAKER_COMMAND_READER = MAPPER.readerFor(
+            new TypeReference<SpeakerCommand<SpeakerCommandReport>>() {});
+
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final Set<String> SWITCH_ID_FIELDS = ImmutableSet.of("switch_id", "source_switch_id", "src_switch");
+
     private final ConsumerContext context;
     private final List<CommandDispatcher<?>> dispatchers;
     private final ConsumerRecord<String, String> record;
@@ -215,12 +227,33 @@ class RecordHandler implements Runnable {
         this.commandProcessor = context.getModuleContext().getServiceImpl(CommandProcessorService.class);
     }
 
+    /**
+     * Lookup the switch the record is addressed to. Records of the same switch must be handled one by one in the
+     * order they were received.
+     * <p/>
+     * It is called on the kafka poll thread, so the record is not parsed here. Only the top level fields of the
+     * record and the fields of its payload are scanned until the switch id is found.
+     */
+    Optional<SwitchId> lookupSwitchId() {
+        try (JsonParser parser = MAPPER.getFactory().createParser(record.value())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            return scanSwitchId(parser, true).map(SwitchId::new);
+        } catch (IOException | IllegalArgumentException e) {
+            // the record is reported as malformed when it is handled
+            return Optional.empty();
+        }
+    }
+
     private void handleCommand(CommandMessage message) {
         logger.debug("Handling message: '{}'.", message);
         CommandData data = message.getData();
 
         if (data instanceof DiscoverIslCommandData) {
             doDiscoverIslCommand((DiscoverIslCommandData) data, message.getCorrelationId());
+        } else if (data instanceof DiscoverIslBatchCommandData) {
+            doDiscoverIslBatchCommand((DiscoverIslBatchCommandData) data, message.getCorrelationId());
         } else if (data instanceof DiscoverPathCommandData) {
             doDiscoverPathCommand(data);
         } else if (data instanceof RemoveFlowForSwitchManagerRequest) {
@@ -334,6 +367,10 @@ class RecordHandler implements Runnable {
         context.getDiscoveryEmitter().handleRequest(command, correlationId);
     }
 
+    private void doDiscoverIslBatchCommand(DiscoverIslBatchCommandData command, String correlationId) {
+        context.getDiscoveryEmitter().handleBatchRequest(command, correlationId);
+    }
+
     private void doDiscoverPathCommand(CommandData data) {
         DiscoverPathCommandData command = (DiscoverPathCommandData) data;
         logger.warn("NOT IMPLEMENTED: sending discover Path to {}", command);
@@ -1618,24 +1655,49 @@ class RecordHandler implements Runnable {
 
     }
 
-    private void parseRecord(ConsumerRecord<String, String> record) {
-        if (handleSpeakerCommand()) {
-            return;
+    private static Optional<String> scanSwitchId(JsonParser parser, boolean topLevel) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_STRING && SWITCH_ID_FIELDS.contains(field)) {
+                return Optional.of(parser.getText());
+            }
+
+            if (topLevel && token == JsonToken.START_OBJECT && PAYLOAD_FIELD.equals(field)) {
+                Optional<String> switchId = scanSwitchId(parser, false);
+                if (switchId.isPresent()) {
+                    return switchId;
+                }
+            } else {
+                parser.skipChildren();
+            }
         }
+        return Optional.empty();
+    }
 
-        CommandMessage message;
+    private static JsonNode parseRecord(ConsumerRecord<String, String> record) {
+        try {
+            return MAPPER.readTree(record.value());
+        } catch (IOException e) {
+            logger.error("Error while parsing record {}", record.value(), e);
+            return null;
+        }
+    }
+
+    private static CommandMessage parseCommandMessage(ConsumerRecord<String, String> record, JsonNode tree) {
         try {
-            String value = record.value();
             // TODO: Prior to Message changes, this MAPPER would read Message ..
             //          but, changed to BaseMessage and got an error wrt "timestamp" ..
             //          so, need to experiment with why CommandMessage can't be read as
             //          a BaseMessage
-            message = MAPPER.readValue(value, CommandMessage.class);
+            return MAPPER.treeToValue(tree, CommandMessage.class);
         } catch (Exception exception) {
             logger.error("error parsing record '{}'", record.value(), exception);
-            return;
+            return null;
         }
+    }
 
+    private void handleCommandMessage(CommandMessage message) {
         // Process the message within the message correlation context.
         try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
             if (logger.isDebugEnabled()) {
@@ -1746,22 +1808,17 @@ class RecordHandler implements Runnable {
         return new FlowTransitEncapsulation(request.getTransitEncapsulationId(), request.getTransitEncapsulationType());
     }
 
-    private boolean handleSpeakerCommand() {
-        SpeakerCommand<SpeakerCommandReport> speakerCommand = null;
+    private static SpeakerCommand<SpeakerCommandReport> parseSpeakerCommand(
+            ConsumerRecord<String, String> record, JsonNode tree) {
         try {
-            TypeReference<SpeakerCommand<SpeakerCommandReport>> commandType
-                    = new TypeReference<SpeakerCommand<SpeakerCommandReport>>() {};
-            speakerCommand = MAPPER.readValue(record.value(), commandType);
+            return SPEAKER_COMMAND_READER.readValue(tree);
         } catch (JsonMappingException e) {
             logger.trace("Received deprecated command message");
-            return false;
+            return null;
         } catch (IOException e) {
             logger.error("Error while parsing record {}", record.value(), e);
-            return false;
+            return null;
         }
-
-        handleSpeakerCommand(speakerCommand);
-        return true;
     }
 
     private void handleSpeakerCommand(SpeakerCommand<? extends SpeakerCommandReport> command) {
@@ -1774,7 +1831,22 @@ class RecordHandler implements Runnable {
 
     @Override
     public void run() {
-        parseRecord(record);
+        // the record text is parsed once, both kinds of commands are read from the same tree
+        JsonNode tree = parseRecord(record);
+        if (tree == null) {
+            return;
+        }
+
+        SpeakerCommand<SpeakerCommandReport> speakerCommand = parseSpeakerCommand(record, tree);
+        if (speakerCommand != null) {
+            handleSpeakerCommand(speakerCommand);
+            return;
+        }
+
+        CommandMessage commandMessage = parseCommandMessage(record, tree);
+        if (commandMessage != null) {
+            handleCommandMessage(commandMessage);
+        }
     }
 
     private boolean dispatch(CommandContext commandContext, CommandMessage message) {
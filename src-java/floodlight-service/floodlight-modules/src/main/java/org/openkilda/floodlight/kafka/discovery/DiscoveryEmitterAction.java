@@ -18,6 +18,7 @@ package org.openkilda.floodlight.kafka.discovery;
 import lombok.Getter;
 
 import java.time.Instant;
+import java.util.List;
 
 @Getter
 abstract class DiscoveryEmitterAction {
@@ -29,9 +30,15 @@ abstract class DiscoveryEmitterAction {
         this.discovery = discovery;
     }
 
-    public abstract void perform(NetworkDiscoveryEmitter emitter);
+    /**
+     * Perform the action, discoveries which must be emitted are added to the emit queue.
+     */
+    public abstract void perform(NetworkDiscoveryEmitter emitter, List<DiscoveryHolder> emitQueue);
 
-    public abstract void flush(NetworkDiscoveryEmitter emitter);
+    /**
+     * Flush the expired action, discoveries which must be emitted are added to the emit queue.
+     */
+    public abstract void flush(NetworkDiscoveryEmitter emitter, List<DiscoveryHolder> emitQueue);
 
     protected abstract void suppress(NetworkDiscoveryEmitter emitter);
 }
@@ -16,6 +16,7 @@
 package org.openkilda.floodlight.kafka.discovery;
 
 import java.time.Instant;
+import java.util.List;
 
 public class DiscoveryEmitterImmediateAction extends DiscoveryEmitterAction {
     DiscoveryEmitterImmediateAction(Instant expireTime, DiscoveryHolder discovery) {
@@ -23,12 +24,12 @@ public class DiscoveryEmitterImmediateAction extends DiscoveryEmitterAction {
     }
 
     @Override
-    public void perform(NetworkDiscoveryEmitter emitter) {
-        emitter.emit(getDiscovery());
+    public void perform(NetworkDiscoveryEmitter emitter, List<DiscoveryHolder> emitQueue) {
+        emitQueue.add(getDiscovery());
     }
 
     @Override
-    public void flush(NetworkDiscoveryEmitter emitter) {
+    public void flush(NetworkDiscoveryEmitter emitter, List<DiscoveryHolder> emitQueue) {
         // nothing to do here - action was immediately performed
     }
 
@@ -16,6 +16,7 @@
 package org.openkilda.floodlight.kafka.discovery;
 
 import java.time.Instant;
+import java.util.List;
 
 public class DiscoveryEmitterPostponedAction extends DiscoveryEmitterAction {
     private final DiscoveryEmitterAction previous;
@@ -26,13 +27,13 @@ public class DiscoveryEmitterPostponedAction extends DiscoveryEmitterAction {
     }
 
     @Override
-    public void perform(NetworkDiscoveryEmitter emitter) {
+    public void perform(NetworkDiscoveryEmitter emitter, List<DiscoveryHolder> emitQueue) {
         previous.suppress(emitter);
     }
 
     @Override
-    public void flush(NetworkDiscoveryEmitter emitter) {
-        emitter.emit(getDiscovery());
+    public void flush(NetworkDiscoveryEmitter emitter, List<DiscoveryHolder> emitQueue) {
+        emitQueue.add(getDiscovery());
     }
 
     @Override
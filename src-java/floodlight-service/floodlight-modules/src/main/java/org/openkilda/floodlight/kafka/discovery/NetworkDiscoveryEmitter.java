@@ -19,6 +19,7 @@ import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
@@ -34,9 +35,13 @@ import org.projectfloodlight.openflow.types.OFPort;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -73,18 +78,37 @@ public class NetworkDiscoveryEmitter {
      * Handle discovery request. Make a decision is it can be processed immediately or should be postponed.
      */
     public void handleRequest(DiscoverIslCommandData request, String correlationId) {
-        Target target = Target.of(request);
+        handleRequests(Collections.singletonList(request), correlationId);
+    }
+
+    /**
+     * Handle batch of discovery requests of one switch. Packets which can be sent immediately are sent in a single
+     * write into the switch connection.
+     */
+    public void handleBatchRequest(DiscoverIslBatchCommandData batch, String correlationId) {
+        handleRequests(batch.getRequests(), correlationId);
+    }
 
-        DiscoveryHolder discovery = new DiscoveryHolder(correlationId, request);
-        // To put new action at the end of tracing iteration list we must perform remove and put actions.
-        DiscoveryEmitterAction replacement;
+    private void handleRequests(List<DiscoverIslCommandData> requests, String correlationId) {
+        List<DiscoveryEmitterAction> replacements = new ArrayList<>(requests.size());
         synchronized (tracking) {
-            DiscoveryEmitterAction current = tracking.remove(target);
-            replacement = selectAction(current, discovery);
-            tracking.put(target, replacement);
+            for (DiscoverIslCommandData request : requests) {
+                Target target = Target.of(request);
+
+                DiscoveryHolder discovery = new DiscoveryHolder(correlationId, request);
+                // To put new action at the end of tracing iteration list we must perform remove and put actions.
+                DiscoveryEmitterAction current = tracking.remove(target);
+                DiscoveryEmitterAction replacement = selectAction(current, discovery);
+                tracking.put(target, replacement);
+                replacements.add(replacement);
+            }
         }
 
-        replacement.perform(this);
+        List<DiscoveryHolder> emitQueue = new ArrayList<>(replacements.size());
+        for (DiscoveryEmitterAction entry : replacements) {
+            entry.perform(this, emitQueue);
+        }
+        emit(emitQueue);
     }
 
     /**
@@ -107,16 +131,52 @@ public class NetworkDiscoveryEmitter {
             }
         }
 
+        List<DiscoveryHolder> emitQueue = new ArrayList<>(toFlush.size());
         for (DiscoveryEmitterAction action : toFlush) {
-            action.flush(this);
+            action.flush(this, emitQueue);
+        }
+        emit(emitQueue);
+    }
+
+    private void emit(List<DiscoveryHolder> emitQueue) {
+        Map<SwitchId, List<DiscoveryHolder>> bySwitch = new LinkedHashMap<>();
+        for (DiscoveryHolder entry : emitQueue) {
+            bySwitch.computeIfAbsent(entry.getDiscoveryRequest().getSwitchId(), key -> new ArrayList<>())
+                    .add(entry);
+        }
+
+        for (Entry<SwitchId, List<DiscoveryHolder>> entry : bySwitch.entrySet()) {
+            List<DiscoveryHolder> discoveries = entry.getValue();
+            if (discoveries.size() == 1) {
+                emit(discoveries.get(0));
+            } else {
+                emit(entry.getKey(), discoveries);
+            }
         }
     }
 
-    void emit(DiscoveryHolder discovery) {
+    private void emit(DiscoveryHolder discovery) {
         DiscoverIslCommandData request = discovery.getDiscoveryRequest();
         DatapathId dpId = DatapathId.of(request.getSwitchId().getId());
         pathVerificationService.sendDiscoveryMessage(dpId, OFPort.of(request.getPortNumber()), request.getPacketId());
+        confirm(discovery);
+    }
+
+    private void emit(SwitchId switchId, List<DiscoveryHolder> discoveries) {
+        Map<OFPort, Long> packets = new LinkedHashMap<>();
+        for (DiscoveryHolder entry : discoveries) {
+            DiscoverIslCommandData request = entry.getDiscoveryRequest();
+            packets.put(OFPort.of(request.getPortNumber()), request.getPacketId());
+        }
+        pathVerificationService.sendDiscoveryMessages(DatapathId.of(switchId.getId()), packets);
 
+        for (DiscoveryHolder entry : discoveries) {
+            confirm(entry);
+        }
+    }
+
+    private void confirm(DiscoveryHolder discovery) {
+        DiscoverIslCommandData request = discovery.getDiscoveryRequest();
         DiscoPacketSendingConfirmation confirmation = new DiscoPacketSendingConfirmation(
                 new NetworkEndpoint(request.getSwitchId(), request.getPortNumber()), request.getPacketId());
         kafkaProducerService.sendMessageAndTrack(confirmationTopic, request.getSwitchId().toString(),
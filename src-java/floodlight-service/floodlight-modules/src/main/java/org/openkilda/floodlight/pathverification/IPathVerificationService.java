@@ -19,9 +19,20 @@ import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
+import java.util.Map;
+
 public interface IPathVerificationService extends IFloodlightService {
 
     boolean sendDiscoveryMessage(DatapathId srcSwId, OFPort port, Long packetId);
 
+    /**
+     * Send discovery packets via several ports of the switch using a single write into the switch connection.
+     *
+     * @param srcSwId switch to send packets from
+     * @param packets packet ids by port
+     * @return true if all packets were written
+     */
+    boolean sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packets);
+
     PathVerificationServiceConfig getConfig();
 }
@@ -74,6 +74,7 @@ import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.util.OFMessageUtils;
 import org.apache.commons.codec.binary.Hex;
 import org.bouncycastle.util.Arrays;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
@@ -331,6 +332,60 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return result;
     }
 
+    @Override
+    public boolean sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packets) {
+        boolean result = false;
+
+        try {
+            IOFSwitch srcSwitch = switchService.getSwitch(srcSwId);
+            if (srcSwitch == null) {
+                return false;
+            }
+
+            List<OFMessage> batch = new ArrayList<>(packets.size());
+            List<Map.Entry<OFPort, Long>> batchTargets = new ArrayList<>(packets.size());
+            for (Map.Entry<OFPort, Long> entry : packets.entrySet()) {
+                OFPort port = entry.getKey();
+                if (srcSwitch.getPort(port) == null) {
+                    continue;
+                }
+                OFPacketOut ofPacketOut = generateDiscoveryPacket(srcSwitch, port, true, entry.getValue());
+                if (ofPacketOut != null) {
+                    logger.debug("==> Sending discovery packet out {}/{} id {}: {}", srcSwitch.getId(),
+                            port.getPortNumber(), entry.getValue(), Hex.encodeHexString(ofPacketOut.getData()));
+                    batch.add(ofPacketOut);
+                    batchTargets.add(entry);
+                } else {
+                    logger.error("<== Received null from generateDiscoveryPacket, inputs where: "
+                            + "srcSwitch: {}, port: {} id: {}", srcSwitch, port, entry.getValue());
+                }
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+
+            Collection<OFMessage> unsent = srcSwitch.write(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                OFMessage ofPacketOut = batch.get(i);
+                Map.Entry<OFPort, Long> target = batchTargets.get(i);
+                if (unsent.contains(ofPacketOut)) {
+                    logger.error(
+                            "Failed to send PACKET_OUT(ISL discovery packet) via {}-{} id:{} OF-xid:{}",
+                            srcSwitch.getId(), target.getKey().getPortNumber(), target.getValue(),
+                            ofPacketOut.getXid());
+                } else {
+                    logIsl.info("push discovery package via: {}-{} id:{} OF-xid:{}", srcSwitch.getId(),
+                            target.getKey().getPortNumber(), target.getValue(), ofPacketOut.getXid());
+                }
+            }
+            result = unsent.isEmpty() && batch.size() == packets.size();
+        } catch (Exception exception) {
+            logger.error(String.format("Unhandled exception in %s", getClass().getName()), exception);
+        }
+
+        return result;
+    }
+
     private static LLDPTLV switchTimestampTlv(byte type) {
         byte[] timestampArray = ByteBuffer
                 .allocate(ROUND_TRIP_LATENCY_TIMESTAMP_SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
@@ -17,7 +17,8 @@ package org.openkilda.floodlight.service.kafka;
 
 import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
 
-import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.OffsetResetStrategy;
 
 import java.util.ArrayList;
@@ -65,7 +66,7 @@ public class KafkaConsumerSetup {
     /**
      * Apply setup on kafka-consumer.
      */
-    public void applyInstance(KafkaConsumer<?, ?> consumer) {
-        consumer.subscribe(topicsSet);
+    public void applyInstance(Consumer<?, ?> consumer, ConsumerRebalanceListener rebalanceListener) {
+        consumer.subscribe(topicsSet, rebalanceListener);
     }
 }
@@ -35,13 +35,12 @@ public class KafkaUtilityService implements IService {
     }
 
     /**
-     * Create new kafka-consumer and apply setting from {@link KafkaConsumerSetup} argument.
+     * Create new kafka-consumer and apply config from {@link KafkaConsumerSetup} argument. The consumer is not
+     * subscribed yet, see {@link KafkaConsumerSetup#applyInstance}.
      */
     public Consumer<String, String> makeConsumer(KafkaConsumerSetup setup) {
         Properties config = setup.applyConfig(owner.getConfig().consumerProperties());
-        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config);
-        setup.applyInstance(consumer);
-        return consumer;
+        return new KafkaConsumer<>(config);
     }
 
     public Producer<String, String> makeProducer() {
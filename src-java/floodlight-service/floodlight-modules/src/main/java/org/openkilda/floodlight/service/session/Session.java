@@ -59,8 +59,9 @@ public class Session implements AutoCloseable {
     private final IOFSwitch sw;
     private final MessageContext context;
 
-    private CompletableFuture<Optional<OFMessage>> closingBarrier;
-    private boolean error = false;
+    // written by the thread which flushes switch writes
+    private volatile CompletableFuture<Optional<OFMessage>> closingBarrier;
+    private volatile boolean error = false;
     private boolean completed = false;
 
     private final Map<Long, CompletableFuture<Optional<OFMessage>>> requestsByXid = new ConcurrentHashMap<>();
@@ -73,20 +74,15 @@ public class Session implements AutoCloseable {
 
     /**
      * Send OF message to the switch and register it in session to trace possible responses.
+     *
+     * <p>The message can be written together with messages of other sessions of the switch, write errors are
+     * reported via returned future.
      */
     public CompletableFuture<Optional<OFMessage>> write(OFMessage message) {
         ensureOpen();
 
         CompletableFuture<Optional<OFMessage>> future = prepareRequest(message);
-        try {
-            actualWrite(message);
-        } catch (SwitchWriteException e) {
-            future.completeExceptionally(e);
-        } catch (Exception e) {
-            SwitchWriteException writeError = new SwitchWriteException(sw.getId(), message, e);
-            future.completeExceptionally(writeError);
-        }
-
+        group.write(this, sw, message);
         return future;
     }
 
@@ -107,18 +103,36 @@ public class Session implements AutoCloseable {
             throw new IllegalStateException("Session already closed");
         }
 
-        OFBarrierRequest barrier = sw.getOFFactory().barrierRequest();
+        // the barrier request can be shared with other sessions of the switch closed at the same time
+        group.close(this, sw);
+    }
+
+    void bindClosingBarrier(OFBarrierRequest barrier) {
         closingBarrier = prepareRequest(barrier);
-        try {
-            actualWrite(barrier);
-        } catch (SwitchWriteException e) {
-            closingBarrier.completeExceptionally(e);
-            SessionCloseException closeError = new SessionCloseException(sw.getId());
+    }
+
+    void writeFailed(OFMessage message, SwitchWriteException e) {
+        error = true;
+        CompletableFuture<Optional<OFMessage>> future = requestsByXid.get(message.getXid());
+        if (future != null) {
+            future.completeExceptionally(e);
+        }
+
+        if (closingBarrier != null) {
+            // the session was closed before the error was detected
+            SessionRevertException revertError = new SessionRevertException(sw.getId());
             incompleteRequestsStream()
-                    .forEach(entry -> entry.completeExceptionally(closeError));
+                    .forEach(entry -> entry.completeExceptionally(revertError));
         }
     }
 
+    void closeFailed(SwitchWriteException e) {
+        closingBarrier.completeExceptionally(e);
+        SessionCloseException closeError = new SessionCloseException(sw.getId());
+        incompleteRequestsStream()
+                .forEach(entry -> entry.completeExceptionally(closeError));
+    }
+
     void disconnect() {
         // must be safe to be called multiple times
         if (completed) {
@@ -151,7 +165,7 @@ public class Session implements AutoCloseable {
         }
         if (future.isDone()) {
             // it can already be marked as failed by results of some session wide errors
-            return false;
+            return future == closingBarrier;
         }
 
         // Setup correlationId (because this method called asynchronously by FL core).
@@ -194,15 +208,6 @@ public class Session implements AutoCloseable {
         return future;
     }
 
-    private void actualWrite(OFMessage message)
-            throws SwitchWriteException {
-        log.info("push OF message to {}: {}", sw.getId(), message);
-        if (!sw.write(message)) {
-            error = true;
-            throw new SwitchWriteException(sw.getId(), message);
-        }
-    }
-
     private Stream<CompletableFuture<Optional<OFMessage>>> incompleteRequestsStream() {
         ImmutableList<CompletableFuture<Optional<OFMessage>>> requestsSafeCopy;
         requestsSafeCopy = ImmutableList.copyOf(requestsByXid.values());
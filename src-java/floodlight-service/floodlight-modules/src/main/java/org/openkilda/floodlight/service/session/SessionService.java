@@ -15,6 +15,8 @@
 
 package org.openkilda.floodlight.service.session;
 
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.command.Command;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.model.OfInput;
@@ -24,6 +26,7 @@ import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.messaging.MessageContext;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
@@ -35,12 +38,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class SessionService implements IService, IInputTranslator {
     private static final Logger log = LoggerFactory.getLogger(SessionService.class);
 
     private final Map<DatapathId, SwitchSessions> sessionsByDatapath = new ConcurrentHashMap<>();
 
+    private ScheduledExecutorService flushScheduler;
+    private long writeFlushDelay;
+    private int writeMaxBatchSize;
+
     public Session open(IOFSwitch sw) {
         return open(new MessageContext(), sw);
     }
@@ -60,6 +69,16 @@ public class SessionService implements IService, IInputTranslator {
 
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
+        KildaCoreConfig coreConfig = moduleContext.getServiceImpl(KildaCore.class).getConfig();
+        writeFlushDelay = coreConfig.getSessionWriteFlushDelayMillis();
+        writeMaxBatchSize = coreConfig.getSessionWriteMaxBatchSize();
+        if (0 < writeFlushDelay) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("of-session-write-flush")
+                    .setDaemon(true)
+                    .build());
+        }
+
         InputService inputService = moduleContext.getServiceImpl(InputService.class);
         inputService.addTranslator(OFType.ERROR, this);
         inputService.addTranslator(OFType.BARRIER_REPLY, this);
@@ -97,7 +116,8 @@ public class SessionService implements IService, IInputTranslator {
      * <p>Called from main FL thread, that why we can avoid `synchronization` here.
      */
     void switchActivate(DatapathId dpId) {
-        SwitchSessions group = new SwitchSessions();
+        SwitchSessions group = new SwitchSessions(
+                new SwitchWriteCoalescer(flushScheduler, writeFlushDelay, writeMaxBatchSize));
         SwitchSessions previous;
         previous = sessionsByDatapath.put(dpId, group);
 
@@ -20,47 +20,90 @@ import org.openkilda.messaging.MessageContext;
 import net.floodlightcontroller.core.IOFSwitch;
 import org.projectfloodlight.openflow.protocol.OFMessage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 class SwitchSessions {
-    private final Map<Long, Session> sessionsByXid = new HashMap<>();
+    // barrier requests can be shared by several sessions, so one xid can be bound to several sessions
+    private final Map<Long, List<Session>> sessionsByXid = new HashMap<>();
+
+    private final SwitchWriteCoalescer writeCoalescer;
+
+    SwitchSessions(SwitchWriteCoalescer writeCoalescer) {
+        this.writeCoalescer = writeCoalescer;
+    }
 
     Session open(IOFSwitch sw, MessageContext context) {
         return new Session(this, sw, context);
     }
 
     void handleResponse(OFMessage message) {
-        Session session;
+        List<Session> sessions;
         synchronized (sessionsByXid) {
-            session = sessionsByXid.get(message.getXid());
+            sessions = sessionsByXid.get(message.getXid());
+            if (sessions != null) {
+                sessions = new ArrayList<>(sessions);
+            }
         }
 
-        if (session != null && session.handleResponse(message)) {
-            unbindSession(session);
+        if (sessions == null) {
+            return;
+        }
+        for (Session session : sessions) {
+            if (session.handleResponse(message)) {
+                unbindSession(session);
+            }
         }
     }
 
     void disconnect() {
-        sessionsByXid.values()
-                // Session can be listed multiple time into sessionsByXid map
-                // so .disconnect() will be called multiple times. Session.disconnect
-                // must be ready to be called multiple times
-                .forEach(Session::disconnect);
+        writeCoalescer.discard();
+
+        List<Session> sessions = new ArrayList<>();
+        synchronized (sessionsByXid) {
+            sessionsByXid.values().forEach(sessions::addAll);
+            sessionsByXid.clear();
+        }
+
+        // Session can be listed multiple time into sessionsByXid map
+        // so .disconnect() will be called multiple times. Session.disconnect
+        // must be ready to be called multiple times
+        sessions.forEach(Session::disconnect);
+    }
+
+    void write(Session session, IOFSwitch sw, OFMessage message) {
+        writeCoalescer.write(session, sw, message);
+    }
 
-        sessionsByXid.clear();
+    void close(Session session, IOFSwitch sw) {
+        writeCoalescer.closeSession(session, sw);
     }
 
     void bindRequest(Session session, long xid) {
         synchronized (sessionsByXid) {
-            sessionsByXid.put(xid, session);
+            sessionsByXid.computeIfAbsent(xid, key -> new ArrayList<>(1)).add(session);
         }
     }
 
     private void unbindSession(Session session) {
         synchronized (sessionsByXid) {
             for (long xid : session.getAllXids()) {
-                sessionsByXid.remove(xid);
+                List<Session> sessions = sessionsByXid.get(xid);
+                if (sessions == null) {
+                    continue;
+                }
+                Iterator<Session> iter = sessions.iterator();
+                while (iter.hasNext()) {
+                    if (iter.next() == session) {
+                        iter.remove();
+                    }
+                }
+                if (sessions.isEmpty()) {
+                    sessionsByXid.remove(xid);
+                }
             }
         }
     }
@@ -0,0 +1,203 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.session;
+
+import org.openkilda.floodlight.error.SwitchWriteException;
+
+import net.floodlightcontroller.core.IOFSwitch;
+import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates OF messages written by all sessions of a switch and writes them into the switch connection in batches.
+ *
+ * <p>Messages are queued and flushed after {@code flushDelay} or when {@code maxBatchSize} messages are queued,
+ * whatever happens first. Sessions closed before the flush share a single barrier request, which is written after all
+ * the queued messages. With zero {@code flushDelay} every write is flushed immediately.
+ *
+ * <p>Write errors are reported to the sessions the failed messages belong to.
+ */
+class SwitchWriteCoalescer {
+    private static final Logger log = LoggerFactory.getLogger(SwitchWriteCoalescer.class);
+
+    private final ScheduledExecutorService flushScheduler;
+    private final long flushDelay;
+    private final int maxBatchSize;
+
+    // guards the queue, the pending barrier and the flush scheduling
+    private final Object queueLock = new Object();
+    // serializes flushes, so messages are written in the order they were queued
+    private final Object flushLock = new Object();
+
+    private List<PendingWrite> queue = new ArrayList<>();
+    private IOFSwitch sw;
+    private OFBarrierRequest pendingBarrier;
+    private List<Session> barrierSessions = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    SwitchWriteCoalescer(ScheduledExecutorService flushScheduler, long flushDelay, int maxBatchSize) {
+        this.flushScheduler = flushScheduler;
+        this.flushDelay = flushDelay;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    void write(Session session, IOFSwitch sw, OFMessage message) {
+        boolean flushNow;
+        synchronized (queueLock) {
+            this.sw = sw;
+            queue.add(new PendingWrite(session, message));
+            flushNow = scheduleFlush();
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    /**
+     * Bind the session to the barrier request which will be written after all messages queued so far.
+     */
+    void closeSession(Session session, IOFSwitch sw) {
+        boolean flushNow;
+        synchronized (queueLock) {
+            this.sw = sw;
+            if (pendingBarrier == null) {
+                pendingBarrier = sw.getOFFactory().barrierRequest();
+            }
+            // bind while holding the lock, so the barrier can't be written (and replied) before the session knows it
+            session.bindClosingBarrier(pendingBarrier);
+            barrierSessions.add(session);
+            flushNow = scheduleFlush();
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    /**
+     * Drop queued messages, used on switch disconnect (all sessions are failed by the disconnect).
+     */
+    void discard() {
+        synchronized (queueLock) {
+            queue = new ArrayList<>();
+            pendingBarrier = null;
+            barrierSessions = new ArrayList<>();
+        }
+    }
+
+    void flush() {
+        synchronized (flushLock) {
+            IOFSwitch target;
+            List<PendingWrite> batch;
+            OFBarrierRequest barrier;
+            List<Session> closingSessions;
+            synchronized (queueLock) {
+                target = sw;
+                batch = queue;
+                barrier = pendingBarrier;
+                closingSessions = barrierSessions;
+                queue = new ArrayList<>();
+                pendingBarrier = null;
+                barrierSessions = new ArrayList<>();
+                flushScheduled = false;
+            }
+
+            if (barrier != null) {
+                batch.add(new PendingWrite(null, barrier));
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(target, batch, closingSessions);
+            }
+        }
+    }
+
+    private boolean scheduleFlush() {
+        int size = queue.size() + (pendingBarrier != null ? 1 : 0);
+        if (flushDelay <= 0 || maxBatchSize <= size) {
+            return true;
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            flushScheduler.schedule(this::flush, flushDelay, TimeUnit.MILLISECONDS);
+        }
+        return false;
+    }
+
+    private void writeBatch(IOFSwitch sw, List<PendingWrite> writes, List<Session> closingSessions) {
+        if (log.isDebugEnabled()) {
+            for (PendingWrite entry : writes) {
+                log.debug("push OF message to {}: {}", sw.getId(), entry.message);
+            }
+        }
+
+        Collection<OFMessage> unsent;
+        try {
+            if (writes.size() == 1) {
+                OFMessage message = writes.get(0).message;
+                unsent = sw.write(message) ? Collections.emptyList() : Collections.singletonList(message);
+            } else {
+                List<OFMessage> messages = new ArrayList<>(writes.size());
+                for (PendingWrite entry : writes) {
+                    messages.add(entry.message);
+                }
+                unsent = sw.write(messages);
+            }
+        } catch (Exception e) {
+            log.error("Unable to write {} OF messages into {}", writes.size(), sw.getId(), e);
+            for (PendingWrite entry : writes) {
+                reportError(entry, closingSessions, new SwitchWriteException(sw.getId(), entry.message, e));
+            }
+            return;
+        }
+
+        log.info("push {} OF messages to {} ({} failed)", writes.size(), sw.getId(), unsent.size());
+        for (PendingWrite entry : writes) {
+            if (unsent.contains(entry.message)) {
+                reportError(entry, closingSessions, new SwitchWriteException(sw.getId(), entry.message));
+            }
+        }
+    }
+
+    private void reportError(PendingWrite entry, List<Session> closingSessions, SwitchWriteException error) {
+        if (entry.session != null) {
+            entry.session.writeFailed(entry.message, error);
+        } else {
+            // shared barrier
+            for (Session session : closingSessions) {
+                session.closeFailed(error);
+            }
+        }
+    }
+
+    private static class PendingWrite {
+        // null for the shared barrier
+        private final Session session;
+        private final OFMessage message;
+
+        PendingWrite(Session session, OFMessage message) {
+            this.session = session;
+            this.message = message;
+        }
+    }
+}
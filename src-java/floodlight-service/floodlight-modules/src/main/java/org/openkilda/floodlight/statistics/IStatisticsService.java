@@ -19,8 +19,14 @@ import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 
+import java.util.List;
 import java.util.Set;
 
 public interface IStatisticsService extends IFloodlightService {
     void processStatistics(FloodlightModuleContext context, Set<DatapathId> excludeSwitches);
+
+    /**
+     * Returns the statistics collection latency of the switches.
+     */
+    List<StatsCollectionLatency> getCollectionLatencies();
 }
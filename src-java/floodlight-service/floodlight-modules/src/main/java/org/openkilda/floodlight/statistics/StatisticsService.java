@@ -17,12 +17,14 @@ package org.openkilda.floodlight.statistics;
 
 import static java.lang.String.format;
 
+import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.converter.OfFlowStatsMapper;
 import org.openkilda.floodlight.converter.OfMeterStatsMapper;
 import org.openkilda.floodlight.converter.OfPortStatsMapper;
 import org.openkilda.floodlight.converter.OfTableStatsMapper;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.floodlight.statistics.web.StatisticsServiceWebRoutable;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosable;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
@@ -36,12 +38,14 @@ import org.openkilda.model.SwitchId;
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -59,6 +63,8 @@ import org.projectfloodlight.openflow.types.OFPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -68,7 +74,8 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka.
+ * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka. Collection of
+ * the switches is spread across the collection interval by {@link StatsCollectionScheduler}.
  */
 public class StatisticsService implements IStatisticsService, IFloodlightModule {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
@@ -76,8 +83,10 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
     private IOFSwitchService switchService;
     private IKafkaProducerService producerService;
-    private String statisticsTopic;
-    private String region;
+    private StatisticsServiceConfig config;
+    private StatsCollectionScheduler scheduler;
+    private volatile String statisticsTopic;
+    private volatile String region;
 
     @Override
     public Collection<Class<? extends IFloodlightService>> getModuleServices() {
@@ -95,6 +104,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
                 IFloodlightProviderService.class,
                 IOFSwitchService.class,
                 IThreadPoolService.class,
+                IRestApiService.class,
                 KafkaUtilityService.class,
                 IKafkaProducerService.class);
     }
@@ -103,11 +113,18 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
     public void init(FloodlightModuleContext context) {
         switchService = context.getServiceImpl(IOFSwitchService.class);
         producerService = context.getServiceImpl(IKafkaProducerService.class);
+
+        FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(context, this);
+        config = provider.getConfiguration(StatisticsServiceConfig.class);
     }
 
     @Override
     public void startUp(FloodlightModuleContext moduleContext) {
-        // no operations required
+        scheduler = new StatsCollectionScheduler(
+                moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor(), Clock.systemUTC(),
+                this::gatherStats, config);
+        new SwitchEventsTranslator(scheduler, switchService);
+        moduleContext.getServiceImpl(IRestApiService.class).addRestletRoutable(new StatisticsServiceWebRoutable());
     }
 
     @Override
@@ -115,37 +132,53 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         statisticsTopic = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getStatsTopic();
         region = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getRegion();
 
-        switchService.getAllSwitchMap().values().stream()
-                .filter(it -> scope.contains(it.getId()))
-                .forEach(iofSwitch -> {
-                    try {
-                        gatherPortStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherFlowStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherMeterStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherTableStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
-                    }
-                });
+        scheduler.schedule(switchService.getAllSwitchMap().keySet().stream()
+                .filter(scope::contains)
+                .map(dpId -> new SwitchId(dpId.getLong()))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<StatsCollectionLatency> getCollectionLatencies() {
+        return scheduler.getLatencies();
+    }
+
+    private List<ListenableFuture<?>> gatherStats(SwitchId switchId) {
+        List<ListenableFuture<?>> requests = new ArrayList<>();
+        IOFSwitch iofSwitch = switchService.getActiveSwitch(DatapathId.of(switchId.toLong()));
+        if (iofSwitch == null) {
+            logger.info("Skip stats collection for switch {}, it is not active", switchId);
+            return requests;
+        }
+
+        try {
+            gatherPortStats(iofSwitch, requests);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
+        }
+
+        try {
+            gatherFlowStats(iofSwitch, requests);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
+        }
+
+        try {
+            gatherMeterStats(iofSwitch, requests);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
+        }
+
+        try {
+            gatherTableStats(iofSwitch, requests);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
+        }
+        return requests;
     }
 
     @NewCorrelationContextRequired
-    private void gatherPortStats(IOFSwitch iofSwitch) {
+    private void gatherPortStats(IOFSwitch iofSwitch, List<ListenableFuture<?>> requests) {
         OFFactory factory = iofSwitch.getOFFactory();
         SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -156,12 +189,12 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
         logger.info("Getting port stats for switch={} OF-xid:{}", iofSwitch.getId(), portStatsRequest.getXid());
 
-        Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest), new RequestCallback<>(
-                data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId), switchId, "port"));
+        requests.add(addCallback(iofSwitch.writeStatsRequest(portStatsRequest), new RequestCallback<>(
+                data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId), switchId, "port")));
     }
 
     @NewCorrelationContextRequired
-    private void gatherFlowStats(IOFSwitch iofSwitch) {
+    private void gatherFlowStats(IOFSwitch iofSwitch, List<ListenableFuture<?>> requests) {
         OFFactory factory = iofSwitch.getOFFactory();
         final SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -174,13 +207,13 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
             // skip flow stats for OF 1.5 protocol version
             logger.info("Getting flow stats for switch={} OF-xid:{}", iofSwitch.getId(), flowStatsRequest.getXid());
 
-            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), new RequestCallback<>(
-                    data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId), switchId, "flow"));
+            requests.add(addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), new RequestCallback<>(
+                    data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId), switchId, "flow")));
         }
     }
 
     @NewCorrelationContextRequired
-    private void gatherTableStats(IOFSwitch iofSwitch) {
+    private void gatherTableStats(IOFSwitch iofSwitch, List<ListenableFuture<?>> requests) {
         final SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
         OFFactory factory = iofSwitch.getOFFactory();
 
@@ -207,12 +240,12 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
             };
 
             RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, switchId, "table");
-            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback);
+            requests.add(addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback));
         }
     }
 
     @NewCorrelationContextRequired
-    private void gatherMeterStats(IOFSwitch iofSwitch) {
+    private void gatherMeterStats(IOFSwitch iofSwitch, List<ListenableFuture<?>> requests) {
         OFFactory factory = iofSwitch.getOFFactory();
         SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -225,12 +258,17 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
             logger.info("Getting meter stats for switch={} OF-xid:{}", iofSwitch.getId(), meterStatsRequest.getXid());
 
-            Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest),
+            requests.add(addCallback(iofSwitch.writeStatsRequest(meterStatsRequest),
                     new RequestCallback<>(
-                            data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId), switchId, "meter"));
+                            data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId), switchId, "meter")));
         }
     }
 
+    private static <T> ListenableFuture<T> addCallback(ListenableFuture<T> future, FutureCallback<? super T> callback) {
+        Futures.addCallback(future, callback);
+        return future;
+    }
+
     private class RequestCallback<T extends OFStatsReply> implements FutureCallback<List<T>> {
         private Function<List<T>, InfoData> transform;
         private final SwitchId switchId;
@@ -0,0 +1,52 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import javax.validation.constraints.Min;
+
+@Configuration
+public interface StatisticsServiceConfig {
+    /**
+     * The interval the stats topology requests statistics with. Collection of the switches is spread across it.
+     */
+    @Key("collection-interval-seconds")
+    @Default("60")
+    @Min(1)
+    int getCollectionIntervalSeconds();
+
+    @Key("max-concurrent-collections")
+    @Default("32")
+    @Min(1)
+    int getMaxConcurrentCollections();
+
+    /**
+     * A switch which takes longer to reply is skipped for the next intervals, the number of skipped intervals is
+     * doubled on every consecutive slow collection up to max-backoff-intervals.
+     */
+    @Key("slow-collection-threshold-millis")
+    @Default("10000")
+    @Min(1)
+    long getSlowCollectionThresholdMillis();
+
+    @Key("max-backoff-intervals")
+    @Default("8")
+    @Min(0)
+    int getMaxBackoffIntervals();
+}
@@ -1,4 +1,4 @@
-/* Copyright 2019 Telstra Open Source
+/* Copyright 2020 Telstra Open Source
  *
  *   Licensed under the Apache License, Version 2.0 (the "License");
  *   you may not use this file except in compliance with the License.
@@ -13,14 +13,16 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats;
-
-import org.openkilda.model.SwitchId;
+package org.openkilda.floodlight.statistics;
 
 import lombok.Value;
 
 @Value
-public class CookieCacheKey {
-    private SwitchId switchId;
-    private long cookie;
+public class StatsCollectionLatency {
+    private String switchId;
+    private long lastMillis;
+    private long maxMillis;
+    private long averageMillis;
+    private long collections;
+    private int backoffIntervals;
 }
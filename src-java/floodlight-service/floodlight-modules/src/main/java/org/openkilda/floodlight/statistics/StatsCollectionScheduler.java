@@ -0,0 +1,258 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import org.openkilda.model.SwitchId;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Spreads statistics collection of the switches across the collection interval.
+ * <p/>
+ * Every switch gets a stable offset within the interval derived from the hash of its ID, so the switches are not
+ * polled at the same instant and each one is polled at about the same phase of every interval. At most
+ * max-concurrent-collections switches are polled at a time, the others wait for a free slot. A switch which replies
+ * slower than the threshold is skipped for a number of the following intervals.
+ */
+public class StatsCollectionScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(StatsCollectionScheduler.class);
+
+    private final ScheduledExecutorService executor;
+    private final Clock clock;
+    private final Function<SwitchId, List<ListenableFuture<?>>> collector;
+    private final long intervalMillis;
+    private final int maxConcurrentCollections;
+    private final long slowThresholdMillis;
+    private final int maxBackoffIntervals;
+
+    private final Map<SwitchId, SwitchState> switches = new HashMap<>();
+    private final Deque<SwitchId> waiting = new ArrayDeque<>();
+    private int activeCollections;
+    private long lastCollectionId;
+    private boolean draining;
+
+    /**
+     * Creates the scheduler.
+     *
+     * @param collector sends the statistics requests to the switch and returns the futures of the replies.
+     */
+    public StatsCollectionScheduler(ScheduledExecutorService executor, Clock clock,
+                                    Function<SwitchId, List<ListenableFuture<?>>> collector,
+                                    StatisticsServiceConfig config) {
+        this.executor = executor;
+        this.clock = clock;
+        this.collector = collector;
+        this.intervalMillis = TimeUnit.SECONDS.toMillis(config.getCollectionIntervalSeconds());
+        this.maxConcurrentCollections = config.getMaxConcurrentCollections();
+        this.slowThresholdMillis = config.getSlowCollectionThresholdMillis();
+        this.maxBackoffIntervals = config.getMaxBackoffIntervals();
+    }
+
+    /**
+     * Schedules a collection of each of the switches at its offset within the current interval. A switch which has
+     * not finished its previous collection yet or is backed off is skipped. A switch whose collection is scheduled
+     * but not started yet (e.g. the interval tick fired a bit early) keeps the scheduled one.
+     */
+    public synchronized void schedule(Collection<SwitchId> scope) {
+        long now = clock.millis();
+        for (SwitchId switchId : scope) {
+            SwitchState state = switches.computeIfAbsent(switchId, key -> new SwitchState());
+            if (state.skipIntervals > 0) {
+                state.skipIntervals--;
+                logger.debug("Skip stats collection for backed off switch {}", switchId);
+            } else if (state.scheduled) {
+                logger.debug("Stats collection for switch {} is already scheduled", switchId);
+            } else if (state.pending) {
+                logger.warn("Skip stats collection for switch {}, the previous one is still in progress", switchId);
+            } else {
+                state.scheduled = true;
+                executor.schedule(() -> onDue(switchId), delayOf(switchId, now), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Forgets the switch once it's disconnected. Its collection which is scheduled or waits for a free slot is
+     * dropped, a started one releases its slot right away.
+     */
+    public synchronized void removeSwitch(SwitchId switchId) {
+        SwitchState state = switches.remove(switchId);
+        if (state == null) {
+            return;
+        }
+        logger.debug("Stop stats collection for switch {}", switchId);
+        waiting.remove(switchId);
+        if (state.pending) {
+            activeCollections--;
+            startWaiting();
+        }
+    }
+
+    /**
+     * Returns the collection latency of every switch collected at least once.
+     */
+    public synchronized List<StatsCollectionLatency> getLatencies() {
+        List<StatsCollectionLatency> result = new ArrayList<>(switches.size());
+        for (Map.Entry<SwitchId, SwitchState> entry : switches.entrySet()) {
+            SwitchState state = entry.getValue();
+            if (state.collections > 0) {
+                result.add(new StatsCollectionLatency(entry.getKey().toString(), state.lastLatency,
+                        state.maxLatency, state.totalLatency / state.collections, state.collections,
+                        state.backoffIntervals));
+            }
+        }
+        return result;
+    }
+
+    @VisibleForTesting
+    long delayOf(SwitchId switchId, long now) {
+        long offset = Math.floorMod(mix(switchId.getId()), intervalMillis);
+        return Math.floorMod(offset - now, intervalMillis);
+    }
+
+    @VisibleForTesting
+    synchronized void onDue(SwitchId switchId) {
+        SwitchState state = switches.get(switchId);
+        if (state == null || !state.scheduled) {
+            return;  // the switch has been removed
+        }
+        if (activeCollections < maxConcurrentCollections) {
+            start(switchId);
+        } else {
+            waiting.addLast(switchId);
+        }
+    }
+
+    private void start(SwitchId switchId) {
+        SwitchState state = switches.get(switchId);
+        long collectionId = ++lastCollectionId;
+        state.scheduled = false;
+        state.pending = true;
+        state.collectionId = collectionId;
+        state.startTime = clock.millis();
+        activeCollections++;
+
+        List<ListenableFuture<?>> requests;
+        try {
+            requests = collector.apply(switchId);
+        } catch (Exception e) {
+            logger.error("Failed to request stats from switch {}", switchId, e);
+            requests = new ArrayList<>();
+        }
+
+        Futures.addCallback(Futures.successfulAsList(requests), new FutureCallback<List<Object>>() {
+            @Override
+            public void onSuccess(List<Object> result) {
+                onComplete(switchId, collectionId);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                onComplete(switchId, collectionId);
+            }
+        });
+        // A switch which never replies must not hold the slot forever.
+        executor.schedule(() -> onComplete(switchId, collectionId), intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @VisibleForTesting
+    synchronized void onComplete(SwitchId switchId, long collectionId) {
+        SwitchState state = switches.get(switchId);
+        if (state == null || !state.pending || state.collectionId != collectionId) {
+            return;  // the collection is already completed or the switch has been removed
+        }
+        state.pending = false;
+        activeCollections--;
+
+        long latency = clock.millis() - state.startTime;
+        state.lastLatency = latency;
+        state.maxLatency = Math.max(state.maxLatency, latency);
+        state.totalLatency += latency;
+        state.collections++;
+        if (latency > slowThresholdMillis) {
+            state.backoffIntervals = Math.min(Math.max(1, state.backoffIntervals * 2), maxBackoffIntervals);
+            state.skipIntervals = state.backoffIntervals;
+            logger.warn("Stats collection for switch {} took {} ms, skip it for {} intervals",
+                    switchId, latency, state.skipIntervals);
+        } else {
+            state.backoffIntervals = 0;
+        }
+
+        startWaiting();
+    }
+
+    private void startWaiting() {
+        if (draining) {
+            return;  // a collection completed right on start, the outer call keeps draining
+        }
+        draining = true;
+        try {
+            while (activeCollections < maxConcurrentCollections && !waiting.isEmpty()) {
+                start(waiting.pollFirst());
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    private static long mix(long value) {
+        // The finalizer of MurmurHash3
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static class SwitchState {
+        /**
+         * The collection is scheduled or waits for a free slot.
+         */
+        boolean scheduled;
+        /**
+         * The collection is started and not completed yet.
+         */
+        boolean pending;
+        long collectionId;
+        long startTime;
+        int backoffIntervals;
+        int skipIntervals;
+
+        long lastLatency;
+        long maxLatency;
+        long totalLatency;
+        long collections;
+    }
+}
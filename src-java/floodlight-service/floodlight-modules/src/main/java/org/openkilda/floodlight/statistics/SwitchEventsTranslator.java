@@ -0,0 +1,63 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import org.openkilda.model.SwitchId;
+
+import net.floodlightcontroller.core.IOFSwitchListener;
+import net.floodlightcontroller.core.PortChangeType;
+import net.floodlightcontroller.core.internal.IOFSwitchService;
+import org.projectfloodlight.openflow.protocol.OFPortDesc;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+class SwitchEventsTranslator implements IOFSwitchListener {
+    private final StatsCollectionScheduler scheduler;
+
+    SwitchEventsTranslator(StatsCollectionScheduler scheduler, IOFSwitchService iofSwitchService) {
+        this.scheduler = scheduler;
+        iofSwitchService.addOFSwitchListener(this);
+    }
+
+    @Override
+    public void switchAdded(DatapathId switchId) {
+        // the switch is collected once it's in the scope of a collection
+    }
+
+    @Override
+    public void switchRemoved(DatapathId switchId) {
+        scheduler.removeSwitch(new SwitchId(switchId.getLong()));
+    }
+
+    @Override
+    public void switchActivated(DatapathId switchId) {
+        // the switch is collected once it's in the scope of a collection
+    }
+
+    @Override
+    public void switchPortChanged(DatapathId switchId, OFPortDesc port, PortChangeType type) {
+        // not related to stats collection
+    }
+
+    @Override
+    public void switchChanged(DatapathId switchId) {
+        // not related to stats collection
+    }
+
+    @Override
+    public void switchDeactivated(DatapathId switchId) {
+        scheduler.removeSwitch(new SwitchId(switchId.getLong()));
+    }
+}
@@ -0,0 +1,72 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.command.flow;
+
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.factory.TransitFlowSegmentRequestFactory;
+import org.openkilda.floodlight.command.AbstractSpeakerCommandJsonTest;
+import org.openkilda.floodlight.command.SpeakerCommand;
+import org.openkilda.floodlight.command.SpeakerCommandReport;
+import org.openkilda.floodlight.command.flow.transit.TransitFlowSegmentInstallCommand;
+import org.openkilda.floodlight.command.flow.transit.TransitFlowSegmentRemoveCommand;
+import org.openkilda.floodlight.model.FlowSegmentMetadata;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowTransitEncapsulation;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+
+public class FlowSegmentBatchCommandJsonTest extends AbstractSpeakerCommandJsonTest<FlowSegmentBatchRequest> {
+    @Override
+    protected void verify(FlowSegmentBatchRequest request,
+                          SpeakerCommand<? extends SpeakerCommandReport> rawCommand) {
+        Assert.assertTrue(rawCommand instanceof FlowSegmentBatchCommand);
+        FlowSegmentBatchCommand command = (FlowSegmentBatchCommand) rawCommand;
+
+        Assert.assertEquals(request.getMessageContext(), command.getMessageContext());
+        Assert.assertEquals(request.getSwitchId(), command.getSwitchId());
+        Assert.assertEquals(request.getCommandId(), command.getCommandId());
+
+        Assert.assertEquals(2, command.getCommands().size());
+        Assert.assertTrue(command.getCommands().get(0) instanceof TransitFlowSegmentInstallCommand);
+        Assert.assertTrue(command.getCommands().get(1) instanceof TransitFlowSegmentRemoveCommand);
+        for (int i = 0; i < 2; i++) {
+            FlowSegmentRequest entry = request.getRequests().get(i);
+            FlowSegmentCommand entryCommand = command.getCommands().get(i);
+            Assert.assertEquals(entry.getCommandId(), entryCommand.getCommandId());
+            Assert.assertEquals(entry.getMetadata(), entryCommand.getMetadata());
+        }
+    }
+
+    @Override
+    protected FlowSegmentBatchRequest makeRequest() {
+        SwitchId switchId = new SwitchId(1);
+        TransitFlowSegmentRequestFactory factory = new TransitFlowSegmentRequestFactory(
+                new MessageContext(), switchId,
+                new FlowSegmentMetadata("flow-segment-batch-request", new Cookie(2), false),
+                3, 4,
+                new FlowTransitEncapsulation(5, FlowEncapsulationType.TRANSIT_VLAN));
+        return new FlowSegmentBatchRequest(
+                new MessageContext(), switchId, commandIdGenerator.generate(),
+                ImmutableList.of(
+                        factory.makeInstallRequest(commandIdGenerator.generate()),
+                        factory.makeRemoveRequest(commandIdGenerator.generate())));
+    }
+}
@@ -15,96 +15,228 @@
 
 package org.openkilda.floodlight.kafka;
 
-import static org.easymock.EasyMock.anyObject;
-import static org.easymock.EasyMock.mock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.floodlight.kafka.Consumer.KafkaOffsetRegistry;
+import org.openkilda.floodlight.kafka.Consumer.TrackedOffset;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.easymock.EasyMock;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
-import java.util.Map;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaOffsetRegistryTest {
+    private static final String TOPIC = "test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 1);
+    private static final TopicPartition OTHER_PARTITION = new TopicPartition(TOPIC, 2);
+
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+    @Before
+    public void setUp() {
+        consumer.assign(Collections.singletonList(PARTITION));
+    }
+
     @Test
-    public void shouldNotCommitRightOnAdd() {
+    public void shouldNotCommitBeforeIntervalPassed() {
         // given
-        @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        EasyMock.replay(consumer);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 100);
 
         // when
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(makeRecord(1)).complete();
+        registry.commitIfIntervalPassed();
 
         // then
-        EasyMock.verify(consumer);
+        assertNull(consumer.committed(PARTITION));
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    public void shouldCommitOnAddIfIntervalPassed() throws InterruptedException {
+    public void shouldCommitIfIntervalPassed() throws InterruptedException {
         // given
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        consumer.commitSync(anyObject(Map.class));
-        EasyMock.expectLastCall();
-        EasyMock.replay(consumer);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 1L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 1L, 100);
 
         // when
         TimeUnit.MILLISECONDS.sleep(10);
 
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(makeRecord(1)).complete();
+        registry.commitIfIntervalPassed();
 
         // then
-        EasyMock.verify(consumer);
+        assertEquals(2L, consumer.committed(PARTITION).offset());
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    public void shouldCommitOffsetsIfRequested() {
+    public void shouldNotCommitNotHandledRecords() {
         // given
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        consumer.commitSync(anyObject(Map.class));
-        EasyMock.expectLastCall();
-        EasyMock.replay(consumer);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 100);
 
         // when
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(makeRecord(1));
         registry.commitOffsets();
 
         // then
-        EasyMock.verify(consumer);
+        assertNull(consumer.committed(PARTITION));
     }
 
     @Test
-    public void failTryingToAddRecordWithOutdatedOffset() {
+    public void shouldCommitOnlyContiguousHandledRecords() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 100);
+        final TrackedOffset first = registry.add(makeRecord(1));
+        final TrackedOffset second = registry.add(makeRecord(2));
+        TrackedOffset third = registry.add(makeRecord(3));
+
+        // when
+        first.complete();
+        third.complete();
+        registry.commitOffsets();
+
+        // then
+        assertEquals(2L, consumer.committed(PARTITION).offset());
+
+        // when
+        second.complete();
+        registry.commitOffsets();
+
+        // then
+        assertEquals(4L, consumer.committed(PARTITION).offset());
+    }
+
+    @Test
+    public void shouldPausePartitionWithTooManyRecordsInFlight() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 4);
+        final TrackedOffset first = registry.add(makeRecord(1));
+        final TrackedOffset second = registry.add(makeRecord(2));
+        registry.add(makeRecord(3));
+
+        // when
+        registry.updatePausedPartitions();
+
+        // then
+        assertTrue(consumer.paused().isEmpty());
+
+        // when
+        registry.add(makeRecord(4));
+        registry.updatePausedPartitions();
+
+        // then
+        assertEquals(Collections.singleton(PARTITION), consumer.paused());
+
+        // when
+        first.complete();
+        registry.updatePausedPartitions();
+
+        // then
+        assertEquals(Collections.singleton(PARTITION), consumer.paused());
+
+        // when
+        second.complete();
+        registry.updatePausedPartitions();
+
+        // then
+        assertTrue(consumer.paused().isEmpty());
+    }
+
+    @Test
+    public void shouldCountTicksInFlight() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 4);
+        registry.add(makeRecord(1));
+        registry.add(makeRecord(2));
+        registry.add(makeRecord(3));
+        TrackedOffset tick = registry.trackTick();
+
+        // when
+        registry.updatePausedPartitions();
+
+        // then
+        assertEquals(Collections.singleton(PARTITION), consumer.paused());
+
+        // when
+        tick.complete();
+        registry.updatePausedPartitions();
+
+        // then
+        assertEquals(Collections.singleton(PARTITION), consumer.paused());
+    }
+
+    @Test
+    public void shouldNotPauseNotAssignedPartition() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 1);
+        registry.add(makeRecord(OTHER_PARTITION, 1));
+
+        // when
+        registry.updatePausedPartitions();
+
+        // then
+        assertTrue(consumer.paused().isEmpty());
+    }
+
+    @Test
+    public void shouldCommitHandledRecordsOnRevoke() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 100);
+        registry.add(makeRecord(1)).complete();
+        registry.add(makeRecord(2));
+
+        // when
+        registry.onPartitionsRevoked(Collections.singletonList(PARTITION));
+
+        // then
+        assertEquals(2L, consumer.committed(PARTITION).offset());
+    }
+
+    @Test
+    public void shouldAcceptRedeliveredRecordsAfterRebalance() {
         // given
-        @SuppressWarnings("unchecked")
-        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 100);
+        registry.add(makeRecord(1)).complete();
+        TrackedOffset inFlight = registry.add(makeRecord(2));
+
+        // when
+        registry.onPartitionsRevoked(Collections.singletonList(PARTITION));
+        registry.onPartitionsAssigned(Collections.singletonList(PARTITION));
+        registry.add(makeRecord(2)).complete();
+        inFlight.complete();
+        registry.commitOffsets();
 
-        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 10, "key", "value");
-        registry.addAndCommit(record);
+        // then
+        assertEquals(3L, consumer.committed(PARTITION).offset());
+    }
+
+    @Test
+    public void failTryingToAddRecordWithOutdatedOffset() {
+        // given
+        KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L, 100);
+        registry.add(makeRecord(10));
 
         expectedException.expect(IllegalArgumentException.class);
 
         // when
-        ConsumerRecord<String, String> outdated = new ConsumerRecord<>("test", 1, 1, "key2", "value2");
-        registry.addAndCommit(outdated);
+        registry.add(makeRecord(1));
 
         // then an IllegalArgumentException is thrown
     }
+
+    private ConsumerRecord<String, String> makeRecord(long offset) {
+        return makeRecord(PARTITION, offset);
+    }
+
+    private ConsumerRecord<String, String> makeRecord(TopicPartition partition, long offset) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, "key", "value");
+    }
 }
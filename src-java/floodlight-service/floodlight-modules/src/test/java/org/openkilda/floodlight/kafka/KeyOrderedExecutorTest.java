@@ -0,0 +1,95 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class KeyOrderedExecutorTest {
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("test", 4);
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteTasksOfKeyInSubmitOrder() throws InterruptedException {
+        int keysCount = 10;
+        int tasksPerKey = 1000;
+        Map<String, List<Integer>> executed = new HashMap<>();
+        for (int i = 0; i < keysCount; i++) {
+            executed.put("key" + i, Collections.synchronizedList(new ArrayList<>()));
+        }
+        CountDownLatch done = new CountDownLatch(keysCount * tasksPerKey);
+
+        for (int task = 0; task < tasksPerKey; task++) {
+            for (int i = 0; i < keysCount; i++) {
+                String key = "key" + i;
+                int sequence = task;
+                executor.execute(key, () -> {
+                    executed.get(key).add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> sequences : executed.values()) {
+            assertEquals(tasksPerKey, sequences.size());
+            for (int i = 0; i < tasksPerKey; i++) {
+                assertEquals(i, (int) sequences.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldExecuteTasksWithoutKey() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(null, done::countDown);
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldKeepExecutingLaneAfterTaskFailure() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute("key", () -> {
+            throw new IllegalStateException("test failure");
+        });
+        executor.execute("key", done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldMapKeyToSameLane() {
+        assertEquals(executor.laneOf("00:00:00:00:00:00:00:01"), executor.laneOf("00:00:00:00:00:00:00:01"));
+    }
+}
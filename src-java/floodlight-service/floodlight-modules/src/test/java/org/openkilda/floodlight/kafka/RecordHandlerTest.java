@@ -0,0 +1,99 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.niceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.floodlight.api.request.TransitFlowSegmentInstallRequest;
+import org.openkilda.floodlight.model.FlowSegmentMetadata;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.payload.switches.InstallIslDefaultRulesCommand;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowTransitEncapsulation;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+public class RecordHandlerTest {
+    private static final SwitchId SWITCH_ID = new SwitchId(1);
+    private static final SwitchId DST_SWITCH_ID = new SwitchId(2);
+
+    @Test
+    public void shouldLookupSwitchIdOfSpeakerRequest() throws Exception {
+        TransitFlowSegmentInstallRequest request = TransitFlowSegmentInstallRequest.builder()
+                .messageContext(new MessageContext())
+                .switchId(SWITCH_ID)
+                .commandId(UUID.randomUUID())
+                .metadata(new FlowSegmentMetadata("flow", new Cookie(1), false))
+                .ingressIslPort(1)
+                .egressIslPort(2)
+                .encapsulation(new FlowTransitEncapsulation(100, FlowEncapsulationType.TRANSIT_VLAN))
+                .build();
+
+        assertEquals(Optional.of(SWITCH_ID), makeHandler(MAPPER.writeValueAsString(request)).lookupSwitchId());
+    }
+
+    @Test
+    public void shouldLookupSwitchIdOfCommandMessage() throws Exception {
+        CommandMessage message = new CommandMessage(new DumpRulesRequest(SWITCH_ID), 0, "correlation-id");
+
+        assertEquals(Optional.of(SWITCH_ID), makeHandler(MAPPER.writeValueAsString(message)).lookupSwitchId());
+    }
+
+    @Test
+    public void shouldLookupSourceSwitchIdOfIslCommand() throws Exception {
+        CommandMessage message = new CommandMessage(
+                new InstallIslDefaultRulesCommand(SWITCH_ID, 1, DST_SWITCH_ID, 2), 0, "correlation-id");
+
+        assertEquals(Optional.of(SWITCH_ID), makeHandler(MAPPER.writeValueAsString(message)).lookupSwitchId());
+    }
+
+    @Test
+    public void shouldNotLookupSwitchIdOfNotAddressedCommand() throws Exception {
+        CommandMessage message = new CommandMessage(new NetworkCommandData(), 0, "correlation-id");
+
+        assertEquals(Optional.empty(), makeHandler(MAPPER.writeValueAsString(message)).lookupSwitchId());
+    }
+
+    @Test
+    public void shouldNotLookupSwitchIdOfMalformedRecord() {
+        assertEquals(Optional.empty(), makeHandler("{\"switch_id\":").lookupSwitchId());
+        assertEquals(Optional.empty(), makeHandler("{\"switch_id\":\"not-a-switch\"}").lookupSwitchId());
+    }
+
+    private RecordHandler makeHandler(String value) {
+        ConsumerContext context = niceMock(ConsumerContext.class);
+        expect(context.getModuleContext()).andReturn(new FloodlightModuleContext()).anyTimes();
+        replay(context);
+
+        return new RecordHandler(context, Collections.emptyList(),
+                new ConsumerRecord<>("topic", 0, 0, "key", value));
+    }
+}
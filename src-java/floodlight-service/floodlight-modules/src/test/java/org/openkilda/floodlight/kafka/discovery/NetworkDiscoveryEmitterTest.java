@@ -28,6 +28,7 @@ import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
@@ -36,6 +37,7 @@ import org.openkilda.stubs.ManualClock;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMockSupport;
 import org.easymock.Mock;
 import org.junit.Assert;
@@ -45,6 +47,9 @@ import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class NetworkDiscoveryEmitterTest extends EasyMockSupport {
     private static final String CONFIRMATION_TOPIC = "kilda.topo.disco";
@@ -173,6 +178,33 @@ public class NetworkDiscoveryEmitterTest extends EasyMockSupport {
         verifyCaptured(confirmationCapture, request);
     }
 
+    @Test
+    public void testBatchRequestIsSentInSingleWrite() {
+        DiscoverIslCommandData requestAlpha = new DiscoverIslCommandData(SWITCH_ALPHA, 1, 1L);
+        DiscoverIslCommandData requestBeta = new DiscoverIslCommandData(SWITCH_ALPHA, 2, 2L);
+
+        Map<OFPort, Long> packets = new LinkedHashMap<>();
+        packets.put(OFPort.of(requestAlpha.getPortNumber()), requestAlpha.getPacketId());
+        packets.put(OFPort.of(requestBeta.getPortNumber()), requestBeta.getPacketId());
+        expect(pathVerificationService.sendDiscoveryMessages(
+                eq(DatapathId.of(SWITCH_ALPHA.getId())), eq(packets))).andReturn(true);
+        Capture<InfoMessage> confirmationCapture = newCapture(CaptureType.ALL);
+        kafkaProducerService.sendMessageAndTrack(
+                eq(CONFIRMATION_TOPIC), eq(SWITCH_ALPHA.toString()), capture(confirmationCapture));
+        expectLastCall().times(2);
+        replayAll();
+
+        String correlationId = "dummy-correlation-id";
+        NetworkDiscoveryEmitter subject = new NetworkDiscoveryEmitter(clock, moduleContext, flushDelay);
+        subject.handleBatchRequest(new DiscoverIslBatchCommandData(
+                SWITCH_ALPHA, Arrays.asList(requestAlpha, requestBeta)), correlationId);
+
+        verifyAll();
+        Assert.assertEquals(2, confirmationCapture.getValues().size());
+        verifyConfirmation(confirmationCapture.getValues().get(0), requestAlpha);
+        verifyConfirmation(confirmationCapture.getValues().get(1), requestBeta);
+    }
+
     private DiscoverIslCommandData makeNextRequest(DiscoverIslCommandData current) {
         return new DiscoverIslCommandData(
                 current.getSwitchId(), current.getPortNumber(), current.getPacketId() + 1);
@@ -180,7 +212,10 @@ public class NetworkDiscoveryEmitterTest extends EasyMockSupport {
 
     private void verifyCaptured(Capture<InfoMessage> capture, DiscoverIslCommandData request) {
         Assert.assertTrue(capture.hasCaptured());
-        InfoMessage wrapper = capture.getValue();
+        verifyConfirmation(capture.getValue(), request);
+    }
+
+    private void verifyConfirmation(InfoMessage wrapper, DiscoverIslCommandData request) {
         Assert.assertEquals(REGION, wrapper.getRegion());
         Assert.assertTrue(wrapper.getData() instanceof DiscoPacketSendingConfirmation);
 
@@ -19,6 +19,8 @@ import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.expect;
 
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.error.SessionCloseException;
 import org.openkilda.floodlight.error.SessionErrorResponseException;
 import org.openkilda.floodlight.error.SwitchOperationException;
@@ -50,9 +52,12 @@ import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.U64;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -64,6 +69,11 @@ public class SessionServiceTest extends EasyMockSupport {
     private final MessageContext context = new MessageContext();
 
     private final Capture<OFMessage> swWriteMessages = EasyMock.newCapture(CaptureType.ALL);
+    private final Capture<Iterable<OFMessage>> swWriteBatches = EasyMock.newCapture(CaptureType.ALL);
+    private final CountDownLatch swWriteBatchLatch = new CountDownLatch(1);
+
+    private long writeFlushDelay = 0;
+    private int writeMaxBatchSize = 64;
 
     @Mock
     private InputService inputService;
@@ -71,6 +81,12 @@ public class SessionServiceTest extends EasyMockSupport {
     @Mock
     private IOFSwitchService ofSwitchService;
 
+    @Mock
+    private KildaCore kildaCore;
+
+    @Mock
+    private KildaCoreConfig coreConfig;
+
     @Before
     public void setUp() {
         injectMocks(this);
@@ -81,7 +97,12 @@ public class SessionServiceTest extends EasyMockSupport {
 
         ofSwitchService.addOFSwitchListener(anyObject(SwitchEventsTranslator.class));
 
+        expect(kildaCore.getConfig()).andStubReturn(coreConfig);
+        expect(coreConfig.getSessionWriteFlushDelayMillis()).andStubAnswer(() -> writeFlushDelay);
+        expect(coreConfig.getSessionWriteMaxBatchSize()).andStubAnswer(() -> writeMaxBatchSize);
+
         // fill FL's module context
+        moduleContext.addService(KildaCore.class, kildaCore);
         moduleContext.addService(InputService.class, inputService);
         moduleContext.addService(IOFSwitchService.class, ofSwitchService);
     }
@@ -259,6 +280,92 @@ public class SessionServiceTest extends EasyMockSupport {
         }
     }
 
+    @Test
+    public void coalesceWritesOfSeveralSessions() throws Exception {
+        writeFlushDelay = 100;
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteBatchAlwaysSuccess(sw);
+        doneWithSetUp(sw);
+
+        OFFactory ofFactory = sw.getOFFactory();
+        OFPacketOut first = makePacketOut(ofFactory, 1);
+        OFPacketOut second = makePacketOut(ofFactory, 2);
+        CompletableFuture<Optional<OFMessage>> firstFuture;
+        CompletableFuture<Optional<OFMessage>> secondFuture;
+        try (Session firstSession = subject.open(context, sw); Session secondSession = subject.open(context, sw)) {
+            firstFuture = firstSession.write(first);
+            secondFuture = secondSession.write(second);
+        }
+
+        List<OFMessage> batch = waitSwWriteBatch();
+        Assert.assertEquals(3, batch.size());
+        Assert.assertEquals(first, batch.get(0));
+        Assert.assertEquals(second, batch.get(1));
+        // both sessions share the same barrier
+        OFMessage barrier = batch.get(2);
+        Assert.assertEquals(OFType.BARRIER_REQUEST, barrier.getType());
+
+        Assert.assertFalse(firstFuture.isDone());
+        Assert.assertFalse(secondFuture.isDone());
+
+        subject.handleResponse(dpId, ofFactory.buildBarrierReply().setXid(barrier.getXid()).build());
+
+        expectNoResponse(firstFuture);
+        expectNoResponse(secondFuture);
+    }
+
+    @Test
+    public void coalescedWriteErrorReportedToItsSession() throws Exception {
+        writeFlushDelay = 100;
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        OFFactory ofFactory = sw.getOFFactory();
+        OFPacketOut first = makePacketOut(ofFactory, 1);
+        OFPacketOut second = makePacketOut(ofFactory, 2);
+        expect(sw.write(EasyMock.<Iterable<OFMessage>>capture(swWriteBatches))).andAnswer(() -> {
+            swWriteBatchLatch.countDown();
+            return Collections.singletonList(second);
+        });
+        doneWithSetUp(sw);
+
+        CompletableFuture<Optional<OFMessage>> firstFuture;
+        CompletableFuture<Optional<OFMessage>> secondFuture;
+        try (Session firstSession = subject.open(context, sw); Session secondSession = subject.open(context, sw)) {
+            firstFuture = firstSession.write(first);
+            secondFuture = secondSession.write(second);
+        }
+
+        List<OFMessage> batch = waitSwWriteBatch();
+        expectExceptionResponse(secondFuture, SwitchWriteException.class);
+        Assert.assertFalse(firstFuture.isDone());
+
+        OFMessage barrier = batch.get(batch.size() - 1);
+        subject.handleResponse(dpId, ofFactory.buildBarrierReply().setXid(barrier.getXid()).build());
+        expectNoResponse(firstFuture);
+    }
+
+    @Test
+    public void flushWhenBatchIsFull() throws Exception {
+        writeFlushDelay = TimeUnit.HOURS.toMillis(1);
+        writeMaxBatchSize = 2;
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteBatchAlwaysSuccess(sw);
+        doneWithSetUp(sw);
+
+        OFFactory ofFactory = sw.getOFFactory();
+        OFPacketOut pktOut = makePacketOut(ofFactory, 1);
+        try (Session session = subject.open(context, sw)) {
+            session.write(pktOut);
+        }
+
+        List<OFMessage> batch = waitSwWriteBatch();
+        Assert.assertEquals(2, batch.size());
+        Assert.assertEquals(pktOut, batch.get(0));
+        Assert.assertEquals(OFType.BARRIER_REQUEST, batch.get(1).getType());
+    }
+
     private OFPacketOut makePacketOut(OFFactory ofFactory, int inPort) {
         return ofFactory.buildPacketOut()
                 .setInPort(OFPort.of(inPort))
@@ -293,6 +400,20 @@ public class SessionServiceTest extends EasyMockSupport {
         expect(mock.write(capture(swWriteMessages))).andStubReturn(true);
     }
 
+    private void swWriteBatchAlwaysSuccess(IOFSwitch mock) {
+        expect(mock.write(EasyMock.<Iterable<OFMessage>>capture(swWriteBatches))).andStubAnswer(() -> {
+            swWriteBatchLatch.countDown();
+            return Collections.emptyList();
+        });
+    }
+
+    private List<OFMessage> waitSwWriteBatch() throws InterruptedException {
+        Assert.assertTrue(swWriteBatchLatch.await(1, TimeUnit.SECONDS));
+        List<OFMessage> batch = new ArrayList<>();
+        swWriteBatches.getValues().get(0).forEach(batch::add);
+        return batch;
+    }
+
     private void swWriteSecondFail(IOFSwitch mock) {
         expect(mock.write(capture(swWriteMessages))).andReturn(true);
         expect(mock.write(anyObject(OFMessage.class))).andReturn(false);
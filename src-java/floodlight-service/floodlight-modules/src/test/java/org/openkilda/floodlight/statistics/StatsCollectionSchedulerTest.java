@@ -0,0 +1,245 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.captureLong;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.stubs.ManualClock;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMockSupport;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class StatsCollectionSchedulerTest extends EasyMockSupport {
+    private static final int INTERVAL_SECONDS = 60;
+    private static final long INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(INTERVAL_SECONDS);
+    private static final long SLOW_THRESHOLD_MILLIS = 1000;
+
+    private static final SwitchId SWITCH_ALPHA = new SwitchId(1);
+    private static final SwitchId SWITCH_BETA = new SwitchId(2);
+    private static final SwitchId SWITCH_GAMMA = new SwitchId(3);
+
+    private final ManualClock clock = new ManualClock();
+    private final Map<SwitchId, SettableFuture<Object>> replies = new HashMap<>();
+    private final List<SwitchId> collected = new ArrayList<>();
+    private final Capture<Runnable> tasks = Capture.newInstance(CaptureType.ALL);
+    private final Capture<Long> delays = Capture.newInstance(CaptureType.ALL);
+    private int nextTask;
+
+    private StatsCollectionScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        StatisticsServiceConfig config = mock(StatisticsServiceConfig.class);
+        expect(config.getCollectionIntervalSeconds()).andStubReturn(INTERVAL_SECONDS);
+        expect(config.getMaxConcurrentCollections()).andStubReturn(2);
+        expect(config.getSlowCollectionThresholdMillis()).andStubReturn(SLOW_THRESHOLD_MILLIS);
+        expect(config.getMaxBackoffIntervals()).andStubReturn(4);
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        expect(executor.schedule(capture(tasks), captureLong(delays), eq(TimeUnit.MILLISECONDS)))
+                .andStubReturn(null);
+        replayAll();
+
+        scheduler = new StatsCollectionScheduler(executor, clock, this::collect, config);
+    }
+
+    @Test
+    public void shouldSpreadSwitchesAcrossInterval() {
+        long now = clock.millis();
+        int[] buckets = new int[10];
+        for (long id = 1; id <= 1000; id++) {
+            SwitchId switchId = new SwitchId(id);
+            long delay = scheduler.delayOf(switchId, now);
+            assertTrue(delay >= 0 && delay < INTERVAL_MILLIS);
+            assertEquals(delay, scheduler.delayOf(switchId, now + INTERVAL_MILLIS));
+            buckets[(int) (delay * buckets.length / INTERVAL_MILLIS)]++;
+        }
+
+        for (int count : buckets) {
+            assertTrue(count > 50);
+        }
+    }
+
+    @Test
+    public void shouldLimitConcurrentCollections() {
+        scheduler.schedule(Arrays.asList(SWITCH_ALPHA, SWITCH_BETA, SWITCH_GAMMA));
+        runScheduledTasks(false);
+        assertEquals(Arrays.asList(SWITCH_ALPHA, SWITCH_BETA), collected);
+
+        replies.get(SWITCH_ALPHA).set(new Object());
+        assertEquals(Arrays.asList(SWITCH_ALPHA, SWITCH_BETA, SWITCH_GAMMA), collected);
+    }
+
+    @Test
+    public void shouldNotScheduleSwitchWithCollectionInProgress() {
+        scheduler.schedule(Collections.singletonList(SWITCH_ALPHA));
+        runScheduledTasks(false);
+        scheduler.schedule(Collections.singletonList(SWITCH_ALPHA));
+        runScheduledTasks(false);
+        assertEquals(1, collected.size());
+
+        replies.get(SWITCH_ALPHA).setException(new IllegalStateException());
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(10));
+        assertEquals(2, collected.size());
+        assertEquals(2, scheduler.getLatencies().get(0).getCollections());
+    }
+
+    @Test
+    public void shouldNotSkipSwitchScheduledBeforeEarlyTick() {
+        scheduler.schedule(Collections.singletonList(SWITCH_ALPHA));
+        // the next tick fires before the scheduled collection has started
+        scheduler.schedule(Collections.singletonList(SWITCH_ALPHA));
+        assertEquals(1, tasks.getValues().size());
+
+        runScheduledTasks(false);
+        assertEquals(1, collected.size());
+        replies.get(SWITCH_ALPHA).set(new Object());
+
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(10));
+        assertEquals(2, collected.size());
+        assertEquals(2, scheduler.getLatencies().get(0).getCollections());
+    }
+
+    @Test
+    public void shouldBackOffSlowSwitch() {
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(SLOW_THRESHOLD_MILLIS + 1));
+        assertEquals(1, scheduler.getLatencies().get(0).getBackoffIntervals());
+
+        scheduler.schedule(Collections.singletonList(SWITCH_ALPHA));
+        assertEquals(1, collected.size());
+
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(SLOW_THRESHOLD_MILLIS + 1));
+        assertEquals(2, collected.size());
+        assertEquals(2, scheduler.getLatencies().get(0).getBackoffIntervals());
+
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(10));
+        assertEquals(2, collected.size());
+        scheduler.schedule(Collections.singletonList(SWITCH_ALPHA));
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(10));
+        assertEquals(3, collected.size());
+        assertEquals(0, scheduler.getLatencies().get(0).getBackoffIntervals());
+    }
+
+    @Test
+    public void shouldReportCollectionLatency() {
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(100));
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(300));
+
+        List<StatsCollectionLatency> latencies = scheduler.getLatencies();
+        assertEquals(1, latencies.size());
+        StatsCollectionLatency latency = latencies.get(0);
+        assertEquals(SWITCH_ALPHA.toString(), latency.getSwitchId());
+        assertEquals(300, latency.getLastMillis());
+        assertEquals(300, latency.getMaxMillis());
+        assertEquals(200, latency.getAverageMillis());
+        assertEquals(2, latency.getCollections());
+    }
+
+    @Test
+    public void shouldReleaseSlotOfNotRespondingSwitch() {
+        scheduler.schedule(Arrays.asList(SWITCH_ALPHA, SWITCH_BETA, SWITCH_GAMMA));
+        runScheduledTasks(false);
+        assertEquals(2, collected.size());
+
+        clock.adjust(Duration.ofSeconds(INTERVAL_SECONDS));
+        runScheduledTasks(true);
+        assertEquals(3, collected.size());
+        assertEquals(2, scheduler.getLatencies().size());
+
+        // the late reply must not release one more slot
+        replies.get(collected.get(0)).set(new Object());
+        assertEquals(2, scheduler.getLatencies().size());
+    }
+
+    @Test
+    public void shouldNotCollectRemovedSwitch() {
+        collectOnce(SWITCH_ALPHA, Duration.ofMillis(10));
+        scheduler.schedule(Collections.singletonList(SWITCH_ALPHA));
+        scheduler.removeSwitch(SWITCH_ALPHA);
+        runScheduledTasks(false);
+
+        assertEquals(1, collected.size());
+        assertTrue(scheduler.getLatencies().isEmpty());
+    }
+
+    @Test
+    public void shouldReleaseSlotOfRemovedSwitch() {
+        scheduler.schedule(Arrays.asList(SWITCH_ALPHA, SWITCH_BETA, SWITCH_GAMMA));
+        runScheduledTasks(false);
+        assertEquals(2, collected.size());
+
+        SwitchId removed = collected.get(0);
+        scheduler.removeSwitch(removed);
+        assertEquals(3, collected.size());
+
+        // the late reply of the removed switch is ignored
+        replies.get(removed).set(new Object());
+        replies.get(collected.get(1)).set(new Object());
+        replies.get(collected.get(2)).set(new Object());
+        assertEquals(2, scheduler.getLatencies().size());
+        assertTrue(scheduler.getLatencies().stream()
+                .noneMatch(entry -> removed.toString().equals(entry.getSwitchId())));
+    }
+
+    private void collectOnce(SwitchId switchId, Duration latency) {
+        scheduler.schedule(Collections.singletonList(switchId));
+        runScheduledTasks(false);
+        clock.adjust(latency);
+        replies.get(switchId).set(new Object());
+    }
+
+    /**
+     * Runs the not yet run collections, or the collection timeouts if timeouts is true.
+     */
+    private void runScheduledTasks(boolean timeouts) {
+        List<Runnable> scheduled = new ArrayList<>(tasks.getValues());
+        List<Long> scheduledDelays = new ArrayList<>(delays.getValues());
+        for (int i = nextTask; i < scheduled.size(); i++) {
+            boolean timeout = scheduledDelays.get(i) == INTERVAL_MILLIS;
+            if (timeout == timeouts) {
+                scheduled.get(i).run();
+            }
+        }
+        nextTask = scheduled.size();
+    }
+
+    private List<ListenableFuture<?>> collect(SwitchId switchId) {
+        collected.add(switchId);
+        SettableFuture<Object> reply = SettableFuture.create();
+        replies.put(switchId, reply);
+        return Collections.singletonList(reply);
+    }
+}
@@ -20,39 +20,13 @@ import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
-import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
+import org.openkilda.messaging.command.SwitchIdLookup;
 import org.openkilda.messaging.command.discovery.PortsCommandData;
-import org.openkilda.messaging.command.flow.BaseInstallFlow;
-import org.openkilda.messaging.command.flow.DeleteMeterRequest;
-import org.openkilda.messaging.command.flow.InstallFlowForSwitchManagerRequest;
-import org.openkilda.messaging.command.flow.MeterModifyCommandRequest;
-import org.openkilda.messaging.command.flow.ReinstallDefaultFlowForSwitchManagerRequest;
-import org.openkilda.messaging.command.flow.RemoveFlow;
-import org.openkilda.messaging.command.flow.RemoveFlowForSwitchManagerRequest;
 import org.openkilda.messaging.command.switches.ConnectModeRequest;
-import org.openkilda.messaging.command.switches.DeleterMeterForSwitchManagerRequest;
-import org.openkilda.messaging.command.switches.DumpGroupsRequest;
-import org.openkilda.messaging.command.switches.DumpMetersForNbworkerRequest;
-import org.openkilda.messaging.command.switches.DumpMetersForSwitchManagerRequest;
-import org.openkilda.messaging.command.switches.DumpMetersRequest;
-import org.openkilda.messaging.command.switches.DumpPortDescriptionRequest;
-import org.openkilda.messaging.command.switches.DumpRulesForNbworkerRequest;
-import org.openkilda.messaging.command.switches.DumpRulesForSwitchManagerRequest;
-import org.openkilda.messaging.command.switches.DumpRulesRequest;
-import org.openkilda.messaging.command.switches.DumpSwitchPortsDescriptionRequest;
-import org.openkilda.messaging.command.switches.GetExpectedDefaultMetersRequest;
-import org.openkilda.messaging.command.switches.GetExpectedDefaultRulesRequest;
-import org.openkilda.messaging.command.switches.PortConfigurationRequest;
-import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
-import org.openkilda.messaging.command.switches.SwitchRulesInstallRequest;
-import org.openkilda.messaging.floodlight.request.PingRequest;
-import org.openkilda.messaging.floodlight.request.RemoveBfdSession;
-import org.openkilda.messaging.floodlight.request.SetupBfdSession;
-import org.openkilda.messaging.payload.switches.InstallIslDefaultRulesCommand;
-import org.openkilda.messaging.payload.switches.RemoveIslDefaultRulesCommand;
 import org.openkilda.model.SwitchId;
 
+import java.util.Optional;
+
 public final class RouterUtils {
     private static final String unableToExtractSwitchIdErrorFormat =  "Unable to extract switchId from %s";
 
@@ -75,65 +49,9 @@ public final class RouterUtils {
      */
     public static SwitchId lookupSwitchId(Message message) {
         if (message instanceof CommandMessage) {
-            CommandData commandData = ((CommandMessage) message).getData();
-            if (commandData instanceof BaseInstallFlow) {
-                return ((BaseInstallFlow) commandData).getSwitchId();
-            } else if (commandData instanceof RemoveFlow) {
-                return ((RemoveFlow) commandData).getSwitchId();
-            } else if (commandData instanceof DiscoverIslCommandData) {
-                return ((DiscoverIslCommandData) commandData).getSwitchId();
-            } else if (commandData instanceof PingRequest) {
-                return ((PingRequest) commandData).getPing().getSource().getDatapath();
-            } else if (commandData instanceof DiscoverPathCommandData) {
-                return ((DiscoverPathCommandData) commandData).getSrcSwitchId();
-            } else if (commandData instanceof SwitchRulesDeleteRequest) {
-                return ((SwitchRulesDeleteRequest) commandData).getSwitchId();
-            } else if (commandData instanceof SwitchRulesInstallRequest) {
-                return ((SwitchRulesInstallRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpRulesRequest) {
-                return ((DumpRulesRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DeleteMeterRequest) {
-                return ((DeleteMeterRequest) commandData).getSwitchId();
-            } else if (commandData instanceof PortConfigurationRequest) {
-                return ((PortConfigurationRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpSwitchPortsDescriptionRequest) {
-                return ((DumpSwitchPortsDescriptionRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpPortDescriptionRequest) {
-                return ((DumpPortDescriptionRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpMetersRequest) {
-                return ((DumpMetersRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpRulesForNbworkerRequest) {
-                return ((DumpRulesForNbworkerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof MeterModifyCommandRequest) {
-                return ((MeterModifyCommandRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpRulesForSwitchManagerRequest) {
-                return ((DumpRulesForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof GetExpectedDefaultRulesRequest) {
-                return ((GetExpectedDefaultRulesRequest) commandData).getSwitchId();
-            } else if (commandData instanceof GetExpectedDefaultMetersRequest) {
-                return ((GetExpectedDefaultMetersRequest) commandData).getSwitchId();
-            } else if (commandData instanceof InstallFlowForSwitchManagerRequest) {
-                return ((InstallFlowForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof RemoveFlowForSwitchManagerRequest) {
-                return ((RemoveFlowForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof ReinstallDefaultFlowForSwitchManagerRequest) {
-                return ((ReinstallDefaultFlowForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpMetersForSwitchManagerRequest) {
-                return ((DumpMetersForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DumpMetersForNbworkerRequest) {
-                return ((DumpMetersForNbworkerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof DeleterMeterForSwitchManagerRequest) {
-                return ((DeleterMeterForSwitchManagerRequest) commandData).getSwitchId();
-            } else if (commandData instanceof SetupBfdSession) {
-                return ((SetupBfdSession) commandData).getBfdSession().getTarget().getDatapath();
-            } else if (commandData instanceof RemoveBfdSession) {
-                return ((RemoveBfdSession) commandData).getBfdSession().getTarget().getDatapath();
-            } else if (commandData instanceof InstallIslDefaultRulesCommand) {
-                return ((InstallIslDefaultRulesCommand) commandData).getSrcSwitch();
-            } else if (commandData instanceof RemoveIslDefaultRulesCommand) {
-                return ((RemoveIslDefaultRulesCommand) commandData).getSrcSwitch();
-            } else if (commandData instanceof DumpGroupsRequest) {
-                return ((DumpGroupsRequest) commandData).getSwitchId();
+            Optional<SwitchId> switchId = SwitchIdLookup.lookup(((CommandMessage) message).getData());
+            if (switchId.isPresent()) {
+                return switchId.get();
             }
         }
 
@@ -262,7 +262,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_CREATE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_CREATE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchWindowMillis(), topologyConfig.getSpeakerBatchSizeLimit());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_CREATE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_CREATE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -278,7 +278,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_UPDATE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_UPDATE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchWindowMillis(), topologyConfig.getSpeakerBatchSizeLimit());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_UPDATE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_UPDATE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -294,7 +294,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_PATH_SWAP_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_PATH_SWAP.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchWindowMillis(), topologyConfig.getSpeakerBatchSizeLimit());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_PATH_SWAP_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_PATH_SWAP_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -310,7 +310,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_REROUTE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_REROUTE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchWindowMillis(), topologyConfig.getSpeakerBatchSizeLimit());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_REROUTE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -326,7 +326,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_DELETE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_DELETE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchWindowMillis(), topologyConfig.getSpeakerBatchSizeLimit());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_DELETE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_DELETE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -125,4 +125,16 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
     @Key("flow.pathswap.speaker.command.retries")
     @Default("3")
     int getPathSwapSpeakerCommandRetries();
+
+    /**
+     * Flow segment requests addressed to the same switch are accumulated during this window and sent to speaker
+     * as a single batch request. Zero window disables batching.
+     */
+    @Key("flow.speaker.batch.window.millis")
+    @Default("5")
+    int getSpeakerBatchWindowMillis();
+
+    @Key("flow.speaker.batch.size.limit")
+    @Default("32")
+    int getSpeakerBatchSizeLimit();
 }
@@ -35,6 +35,7 @@ import org.openkilda.pce.AvailableNetworkFactory;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.cache.NetworkCache;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
@@ -61,6 +62,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
     private final FlowResourcesConfig flowResourcesConfig;
 
     private transient FlowRerouteService service;
+    private transient NetworkCache networkCache;
     private String currentKey;
 
     public FlowRerouteHubBolt(FlowRerouteConfig config, PersistenceManager persistenceManager,
@@ -79,6 +81,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
                 new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
+        networkCache = availableNetworkFactory.getNetworkCache().orElse(null);
 
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
         service = new FlowRerouteService(this, persistenceManager, pathComputer, resourcesManager,
@@ -90,6 +93,11 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
     protected void onRequest(Tuple input) throws PipelineException {
         currentKey = pullKey(input);
         FlowRerouteRequest request = pullValue(input, FIELD_ID_PAYLOAD, FlowRerouteRequest.class);
+        if (networkCache != null && request.getAffectedIsl() != null) {
+            // the reroute is caused by these ISLs, so their cached state is likely outdated
+            request.getAffectedIsl().forEach(endpoint ->
+                    networkCache.refreshEndpoint(endpoint.getSwitchId(), endpoint.getPortNumber()));
+        }
         service.handleRequest(currentKey, request, getCommandContext());
     }
 
@@ -18,9 +18,12 @@ package org.openkilda.wfm.topology.flowhs.bolts;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.SPEAKER_WORKER_REQUEST_SENDER;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentBatchResponse;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorBolt;
 import org.openkilda.wfm.share.hubandspoke.WorkerBolt;
 import org.openkilda.wfm.topology.flowhs.service.SpeakerCommandCarrier;
 import org.openkilda.wfm.topology.flowhs.service.SpeakerWorkerService;
@@ -30,19 +33,55 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.UUID;
+
 public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarrier {
 
     public static final String ID = "speaker.worker.bolt";
+
+    private final int batchWindowMillis;
+    private final int batchSizeLimit;
+
     private transient SpeakerWorkerService service;
+    private transient String batchFlushKey;
 
     public SpeakerWorkerBolt(Config config) {
+        this(config, 0, 1);
+    }
+
+    public SpeakerWorkerBolt(Config config, int batchWindowMillis, int batchSizeLimit) {
         super(config);
+        this.batchWindowMillis = batchWindowMillis;
+        // zero window means no batching
+        this.batchSizeLimit = 0 < batchWindowMillis ? batchSizeLimit : 1;
     }
 
     @Override
     protected void init() {
         super.init();
-        service = new SpeakerWorkerService(this);
+        service = new SpeakerWorkerService(this, batchSizeLimit);
+        // the coordinator keeps one callback per key, so each task (and each restart of it) must use its own key
+        batchFlushKey = String.format("%s:batch-flush:%s", getComponentId(), UUID.randomUUID());
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        if (CoordinatorBolt.ID.equals(input.getSourceComponent()) && batchFlushKey.equals(pullKey(input))) {
+            service.flushBatches();
+        } else {
+            super.dispatch(input);
+        }
+    }
+
+    @Override
+    protected void dispatchResponse(Tuple input) throws Exception {
+        Object payload = input.getValueByField(FIELD_ID_PAYLOAD);
+        if (payload instanceof SpeakerFlowSegmentBatchResponse) {
+            // the batch is routed by the key of one of its requests, this request can be already timed out
+            service.handleBatchResponse((SpeakerFlowSegmentBatchResponse) payload);
+        } else {
+            super.dispatchResponse(input);
+        }
     }
 
     @Override
@@ -80,9 +119,19 @@ public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarri
         emitWithContext(SPEAKER_WORKER_REQUEST_SENDER.name(), getCurrentTuple(), new Values(key, command));
     }
 
+    @Override
+    public void sendBatch(String key, FlowSegmentBatchRequest batch) {
+        emitWithContext(SPEAKER_WORKER_REQUEST_SENDER.name(), getCurrentTuple(), new Values(key, batch));
+    }
+
+    @Override
+    public void scheduleBatchFlush() {
+        registerCallback(batchFlushKey, batchWindowMillis);
+    }
+
     @Override
     public void sendResponse(String key, SpeakerFlowSegmentResponse response) {
         Values values = new Values(key, response, getCommandContext());
-        emitResponseToHub(getCurrentTuple(), values);
+        emitResponseToHub(key, values);
     }
 }
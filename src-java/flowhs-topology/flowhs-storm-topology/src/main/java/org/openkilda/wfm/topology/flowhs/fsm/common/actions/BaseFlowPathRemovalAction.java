@@ -20,6 +20,7 @@ import static java.lang.String.format;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.wfm.share.history.model.FlowDumpData;
@@ -37,11 +38,17 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class BaseFlowPathRemovalAction<T extends FlowProcessingFsm<T, S, E, C>, S, E, C> extends
         FlowProcessingAction<T, S, E, C> {
     protected final IslRepository islRepository;
+    private final PathComputer pathComputer;
 
     public BaseFlowPathRemovalAction(PersistenceManager persistenceManager) {
+        this(persistenceManager, null);
+    }
+
+    public BaseFlowPathRemovalAction(PersistenceManager persistenceManager, PathComputer pathComputer) {
         super(persistenceManager);
 
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
+        this.pathComputer = pathComputer;
     }
 
     protected void updateIslsForFlowPath(FlowPath... paths) {
@@ -52,6 +59,9 @@ public abstract class BaseFlowPathRemovalAction<T extends FlowProcessingFsm<T, S
                             updateAvailableBandwidth(pathSegment.getSrcSwitchId(), pathSegment.getSrcPort(),
                                     pathSegment.getDestSwitchId(), pathSegment.getDestPort());
                         }));
+                if (pathComputer != null) {
+                    pathComputer.onPathSegmentsDeallocated(path.getSegments());
+                }
             }
         }
     }
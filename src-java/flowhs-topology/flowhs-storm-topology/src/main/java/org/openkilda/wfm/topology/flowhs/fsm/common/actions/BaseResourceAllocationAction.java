@@ -41,6 +41,7 @@ import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.tx.TransactionCallback;
 import org.openkilda.persistence.tx.TransactionRequired;
 import org.openkilda.wfm.share.flow.resources.FlowResources;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
@@ -207,6 +208,24 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                 || !flowPathBuilder.isSamePath(pathPair.getReverse(), flowPathPair.getReverse());
     }
 
+    /**
+     * Creates the paths found by the path computer in a transaction and notifies the computer of the outcome, so it
+     * re-reads bandwidth of the path ISLs before a retry if the allocation fails.
+     */
+    protected FlowPathPair allocatePathPair(GetPathsResult paths,
+                                            TransactionCallback<FlowPathPair, ResourceAllocationException> action)
+            throws ResourceAllocationException {
+        FlowPathPair result;
+        try {
+            result = transactionManager.doInTransaction(action);
+        } catch (ResourceAllocationException | RuntimeException e) {
+            pathComputer.onPathsAllocationFailed(paths);
+            throw e;
+        }
+        pathComputer.onPathsAllocated(paths);
+        return result;
+    }
+
     @TransactionRequired
     protected FlowPathPair createFlowPathPair(Flow flow, List<FlowPath> pathsToReuseBandwidth,
                                               GetPathsResult pathPair, FlowResources flowResources,
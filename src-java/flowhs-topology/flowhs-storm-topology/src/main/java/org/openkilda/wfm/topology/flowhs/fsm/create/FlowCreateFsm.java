@@ -418,7 +418,7 @@ public final class FlowCreateFsm extends NbTrackableFsm<FlowCreateFsm, State, Ev
                     .from(State.REVERTING)
                     .to(State.RESOURCES_DE_ALLOCATED)
                     .on(Event.NEXT)
-                    .perform(new ResourcesDeallocationAction(resourcesManager, persistenceManager));
+                    .perform(new ResourcesDeallocationAction(resourcesManager, persistenceManager, pathComputer));
 
             builder.transitions()
                     .from(State.RESOURCES_DE_ALLOCATED)
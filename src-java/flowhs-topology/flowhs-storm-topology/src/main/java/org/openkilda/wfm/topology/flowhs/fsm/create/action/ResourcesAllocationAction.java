@@ -39,6 +39,7 @@ import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.tx.TransactionCallbackWithoutResult;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.FlowAlreadyExistException;
 import org.openkilda.wfm.error.FlowNotFoundException;
@@ -226,7 +227,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         log.debug("Creating the primary path {} for flow {}", paths, stateMachine.getFlowId());
 
-        transactionManager.doInTransaction(() -> {
+        allocatePaths(paths, () -> {
             Flow flow = getFlow(stateMachine.getFlowId());
             FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
             final FlowSegmentCookieBuilder cookieBuilder = FlowSegmentCookie.builder()
@@ -277,7 +278,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         log.debug("Creating the protected path {} for flow {}", protectedPath, tmpFlow);
 
-        transactionManager.doInTransaction(() -> {
+        allocatePaths(protectedPath, () -> {
             Flow flow = getFlow(flowId);
 
             FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
@@ -308,6 +309,19 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
         });
     }
 
+    private void allocatePaths(GetPathsResult paths,
+                               TransactionCallbackWithoutResult<ResourceAllocationException> action)
+            throws ResourceAllocationException {
+        try {
+            transactionManager.doInTransaction(action);
+        } catch (ResourceAllocationException | RuntimeException e) {
+            // The paths may have been computed from outdated bandwidth, let the retry see the actual one.
+            pathComputer.onPathsAllocationFailed(paths);
+            throw e;
+        }
+        pathComputer.onPathsAllocated(paths);
+    }
+
     private void updateIslsForFlowPath(FlowPath flowPath) throws ResourceAllocationException {
         for (PathSegment pathSegment : flowPath.getSegments()) {
             log.debug("Updating ISL for the path segment: {}", pathSegment);
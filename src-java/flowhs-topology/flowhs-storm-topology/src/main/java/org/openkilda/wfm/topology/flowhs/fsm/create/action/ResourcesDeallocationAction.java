@@ -20,6 +20,7 @@ import static java.lang.String.format;
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathSegment;
 import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.wfm.share.flow.resources.FlowResources;
@@ -42,12 +43,15 @@ import java.util.stream.Stream;
 public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreateFsm, State, Event, FlowCreateContext> {
     private final FlowResourcesManager resourcesManager;
     private final IslRepository islRepository;
+    private final PathComputer pathComputer;
 
-    public ResourcesDeallocationAction(FlowResourcesManager resourcesManager, PersistenceManager persistenceManager) {
+    public ResourcesDeallocationAction(FlowResourcesManager resourcesManager, PersistenceManager persistenceManager,
+                                       PathComputer pathComputer) {
         super(persistenceManager);
 
         this.resourcesManager = resourcesManager;
         this.islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
+        this.pathComputer = pathComputer;
     }
 
     @Override
@@ -74,6 +78,7 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
                                     .ifPresent(path -> removedSegments.addAll(path.getSegments())));
 
             updateIslsForSegments(removedSegments);
+            pathComputer.onPathSegmentsDeallocated(removedSegments);
 
             transactionManager.doInTransaction(() ->
                     resourcesManager.deallocatePathResources(resources));
@@ -333,7 +333,7 @@ public final class FlowRerouteFsm extends FlowPathSwappingFsm<FlowRerouteFsm, St
                     .perform(new HandleNotCompletedCommandsAction());
 
             builder.transition().from(State.OLD_RULES_REMOVED).to(State.OLD_PATHS_REMOVAL_COMPLETED).on(Event.NEXT)
-                    .perform(new CompleteFlowPathRemovalAction(persistenceManager));
+                    .perform(new CompleteFlowPathRemovalAction(persistenceManager, pathComputer));
 
             builder.transition().from(State.OLD_PATHS_REMOVAL_COMPLETED).to(State.DEALLOCATING_OLD_RESOURCES)
                     .on(Event.NEXT);
@@ -392,7 +392,8 @@ public final class FlowRerouteFsm extends FlowPathSwappingFsm<FlowRerouteFsm, St
             builder.transitions().from(State.REVERTING_ALLOCATED_RESOURCES)
                     .toAmong(State.RESOURCES_ALLOCATION_REVERTED, State.RESOURCES_ALLOCATION_REVERTED)
                     .onEach(Event.NEXT, Event.ERROR)
-                    .perform(new RevertResourceAllocationAction(persistenceManager, resourcesManager));
+                    .perform(new RevertResourceAllocationAction(persistenceManager, resourcesManager,
+                            pathComputer));
             builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED)
                     .to(State.REVERTING_FLOW_STATUS).on(Event.NEXT);
             builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED).to(State.REVERTING_FLOW_STATUS)
@@ -94,7 +94,7 @@ public class AllocatePrimaryResourcesAction extends
                 log.debug("Found the same primary path for flow {}. Proceed with recreating it", flowId);
             }
 
-            FlowPathPair createdPaths = transactionManager.doInTransaction(() -> {
+            FlowPathPair createdPaths = allocatePathPair(potentialPath, () -> {
                 log.debug("Allocating resources for a new primary path of flow {}", flowId);
                 Flow flow = getFlow(flowId);
                 FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
@@ -120,7 +120,7 @@ public class AllocateProtectedResourcesAction extends
                     log.debug("Found the same protected path for flow {}. Proceed with recreating it", flowId);
                 }
 
-                FlowPathPair createdPaths = transactionManager.doInTransaction(() -> {
+                FlowPathPair createdPaths = allocatePathPair(potentialPath, () -> {
                     log.debug("Allocating resources for a new protected path of flow {}", flowId);
                     Flow flow = getFlow(flowId);
                     FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
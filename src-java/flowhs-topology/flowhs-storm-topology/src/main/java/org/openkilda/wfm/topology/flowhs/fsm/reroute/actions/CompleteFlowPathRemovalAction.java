@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.flowhs.fsm.reroute.actions;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathId;
+import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.topology.flow.model.FlowPathPair;
 import org.openkilda.wfm.topology.flowhs.fsm.common.actions.BaseFlowPathRemovalAction;
@@ -31,8 +32,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CompleteFlowPathRemovalAction extends
         BaseFlowPathRemovalAction<FlowRerouteFsm, State, Event, FlowRerouteContext> {
-    public CompleteFlowPathRemovalAction(PersistenceManager persistenceManager) {
-        super(persistenceManager);
+    public CompleteFlowPathRemovalAction(PersistenceManager persistenceManager, PathComputer pathComputer) {
+        super(persistenceManager, pathComputer);
     }
 
     @Override
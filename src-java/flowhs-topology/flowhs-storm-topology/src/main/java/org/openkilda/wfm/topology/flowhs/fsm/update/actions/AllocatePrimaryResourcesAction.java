@@ -78,7 +78,7 @@ public class AllocatePrimaryResourcesAction extends
         List<PathId> pathIdsToReuse = pathsToReuse.stream().map(FlowPath::getPathId).collect(Collectors.toList());
         final GetPathsResult potentialPath = pathComputer.getPath(tmpFlow, pathIdsToReuse);
 
-        FlowPathPair createdPaths = transactionManager.doInTransaction(() -> {
+        FlowPathPair createdPaths = allocatePathPair(potentialPath, () -> {
             log.debug("Allocating resources for a new primary path of flow {}", flowId);
             Flow flow = getFlow(flowId);
             FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
@@ -88,7 +88,7 @@ public class AllocateProtectedResourcesAction extends
         if (overlappingProtectedPathFound) {
             stateMachine.saveActionToHistory("Couldn't find non overlapping protected path");
         } else {
-            FlowPathPair createdPaths = transactionManager.doInTransaction(() -> {
+            FlowPathPair createdPaths = allocatePathPair(potentialPath, () -> {
                 log.debug("Allocating resources for a new protected path of flow {}", flowId);
                 Flow flow = getFlow(flowId);
                 FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
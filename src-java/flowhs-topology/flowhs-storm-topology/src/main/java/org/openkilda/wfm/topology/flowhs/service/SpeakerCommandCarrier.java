@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.flowhs.service;
 
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.wfm.error.PipelineException;
@@ -23,5 +24,12 @@ public interface SpeakerCommandCarrier {
 
     void sendCommand(String key, FlowSegmentRequest command) throws PipelineException;
 
+    void sendBatch(String key, FlowSegmentBatchRequest batch) throws PipelineException;
+
+    /**
+     * Request a {@link SpeakerWorkerService#flushBatches()} call after the batch window.
+     */
+    void scheduleBatchFlush();
+
     void sendResponse(String key, SpeakerFlowSegmentResponse response) throws PipelineException;
 }
@@ -15,25 +15,50 @@
 
 package org.openkilda.wfm.topology.flowhs.service;
 
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentBatchResponse;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse.ErrorCode;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.error.PipelineException;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Sends flow segment requests to speaker and routes responses back to the hub.
+ *
+ * <p>With batch size limit greater than 1 requests addressed to the same switch are accumulated until the batch
+ * window ends (see {@link SpeakerCommandCarrier#scheduleBatchFlush()}) or the limit is reached, and are sent as a
+ * single {@link FlowSegmentBatchRequest}. The batch response is fanned out to the keys of the requests it contains.
+ */
 @Slf4j
 public class SpeakerWorkerService {
     private final SpeakerCommandCarrier carrier;
+    private final int batchSizeLimit;
 
     private final Map<String, FlowSegmentRequest> keyToRequest = new HashMap<>();
 
+    private final Map<SwitchId, List<String>> pendingBatches = new LinkedHashMap<>();
+    private final Map<UUID, List<String>> batchToKeys = new HashMap<>();
+    private final Map<String, UUID> keyToBatch = new HashMap<>();
+
     public SpeakerWorkerService(SpeakerCommandCarrier carrier) {
+        this(carrier, 1);
+    }
+
+    public SpeakerWorkerService(SpeakerCommandCarrier carrier, int batchSizeLimit) {
         this.carrier = carrier;
+        this.batchSizeLimit = batchSizeLimit;
     }
 
     /**
@@ -44,7 +69,41 @@ public class SpeakerWorkerService {
     public void sendCommand(String key, FlowSegmentRequest command) throws PipelineException {
         log.debug("Got a request from hub bolt {}", command);
         keyToRequest.put(key, command);
-        carrier.sendCommand(key, command);
+
+        if (batchSizeLimit <= 1) {
+            carrier.sendCommand(key, command);
+            return;
+        }
+
+        if (pendingBatches.isEmpty()) {
+            carrier.scheduleBatchFlush();
+        }
+        SwitchId switchId = command.getSwitchId();
+        List<String> batch = pendingBatches.computeIfAbsent(switchId, ignore -> new ArrayList<>());
+        batch.add(key);
+        if (batchSizeLimit <= batch.size()) {
+            pendingBatches.remove(switchId);
+            sendBatch(switchId, batch);
+        }
+    }
+
+    /**
+     * Sends all accumulated requests to speaker, called when the batch window ends. If some batches are still pending
+     * (the send failed) the batch window is started again, otherwise they would wait for the next request.
+     */
+    public void flushBatches() throws PipelineException {
+        try {
+            Iterator<Map.Entry<SwitchId, List<String>>> iter = pendingBatches.entrySet().iterator();
+            while (iter.hasNext()) {
+                Map.Entry<SwitchId, List<String>> entry = iter.next();
+                iter.remove();
+                sendBatch(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            if (!pendingBatches.isEmpty()) {
+                carrier.scheduleBatchFlush();
+            }
+        }
     }
 
     /**
@@ -65,12 +124,44 @@ public class SpeakerWorkerService {
         }
     }
 
+    /**
+     * Processes received batch response and forwards responses on the requests of the batch to the hub component.
+     * @param response response payload.
+     */
+    public void handleBatchResponse(SpeakerFlowSegmentBatchResponse response) throws PipelineException {
+        List<String> keys = batchToKeys.remove(response.getCommandId());
+        if (keys == null) {
+            // the batch was sent by another worker or all its requests are timed out
+            log.debug("Drop batch response {} - there is no pending batch with such id", response.getCommandId());
+            return;
+        }
+        log.debug("Got a batch response from speaker {}", response);
+
+        Map<UUID, SpeakerFlowSegmentResponse> responseByCommandId = new HashMap<>();
+        for (SpeakerFlowSegmentResponse entry : response.getResponses()) {
+            responseByCommandId.put(entry.getCommandId(), entry);
+        }
+        for (String key : keys) {
+            keyToBatch.remove(key);
+            FlowSegmentRequest pendingRequest = keyToRequest.get(key);
+            SpeakerFlowSegmentResponse entry = pendingRequest != null
+                    ? responseByCommandId.get(pendingRequest.getCommandId()) : null;
+            if (entry != null) {
+                handleResponse(key, entry);
+            } else if (pendingRequest != null) {
+                log.warn("There is no response for the command {} in the batch {}",
+                        pendingRequest.getCommandId(), response.getCommandId());
+            }
+        }
+    }
+
     /**
      * Handles operation timeout.
      * @param key operation identifier.
      */
     public void handleTimeout(String key) throws PipelineException {
         FlowSegmentRequest failedRequest = keyToRequest.remove(key);
+        forgetBatchedKey(key, failedRequest);
 
         SpeakerFlowSegmentResponse response = FlowErrorResponse.errorBuilder()
                 .commandId(failedRequest.getCommandId())
@@ -81,4 +172,43 @@ public class SpeakerWorkerService {
                 .build();
         carrier.sendResponse(key, response);
     }
+
+    private void sendBatch(SwitchId switchId, List<String> keys) throws PipelineException {
+        if (keys.size() == 1) {
+            String key = keys.get(0);
+            carrier.sendCommand(key, keyToRequest.get(key));
+            return;
+        }
+
+        List<FlowSegmentRequest> requests = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            requests.add(keyToRequest.get(key));
+        }
+        FlowSegmentBatchRequest batch = new FlowSegmentBatchRequest(
+                requests.get(0).getMessageContext(), switchId, UUID.randomUUID(), requests);
+        batchToKeys.put(batch.getCommandId(), keys);
+        for (String key : keys) {
+            keyToBatch.put(key, batch.getCommandId());
+        }
+
+        log.debug("Send batch {} of {} requests to {}", batch.getCommandId(), requests.size(), switchId);
+        // the batch response is routed by the key of the first request, so it reaches this worker
+        carrier.sendBatch(keys.get(0), batch);
+    }
+
+    private void forgetBatchedKey(String key, FlowSegmentRequest request) {
+        UUID batchId = keyToBatch.remove(key);
+        if (batchId != null) {
+            List<String> keys = batchToKeys.get(batchId);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                batchToKeys.remove(batchId);
+            }
+        } else if (request != null) {
+            List<String> pending = pendingBatches.get(request.getSwitchId());
+            if (pending != null && pending.remove(key) && pending.isEmpty()) {
+                pendingBatches.remove(request.getSwitchId());
+            }
+        }
+    }
 }
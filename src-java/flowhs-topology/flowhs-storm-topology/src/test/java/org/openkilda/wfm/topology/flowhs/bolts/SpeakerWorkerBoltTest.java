@@ -0,0 +1,200 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.bolts;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.SPEAKER_WORKER_REQUEST_SENDER;
+
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.TransitFlowSegmentInstallRequest;
+import org.openkilda.floodlight.model.FlowSegmentMetadata;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowTransitEncapsulation;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorBolt;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
+import org.openkilda.wfm.share.hubandspoke.WorkerBolt;
+import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.IComponent;
+import org.apache.storm.topology.OutputFieldsGetter;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.Utils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.UUID;
+
+public class SpeakerWorkerBoltTest {
+    private static final String HUB_COMPONENT = "hub";
+    private static final String SPOUT_COMPONENT = "spout";
+    private static final String WORKER_COMPONENT = "speaker.worker";
+
+    private static final String WORKER_TO_HUB_STREAM_ID = "worker-to-hub";
+
+    private static final int HUB_TASK_ID = 1;
+    private static final int COORDINATOR_TASK_ID = 2;
+    private static final int COORDINATOR_SPOUT_TASK_ID = 3;
+    private static final int FIRST_WORKER_TASK_ID = 11;
+    private static final int SECOND_WORKER_TASK_ID = 12;
+
+    private static final int BATCH_WINDOW_MILLIS = 10;
+    private static final int BATCH_SIZE_LIMIT = 32;
+
+    private static final SwitchId SWITCH_1 = new SwitchId(1);
+
+    private final WorkerBolt.Config config = WorkerBolt.Config.builder()
+            .hubComponent(HUB_COMPONENT)
+            .workerSpoutComponent(SPOUT_COMPONENT)
+            .streamToHub(WORKER_TO_HUB_STREAM_ID)
+            .defaultTimeout(60000)
+            .build();
+
+    private final TopologyContext tupleContext = mock(TopologyContext.class);
+
+    private final CoordinatorBolt coordinator = new CoordinatorBolt();
+    private final OutputCollector coordinatorOutput = mock(OutputCollector.class);
+
+    @Before
+    public void setUp() {
+        when(tupleContext.getComponentId(HUB_TASK_ID)).thenReturn(HUB_COMPONENT);
+        when(tupleContext.getComponentId(COORDINATOR_TASK_ID)).thenReturn(CoordinatorBolt.ID);
+        when(tupleContext.getComponentId(COORDINATOR_SPOUT_TASK_ID)).thenReturn(CoordinatorSpout.ID);
+        when(tupleContext.getComponentId(FIRST_WORKER_TASK_ID)).thenReturn(WORKER_COMPONENT);
+        when(tupleContext.getComponentId(SECOND_WORKER_TASK_ID)).thenReturn(WORKER_COMPONENT);
+
+        when(tupleContext.getComponentOutputFields(HUB_COMPONENT, Utils.DEFAULT_STREAM_ID))
+                .thenReturn(MessageKafkaTranslator.STREAM_FIELDS);
+        when(tupleContext.getComponentOutputFields(WORKER_COMPONENT, CoordinatorBolt.INCOME_STREAM))
+                .thenReturn(declaredFields(new SpeakerWorkerBolt(config), CoordinatorBolt.INCOME_STREAM));
+        when(tupleContext.getComponentOutputFields(CoordinatorBolt.ID, Utils.DEFAULT_STREAM_ID))
+                .thenReturn(declaredFields(coordinator, Utils.DEFAULT_STREAM_ID));
+        when(tupleContext.getComponentOutputFields(CoordinatorSpout.ID, Utils.DEFAULT_STREAM_ID))
+                .thenReturn(new Fields(CoordinatorSpout.FIELD_ID_TIME_MS, CoordinatorSpout.FIELD_ID_CONTEXT));
+
+        TopologyContext coordinatorContext = mock(TopologyContext.class);
+        when(coordinatorContext.getThisTaskId()).thenReturn(COORDINATOR_TASK_ID);
+        when(coordinatorContext.getThisComponentId()).thenReturn(CoordinatorBolt.ID);
+        coordinator.prepare(Collections.emptyMap(), coordinatorContext, coordinatorOutput);
+    }
+
+    @Test
+    public void shouldFlushBatchesOfAllTasksSharingCoordinator() {
+        WorkerTask first = prepareWorker(FIRST_WORKER_TASK_ID);
+        WorkerTask second = prepareWorker(SECOND_WORKER_TASK_ID);
+        FlowSegmentRequest firstRequest = makeRequest(SWITCH_1);
+        FlowSegmentRequest secondRequest = makeRequest(SWITCH_1);
+
+        first.bolt.execute(makeHubTuple("first", firstRequest));
+        second.bolt.execute(makeHubTuple("second", secondRequest));
+
+        forwardToCoordinator(first);
+        forwardToCoordinator(second);
+        coordinator.execute(new TupleImpl(tupleContext,
+                new Values(System.currentTimeMillis() + 1000L, new CommandContext()),
+                COORDINATOR_SPOUT_TASK_ID, Utils.DEFAULT_STREAM_ID));
+
+        forwardCallbacks(first);
+        forwardCallbacks(second);
+
+        verifyRequestSent(first, "first", firstRequest);
+        verifyRequestSent(second, "second", secondRequest);
+    }
+
+    private WorkerTask prepareWorker(int taskId) {
+        TopologyContext context = mock(TopologyContext.class);
+        when(context.getThisTaskId()).thenReturn(taskId);
+        when(context.getThisComponentId()).thenReturn(WORKER_COMPONENT);
+
+        WorkerTask task = new WorkerTask(taskId, new SpeakerWorkerBolt(config, BATCH_WINDOW_MILLIS, BATCH_SIZE_LIMIT),
+                mock(OutputCollector.class));
+        task.bolt.prepare(Collections.emptyMap(), context, task.output);
+        return task;
+    }
+
+    private Tuple makeHubTuple(String key, FlowSegmentRequest request) {
+        return new TupleImpl(tupleContext, new Values(key, request, new CommandContext()), HUB_TASK_ID,
+                Utils.DEFAULT_STREAM_ID);
+    }
+
+    private void forwardToCoordinator(WorkerTask task) {
+        ArgumentCaptor<Values> commands = ArgumentCaptor.forClass(Values.class);
+        verify(task.output, atLeastOnce()).emit(eq(CoordinatorBolt.INCOME_STREAM), any(Tuple.class),
+                commands.capture());
+        for (Values entry : commands.getAllValues()) {
+            coordinator.execute(new TupleImpl(tupleContext, entry, task.taskId, CoordinatorBolt.INCOME_STREAM));
+        }
+    }
+
+    private void forwardCallbacks(WorkerTask task) {
+        ArgumentCaptor<Values> callbacks = ArgumentCaptor.forClass(Values.class);
+        verify(coordinatorOutput, atLeastOnce()).emitDirect(eq(task.taskId), callbacks.capture());
+        for (Values entry : callbacks.getAllValues()) {
+            task.bolt.execute(new TupleImpl(tupleContext, entry, COORDINATOR_TASK_ID, Utils.DEFAULT_STREAM_ID));
+        }
+    }
+
+    private void verifyRequestSent(WorkerTask task, String key, FlowSegmentRequest request) {
+        verify(task.output).emit(eq(SPEAKER_WORKER_REQUEST_SENDER.name()), any(Tuple.class),
+                argThat(values -> key.equals(values.get(0)) && request.equals(values.get(1))));
+    }
+
+    private static Fields declaredFields(IComponent component, String streamId) {
+        OutputFieldsGetter declarer = new OutputFieldsGetter();
+        component.declareOutputFields(declarer);
+        return new Fields(declarer.getFieldsDeclaration().get(streamId).get_output_fields());
+    }
+
+    private FlowSegmentRequest makeRequest(SwitchId switchId) {
+        return TransitFlowSegmentInstallRequest.builder()
+                .messageContext(new MessageContext())
+                .switchId(switchId)
+                .commandId(UUID.randomUUID())
+                .metadata(new FlowSegmentMetadata("flow", new Cookie(1), false))
+                .ingressIslPort(1)
+                .egressIslPort(2)
+                .encapsulation(new FlowTransitEncapsulation(100, FlowEncapsulationType.TRANSIT_VLAN))
+                .build();
+    }
+
+    private static class WorkerTask {
+        private final int taskId;
+        private final SpeakerWorkerBolt bolt;
+        private final OutputCollector output;
+
+        WorkerTask(int taskId, SpeakerWorkerBolt bolt, OutputCollector output) {
+            this.taskId = taskId;
+            this.bolt = bolt;
+            this.output = output;
+        }
+    }
+}
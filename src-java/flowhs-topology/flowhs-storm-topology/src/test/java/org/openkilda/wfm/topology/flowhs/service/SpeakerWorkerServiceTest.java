@@ -0,0 +1,223 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.TransitFlowSegmentInstallRequest;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentBatchResponse;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
+import org.openkilda.floodlight.flow.response.FlowErrorResponse;
+import org.openkilda.floodlight.flow.response.FlowErrorResponse.ErrorCode;
+import org.openkilda.floodlight.model.FlowSegmentMetadata;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowTransitEncapsulation;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.UUID;
+
+public class SpeakerWorkerServiceTest {
+    private static final SwitchId SWITCH_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_2 = new SwitchId(2);
+
+    private final SpeakerCommandCarrier carrier = mock(SpeakerCommandCarrier.class);
+
+    @Test
+    public void shouldSendRequestsImmediatelyWithoutBatching() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier);
+        FlowSegmentRequest first = makeRequest(SWITCH_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_1);
+
+        service.sendCommand("first", first);
+        service.sendCommand("second", second);
+
+        verify(carrier).sendCommand("first", first);
+        verify(carrier).sendCommand("second", second);
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void shouldGroupRequestsBySwitch() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 32);
+        FlowSegmentRequest first = makeRequest(SWITCH_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_2);
+        FlowSegmentRequest third = makeRequest(SWITCH_1);
+
+        service.sendCommand("first", first);
+        service.sendCommand("second", second);
+        service.sendCommand("third", third);
+        verify(carrier, times(1)).scheduleBatchFlush();
+        verify(carrier, never()).sendCommand(anyString(), any(FlowSegmentRequest.class));
+        verify(carrier, never()).sendBatch(anyString(), any(FlowSegmentBatchRequest.class));
+
+        service.flushBatches();
+
+        ArgumentCaptor<FlowSegmentBatchRequest> batch = ArgumentCaptor.forClass(FlowSegmentBatchRequest.class);
+        verify(carrier).sendBatch(eq("first"), batch.capture());
+        assertEquals(SWITCH_1, batch.getValue().getSwitchId());
+        assertEquals(ImmutableList.of(first, third), batch.getValue().getRequests());
+        verify(carrier).sendCommand("second", second);
+    }
+
+    @Test
+    public void shouldSendBatchWhenSizeLimitIsReached() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 2);
+        FlowSegmentRequest first = makeRequest(SWITCH_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_1);
+
+        service.sendCommand("first", first);
+        service.sendCommand("second", second);
+
+        ArgumentCaptor<FlowSegmentBatchRequest> batch = ArgumentCaptor.forClass(FlowSegmentBatchRequest.class);
+        verify(carrier).sendBatch(eq("first"), batch.capture());
+        assertEquals(ImmutableList.of(first, second), batch.getValue().getRequests());
+
+        service.flushBatches();
+        verify(carrier, times(1)).sendBatch(anyString(), any(FlowSegmentBatchRequest.class));
+    }
+
+    @Test
+    public void shouldFanOutBatchResponse() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 32);
+        FlowSegmentRequest first = makeRequest(SWITCH_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_1);
+        service.sendCommand("first", first);
+        service.sendCommand("second", second);
+        service.flushBatches();
+
+        ArgumentCaptor<FlowSegmentBatchRequest> batch = ArgumentCaptor.forClass(FlowSegmentBatchRequest.class);
+        verify(carrier).sendBatch(eq("first"), batch.capture());
+
+        SpeakerFlowSegmentResponse firstResponse = makeResponse(first);
+        SpeakerFlowSegmentResponse secondResponse = makeResponse(second);
+        service.handleBatchResponse(new SpeakerFlowSegmentBatchResponse(
+                new MessageContext(), batch.getValue().getCommandId(), SWITCH_1,
+                ImmutableList.of(secondResponse, firstResponse)));
+
+        verify(carrier).sendResponse("first", firstResponse);
+        verify(carrier).sendResponse("second", secondResponse);
+
+        // duplicate response must be ignored
+        service.handleBatchResponse(new SpeakerFlowSegmentBatchResponse(
+                new MessageContext(), batch.getValue().getCommandId(), SWITCH_1,
+                ImmutableList.of(secondResponse, firstResponse)));
+        verify(carrier, times(2)).sendResponse(anyString(), any(SpeakerFlowSegmentResponse.class));
+    }
+
+    @Test
+    public void shouldNotRespondTimedOutRequestOfBatch() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 32);
+        FlowSegmentRequest first = makeRequest(SWITCH_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_1);
+        service.sendCommand("first", first);
+        service.sendCommand("second", second);
+        service.flushBatches();
+
+        ArgumentCaptor<FlowSegmentBatchRequest> batch = ArgumentCaptor.forClass(FlowSegmentBatchRequest.class);
+        verify(carrier).sendBatch(eq("first"), batch.capture());
+
+        service.handleTimeout("first");
+        ArgumentCaptor<SpeakerFlowSegmentResponse> timeout = ArgumentCaptor.forClass(SpeakerFlowSegmentResponse.class);
+        verify(carrier).sendResponse(eq("first"), timeout.capture());
+        assertEquals(ErrorCode.OPERATION_TIMED_OUT, ((FlowErrorResponse) timeout.getValue()).getErrorCode());
+
+        SpeakerFlowSegmentResponse secondResponse = makeResponse(second);
+        service.handleBatchResponse(new SpeakerFlowSegmentBatchResponse(
+                new MessageContext(), batch.getValue().getCommandId(), SWITCH_1,
+                ImmutableList.of(makeResponse(first), secondResponse)));
+
+        verify(carrier).sendResponse("second", secondResponse);
+        verify(carrier, times(2)).sendResponse(anyString(), any(SpeakerFlowSegmentResponse.class));
+    }
+
+    @Test
+    public void shouldNotSendTimedOutRequestOfPendingBatch() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 32);
+        FlowSegmentRequest first = makeRequest(SWITCH_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_1);
+        service.sendCommand("first", first);
+        service.sendCommand("second", second);
+
+        service.handleTimeout("first");
+        service.flushBatches();
+
+        verify(carrier).sendCommand("second", second);
+        verify(carrier, never()).sendBatch(anyString(), any(FlowSegmentBatchRequest.class));
+    }
+
+    @Test
+    public void shouldRestartBatchWindowIfFlushFails() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 32);
+        FlowSegmentRequest first = makeRequest(SWITCH_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_2);
+        service.sendCommand("first", first);
+        service.sendCommand("second", second);
+        verify(carrier, times(1)).scheduleBatchFlush();
+
+        doThrow(new IllegalStateException("emit failed")).when(carrier).sendCommand("first", first);
+        try {
+            service.flushBatches();
+            fail("Flush must propagate the send failure");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        verify(carrier, times(2)).scheduleBatchFlush();
+
+        service.flushBatches();
+        verify(carrier).sendCommand("second", second);
+        verify(carrier, times(2)).scheduleBatchFlush();
+    }
+
+    private FlowSegmentRequest makeRequest(SwitchId switchId) {
+        return TransitFlowSegmentInstallRequest.builder()
+                .messageContext(new MessageContext())
+                .switchId(switchId)
+                .commandId(UUID.randomUUID())
+                .metadata(new FlowSegmentMetadata("flow", new Cookie(1), false))
+                .ingressIslPort(1)
+                .egressIslPort(2)
+                .encapsulation(new FlowTransitEncapsulation(100, FlowEncapsulationType.TRANSIT_VLAN))
+                .build();
+    }
+
+    private SpeakerFlowSegmentResponse makeResponse(FlowSegmentRequest request) {
+        return SpeakerFlowSegmentResponse.builder()
+                .messageContext(request.getMessageContext())
+                .commandId(request.getCommandId())
+                .switchId(request.getSwitchId())
+                .metadata(request.getMetadata())
+                .success(true)
+                .build();
+    }
+}
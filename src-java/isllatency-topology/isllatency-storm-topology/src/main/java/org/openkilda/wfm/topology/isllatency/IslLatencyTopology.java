@@ -25,6 +25,7 @@ import org.openkilda.wfm.topology.isllatency.bolts.IslStatsBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.IslStatusUpdateBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.OneWayLatencyManipulationBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.RouterBolt;
+import org.openkilda.wfm.topology.isllatency.bolts.TickBolt;
 import org.openkilda.wfm.topology.isllatency.model.StreamType;
 
 import org.apache.storm.generated.StormTopology;
@@ -43,6 +44,7 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
     public static final String CACHE_BOLT_ID = "cache-bolt";
     public static final String ISL_STATUS_UPDATE_BOLT_ID = "isl-status-update-bolt";
     public static final String ONE_WAY_MANIPULATION_BOLT_ID = "one-way-manipulation-bolt";
+    public static final String TICK_BOLT_ID = "tick-bolt";
 
     public static final String ISL_GROUPING_FIELD = "isl_group_field";
     public static final String SWITCH_KEY_FIELD = "switch_key";
@@ -71,6 +73,7 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
                 PersistenceProvider.getInstance().getPersistenceManager(configurationProvider);
 
         createCacheBolt(builder, persistenceManager);
+        createTickBolt(builder);
         createLatencyBolt(builder, persistenceManager);
 
         createRouterBolt(builder);
@@ -93,17 +96,25 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
         IslLatencyBolt islLatencyBolt = new IslLatencyBolt(
                 persistenceManager,
                 topologyConfig.getLatencyUpdateInterval(),
-                topologyConfig.getLatencyUpdateTimeRange());
+                topologyConfig.getLatencyUpdateTimeRange(),
+                topologyConfig.getLatencyWindowCapacity(),
+                topologyConfig.getLatencyBatchSize());
         declareBolt(builder, islLatencyBolt, ISL_LATENCY_BOLT_ID)
                 .fieldsGrouping(ONE_WAY_MANIPULATION_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
-                .fieldsGrouping(CACHE_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS);
+                .fieldsGrouping(CACHE_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
+                .allGrouping(TICK_BOLT_ID);
+    }
+
+    private void createTickBolt(TopologyBuilder builder) {
+        declareBolt(builder, new TickBolt(topologyConfig.getLatencyBatchWindow()), TICK_BOLT_ID);
     }
 
     private void createStatsBolt(TopologyBuilder builder) {
         long latencyTimeout = (long) (topologyConfig.getDiscoveryIntervalMultiplier()
                 * topologyConfig.getDiscoveryInterval());
 
-        IslStatsBolt islStatsBolt = new IslStatsBolt(topologyConfig.getMetricPrefix(), latencyTimeout);
+        IslStatsBolt islStatsBolt = new IslStatsBolt(
+                topologyConfig.getMetricPrefix(), latencyTimeout, topologyConfig.getLatencyWindowCapacity());
         declareBolt(builder, islStatsBolt, ISL_STATS_BOLT_ID)
                 .fieldsGrouping(ONE_WAY_MANIPULATION_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
                 .fieldsGrouping(CACHE_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
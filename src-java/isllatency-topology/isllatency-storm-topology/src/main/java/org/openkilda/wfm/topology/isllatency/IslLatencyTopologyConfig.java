@@ -52,6 +52,21 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.window.capacity") // max count of latency records kept per ISL, the oldest ones are dropped
+    @Default("1024")
+    @Min(2)
+    int getLatencyWindowCapacity();
+
+    @Key("latency.batch.window") // how often queued latency updates are written to the database in seconds
+    @Default("1")
+    @Min(1)
+    int getLatencyBatchWindow();
+
+    @Key("latency.batch.size") // max count of ISL latency updates written to the database in one transaction
+    @Default("500")
+    @Min(1)
+    int getLatencyBatchSize();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
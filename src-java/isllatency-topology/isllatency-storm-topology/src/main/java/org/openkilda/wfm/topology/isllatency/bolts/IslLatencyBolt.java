@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.isllatency.bolts;
 
 import static org.openkilda.wfm.topology.isllatency.IslLatencyTopology.CACHE_DATA_FIELD;
 import static org.openkilda.wfm.topology.isllatency.IslLatencyTopology.LATENCY_DATA_FIELD;
+import static org.openkilda.wfm.topology.isllatency.IslLatencyTopology.TICK_BOLT_ID;
 
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.event.IslOneWayLatency;
@@ -34,18 +35,32 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Updates ISL latency in the database. Updates are queued by {@link IslLatencyService} and written in batches, on
+ * every tick and whenever the batch is full. Tuples which queued an update are acked only after the batch is
+ * written, so Storm replays them if the worker dies before that.
+ */
 @Slf4j
 public class IslLatencyBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int latencyWindowCapacity;
+    private final int batchSize; // max count of ISL latency updates written in one transaction
     private transient IslLatencyService islLatencyService;
+    private transient List<Tuple> unflushedTuples;
+    private transient boolean deferAck;
 
     public IslLatencyBolt(PersistenceManager persistenceManager, long latencyUpdateInterval,
-                          long latencyUpdateTimeRange) {
+                          long latencyUpdateTimeRange, int latencyWindowCapacity, int batchSize) {
         this.persistenceManager = persistenceManager;
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.latencyWindowCapacity = latencyWindowCapacity;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -53,22 +68,64 @@ public class IslLatencyBolt extends AbstractBolt {
         TransactionManager transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         islLatencyService = new IslLatencyService(transactionManager, repositoryFactory,
-                latencyUpdateInterval, latencyUpdateTimeRange);
+                latencyUpdateInterval, latencyUpdateTimeRange, latencyWindowCapacity);
+        unflushedTuples = new ArrayList<>();
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        deferAck = false;
+        if (TICK_BOLT_ID.equals(input.getSourceComponent())) {
+            flush();
+            return;
+        }
+
         InfoData data = pullValue(input, LATENCY_DATA_FIELD, InfoData.class);
         long timestamp = getCommandContext().getCreateTime();
 
         if (data instanceof IslRoundTripLatency) {
             Endpoint destination = pullValue(input, CACHE_DATA_FIELD, Endpoint.class);
-            islLatencyService.handleRoundTripIslLatency((IslRoundTripLatency) data, destination, timestamp);
+            deferAck = islLatencyService.handleRoundTripIslLatency(
+                    (IslRoundTripLatency) data, destination, timestamp);
         } else if (data instanceof IslOneWayLatency) {
-            islLatencyService.handleOneWayIslLatency((IslOneWayLatency) data, timestamp);
+            deferAck = islLatencyService.handleOneWayIslLatency((IslOneWayLatency) data, timestamp);
         } else {
             unhandledInput(input);
         }
+
+        if (islLatencyService.getPendingUpdatesCount() >= batchSize) {
+            flush();
+            deferAck = false; // the update of the input is written already
+        }
+    }
+
+    @Override
+    protected void ack(Tuple input) {
+        if (deferAck) {
+            deferAck = false;
+            unflushedTuples.add(input);
+        } else {
+            super.ack(input);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Unable to write ISL latency updates on shutdown: {}", e.getMessage(), e);
+        }
+        super.cleanup();
+    }
+
+    private void flush() {
+        // if the flush fails, the updates stay queued and the tuples stay unacked until the next successful flush
+        islLatencyService.flushLatencyUpdates();
+        for (Tuple tuple : unflushedTuples) {
+            super.ack(tuple);
+        }
+        unflushedTuples.clear();
     }
 
     @Override
@@ -51,18 +51,21 @@ import java.util.Map;
 @Slf4j
 public class IslStatsBolt extends AbstractBolt implements IslStatsCarrier {
     public static final String LATENCY_METRIC_NAME = "isl.rtt";
+    public static final String JITTER_METRIC_NAME = "isl.rtt.jitter";
     private transient IslStatsService islStatsService;
     private final long latencyTimeout;
+    private final int latencyWindowCapacity;
     private MetricFormatter metricFormatter;
 
-    public IslStatsBolt(String metricPrefix, long latencyTimeout) {
+    public IslStatsBolt(String metricPrefix, long latencyTimeout, int latencyWindowCapacity) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
         this.latencyTimeout = latencyTimeout;
+        this.latencyWindowCapacity = latencyWindowCapacity;
     }
 
     @Override
     protected void init() {
-        islStatsService = new IslStatsService(this, latencyTimeout);
+        islStatsService = new IslStatsService(this, latencyTimeout, latencyWindowCapacity);
     }
 
     private static List<Object> tsdbTuple(String metric, long timestamp, Number value, Map<String, String> tag)
@@ -74,13 +77,18 @@ public class IslStatsBolt extends AbstractBolt implements IslStatsCarrier {
     @VisibleForTesting
     List<Object> buildTsdbTuple(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
                                 long latency, long timestamp) throws JsonProcessingException {
+        return buildTsdbTuple(LATENCY_METRIC_NAME, srcSwitchId, srcPort, dstSwitchId, dstPort, latency, timestamp);
+    }
+
+    private List<Object> buildTsdbTuple(String metric, SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId,
+                                        int dstPort, long value, long timestamp) throws JsonProcessingException {
         Map<String, String> tags = new HashMap<>();
         tags.put("src_switch", srcSwitchId.toOtsdFormat());
         tags.put("src_port", String.valueOf(srcPort));
         tags.put("dst_switch", dstSwitchId.toOtsdFormat());
         tags.put("dst_port", String.valueOf(dstPort));
 
-        return tsdbTuple(metricFormatter.format(LATENCY_METRIC_NAME), timestamp, latency, tags);
+        return tsdbTuple(metricFormatter.format(metric), timestamp, value, tags);
     }
 
     @Override
@@ -118,9 +126,20 @@ public class IslStatsBolt extends AbstractBolt implements IslStatsCarrier {
     @Override
     public void emitLatency(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
                             long latency, long timestamp) {
+        emitMetric(LATENCY_METRIC_NAME, srcSwitch, srcPort, dstSwitch, dstPort, latency, timestamp);
+    }
+
+    @Override
+    public void emitJitter(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
+                           long jitter, long timestamp) {
+        emitMetric(JITTER_METRIC_NAME, srcSwitch, srcPort, dstSwitch, dstPort, jitter, timestamp);
+    }
+
+    private void emitMetric(String metric, SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
+                            long value, long timestamp) {
         List<Object> tsdbTuple;
         try {
-            tsdbTuple = buildTsdbTuple(srcSwitch, srcPort, dstSwitch, dstPort, latency, timestamp);
+            tsdbTuple = buildTsdbTuple(metric, srcSwitch, srcPort, dstSwitch, dstPort, value, timestamp);
         } catch (JsonProcessingException e) {
             log.error(String.format("Couldn't create OpenTSDB tuple: %s", e.getMessage()), e);
             return;
@@ -1,4 +1,4 @@
-/* Copyright 2019 Telstra Open Source
+/* Copyright 2020 Telstra Open Source
  *
  *   Licensed under the Apache License, Version 2.0 (the "License");
  *   you may not use this file except in compliance with the License.
@@ -13,14 +13,14 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats;
+package org.openkilda.wfm.topology.isllatency.bolts;
 
-import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.share.bolt.MonotonicClock;
 
-import lombok.Value;
+public class TickBolt extends MonotonicClock<TickBolt.TickId> {
+    public TickBolt(Integer interval) {
+        super(new MonotonicClock.ClockConfig<>(), interval);
+    }
 
-@Value
-public class MeterCacheKey {
-    private SwitchId switchId;
-    private Long meterId;
+    enum TickId {}
 }
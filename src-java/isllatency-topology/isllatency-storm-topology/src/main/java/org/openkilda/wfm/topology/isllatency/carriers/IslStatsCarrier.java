@@ -20,4 +20,6 @@ import org.openkilda.model.SwitchId;
 
 public interface IslStatsCarrier {
     void emitLatency(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort, long latency, long timestamp);
+
+    void emitJitter(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort, long jitter, long timestamp);
 }
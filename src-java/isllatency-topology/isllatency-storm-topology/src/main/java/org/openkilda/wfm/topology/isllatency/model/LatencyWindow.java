@@ -0,0 +1,153 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+/**
+ * Latency records of an ISL within a time window.
+ * <p/>
+ * The records are kept in fixed-capacity ring buffers of primitives along with running sums, so adding and expiring
+ * a record and getting the average latency and jitter are O(1) and allocate nothing. When the window is full the
+ * oldest record is replaced by the new one.
+ * <p/>
+ * Jitter is the mean absolute difference between the latencies of consecutive records.
+ */
+public class LatencyWindow {
+    private final long[] latencies;
+    private final long[] timestamps;
+    private int head;
+    private int size;
+    private long latencySum;
+    private long deltaSum;
+
+    public LatencyWindow(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Latency window capacity must be positive");
+        }
+        latencies = new long[capacity];
+        timestamps = new long[capacity];
+    }
+
+    /**
+     * Adds the record as the newest one, replacing the oldest record if the window is full.
+     */
+    public void add(long latency, long timestamp) {
+        if (size == latencies.length) {
+            removeOldest();
+        }
+        if (size > 0) {
+            deltaSum += Math.abs(latency - latencies[indexOf(size - 1)]);
+        }
+        int index = indexOf(size);
+        latencies[index] = latency;
+        timestamps[index] = timestamp;
+        latencySum += latency;
+        size++;
+    }
+
+    /**
+     * Removes the records older than the timestamp.
+     */
+    public void removeOlderThan(long oldestTimestamp) {
+        while (size > 0 && timestamps[head] < oldestTimestamp) {
+            removeOldest();
+        }
+    }
+
+    /**
+     * Removes all the records.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        latencySum = 0;
+        deltaSum = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the timestamp of the newest record.
+     */
+    public long getLastTimestamp() {
+        checkNotEmpty();
+        return timestamps[indexOf(size - 1)];
+    }
+
+    /**
+     * Returns the latency of the newest record.
+     */
+    public long getLastLatency() {
+        checkNotEmpty();
+        return latencies[indexOf(size - 1)];
+    }
+
+    /**
+     * Returns the average latency or -1 if the window is empty.
+     */
+    public long getAverage() {
+        return size > 0 ? latencySum / size : -1;
+    }
+
+    /**
+     * Returns the mean absolute difference between consecutive latencies or -1 if there are less than 2 records.
+     */
+    public long getJitter() {
+        return size > 1 ? deltaSum / (size - 1) : -1;
+    }
+
+    /**
+     * Passes the records not older than the timestamp to the consumer, from the oldest to the newest one.
+     */
+    public void forEachSince(long oldestTimestamp, RecordConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            int index = indexOf(i);
+            if (timestamps[index] >= oldestTimestamp) {
+                consumer.accept(latencies[index], timestamps[index]);
+            }
+        }
+    }
+
+    private void removeOldest() {
+        latencySum -= latencies[head];
+        if (size > 1) {
+            deltaSum -= Math.abs(latencies[indexOf(1)] - latencies[head]);
+        }
+        head = indexOf(1);
+        size--;
+    }
+
+    private int indexOf(int position) {
+        int index = head + position;
+        return index < latencies.length ? index : index - latencies.length;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("Latency window is empty");
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long latency, long timestamp);
+    }
+}
@@ -21,52 +21,60 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
-import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.persistence.tx.TransactionManager;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyWindow;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Calculates average latency of ISLs and updates it in the database.
+ * <p/>
+ * Updates are written behind: they are queued, collapsed by ISL, and written in a single transaction by
+ * {@link #flushLatencyUpdates()}, which is supposed to be called at least once per batch window.
+ */
 @Slf4j
 public class IslLatencyService {
     public static final String ONE_WAY_LATENCY = "one way";
     public static final String ROUND_TRIP_LATENCY = "round trip";
     private TransactionManager transactionManager;
     private IslRepository islRepository;
-    private SwitchRepository switchRepository;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int latencyWindowCapacity; // max count of latency records kept per ISL
 
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
+    private Map<IslKey, LatencyWindow> roundTripLatencyStorage;
+    private Map<IslKey, LatencyWindow> oneWayLatencyStorage;
     private Map<IslKey, Instant> nextUpdateTimeMap;
     private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
+    private Map<IslKey, LatencyUpdate> pendingUpdates; // ISL latency updates to be written by the next flush
 
     public IslLatencyService(TransactionManager transactionManager,
                              RepositoryFactory repositoryFactory, long latencyUpdateInterval,
-                             long latencyUpdateTimeRange) {
+                             long latencyUpdateTimeRange, int latencyWindowCapacity) {
         this.transactionManager = transactionManager;
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.latencyWindowCapacity = latencyWindowCapacity;
         islRepository = repositoryFactory.createIslRepository();
-        switchRepository = repositoryFactory.createSwitchRepository();
         oneWayLatencyStorage = new HashMap<>();
         roundTripLatencyStorage = new HashMap<>();
         roundTripLatencyIsSet = new HashSet<>();
         nextUpdateTimeMap = new HashMap<>();
+        pendingUpdates = new LinkedHashMap<>();
     }
 
     /**
@@ -75,13 +83,14 @@ public class IslLatencyService {
      * @param data round trip latency info data
      * @param destination isl destination endpoint
      * @param timestamp latency timestamp
+     * @return true if an ISL latency update is queued
      */
-    public void handleRoundTripIslLatency(IslRoundTripLatency data, Endpoint destination, long timestamp) {
+    public boolean handleRoundTripIslLatency(IslRoundTripLatency data, Endpoint destination, long timestamp) {
         if (data.getLatency() < 0) {
             log.warn("Received invalid round trip latency {} for ISL {}_{} ===> {}_{}. Packet Id: {}",
                     data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
                     destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
-            return;
+            return false;
         }
 
         log.debug("Received round trip latency {} for ISL {}_{} ===> {}_{}. Packet Id: {}",
@@ -90,12 +99,13 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data, destination);
 
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        roundTripLatencyStorage.computeIfAbsent(islKey, key -> new LatencyWindow(latencyWindowCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
-            updateRoundTripLatency(data, destination, islKey);
+            return updateRoundTripLatency(data, destination, islKey);
         }
+        return false;
     }
 
     /**
@@ -103,24 +113,75 @@ public class IslLatencyService {
      *
      * @param data isl one way latency info data
      * @param timestamp latency timestamp
+     * @return true if an ISL latency update is queued
      */
-    public void handleOneWayIslLatency(IslOneWayLatency data, long timestamp) {
+    public boolean handleOneWayIslLatency(IslOneWayLatency data, long timestamp) {
         log.debug("Received one way latency {} for ISL {}_{} ===> {}_{}, Packet Id: {}",
                 data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
                 data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
 
         IslKey islKey = new IslKey(data);
 
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        oneWayLatencyStorage.computeIfAbsent(islKey, key -> new LatencyWindow(latencyWindowCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey)) {
-            updateOneWayLatencyIfNeeded(data, islKey);
+            return updateOneWayLatencyIfNeeded(data, islKey);
         }
+        return false;
     }
 
-    private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+    /**
+     * Writes the queued ISL latency updates into the database in a single transaction. If the transaction fails,
+     * the updates are kept queued to be retried by the next flush.
+     */
+    public void flushLatencyUpdates() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        Map<IslKey, LatencyUpdate> batch = pendingUpdates;
+        pendingUpdates = new LinkedHashMap<>();
+
+        List<LatencyUpdate> missing;
+        try {
+            missing = transactionManager.doInTransaction(() -> {
+                List<LatencyUpdate> notFound = new ArrayList<>();
+                for (LatencyUpdate update : batch.values()) {
+                    IslKey key = update.getIslKey();
+                    Optional<Isl> isl = islRepository.findByEndpoints(
+                            key.getSrcSwitchId(), key.getSrcPort(), key.getDstSwitchId(), key.getDstPort());
+                    if (isl.isPresent()) {
+                        isl.get().setLatency(update.getLatency());
+                    } else {
+                        notFound.add(update);
+                    }
+                }
+                return notFound;
+            });
+        } catch (RuntimeException e) {
+            // updates queued meanwhile are newer than the failed ones
+            batch.forEach(pendingUpdates::putIfAbsent);
+            throw e;
+        }
+
+        for (LatencyUpdate update : missing) {
+            IslKey key = update.getIslKey();
+            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. ISL not found.",
+                    update.getLatencyType(), key.getSrcSwitchId(), key.getSrcPort(), key.getDstSwitchId(),
+                    key.getDstPort(), update.getPacketId());
+            // let the next latency packet queue the update again
+            nextUpdateTimeMap.remove(key);
+            roundTripLatencyIsSet.remove(key);
+        }
+        log.debug("Updated latency of {} ISLs", batch.size() - missing.size());
+    }
+
+    public int getPendingUpdatesCount() {
+        return pendingUpdates.size();
+    }
+
+    private boolean updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
+        LatencyWindow roundTripRecords = roundTripLatencyStorage.get(islKey);
 
         pollExpiredRecords(roundTripRecords);
         pollExpiredRecords(oneWayLatencyStorage.get(islKey));
@@ -134,34 +195,35 @@ public class IslLatencyService {
 
         long averageLatency = calculateAverageLatency(roundTripRecords);
 
-        boolean updated = updateLatencyInDataBase(data, destination, averageLatency);
+        boolean queued = queueLatencyUpdate(data, destination, averageLatency);
 
-        if (updated) {
+        if (queued) {
             nextUpdateTimeMap.put(islKey, getNextUpdateTime());
             roundTripLatencyIsSet.add(islKey);
         }
+        return queued;
     }
 
-    private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
+    private boolean updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
+        LatencyWindow oneWayRecords = oneWayLatencyStorage.get(islKey);
         pollExpiredRecords(oneWayRecords);
 
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+        LatencyWindow roundTripRecords = roundTripLatencyStorage.get(islKey);
         pollExpiredRecords(roundTripRecords);
         if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
             // next round trip latency packet will update ISL latency
-            return;
+            return false;
         }
 
         IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
+        LatencyWindow reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
         pollExpiredRecords(reverseRoundTripRecords);
 
-        boolean updated;
+        boolean queued;
         if (reverseRoundTripRecords != null && !reverseRoundTripRecords.isEmpty()) {
             // reverse ISL has round trip latency records. We can use them for forward ISL
             long averageReverseLatency = calculateAverageLatency(reverseRoundTripRecords);
-            updated = updateLatencyInDataBase(data, averageReverseLatency);
+            queued = queueLatencyUpdate(data, averageReverseLatency);
         } else {
             // There are no round trip latency records for both ISL direction. We have to use one way latency records
             if (oneWayRecords.isEmpty()) {
@@ -169,74 +231,61 @@ public class IslLatencyService {
                                 + "There is no valid latency records. Packet Id: {}",
                         data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
                         data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
-                return;
+                return false;
             }
 
             long averageOneWayLatency = calculateAverageLatency(oneWayRecords);
-            updated = updateLatencyInDataBase(data, averageOneWayLatency);
+            queued = queueLatencyUpdate(data, averageOneWayLatency);
         }
 
-        if (updated) {
+        if (queued) {
             nextUpdateTimeMap.put(islKey, getNextUpdateTime());
             roundTripLatencyIsSet.remove(islKey);
         }
+        return queued;
     }
 
-    private boolean updateLatencyInDataBase(IslOneWayLatency data, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
+    private boolean queueLatencyUpdate(IslOneWayLatency data, long latency) {
+        return queueLatencyUpdate(data.getSrcSwitchId(), data.getSrcPortNo(),
                 data.getDstSwitchId(), data.getDstPortNo(), latency, data.getPacketId(), ONE_WAY_LATENCY);
     }
 
-    private boolean updateLatencyInDataBase(IslRoundTripLatency data, Endpoint destination, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
+    private boolean queueLatencyUpdate(IslRoundTripLatency data, Endpoint destination, long latency) {
+        return queueLatencyUpdate(data.getSrcSwitchId(), data.getSrcPortNo(),
                 destination.getDatapath(), destination.getPortNumber(), latency, data.getPacketId(),
                 ROUND_TRIP_LATENCY);
     }
 
-    private boolean updateLatencyInDataBase(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                         long latency, long packetId, String latencyType) {
+    private boolean queueLatencyUpdate(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
+                                       long latency, long packetId, String latencyType) {
         if (latency < 0) {
             log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Latency must be positive.",
                     latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId);
             return false;
         }
 
-        try {
-            updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
-            log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
-                    latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
-        } catch (SwitchNotFoundException | IslNotFoundException e) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId, e.getMessage());
-            return false;
-        }
+        IslKey islKey = new IslKey(srcSwitch, srcPort, dstSwitch, dstPort);
+        pendingUpdates.put(islKey, new LatencyUpdate(islKey, latency, packetId, latencyType));
+        log.debug("Queued {} latency update for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
+                latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
         return true;
     }
 
     @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
+    void pollExpiredRecords(LatencyWindow records) {
+        if (records == null) {
             return;
         }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
-        }
+        records.removeOlderThan(Instant.now().minusSeconds(latencyUpdateTimeRange).toEpochMilli());
     }
 
     @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
-            log.error("Couldn't calculate average latency. Records queue is empty");
+    long calculateAverageLatency(LatencyWindow records) {
+        if (records.isEmpty()) {
+            log.error("Couldn't calculate average latency. Records window is empty");
             return -1;
         }
-
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
-        }
-        return sum / recordsQueue.size();
+        return records.getAverage();
     }
 
     @VisibleForTesting
@@ -249,26 +298,11 @@ public class IslLatencyService {
         return Instant.now().plusSeconds(latencyUpdateInterval);
     }
 
-    /**
-     * Update latency of isl by source and destination endpoint.
-     *
-     * @param srcSwitchId ID of source switch.
-     * @param srcPort source port.
-     * @param dstSwitchId ID of destination switch.
-     * @param dstPort destination port.
-     * @param latency latency to update
-     *
-     * @throws SwitchNotFoundException if src or dst switch is not found
-     * @throws IslNotFoundException if isl is not found
-     */
-    @VisibleForTesting
-    void updateIslLatency(
-            SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long latency)
-            throws SwitchNotFoundException, IslNotFoundException {
-        transactionManager.doInTransaction(() -> {
-            Isl isl = islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort)
-                    .orElseThrow(() -> new IslNotFoundException(srcSwitchId, srcPort, dstSwitchId, dstPort));
-            isl.setLatency(latency);
-        });
+    @Value
+    private static class LatencyUpdate {
+        IslKey islKey;
+        long latency;
+        long packetId;
+        String latencyType;
     }
 }
@@ -22,7 +22,7 @@ import org.openkilda.model.IslStatus;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.carriers.IslStatsCarrier;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyWindow;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
@@ -30,21 +30,22 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class IslStatsService {
     private final IslStatsCarrier carrier;
     private final long latencyTimeout;
-    private Map<IslKey, LatencyRecord> roundTripLatencyStorage;
+    private final int latencyWindowCapacity; // max count of latency records kept per ISL
+    private Map<IslKey, LatencyWindow> roundTripLatencyStorage;
     private Map<IslKey, Instant> oneWayLatencyEmitTimeoutMap;
-    private Map<IslKey, TreeMap<Long, Long>> oneWayLatencyStorage;
+    private Map<IslKey, LatencyWindow> oneWayLatencyStorage;
 
 
-    public IslStatsService(IslStatsCarrier carrier, long latencyTimeout) {
+    public IslStatsService(IslStatsCarrier carrier, long latencyTimeout, int latencyWindowCapacity) {
         this.carrier = carrier;
         this.latencyTimeout = latencyTimeout;
+        this.latencyWindowCapacity = latencyWindowCapacity;
         roundTripLatencyStorage = new HashMap<>();
         oneWayLatencyEmitTimeoutMap = new HashMap<>();
         oneWayLatencyStorage = new HashMap<>();
@@ -70,7 +71,10 @@ public class IslStatsService {
                 destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
 
         IslKey islKey = new IslKey(data, destination);
-        roundTripLatencyStorage.put(islKey, new LatencyRecord(data.getLatency(), timestamp));
+        LatencyWindow roundTripRecords = roundTripLatencyStorage.computeIfAbsent(
+                islKey, key -> new LatencyWindow(latencyWindowCapacity));
+        roundTripRecords.removeOlderThan(timestamp - TimeUnit.SECONDS.toMillis(latencyTimeout));
+        roundTripRecords.add(data.getLatency(), timestamp);
 
         oneWayLatencyEmitTimeoutMap.remove(islKey);
         oneWayLatencyEmitTimeoutMap.remove(islKey.getReverse());
@@ -84,6 +88,16 @@ public class IslStatsService {
                 destination.getPortNumber(),
                 data.getLatency(),
                 timestamp);
+
+        if (roundTripRecords.size() > 1) {
+            carrier.emitJitter(
+                    data.getSrcSwitchId(),
+                    data.getSrcPortNo(),
+                    destination.getDatapath(),
+                    destination.getPortNumber(),
+                    roundTripRecords.getJitter(),
+                    timestamp);
+        }
     }
 
     /**
@@ -112,8 +126,8 @@ public class IslStatsService {
         }
 
         // there is no RTL records during latency timeout so we have to use one way latency
-        oneWayLatencyStorage.putIfAbsent(forward, new TreeMap<>());
-        oneWayLatencyStorage.get(forward).put(timestamp, data.getLatency());
+        oneWayLatencyStorage.computeIfAbsent(forward, key -> new LatencyWindow(latencyWindowCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (!oneWayLatencyEmitTimeoutMap.containsKey(forward)) {
             Instant emitTimeout = Instant.ofEpochMilli(timestamp).plusSeconds(latencyTimeout);
@@ -168,19 +182,15 @@ public class IslStatsService {
             return;
         }
 
-        TreeMap<Long, Long> recordMap = oneWayLatencyStorage.get(key);
-
         long oldestTimestamp = Instant.now().minusSeconds(latencyTimeout).toEpochMilli();
 
-        for (Entry<Long, Long> record : recordMap.tailMap(oldestTimestamp).entrySet()) {
-            carrier.emitLatency(
-                    key.getSrcSwitchId(),
-                    key.getSrcPort(),
-                    key.getDstSwitchId(),
-                    key.getDstPort(),
-                    record.getValue(),
-                    record.getKey());
-        }
+        oneWayLatencyStorage.get(key).forEachSince(oldestTimestamp, (latency, timestamp) -> carrier.emitLatency(
+                key.getSrcSwitchId(),
+                key.getSrcPort(),
+                key.getDstSwitchId(),
+                key.getDstPort(),
+                latency,
+                timestamp));
     }
 
     private void clearOneWayRecords(IslKey key) {
@@ -190,15 +200,16 @@ public class IslStatsService {
     }
 
     private boolean haveValidRoundTripLatencyRecord(IslKey key) {
-        if (!roundTripLatencyStorage.containsKey(key)) {
+        LatencyWindow records = roundTripLatencyStorage.get(key);
+        if (records == null || records.isEmpty()) {
             return false;
         }
-        return isRecordStillValid(roundTripLatencyStorage.get(key));
+        return isRecordStillValid(records.getLastTimestamp());
     }
 
     private void emitReverseRoundTripLatency(IslKey forward, IslKey reverse, long timestamp) {
         // got RTL for reverse ISL
-        long reverseRoundTripLatency = roundTripLatencyStorage.get(reverse).getLatency();
+        long reverseRoundTripLatency = roundTripLatencyStorage.get(reverse).getLastLatency();
 
         // and emit it for forward ISL
         carrier.emitLatency(
@@ -211,8 +222,8 @@ public class IslStatsService {
     }
 
     @VisibleForTesting
-    boolean isRecordStillValid(LatencyRecord record) {
-        Instant expirationTime = Instant.ofEpochMilli(record.getTimestamp())
+    boolean isRecordStillValid(long timestamp) {
+        Instant expirationTime = Instant.ofEpochMilli(timestamp)
                 .plusSeconds(latencyTimeout);
 
         return Instant.now().isBefore(expirationTime);
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.isllatency;
 import static java.lang.Thread.sleep;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.openkilda.wfm.topology.isllatency.bolts.IslStatsBolt.JITTER_METRIC_NAME;
 import static org.openkilda.wfm.topology.isllatency.bolts.IslStatsBolt.LATENCY_METRIC_NAME;
 import static org.openkilda.wfm.topology.isllatency.service.OneWayLatencyManipulationService.ONE_WAY_LATENCY_MULTIPLIER;
 
@@ -58,6 +59,7 @@ import java.util.UUID;
 public class IslLatencyTopologyTest extends AbstractStormTest {
 
     private static final int POLL_TIMEOUT = 1000;
+    private static final int DATABASE_UPDATE_TIMEOUT = 3000;
     private static final String POLL_DATAPOINT_ASSERT_MESSAGE = "Could not poll any datapoint";
     private static final String METRIC_PREFIX = "kilda.";
     private static final int PORT_1 = 1;
@@ -147,28 +149,30 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         // we have no round trip latency so we have to use one way latency for the database, but not for OpenTSDB
         pushMessage(firstOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency1 * ONE_WAY_LATENCY_MULTIPLIER, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency1 * ONE_WAY_LATENCY_MULTIPLIER);
 
         // we got round trip latency so we will use it for metric and database
         long timestamp2 = pushMessage(firstRoundTripLatency);
         assertMetric(FORWARD_ISL, latency2, timestamp2);
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got one way latency but bolts already has data with RTL latency. one way latency will be ignored
         pushMessage(secondOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got new round trip latency and it will be used for metric
         long timestamp4 = pushMessage(secondRoundTripLatency);
         assertMetric(FORWARD_ISL, latency4, timestamp4);
+        // and for jitter metric, as there are two round trip latency records
+        assertMetric(FORWARD_ISL, JITTER_METRIC_NAME, latency4 - latency2, timestamp4);
         // but not for database, because of big update time interval
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got one way latency for reverse isl, but we already has RTL for forward ISL and we can use it
         long timestamp5 = pushMessage(reverseOneWayLatency);
         assertMetric(REVERSE_ISL, latency4, timestamp5);
-        assertEquals((latency2 + latency4) / 2, getIslLatency(REVERSE_ISL));
+        assertIslLatency(REVERSE_ISL, (latency2 + latency4) / 2);
     }
 
     private long pushMessage(InfoData infoData) throws JsonProcessingException {
@@ -181,6 +185,10 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
     }
 
     private void assertMetric(IslKey isl, long expectedLatency, Long expectedTimestamp) {
+        assertMetric(isl, LATENCY_METRIC_NAME, expectedLatency, expectedTimestamp);
+    }
+
+    private void assertMetric(IslKey isl, String expectedMetric, long expectedValue, Long expectedTimestamp) {
         Datapoint datapoint = pollDataPoint();
 
         assertEquals(isl.getSrcSwitchId().toOtsdFormat(), datapoint.getTags().get("src_switch"));
@@ -188,8 +196,8 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         assertEquals(isl.getDstSwitchId().toOtsdFormat(), datapoint.getTags().get("dst_switch"));
         assertEquals(String.valueOf(isl.getDstPort()), datapoint.getTags().get("dst_port"));
         assertEquals(expectedTimestamp, datapoint.getTime());
-        assertEquals(METRIC_PREFIX + LATENCY_METRIC_NAME, datapoint.getMetric());
-        assertEquals(expectedLatency, datapoint.getValue().longValue());
+        assertEquals(METRIC_PREFIX + expectedMetric, datapoint.getMetric());
+        assertEquals(expectedValue, datapoint.getValue().longValue());
     }
 
     private Datapoint pollDataPoint() {
@@ -225,6 +233,22 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         islRepository.add(isl);
     }
 
+    private void assertIslLatency(IslKey islKey, long expectedLatency) throws IslNotFoundException {
+        // latency is written to the database in batches, so wait for the batch window to pass
+        long deadline = System.currentTimeMillis() + DATABASE_UPDATE_TIMEOUT;
+        long actualLatency = getIslLatency(islKey);
+        while (actualLatency != expectedLatency && System.currentTimeMillis() < deadline) {
+            try {
+                sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            actualLatency = getIslLatency(islKey);
+        }
+        assertEquals(expectedLatency, actualLatency);
+    }
+
     private long getIslLatency(IslKey islKey) throws IslNotFoundException {
         return getIslLatency(
                 islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort());
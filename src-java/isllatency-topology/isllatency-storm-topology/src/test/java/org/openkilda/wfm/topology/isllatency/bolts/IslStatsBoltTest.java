@@ -53,7 +53,7 @@ public class IslStatsBoltTest {
     private static final long TIMESTAMP = 1507433872L;
 
     private static final String METRIC_PREFIX = "kilda.";
-    private IslStatsBolt statsBolt = new IslStatsBolt(METRIC_PREFIX, 100);
+    private IslStatsBolt statsBolt = new IslStatsBolt(METRIC_PREFIX, 100, 16);
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -0,0 +1,95 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LatencyWindowTest {
+    @Test
+    public void shouldCalculateAverageAndJitter() {
+        LatencyWindow window = new LatencyWindow(8);
+        assertEquals(-1, window.getAverage());
+        assertEquals(-1, window.getJitter());
+
+        window.add(10, 1);
+        assertEquals(10, window.getAverage());
+        assertEquals(-1, window.getJitter());
+
+        window.add(20, 2);
+        window.add(30, 3);
+        window.add(20, 4);
+        assertEquals(20, window.getAverage());
+        assertEquals(10, window.getJitter());
+    }
+
+    @Test
+    public void shouldReplaceOldestRecordWhenFull() {
+        LatencyWindow window = new LatencyWindow(3);
+        for (int i = 1; i <= 10; i++) {
+            window.add(i * i, i);
+        }
+
+        assertEquals(3, window.size());
+        assertEquals((64 + 81 + 100) / 3, window.getAverage());
+        assertEquals((17 + 19) / 2, window.getJitter());
+        assertEquals(100, window.getLastLatency());
+        assertEquals(10, window.getLastTimestamp());
+    }
+
+    @Test
+    public void shouldRemoveExpiredRecords() {
+        LatencyWindow window = new LatencyWindow(4);
+        for (int i = 0; i < 6; i++) {
+            window.add(i, i * 10);
+        }
+
+        window.removeOlderThan(35);
+        assertEquals(2, window.size());
+        assertEquals(4, window.getAverage());
+        assertEquals(1, window.getJitter());
+
+        window.removeOlderThan(100);
+        assertTrue(window.isEmpty());
+        assertEquals(-1, window.getAverage());
+
+        window.add(7, 110);
+        assertEquals(7, window.getAverage());
+        assertEquals(-1, window.getJitter());
+    }
+
+    @Test
+    public void shouldIterateRecordsSinceTimestamp() {
+        LatencyWindow window = new LatencyWindow(4);
+        for (int i = 0; i < 6; i++) {
+            window.add(i, i * 10);
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        window.forEachSince(30, (latency, timestamp) -> latencies.add(latency));
+        assertEquals(Arrays.asList(3L, 4L, 5L), latencies);
+
+        window.clear();
+        window.forEachSince(0, (latency, timestamp) -> latencies.add(latency));
+        assertEquals(3, latencies.size());
+    }
+}
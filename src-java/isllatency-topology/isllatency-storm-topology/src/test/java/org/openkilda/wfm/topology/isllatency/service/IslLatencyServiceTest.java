@@ -28,18 +28,14 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyWindow;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
 
 public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -54,6 +50,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     private static final IslKey FORWARD_ISL_KEY = new IslKey(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2);
     public static final int LATENCY_UPDATE_INTERVAL = 100;
     public static final int LATENCY_UPDATE_TIME_RANGE = 10;
+    public static final int LATENCY_WINDOW_CAPACITY = 16;
 
 
     private SwitchRepository switchRepository;
@@ -64,7 +61,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     public void setup() {
         islLatencyService = new IslLatencyService(
                 persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(),
-                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE);
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_WINDOW_CAPACITY);
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
 
@@ -74,24 +71,25 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         createIsl(firstSwitch, PORT_1, secondSwitch, PORT_2, INITIAL_LATENCY);
     }
 
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentSrcEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2, 0);
+    @Test
+    public void updateIslLatencyNonExistentSrcEndpointTest() {
+        assertIslIsNotFoundOnFlush(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2);
     }
 
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentDstEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2, 0);
+    @Test
+    public void updateIslLatencyNonExistentDstEndpointTest() {
+        assertIslIsNotFoundOnFlush(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2);
     }
 
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentIslTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT, 0);
+    @Test
+    public void updateIslLatencyNonExistentIslTest() {
+        assertIslIsNotFoundOnFlush(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT);
     }
 
     @Test
-    public void updateIslLatencyTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 1000);
+    public void updateIslLatencyTest() {
+        assertTrue(islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(1000), FORWARD_DESTINATION, System.currentTimeMillis()));
         assertForwardLatency(1000);
     }
 
@@ -168,6 +166,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
 
         IslOneWayLatency nonExistent = new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID);
         islLatencyService.handleOneWayIslLatency(nonExistent, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -182,10 +181,33 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         IslRoundTripLatency nonExistent = new IslRoundTripLatency(SWITCH_ID_1, fakePort, 4, PACKET_ID);
         islLatencyService.handleRoundTripIslLatency(
                 nonExistent, Endpoint.of(SWITCH_ID_2, fakePort), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
 
+    @Test
+    public void latencyUpdatesAreWrittenOnFlushTest() {
+        int reversePort = 3;
+        createIsl(switchRepository.findById(SWITCH_ID_2).get(), reversePort,
+                switchRepository.findById(SWITCH_ID_1).get(), reversePort, INITIAL_LATENCY);
+
+        assertTrue(islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(4), System.currentTimeMillis()));
+        assertTrue(islLatencyService.handleRoundTripIslLatency(new IslRoundTripLatency(SWITCH_ID_2, reversePort, 6,
+                PACKET_ID), Endpoint.of(SWITCH_ID_1, reversePort), System.currentTimeMillis()));
+        assertEquals(2, islLatencyService.getPendingUpdatesCount());
+        long actualLatency = islRepository.findByEndpoints(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2).get().getLatency();
+        assertEquals(INITIAL_LATENCY, actualLatency);
+
+        islLatencyService.flushLatencyUpdates();
+
+        assertEquals(0, islLatencyService.getPendingUpdatesCount());
+        assertForwardLatency(4);
+        long reverseLatency = islRepository.findByEndpoints(SWITCH_ID_2, reversePort, SWITCH_ID_1, reversePort)
+                .get().getLatency();
+        assertEquals(6, reverseLatency);
+    }
+
     @Test
     public void getNextUpdateTimeTest() {
         Instant actualTime = islLatencyService.getNextUpdateTime();
@@ -195,32 +217,32 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
 
     @Test
     public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyWindow latencyRecords = new LatencyWindow(LATENCY_WINDOW_CAPACITY);
 
         for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
+            latencyRecords.add(i, 1);
         }
         assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
     }
 
     @Test
     public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
+        assertEquals(-1, islLatencyService.calculateAverageLatency(new LatencyWindow(LATENCY_WINDOW_CAPACITY)));
     }
 
     @Test
     public void pollExpiredRecordsTest() {
         Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyWindow latencyRecords = new LatencyWindow(LATENCY_WINDOW_CAPACITY);
 
         for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
         for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
@@ -228,9 +250,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         islLatencyService.pollExpiredRecords(latencyRecords);
         assertEquals(5, latencyRecords.size());
 
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+        assertEquals(7, latencyRecords.getAverage());
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -258,7 +278,22 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         return new IslRoundTripLatency(SWITCH_ID_1, PORT_1, latency, PACKET_ID);
     }
 
+    private void assertIslIsNotFoundOnFlush(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        IslKey islKey = new IslKey(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        assertTrue(islLatencyService.handleOneWayIslLatency(
+                new IslOneWayLatency(srcSwitchId, srcPort, dstSwitchId, dstPort, 0, PACKET_ID),
+                System.currentTimeMillis()));
+
+        islLatencyService.flushLatencyUpdates();
+
+        assertEquals(0, islLatencyService.getPendingUpdatesCount());
+        // the update is dropped, so the next latency packet queues it again
+        assertTrue(islLatencyService.isUpdateRequired(islKey));
+        assertForwardLatency(INITIAL_LATENCY);
+    }
+
     private void assertForwardLatency(long expectedLatency) {
+        islLatencyService.flushLatencyUpdates();
         long actualLatency = islRepository.findByEndpoints(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2).get().getLatency();
         assertEquals(expectedLatency, actualLatency);
     }
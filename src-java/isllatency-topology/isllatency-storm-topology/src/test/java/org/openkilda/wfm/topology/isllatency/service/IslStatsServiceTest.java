@@ -19,9 +19,13 @@ import static java.lang.Thread.sleep;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -62,20 +66,20 @@ public class IslStatsServiceTest {
     public void setup() {
         carrier = mock(IslStatsCarrier.class);
         inOrderCarrier = inOrder(carrier);
-        islStatsService = new IslStatsService(carrier, LATENCY_TIMEOUT);
+        islStatsService = new IslStatsService(carrier, LATENCY_TIMEOUT, 16);
     }
 
     @Test
     public void isRecordStillValidTest() {
-        assertFalse(islStatsService.isRecordStillValid(new LatencyRecord(1, 0)));
+        assertFalse(islStatsService.isRecordStillValid(0));
 
         long expiredTimestamp = Instant.now().minusSeconds(LATENCY_TIMEOUT * 2).toEpochMilli();
-        assertFalse(islStatsService.isRecordStillValid(new LatencyRecord(1, expiredTimestamp)));
+        assertFalse(islStatsService.isRecordStillValid(expiredTimestamp));
 
-        assertTrue(islStatsService.isRecordStillValid(new LatencyRecord(1, System.currentTimeMillis())));
+        assertTrue(islStatsService.isRecordStillValid(System.currentTimeMillis()));
 
         long freshTimestamp = Instant.now().plusSeconds(LATENCY_TIMEOUT * 2).toEpochMilli();
-        assertTrue(islStatsService.isRecordStillValid(new LatencyRecord(1, freshTimestamp)));
+        assertTrue(islStatsService.isRecordStillValid(freshTimestamp));
     }
 
     @Test
@@ -94,6 +98,30 @@ public class IslStatsServiceTest {
         }
     }
 
+    @Test
+    public void handleRoundTripLatencyEmitsJitterTest() {
+        Instant time = Instant.now();
+
+        sendForwardRoundTripLatency(10, time);
+        verify(carrier, never()).emitJitter(any(), anyInt(), any(), anyInt(), anyLong(), anyLong());
+
+        time = time.plusSeconds(1);
+        sendForwardRoundTripLatency(20, time);
+        verify(carrier).emitJitter(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 10, time.toEpochMilli());
+
+        time = time.plusSeconds(1);
+        sendForwardRoundTripLatency(14, time);
+        verify(carrier).emitJitter(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 8, time.toEpochMilli());
+
+        // expired records must not affect jitter
+        time = time.plusSeconds(LATENCY_TIMEOUT + 1);
+        sendForwardRoundTripLatency(15, time);
+        time = time.plusSeconds(1);
+        sendForwardRoundTripLatency(17, time);
+        verify(carrier).emitJitter(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 2, time.toEpochMilli());
+        verify(carrier, times(3)).emitJitter(any(), anyInt(), any(), anyInt(), anyLong(), anyLong());
+    }
+
     @Test
     public void handleRoundTripLatencyAndOneWayLatencyTest() {
         // RTL:    ...X.X.X.X.X.X.X.X.X.X.....
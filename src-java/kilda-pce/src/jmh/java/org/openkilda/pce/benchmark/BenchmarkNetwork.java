@@ -0,0 +1,174 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.GetPathsResult;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.PathComputer;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.exception.RecoverableException;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.persistence.NetworkConfig;
+import org.openkilda.persistence.inmemory.InMemoryGraphPersistenceManager;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Path computation environment of a benchmark: the topology persisted into the in-memory graph and
+ * {@link PathComputer} configured with the network cache, so benchmarks measure path computation rather than ISL
+ * reads.
+ */
+public final class BenchmarkNetwork {
+    private static final long SEED = 42L;
+    private static final long FLOW_BANDWIDTH = 100L;
+    private static final String DIVERSITY_GROUP_ID = "benchmark-diversity-group";
+
+    private final InMemoryGraphPersistenceManager persistenceManager;
+    private final RepositoryFactory repositoryFactory;
+    @Getter
+    private final Topology topology;
+    @Getter
+    private final PathComputer pathComputer;
+    private final Map<SwitchId, Switch> switches;
+
+    public BenchmarkNetwork(Topology.Type topologyType, String pathFinder) {
+        PropertiesBasedConfigurationProvider configurationProvider = new PropertiesBasedConfigurationProvider();
+        persistenceManager = new InMemoryGraphPersistenceManager(
+                configurationProvider.getConfiguration(NetworkConfig.class));
+        persistenceManager.purgeData();
+        repositoryFactory = persistenceManager.getRepositoryFactory();
+
+        topology = topologyType.create(new Random(SEED));
+        switches = topology.getSwitches().stream()
+                .collect(Collectors.toMap(Switch::getSwitchId, Function.identity()));
+        persistTopology();
+
+        Properties properties = new Properties();
+        properties.setProperty("pce.path.finder", pathFinder);
+        properties.setProperty("pce.network.cache.enabled", "true");
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider(properties)
+                .getConfiguration(PathComputerConfig.class);
+        pathComputer = new PathComputerFactory(config, new AvailableNetworkFactory(config, repositoryFactory))
+                .getPathComputer();
+    }
+
+    /**
+     * Creates a flow between the source and the destination switches of the topology. The flow is not persisted.
+     *
+     * @param diverse whether the flow belongs to the diversity group created by {@link #addDiverseFlow}.
+     */
+    public Flow createFlow(String flowId, PathComputationStrategy strategy, boolean diverse) {
+        return Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(topology.getSource())
+                .srcPort(1000)
+                .destSwitch(topology.getDestination())
+                .destPort(1000)
+                .bandwidth(FLOW_BANDWIDTH)
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .pathComputationStrategy(strategy)
+                .groupId(diverse ? DIVERSITY_GROUP_ID : null)
+                .build();
+    }
+
+    /**
+     * Computes paths for the flow. Like flow operations, MAX_LATENCY falls back to LATENCY if there is no path
+     * under the max latency of the flow.
+     */
+    public GetPathsResult getPath(Flow flow) throws RecoverableException, UnroutableFlowException {
+        if (flow.getPathComputationStrategy() == PathComputationStrategy.MAX_LATENCY) {
+            return pathComputer.getPath(flow, Collections.emptyList(), PathComputationStrategy.LATENCY);
+        }
+        return pathComputer.getPath(flow, Collections.emptyList());
+    }
+
+    /**
+     * Computes paths for a flow of the diversity group and persists the flow, so diversity weights are applied
+     * to the paths computed for other flows of the group.
+     */
+    public void addDiverseFlow(String flowId, PathComputationStrategy strategy)
+            throws RecoverableException, UnroutableFlowException {
+        Flow flow = createFlow(flowId, strategy, true);
+        GetPathsResult paths = getPath(flow);
+        flow.setForwardPath(buildFlowPath(paths.getForward()));
+        flow.setReversePath(buildFlowPath(paths.getReverse()));
+        repositoryFactory.createFlowRepository().add(flow);
+    }
+
+    /**
+     * Removes all the data of the network from the in-memory graph.
+     */
+    public void close() {
+        persistenceManager.purgeData();
+    }
+
+    private void persistTopology() {
+        SwitchRepository switchRepository = repositoryFactory.createSwitchRepository();
+        SwitchPropertiesRepository switchPropertiesRepository = repositoryFactory.createSwitchPropertiesRepository();
+        for (Switch sw : topology.getSwitches()) {
+            switchRepository.add(sw);
+            switchPropertiesRepository.add(SwitchProperties.builder()
+                    .switchObj(sw)
+                    .supportedTransitEncapsulation(SwitchProperties.DEFAULT_FLOW_ENCAPSULATION_TYPES)
+                    .build());
+        }
+        IslRepository islRepository = repositoryFactory.createIslRepository();
+        topology.getIsls().forEach(islRepository::add);
+    }
+
+    private FlowPath buildFlowPath(Path path) {
+        FlowPath flowPath = FlowPath.builder()
+                .pathId(new PathId(path.getSrcSwitchId() + "_" + path.getDestSwitchId() + "_" + System.nanoTime()))
+                .srcSwitch(switches.get(path.getSrcSwitchId()))
+                .destSwitch(switches.get(path.getDestSwitchId()))
+                .bandwidth(FLOW_BANDWIDTH)
+                .build();
+        List<PathSegment> segments = path.getSegments().stream()
+                .map(segment -> PathSegment.builder()
+                        .srcSwitch(switches.get(segment.getSrcSwitchId()))
+                        .srcPort(segment.getSrcPort())
+                        .destSwitch(switches.get(segment.getDestSwitchId()))
+                        .destPort(segment.getDestPort())
+                        .build())
+                .collect(Collectors.toList());
+        flowPath.setSegments(segments);
+        return flowPath;
+    }
+}
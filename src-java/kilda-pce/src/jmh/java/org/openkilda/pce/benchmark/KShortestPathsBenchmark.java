@@ -0,0 +1,85 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.exception.RecoverableException;
+import org.openkilda.pce.exception.UnroutableFlowException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link org.openkilda.pce.PathComputer#getNPaths} for every topology, path finder and path computation
+ * strategy. The N paths request doesn't take flow groups into account, so there is no diversity parameter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KShortestPathsBenchmark {
+    @Param({"FAT_TREE", "RING_OF_RINGS", "RANDOM_GEOMETRIC", "MESH_WITH_PARALLEL_ISLS"})
+    public Topology.Type topology;
+
+    @Param({"BEST_WEIGHT_AND_SHORTEST_PATH", "DIJKSTRA"})
+    public String pathFinder;
+
+    @Param({"COST", "LATENCY", "MAX_LATENCY", "COST_AND_AVAILABLE_BANDWIDTH"})
+    public PathComputationStrategy strategy;
+
+    @Param({"10"})
+    public int count;
+
+    private BenchmarkNetwork network;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        network = new BenchmarkNetwork(topology, pathFinder);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        network.close();
+    }
+
+    /**
+     * Searches for the configured number of paths between the source and the destination switches.
+     */
+    @Benchmark
+    public List<Path> getNPaths() throws RecoverableException, UnroutableFlowException {
+        return network.getPathComputer().getNPaths(network.getTopology().getSource().getSwitchId(),
+                network.getTopology().getDestination().getSwitchId(), count, FlowEncapsulationType.TRANSIT_VLAN,
+                strategy);
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.pce.GetPathsResult;
+import org.openkilda.pce.exception.RecoverableException;
+import org.openkilda.pce.exception.UnroutableFlowException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link org.openkilda.pce.PathComputer#getPath} for every topology, path finder and path computation
+ * strategy, with and without a diversity group. Allocation rate is reported by the GC profiler enabled in the
+ * build script.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathComputerBenchmark {
+    @Param({"FAT_TREE", "RING_OF_RINGS", "RANDOM_GEOMETRIC", "MESH_WITH_PARALLEL_ISLS"})
+    public Topology.Type topology;
+
+    @Param({"BEST_WEIGHT_AND_SHORTEST_PATH", "DIJKSTRA"})
+    public String pathFinder;
+
+    @Param({"COST", "LATENCY", "MAX_LATENCY", "COST_AND_AVAILABLE_BANDWIDTH"})
+    public PathComputationStrategy strategy;
+
+    @Param({"false", "true"})
+    public boolean diversity;
+
+    private BenchmarkNetwork network;
+    private Flow flow;
+
+    /**
+     * Persists the topology and prepares the flow. The max latency of the flow is twice the latency of the best
+     * latency path, so the MAX_LATENCY strategy has room to search. Diversity weights may still push all the paths
+     * over the max latency, then the LATENCY strategy is used as a back up one.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws RecoverableException, UnroutableFlowException {
+        network = new BenchmarkNetwork(topology, pathFinder);
+        if (diversity) {
+            network.addDiverseFlow("diverse-flow", strategy);
+        }
+        flow = network.createFlow("benchmark-flow", strategy, diversity);
+        if (strategy == PathComputationStrategy.MAX_LATENCY) {
+            Flow latencyFlow = network.createFlow("latency-flow", PathComputationStrategy.LATENCY, false);
+            long latency = network.getPath(latencyFlow).getForward().getLatency();
+            flow.setMaxLatency(latency * 2);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        network.close();
+    }
+
+    @Benchmark
+    public GetPathsResult getPath() throws RecoverableException, UnroutableFlowException {
+        return network.getPath(flow);
+    }
+}
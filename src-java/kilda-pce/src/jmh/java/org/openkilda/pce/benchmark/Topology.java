@@ -0,0 +1,269 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic network topology for path computation benchmarks. ISLs are bidirectional, ISL costs, latencies and
+ * available bandwidth are randomized with the provided {@link Random}, so the same seed produces the same topology.
+ */
+public final class Topology {
+    private static final int MAX_COST = 10;
+    private static final long LATENCY_UNIT = 1_000_000L;
+    private static final long BANDWIDTH_UNIT = 1_000L;
+    private static final int BANDWIDTH_LEVELS = 10;
+
+    @Getter
+    private final List<Switch> switches = new ArrayList<>();
+    @Getter
+    private final List<Isl> isls = new ArrayList<>();
+    @Getter
+    private Switch source;
+    @Getter
+    private Switch destination;
+
+    private final Random random;
+    private final Map<SwitchId, Integer> lastPorts = new HashMap<>();
+
+    private Topology(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Builds a k-ary fat-tree: (k/2)^2 core switches and k pods of k/2 aggregation and k/2 edge switches.
+     * The path is computed between edge switches of the first and the last pod.
+     */
+    public static Topology fatTree(int k, Random random) {
+        Topology topology = new Topology(random);
+        int half = k / 2;
+        List<Switch> cores = new ArrayList<>();
+        for (int i = 0; i < half * half; i++) {
+            cores.add(topology.addSwitch());
+        }
+        for (int pod = 0; pod < k; pod++) {
+            List<Switch> aggregations = new ArrayList<>();
+            for (int i = 0; i < half; i++) {
+                Switch aggregation = topology.addSwitch();
+                aggregations.add(aggregation);
+                for (int j = 0; j < half; j++) {
+                    topology.connect(aggregation, cores.get(i * half + j), topology.randomLatency());
+                }
+            }
+            for (int i = 0; i < half; i++) {
+                Switch edge = topology.addSwitch();
+                aggregations.forEach(aggregation -> topology.connect(edge, aggregation, topology.randomLatency()));
+                if (pod == 0 && i == 0) {
+                    topology.source = edge;
+                }
+                topology.destination = edge;
+            }
+        }
+        return topology;
+    }
+
+    /**
+     * Builds rings of switches which are connected by a core ring going through the first switch of every ring.
+     * The path is computed between the opposite switches of the first ring and the ring in the middle.
+     */
+    public static Topology ringOfRings(int ringCount, int ringSize, Random random) {
+        Topology topology = new Topology(random);
+        List<Switch> gateways = new ArrayList<>();
+        for (int ring = 0; ring < ringCount; ring++) {
+            List<Switch> members = new ArrayList<>();
+            for (int i = 0; i < ringSize; i++) {
+                members.add(topology.addSwitch());
+            }
+            topology.connectRing(members);
+            gateways.add(members.get(0));
+            if (ring == 0) {
+                topology.source = members.get(ringSize / 2);
+            } else if (ring == ringCount / 2) {
+                topology.destination = members.get(ringSize / 2);
+            }
+        }
+        topology.connectRing(gateways);
+        return topology;
+    }
+
+    /**
+     * Places switches uniformly in the unit square and connects the ones which are closer than the radius, latency
+     * is proportional to the distance. Every switch is connected to the closest of the previously placed switches,
+     * so the topology is connected. The path is computed between the switches closest to the opposite corners.
+     */
+    public static Topology randomGeometric(int switchCount, double radius, Random random) {
+        Topology topology = new Topology(random);
+        double[] xs = new double[switchCount];
+        double[] ys = new double[switchCount];
+        List<Switch> placed = new ArrayList<>();
+        int sourceIndex = 0;
+        int destinationIndex = 0;
+        for (int i = 0; i < switchCount; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+            placed.add(topology.addSwitch());
+
+            int closest = -1;
+            for (int j = 0; j < i; j++) {
+                double distance = Math.hypot(xs[i] - xs[j], ys[i] - ys[j]);
+                if (distance < radius) {
+                    topology.connect(placed.get(i), placed.get(j), distanceToLatency(distance));
+                } else if (closest < 0 || distance < Math.hypot(xs[i] - xs[closest], ys[i] - ys[closest])) {
+                    closest = j;
+                }
+            }
+            if (closest >= 0 && !topology.isConnected(placed.get(i))) {
+                topology.connect(placed.get(i), placed.get(closest),
+                        distanceToLatency(Math.hypot(xs[i] - xs[closest], ys[i] - ys[closest])));
+            }
+
+            if (xs[i] + ys[i] < xs[sourceIndex] + ys[sourceIndex]) {
+                sourceIndex = i;
+            }
+            if (xs[i] + ys[i] > xs[destinationIndex] + ys[destinationIndex]) {
+                destinationIndex = i;
+            }
+        }
+        topology.source = placed.get(sourceIndex);
+        topology.destination = placed.get(destinationIndex);
+        return topology;
+    }
+
+    /**
+     * Builds a grid where neighbour switches are connected by several parallel ISLs. The path is computed between
+     * the corner and the center of the grid, so it fits into the default max allowed depth of the path finders.
+     */
+    public static Topology mesh(int rows, int columns, int parallelIsls, Random random) {
+        Topology topology = new Topology(random);
+        Switch[][] grid = new Switch[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                grid[row][column] = topology.addSwitch();
+                for (int i = 0; i < parallelIsls; i++) {
+                    if (row > 0) {
+                        topology.connect(grid[row - 1][column], grid[row][column], topology.randomLatency());
+                    }
+                    if (column > 0) {
+                        topology.connect(grid[row][column - 1], grid[row][column], topology.randomLatency());
+                    }
+                }
+            }
+        }
+        topology.source = grid[0][0];
+        topology.destination = grid[rows / 2][columns / 2];
+        return topology;
+    }
+
+    private Switch addSwitch() {
+        Switch sw = Switch.builder()
+                .switchId(new SwitchId(switches.size() + 1))
+                .status(SwitchStatus.ACTIVE)
+                .build();
+        switches.add(sw);
+        return sw;
+    }
+
+    private void connectRing(List<Switch> members) {
+        for (int i = 0; i < members.size(); i++) {
+            connect(members.get(i), members.get((i + 1) % members.size()), randomLatency());
+        }
+    }
+
+    private void connect(Switch first, Switch second, long latency) {
+        int firstPort = nextPort(first);
+        int secondPort = nextPort(second);
+        int cost = 1 + random.nextInt(MAX_COST);
+        isls.add(buildIsl(first, firstPort, second, secondPort, cost, latency));
+        isls.add(buildIsl(second, secondPort, first, firstPort, cost, latency));
+    }
+
+    private Isl buildIsl(Switch srcSwitch, int srcPort, Switch destSwitch, int destPort, int cost, long latency) {
+        long bandwidth = (1 + random.nextInt(BANDWIDTH_LEVELS)) * BANDWIDTH_UNIT;
+        return Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(destSwitch)
+                .destPort(destPort)
+                .status(IslStatus.ACTIVE)
+                .actualStatus(IslStatus.ACTIVE)
+                .cost(cost)
+                .latency(latency)
+                .maxBandwidth(bandwidth)
+                .defaultMaxBandwidth(bandwidth)
+                .availableBandwidth(bandwidth)
+                .build();
+    }
+
+    private boolean isConnected(Switch sw) {
+        return lastPorts.containsKey(sw.getSwitchId());
+    }
+
+    private int nextPort(Switch sw) {
+        return lastPorts.merge(sw.getSwitchId(), 1, Integer::sum);
+    }
+
+    private long randomLatency() {
+        return (1 + random.nextInt(MAX_COST)) * LATENCY_UNIT;
+    }
+
+    private static long distanceToLatency(double distance) {
+        return Math.max(1L, Math.round(distance * MAX_COST * LATENCY_UNIT));
+    }
+
+    /**
+     * Topologies used by the benchmarks.
+     */
+    public enum Type {
+        FAT_TREE {
+            @Override
+            public Topology create(Random random) {
+                return fatTree(8, random);
+            }
+        },
+        RING_OF_RINGS {
+            @Override
+            public Topology create(Random random) {
+                return ringOfRings(12, 16, random);
+            }
+        },
+        RANDOM_GEOMETRIC {
+            @Override
+            public Topology create(Random random) {
+                return randomGeometric(250, 0.12, random);
+            }
+        },
+        MESH_WITH_PARALLEL_ISLS {
+            @Override
+            public Topology create(Random random) {
+                return mesh(25, 40, 2, random);
+            }
+        };
+
+        public abstract Topology create(Random random);
+    }
+}
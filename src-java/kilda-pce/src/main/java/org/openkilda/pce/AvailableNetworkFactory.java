@@ -16,36 +16,59 @@
 package org.openkilda.pce;
 
 import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.pce.cache.NetworkCache;
+import org.openkilda.pce.cache.NetworkSnapshot;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.PathSegmentRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
- * A factory for {@link AvailableNetwork} instances.
+ * A factory for {@link AvailableNetwork} and {@link CompactNetwork} instances.
  */
 @Slf4j
 public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private PathSegmentRepository pathSegmentRepository;
+    private NetworkCache networkCache;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.pathSegmentRepository = repositoryFactory.createPathSegmentRepository();
+        if (config.isNetworkCacheEnabled()) {
+            networkCache = new NetworkCache(islRepository,
+                    Duration.ofSeconds(config.getNetworkCacheMaxAgeSeconds()));
+        }
+    }
+
+    /**
+     * Gets the {@link NetworkCache} used as the source of available ISLs, if it's enabled by the configuration.
+     */
+    public Optional<NetworkCache> getNetworkCache() {
+        return Optional.ofNullable(networkCache);
     }
 
     /**
@@ -57,30 +80,55 @@ public class AvailableNetworkFactory {
      */
     public AvailableNetwork getAvailableNetwork(Flow flow, Collection<PathId> reusePathsResources)
             throws RecoverableException {
-        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
         AvailableNetwork network = new AvailableNetwork();
+        loadAvailableIsls(flow, reusePathsResources, network::addLink);
+        loadDiversitySegments(flow, reusePathsResources, segments -> {
+            network.processDiversitySegments(segments, flow);
+            network.processDiversitySegmentsWithPop(segments);
+        });
+        return network;
+    }
+
+    /**
+     * Gets a {@link CompactNetwork}. It's built from the same data as {@link #getAvailableNetwork(Flow, Collection)}.
+     *
+     * @param flow                      the flow, for which {@link CompactNetwork} is constructing.
+     * @param reusePathsResources       reuse resources already allocated by {@param reusePathsResources} paths.
+     * @return {@link CompactNetwork} instance.
+     */
+    public CompactNetwork getCompactNetwork(Flow flow, Collection<PathId> reusePathsResources)
+            throws RecoverableException {
+        CompactNetwork.Builder builder = CompactNetwork.builder();
+        loadAvailableIsls(flow, reusePathsResources, builder::addLink);
+        CompactNetwork network = builder.build();
+        loadDiversitySegments(flow, reusePathsResources, segments -> {
+            network.processDiversitySegments(segments, flow);
+            network.processDiversitySegmentsWithPop(segments);
+        });
+        return network;
+    }
+
+    private void loadAvailableIsls(Flow flow, Collection<PathId> reusePathsResources, Consumer<Isl> linkConsumer)
+            throws RecoverableException {
+        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
         try {
             // Reads all active links from the database and creates representation of the network.
             Collection<Isl> links = getAvailableIsls(buildStrategy, flow);
-            links.forEach(network::addLink);
+            links.forEach(linkConsumer);
 
             if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
-                reusePathsResources.stream()
-                        .filter(pathId -> flowPathRepository.findById(pathId)
-                                .map(path -> !path.isIgnoreBandwidth())
-                                .orElse(false))
-                        .forEach(pathId -> {
-                            // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
-                            Collection<Isl> flowLinks = islRepository
-                                    .findActiveAndOccupiedByFlowPathWithAvailableBandwidth(pathId,
-                                            flow.getBandwidth(), flow.getEncapsulationType());
-                            flowLinks.forEach(network::addLink);
-                        });
+                // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
+                Collection<Isl> flowLinks = islRepository.findActiveAndOccupiedByFlowPathsWithAvailableBandwidth(
+                        reusePathsResources, flow.getBandwidth(), flow.getEncapsulationType());
+                flowLinks.forEach(linkConsumer);
             }
         } catch (PersistenceException e) {
             throw new RecoverableException("An error from the database", e);
         }
+    }
 
+    private void loadDiversitySegments(Flow flow, Collection<PathId> reusePathsResources,
+                                       Consumer<List<PathSegment>> segmentsConsumer) {
         if (flow.getGroupId() != null) {
             log.info("Filling AvailableNetwork diverse weighs for group with id {}", flow.getGroupId());
 
@@ -91,15 +139,8 @@ public class AvailableNetworkFactory {
                         .collect(Collectors.toList());
             }
 
-            flowPaths.forEach(pathId ->
-                    flowPathRepository.findById(pathId)
-                            .ifPresent(flowPath -> {
-                                network.processDiversitySegments(flowPath.getSegments(), flow);
-                                network.processDiversitySegmentsWithPop(flowPath.getSegments());
-                            }));
+            pathSegmentRepository.findSegmentsByPathIds(flowPaths).values().forEach(segmentsConsumer);
         }
-
-        return network;
     }
 
     private boolean isPrimaryPath(Flow flow, FlowPath flowPath) {
@@ -108,16 +149,17 @@ public class AvailableNetworkFactory {
     }
 
     private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
+        NetworkSnapshot snapshot = networkCache != null ? networkCache.getSnapshot() : null;
         if (buildStrategy == BuildStrategy.COST) {
             Collection<Isl> isls = flow.isIgnoreBandwidth()
-                    ? islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType())
-                    : islRepository.findActiveWithAvailableBandwidth(flow.getBandwidth(), flow.getEncapsulationType());
+                    ? findAllActiveByEncapsulationType(snapshot, flow.getEncapsulationType())
+                    : findActiveWithAvailableBandwidth(snapshot, flow.getBandwidth(), flow.getEncapsulationType());
             validateIslsCost(isls);
             return isls;
         } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
             Collection<Isl> isls = flow.isIgnoreBandwidth()
-                    ? islRepository.findAllActiveByEncapsulationType(flow.getEncapsulationType())
-                    : islRepository.findSymmetricActiveWithAvailableBandwidth(flow.getBandwidth(),
+                    ? findAllActiveByEncapsulationType(snapshot, flow.getEncapsulationType())
+                    : findSymmetricActiveWithAvailableBandwidth(snapshot, flow.getBandwidth(),
                     flow.getEncapsulationType());
             validateIslsCost(isls);
             return isls;
@@ -126,6 +168,27 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<Isl> findAllActiveByEncapsulationType(NetworkSnapshot snapshot,
+                                                             FlowEncapsulationType encapsulationType) {
+        return snapshot != null
+                ? snapshot.findAllActiveByEncapsulationType(encapsulationType)
+                : islRepository.findAllActiveByEncapsulationType(encapsulationType);
+    }
+
+    private Collection<Isl> findActiveWithAvailableBandwidth(NetworkSnapshot snapshot, long bandwidth,
+                                                             FlowEncapsulationType encapsulationType) {
+        return snapshot != null
+                ? snapshot.findActiveWithAvailableBandwidth(bandwidth, encapsulationType)
+                : islRepository.findActiveWithAvailableBandwidth(bandwidth, encapsulationType);
+    }
+
+    private Collection<Isl> findSymmetricActiveWithAvailableBandwidth(NetworkSnapshot snapshot, long bandwidth,
+                                                                      FlowEncapsulationType encapsulationType) {
+        return snapshot != null
+                ? snapshot.findSymmetricActiveWithAvailableBandwidth(bandwidth, encapsulationType)
+                : islRepository.findSymmetricActiveWithAvailableBandwidth(bandwidth, encapsulationType);
+    }
+
     private void validateIslsCost(Collection<Isl> isls) {
         List<String> messages = new ArrayList<>();
 
@@ -19,6 +19,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
@@ -68,4 +69,32 @@ public interface PathComputer {
     List<Path> getNPaths(SwitchId srcSwitch, SwitchId dstSwitch, int count,
                          FlowEncapsulationType flowEncapsulationType, PathComputationStrategy pathComputationStrategy)
             throws RecoverableException, UnroutableFlowException;
+
+    /**
+     * Notifies the computer that bandwidth of the ISLs of the paths has been allocated. Must be called once the
+     * allocating transaction is committed, so the computer re-reads the allocated ISLs if it caches them.
+     *
+     * @param paths the paths returned by {@link #getPath(Flow, Collection, PathComputationStrategy...)}.
+     */
+    default void onPathsAllocated(GetPathsResult paths) {
+    }
+
+    /**
+     * Notifies the computer that allocation of the paths has failed. The paths may have been computed from ISLs
+     * cached with outdated bandwidth, so the computer re-reads them if it caches them. Otherwise a retry would
+     * compute the same paths again. Must be called once the allocating transaction is rolled back.
+     *
+     * @param paths the paths returned by {@link #getPath(Flow, Collection, PathComputationStrategy...)}.
+     */
+    default void onPathsAllocationFailed(GetPathsResult paths) {
+    }
+
+    /**
+     * Notifies the computer that bandwidth of the ISLs of the path segments has been released. Must be called once
+     * the deallocating transaction is committed, so the computer re-reads the released ISLs if it caches them.
+     *
+     * @param segments the segments of the removed paths.
+     */
+    default void onPathSegmentsDeallocated(Collection<PathSegment> segments) {
+    }
 }
@@ -48,6 +48,26 @@ public interface PathComputerConfig extends Serializable {
     @Default("COST")
     String getNetworkStrategy();
 
+    @Key("path.finder")
+    @Default("BEST_WEIGHT_AND_SHORTEST_PATH")
+    String getPathFinder();
+
+    /**
+     * The number of threads which search spur paths of the k shortest paths in parallel. Applies to the DIJKSTRA
+     * path finder, 1 means the spur paths are searched sequentially by the calling thread.
+     */
+    @Key("k.paths.search.threads")
+    @Default("1")
+    int getKPathsSearchThreads();
+
+    @Key("network.cache.enabled")
+    @Default("false")
+    boolean isNetworkCacheEnabled();
+
+    @Key("network.cache.max.age.seconds")
+    @Default("30")
+    int getNetworkCacheMaxAgeSeconds();
+
     @Key("isl.cost.when.unstable")
     @Default("10000")
     int getUnstableCostRaise();
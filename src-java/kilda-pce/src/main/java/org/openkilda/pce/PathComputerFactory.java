@@ -16,8 +16,18 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * A factory for {@link PathComputer} instances. It provides a specific {@link PathComputer} depending on configuration
  * ({@link PathComputerConfig}).
@@ -26,6 +36,7 @@ public class PathComputerFactory {
 
     private PathComputerConfig config;
     private AvailableNetworkFactory availableNetworkFactory;
+    private Executor spurSearchExecutor;
 
     public PathComputerFactory(PathComputerConfig config, AvailableNetworkFactory availableNetworkFactory) {
         this.config = config;
@@ -38,8 +49,63 @@ public class PathComputerFactory {
      * @return {@link PathComputer} instance
      */
     public PathComputer getPathComputer() {
-        return new InMemoryPathComputer(availableNetworkFactory,
-                new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth()),
-                config);
+        return new InMemoryPathComputer(availableNetworkFactory, getPathFinder(), config);
+    }
+
+    private PathFinder getPathFinder() {
+        PathFinderType pathFinderType = PathFinderType.from(config.getPathFinder());
+        switch (pathFinderType) {
+            case BEST_WEIGHT_AND_SHORTEST_PATH:
+                return new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth());
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), getSpurSearchExecutor());
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("Unsupported path finder type %s", pathFinderType));
+        }
+    }
+
+    /**
+     * Gets the executor for spur path searches, it's shared by the path computers of the factory. Returns null if the
+     * searches are configured to run sequentially.
+     */
+    private synchronized Executor getSpurSearchExecutor() {
+        int threads = config.getKPathsSearchThreads();
+        if (threads <= 1) {
+            return null;
+        }
+        if (spurSearchExecutor == null) {
+            ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("pce-spur-search-%d")
+                    .setDaemon(true)
+                    .build();
+            // A search which doesn't fit into the queue runs on the calling thread, so a busy pool slows the
+            // k shortest paths search down instead of failing it.
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                    new ArrayBlockingQueue<>(threads), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            spurSearchExecutor = executor;
+        }
+        return spurSearchExecutor;
+    }
+
+    public enum PathFinderType {
+        /**
+         * Breadth first search with pruning by weight.
+         */
+        BEST_WEIGHT_AND_SHORTEST_PATH,
+
+        /**
+         * Dijkstra's algorithm over a binary heap, finds the same paths as {@link #BEST_WEIGHT_AND_SHORTEST_PATH}.
+         */
+        DIJKSTRA;
+
+        private static PathFinderType from(String pathFinder) {
+            try {
+                return valueOf(pathFinder.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("PathFinderType %s is not supported", pathFinder));
+            }
+        }
     }
 }
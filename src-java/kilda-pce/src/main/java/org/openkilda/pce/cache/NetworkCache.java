@@ -0,0 +1,222 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.cache.NetworkSnapshot.IslKey;
+import org.openkilda.persistence.exceptions.PersistenceException;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the part of the network which is available for path computation. It's loaded from the database
+ * once and then kept in sync by point re-reads of ISLs: ISLs of endpoints affected by network events and ISLs whose
+ * bandwidth has been allocated, so consecutive path computations don't have to scan all ISLs in the database.
+ * <p/>
+ * Every change publishes a new {@link NetworkSnapshot}, readers get the current snapshot without locking. The
+ * snapshot is reloaded from the database when it gets older than the configured max age or when a change can't be
+ * applied incrementally.
+ * <p/>
+ * Every path computer keeps its own cache, so only allocations and deallocations made through the same computer are
+ * re-read right away. Changes made by other workers and topologies (e.g. flow deletes) become visible once the
+ * snapshot is reloaded, i.e. they are hidden for at most the max age. Until then the cache may offer bandwidth which
+ * is already taken, that is caught by the allocation checks in the database, or hide bandwidth which is released.
+ */
+@Slf4j
+public class NetworkCache {
+    private final IslRepository islRepository;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private final Set<IslKey> staleIsls = ConcurrentHashMap.newKeySet();
+    private volatile NetworkSnapshot snapshot;
+    private long version;
+
+    public NetworkCache(IslRepository islRepository, Duration maxAge) {
+        this(islRepository, maxAge, Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    NetworkCache(IslRepository islRepository, Duration maxAge, Clock clock) {
+        this.islRepository = islRepository;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the current snapshot of the network. The snapshot is loaded from the database if there is no snapshot yet
+     * or the current one is expired, ISLs marked as stale are re-read from the database.
+     *
+     * @throws PersistenceException in case of a database error.
+     */
+    public NetworkSnapshot getSnapshot() {
+        NetworkSnapshot current = snapshot;
+        if (current != null && !isExpired(current) && staleIsls.isEmpty()) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || isExpired(current)) {
+                return load();
+            }
+            if (!staleIsls.isEmpty()) {
+                return refreshStaleIsls(current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Drops the current snapshot, so the next {@link #getSnapshot()} call reloads it from the database.
+     */
+    public synchronized void invalidate() {
+        if (snapshot != null) {
+            log.debug("Network cache has been invalidated");
+        }
+        snapshot = null;
+        staleIsls.clear();
+    }
+
+    /**
+     * Marks the ISL as stale, it will be re-read from the database on the next {@link #getSnapshot()} call. Must be
+     * called once the change of the ISL is committed to the database.
+     */
+    public void invalidateIsl(SwitchId srcSwitchId, int srcPort, SwitchId destSwitchId, int destPort) {
+        staleIsls.add(new IslKey(srcSwitchId, srcPort, destSwitchId, destPort));
+    }
+
+    /**
+     * Re-reads ISLs of the endpoint (in both directions) from the database. Intended to be called on ISL status
+     * change notifications.
+     */
+    public synchronized void refreshEndpoint(SwitchId switchId, int port) {
+        NetworkSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            Map<IslKey, Isl> changes = new HashMap<>();
+            for (Isl isl : islRepository.findByEndpoint(switchId, port)) {
+                IslKey key = IslKey.of(isl);
+                Isl cached = current.getIsl(key);
+                if (isActive(isl)) {
+                    if (!isKnown(current, isl)) {
+                        log.debug("ISL {} connects switches unknown to the network cache", key);
+                        invalidate();
+                        return;
+                    }
+                    Isl detached = detach(isl);
+                    if (!detached.equals(cached)) {
+                        changes.put(key, detached);
+                    }
+                } else if (cached != null) {
+                    changes.put(key, null);
+                }
+            }
+            if (!changes.isEmpty()) {
+                publish(current.withChangedIsls(++version, changes));
+            }
+        } catch (PersistenceException e) {
+            log.warn("Failed to refresh ISLs of endpoint {}_{} in the network cache", switchId, port, e);
+            invalidate();
+        }
+    }
+
+    private boolean isExpired(NetworkSnapshot current) {
+        return current.getLoadedAt().plus(maxAge).isBefore(clock.instant());
+    }
+
+    private NetworkSnapshot load() {
+        staleIsls.clear();
+        Instant loadedAt = clock.instant();
+        Map<IslKey, Isl> isls = new LinkedHashMap<>();
+        Map<SwitchId, Set<FlowEncapsulationType>> encapsulationTypes = new HashMap<>();
+        for (FlowEncapsulationType encapsulationType : FlowEncapsulationType.values()) {
+            for (Isl isl : islRepository.findAllActiveByEncapsulationType(encapsulationType)) {
+                isls.computeIfAbsent(IslKey.of(isl), key -> detach(isl));
+                encapsulationTypes.computeIfAbsent(isl.getSrcSwitchId(),
+                        key -> EnumSet.noneOf(FlowEncapsulationType.class)).add(encapsulationType);
+                encapsulationTypes.computeIfAbsent(isl.getDestSwitchId(),
+                        key -> EnumSet.noneOf(FlowEncapsulationType.class)).add(encapsulationType);
+            }
+        }
+        log.info("Network cache has been loaded with {} ISLs", isls.size());
+        return publish(new NetworkSnapshot(++version, loadedAt, isls, encapsulationTypes));
+    }
+
+    private NetworkSnapshot refreshStaleIsls(NetworkSnapshot current) {
+        List<IslKey> keys = new ArrayList<>(staleIsls);
+        staleIsls.removeAll(keys);
+
+        Map<IslKey, Isl> changes = new HashMap<>();
+        for (IslKey key : keys) {
+            Isl isl = islRepository.findByEndpoints(key.getSrcSwitch(), key.getSrcPort(),
+                    key.getDestSwitch(), key.getDestPort()).orElse(null);
+            if (isl != null && isActive(isl)) {
+                if (!isKnown(current, isl)) {
+                    log.debug("ISL {} connects switches unknown to the network cache", key);
+                    return load();
+                }
+                changes.put(key, detach(isl));
+            } else if (current.getIsl(key) != null) {
+                changes.put(key, null);
+            }
+        }
+        return changes.isEmpty() ? current : publish(current.withChangedIsls(++version, changes));
+    }
+
+    private NetworkSnapshot publish(NetworkSnapshot result) {
+        snapshot = result;
+        return result;
+    }
+
+    private boolean isActive(Isl isl) {
+        return isl.getStatus() == IslStatus.ACTIVE
+                && isl.getSrcSwitch().getStatus() == SwitchStatus.ACTIVE
+                && isl.getDestSwitch().getStatus() == SwitchStatus.ACTIVE;
+    }
+
+    private boolean isKnown(NetworkSnapshot current, Isl isl) {
+        return current.getEncapsulationTypes(isl.getSrcSwitchId()) != null
+                && current.getEncapsulationTypes(isl.getDestSwitchId()) != null;
+    }
+
+    private Isl detach(Isl isl) {
+        Isl result = new Isl(isl);
+        result.setIslConfig(isl.getIslConfig());
+        return result;
+    }
+}
@@ -0,0 +1,209 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable state of {@link NetworkCache}: active ISLs between active switches and transit encapsulation types
+ * supported by the switches. Updates produce a new snapshot, so a snapshot can be used by many path computations
+ * at the same time.
+ * <p/>
+ * ISLs are kept as a base map shared between snapshots and a small map of changes on top of it, so an update of a few
+ * ISLs doesn't copy all of them. The changes are merged into a new base map once they grow beyond a fraction of it.
+ * <p/>
+ * Query methods follow the semantics of corresponding {@link org.openkilda.persistence.repositories.IslRepository}
+ * methods. Returned ISLs are shared between snapshots and must not be modified.
+ */
+public final class NetworkSnapshot {
+    private static final int MIN_CHANGES_TO_MERGE = 64;
+
+    @Getter
+    private final long version;
+    @Getter
+    private final Instant loadedAt;
+
+    private final Map<IslKey, Isl> baseIsls;
+    /**
+     * ISLs changed since the base map was built, a null value marks a removed ISL.
+     */
+    private final Map<IslKey, Isl> changedIsls;
+    private final int islCount;
+    private final Map<SwitchId, Set<FlowEncapsulationType>> encapsulationTypes;
+
+    NetworkSnapshot(long version, Instant loadedAt, Map<IslKey, Isl> isls,
+                    Map<SwitchId, Set<FlowEncapsulationType>> encapsulationTypes) {
+        this(version, loadedAt, Collections.unmodifiableMap(isls), Collections.emptyMap(),
+                Collections.unmodifiableMap(encapsulationTypes));
+    }
+
+    private NetworkSnapshot(long version, Instant loadedAt, Map<IslKey, Isl> baseIsls, Map<IslKey, Isl> changedIsls,
+                            Map<SwitchId, Set<FlowEncapsulationType>> encapsulationTypes) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.baseIsls = baseIsls;
+        this.changedIsls = changedIsls;
+        this.encapsulationTypes = encapsulationTypes;
+
+        int count = baseIsls.size();
+        for (Map.Entry<IslKey, Isl> entry : changedIsls.entrySet()) {
+            boolean inBase = baseIsls.containsKey(entry.getKey());
+            if (entry.getValue() != null && !inBase) {
+                count++;
+            } else if (entry.getValue() == null && inBase) {
+                count--;
+            }
+        }
+        islCount = count;
+    }
+
+    public int getIslCount() {
+        return islCount;
+    }
+
+    /**
+     * Finds all active ISLs with encapsulation type support.
+     */
+    public Collection<Isl> findAllActiveByEncapsulationType(FlowEncapsulationType flowEncapsulationType) {
+        return findActiveWithAvailableBandwidth(Long.MIN_VALUE, flowEncapsulationType);
+    }
+
+    /**
+     * Finds all active ISLs, filtering out ISLs that don't have enough available bandwidth.
+     */
+    public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                            FlowEncapsulationType flowEncapsulationType) {
+        List<Isl> result = new ArrayList<>();
+        forEachIsl((key, isl) -> {
+            if (isAvailable(isl, requiredBandwidth, flowEncapsulationType)) {
+                result.add(isl);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Finds all active ISLs, ignores ISLs if they have not enough bandwidth in any direction.
+     */
+    public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                     FlowEncapsulationType flowEncapsulationType) {
+        List<Isl> result = new ArrayList<>();
+        forEachIsl((key, isl) -> {
+            if (isAvailable(isl, requiredBandwidth, flowEncapsulationType)) {
+                Isl reverse = getIsl(key.reverse());
+                if (reverse != null && isAvailable(reverse, requiredBandwidth, flowEncapsulationType)) {
+                    result.add(isl);
+                }
+            }
+        });
+        return result;
+    }
+
+    Isl getIsl(IslKey key) {
+        return changedIsls.containsKey(key) ? changedIsls.get(key) : baseIsls.get(key);
+    }
+
+    /**
+     * Builds a new snapshot with the ISLs changed. A null value removes the ISL.
+     */
+    NetworkSnapshot withChangedIsls(long newVersion, Map<IslKey, Isl> changes) {
+        Map<IslKey, Isl> changed = new HashMap<>(changedIsls);
+        changed.putAll(changes);
+        if (changed.size() < Math.max(MIN_CHANGES_TO_MERGE, baseIsls.size() / 8)) {
+            return new NetworkSnapshot(newVersion, loadedAt, baseIsls, Collections.unmodifiableMap(changed),
+                    encapsulationTypes);
+        }
+
+        Map<IslKey, Isl> merged = new LinkedHashMap<>(baseIsls);
+        for (Map.Entry<IslKey, Isl> entry : changed.entrySet()) {
+            if (entry.getValue() != null) {
+                merged.put(entry.getKey(), entry.getValue());
+            } else {
+                merged.remove(entry.getKey());
+            }
+        }
+        return new NetworkSnapshot(newVersion, loadedAt, Collections.unmodifiableMap(merged), Collections.emptyMap(),
+                encapsulationTypes);
+    }
+
+    /**
+     * Gets encapsulation types supported by the switch.
+     *
+     * @return the types or null if the switch is unknown to the snapshot.
+     */
+    Set<FlowEncapsulationType> getEncapsulationTypes(SwitchId switchId) {
+        return encapsulationTypes.get(switchId);
+    }
+
+    private void forEachIsl(BiConsumer<IslKey, Isl> consumer) {
+        for (Map.Entry<IslKey, Isl> entry : baseIsls.entrySet()) {
+            if (!changedIsls.containsKey(entry.getKey())) {
+                consumer.accept(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<IslKey, Isl> entry : changedIsls.entrySet()) {
+            if (entry.getValue() != null) {
+                consumer.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private boolean isAvailable(Isl isl, long requiredBandwidth, FlowEncapsulationType flowEncapsulationType) {
+        return isl.getAvailableBandwidth() >= requiredBandwidth
+                && isSupported(isl.getSrcSwitchId(), flowEncapsulationType)
+                && isSupported(isl.getDestSwitchId(), flowEncapsulationType);
+    }
+
+    private boolean isSupported(SwitchId switchId, FlowEncapsulationType flowEncapsulationType) {
+        Set<FlowEncapsulationType> types = encapsulationTypes.get(switchId);
+        return types != null && types.contains(flowEncapsulationType);
+    }
+
+    /**
+     * ISL endpoints used as the snapshot key.
+     */
+    @Value
+    static class IslKey {
+        SwitchId srcSwitch;
+        int srcPort;
+        SwitchId destSwitch;
+        int destPort;
+
+        static IslKey of(Isl isl) {
+            return new IslKey(isl.getSrcSwitchId(), isl.getSrcPort(), isl.getDestSwitchId(), isl.getDestPort());
+        }
+
+        IslKey reverse() {
+            return new IslKey(destSwitch, destPort, srcSwitch, srcPort);
+        }
+    }
+}
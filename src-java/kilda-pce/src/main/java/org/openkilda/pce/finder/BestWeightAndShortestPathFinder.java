@@ -63,7 +63,7 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class BestWeightAndShortestPathFinder implements PathFinder {
-    private final int allowedDepth;
+    protected final int allowedDepth;
 
     /**
      * Constructs the finder with the specified limit on path depth.
@@ -228,7 +228,11 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
         if (path.isEmpty()) {
             return Long.MAX_VALUE;
         }
-        return path.stream().map(weightFunction).mapToLong(PathWeight::toLong).sum();
+        long result = 0;
+        for (Edge edge : path) {
+            result += weightFunction.apply(edge).toLong();
+        }
+        return result;
     }
 
     private void removeEdge(Edge edge) {
@@ -255,7 +259,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
      *
      * @return A pair of ordered lists that represents the path from start to end, or an empty list
      */
-    private List<Edge> getPath(Node start, Node end, WeightFunction weightFunction) {
+    protected List<Edge> getPath(Node start, Node end, WeightFunction weightFunction) {
         PathWeight bestWeight = new PathWeight(Long.MAX_VALUE);
         SearchNode bestPath = null;
 
@@ -0,0 +1,687 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * A drop-in replacement for {@link BestWeightAndShortestPathFinder} which looks for the best path with Dijkstra's
+ * algorithm over an indexed binary heap. Search state is kept in predecessor arrays and weights are summed up in
+ * preallocated {@link PathWeight} slots, so an edge relaxation allocates nothing.
+ * <p/>
+ * The result is exactly the same as the one of {@link BestWeightAndShortestPathFinder}: among the paths with the best
+ * weight it picks the one with the least number of hops, and then the one which goes through the smallest
+ * {@link org.openkilda.model.SwitchId} at the first point where the candidates diverge. If the best path is longer than
+ * the allowed depth, or the weight function produces negative weights, the search is delegated to
+ * {@link BestWeightAndShortestPathFinder} as the depth limited search can't be expressed in terms of a single
+ * label per switch.
+ * <p/>
+ * Over {@link CompactNetwork} the search runs natively on the CSR adjacency, found links are materialized as
+ * {@link Edge} instances only for the resulting path.
+ * <p/>
+ * The finder is stateless and can be shared between threads. Spur paths of the k shortest paths search are looked
+ * for sequentially, or in parallel if the finder is given an executor.
+ */
+@Slf4j
+public class DijkstraPathFinder extends BestWeightAndShortestPathFinder {
+    private static final Comparator<Edge> EDGE_ORDER = Comparator.comparing(edge -> edge.getDestSwitch().getSwitchId());
+
+    private final Executor spurSearchExecutor;
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     */
+    public DijkstraPathFinder(int allowedDepth) {
+        this(allowedDepth, null);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth, which searches spur paths on the executor.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param spurSearchExecutor the executor for spur path searches, or null to search them on the calling thread.
+     */
+    public DijkstraPathFinder(int allowedDepth, Executor spurSearchExecutor) {
+        super(allowedDepth);
+        this.spurSearchExecutor = spurSearchExecutor;
+    }
+
+    @Override
+    public boolean isCompactNetworkSupported() {
+        return true;
+    }
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(CompactNetwork network,
+                                                          SwitchId startSwitchId, SwitchId endSwitchId,
+                                                          WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        int start = network.getSwitchIndex(startSwitchId);
+        int end = network.getSwitchIndex(endSwitchId);
+        if (start < 0 || end < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start < 0 ? startSwitchId : endSwitchId));
+        }
+
+        int[] forwardLinks = getPath(network, start, end, weightFunction);
+        if (forwardLinks == null) {
+            return super.findPathInNetwork(network.toAvailableNetwork(), startSwitchId, endSwitchId, weightFunction);
+        }
+        if (forwardLinks.length == 0) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s",
+                    network.getNode(start), network.getNode(end)));
+        }
+
+        List<Edge> forwardPath = new ArrayList<>(forwardLinks.length);
+        boolean symmetric = true;
+        for (int link : forwardLinks) {
+            forwardPath.add(network.getEdge(link));
+            int reverseLink = network.findLink(network.getDestSwitch(link), network.getDestPort(link),
+                    network.getSrcSwitch(link), network.getSrcPort(link));
+            symmetric &= reverseLink >= 0 && !network.isRemoved(reverseLink);
+        }
+        if (symmetric) {
+            log.debug("Reverse path is available from {} to {}", endSwitchId, startSwitchId);
+        } else {
+            log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                    endSwitchId, startSwitchId, StringUtils.join(forwardPath, ", ")));
+        }
+        List<Edge> reversePath = Lists.reverse(forwardPath).stream()
+                .map(Edge::swap)
+                .collect(Collectors.toList());
+        return Pair.of(forwardPath, reversePath);
+    }
+
+    /**
+     * Find N (or less) best paths with Yen's algorithm. Spur paths are searched over masked views of the network, so
+     * the network isn't modified and the searches of an iteration can run in parallel. Candidates are kept in a heap
+     * ordered by available bandwidth, weight, number of hops and then by links, so the result doesn't depend on the
+     * order in which the spur searches complete.
+     *
+     * @return an list of N (or less) best paths.
+     */
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(CompactNetwork network, SwitchId startSwitchId,
+                                                      SwitchId endSwitchId, int count,
+                                                      WeightFunction weightFunction) throws UnroutableFlowException {
+        int start = network.getSwitchIndex(startSwitchId);
+        int end = network.getSwitchIndex(endSwitchId);
+        if (start < 0 || end < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start < 0 ? startSwitchId : endSwitchId));
+        }
+
+        List<int[]> bestPaths = findNPaths(network, start, end, count, weightFunction);
+        if (bestPaths == null) {
+            return super.findNPathsBetweenSwitches(network.toAvailableNetwork(), startSwitchId, endSwitchId, count,
+                    weightFunction);
+        }
+
+        List<List<Edge>> result = new ArrayList<>(bestPaths.size());
+        for (int[] links : bestPaths) {
+            List<Edge> path = new ArrayList<>(links.length);
+            for (int link : links) {
+                path.add(network.getEdge(link));
+            }
+            result.add(path);
+        }
+        return result;
+    }
+
+    @Override
+    protected List<Edge> getPath(Node start, Node end, WeightFunction weightFunction) {
+        NodeSearchState state = new NodeSearchState(start, weightFunction.getArity());
+        int endIndex = -1;
+
+        while (!state.isHeapEmpty()) {
+            int current = state.pollHeap();
+            Node node = state.nodes.get(current);
+            if (node.equals(end)) {
+                endIndex = current;
+                break;
+            }
+
+            List<Edge> outgoingLinks = new ArrayList<>(node.getOutgoingLinks());
+            outgoingLinks.sort(EDGE_ORDER);
+            for (int rank = 0; rank < outgoingLinks.size(); rank++) {
+                Edge edge = outgoingLinks.get(rank);
+                PathWeight edgeWeight = weightFunction.apply(edge);
+                if (edgeWeight.toLong() < 0) {
+                    log.debug("Negative weight of {}, fallback to the depth first search", edge);
+                    return super.getPath(start, end, weightFunction);
+                }
+                edgeWeight.copyTo(state.candidateWeight, 0, state.arity);
+                state.relax(current, edge, rank);
+            }
+        }
+
+        if (endIndex < 0) {
+            return new LinkedList<>();
+        }
+        if (state.hops[endIndex] > allowedDepth) {
+            log.debug("The best path from {} to {} exceeds allowed depth {}, fallback to the depth first search",
+                    start.getSwitchId(), end.getSwitchId(), allowedDepth);
+            return super.getPath(start, end, weightFunction);
+        }
+        return state.buildPath(endIndex);
+    }
+
+    /**
+     * Looks for the best path over the compact network.
+     *
+     * @return links of the found path, an empty array if there is no path, or null if the search has to be
+     *     delegated to the depth first search.
+     */
+    private int[] getPath(CompactNetwork network, int start, int end, WeightFunction weightFunction) {
+        return getPath(network, start, end, weightFunction, null, null);
+    }
+
+    /**
+     * Looks for the best path over the compact network, skipping the masked links and switches. The network itself
+     * is not modified.
+     *
+     * @param maskedLinks links which can't be used by the path, or null.
+     * @param maskedSwitches switches which can't be used by the path, or null.
+     * @return links of the found path, an empty array if there is no path, or null if the search has to be
+     *     delegated to the depth first search.
+     */
+    private int[] getPath(CompactNetwork network, int start, int end, WeightFunction weightFunction,
+                          boolean[] maskedLinks, boolean[] maskedSwitches) {
+        SearchState state = new SearchState(network.getSwitchCount(), weightFunction.getArity());
+        int[] predecessorLinks = new int[network.getSwitchCount()];
+        state.init(start);
+        boolean reached = false;
+
+        while (!state.isHeapEmpty()) {
+            int current = state.pollHeap();
+            if (current == end) {
+                reached = true;
+                break;
+            }
+
+            int rowStart = network.getOutgoingLinksStart(current);
+            int rowEnd = network.getOutgoingLinksEnd(current);
+            for (int position = rowStart; position < rowEnd; position++) {
+                int link = network.getOutgoingLink(position);
+                if (network.isRemoved(link) || (maskedLinks != null && maskedLinks[link])
+                        || (maskedSwitches != null && maskedSwitches[network.getDestSwitch(link)])) {
+                    continue;
+                }
+                weightFunction.apply(network, link, state.candidateWeight, 0);
+                if (state.candidateWeight[0] < 0) {
+                    log.debug("Negative weight of {}, fallback to the depth first search", network.getEdge(link));
+                    return null;
+                }
+                if (state.relax(current, network.getDestSwitch(link), position - rowStart)) {
+                    predecessorLinks[network.getDestSwitch(link)] = link;
+                }
+            }
+        }
+
+        if (!reached) {
+            return new int[0];
+        }
+        if (state.hops[end] > allowedDepth) {
+            log.debug("The best path from {} to {} exceeds allowed depth {}, fallback to the depth first search",
+                    network.getSwitchId(start), network.getSwitchId(end), allowedDepth);
+            return null;
+        }
+        int[] path = new int[state.hops[end]];
+        for (int current = end, i = path.length - 1; i >= 0; current = state.predecessors[current], i--) {
+            path[i] = predecessorLinks[current];
+        }
+        return path;
+    }
+
+    /**
+     * Runs Yen's algorithm over the compact network.
+     *
+     * @return links of the found paths, or null if the search has to be delegated to the depth first search.
+     */
+    private List<int[]> findNPaths(CompactNetwork network, int start, int end, int count,
+                                   WeightFunction weightFunction) {
+        int[] shortestPath = getPath(network, start, end, weightFunction);
+        if (shortestPath == null) {
+            return null;
+        }
+        List<int[]> bestPaths = new ArrayList<>();
+        bestPaths.add(shortestPath);
+
+        PriorityQueue<PotentialPath> potentialPaths = new PriorityQueue<>();
+        Set<PotentialPath> knownPaths = new HashSet<>();
+        knownPaths.add(new PotentialPath(shortestPath, 0, 0));
+
+        for (int k = 1; k < count; k++) {
+            int[] bestPath = bestPaths.get(k - 1);
+            for (int[] path : getSpurPaths(network, end, weightFunction, bestPaths, bestPath)) {
+                if (path == null) {
+                    return null;
+                }
+                if (path.length > 0) {
+                    PotentialPath potentialPath = new PotentialPath(path, getMinAvailableBandwidth(network, path),
+                            getTotalWeight(network, path, weightFunction));
+                    if (knownPaths.add(potentialPath)) {
+                        potentialPaths.add(potentialPath);
+                    }
+                }
+            }
+
+            PotentialPath newBestPath = potentialPaths.poll();
+            if (newBestPath == null) {
+                break;
+            }
+            bestPaths.add(newBestPath.links);
+        }
+        return bestPaths;
+    }
+
+    /**
+     * Finds the paths which deviate from the previous best path at each of its spur nodes. The searches only read the
+     * network and the found paths, the results are returned in the spur node order.
+     *
+     * @return links of the found paths, null entries if the search has to be delegated to the depth first search.
+     */
+    private int[][] getSpurPaths(CompactNetwork network, int end, WeightFunction weightFunction,
+                                 List<int[]> bestPaths, int[] bestPath) {
+        int[][] result = new int[bestPath.length][];
+        if (spurSearchExecutor == null || bestPath.length < 2) {
+            for (int i = 0; i < bestPath.length; i++) {
+                result[i] = getSpurPath(network, end, weightFunction, bestPaths, bestPath, i);
+                if (result[i] == null) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        List<CompletableFuture<int[]>> searches = new ArrayList<>(bestPath.length);
+        for (int i = 0; i < bestPath.length; i++) {
+            int spurPosition = i;
+            searches.add(CompletableFuture.supplyAsync(
+                    () -> getSpurPath(network, end, weightFunction, bestPaths, bestPath, spurPosition),
+                    spurSearchExecutor));
+        }
+        for (int i = 0; i < result.length; i++) {
+            try {
+                result[i] = searches.get(i).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the path which deviates from the previous best path at the spur node with the specified position.
+     *
+     * @return links of the found path, an empty array if there is no path, or null if the search has to be
+     *     delegated to the depth first search.
+     */
+    private int[] getSpurPath(CompactNetwork network, int end, WeightFunction weightFunction,
+                              List<int[]> bestPaths, int[] bestPath, int spurPosition) {
+        int spurNode = network.getSrcSwitch(bestPath[spurPosition]);
+
+        // Mask the links that are part of the previous shortest paths which share the same root path.
+        boolean[] maskedLinks = new boolean[network.getLinkCount()];
+        for (int[] path : bestPaths) {
+            if (path.length > spurPosition && isSamePrefix(path, bestPath, spurPosition)) {
+                int link = path[spurPosition];
+                maskedLinks[link] = true;
+                int reverseLink = network.findLink(network.getDestSwitch(link), network.getDestPort(link),
+                        network.getSrcSwitch(link), network.getSrcPort(link));
+                if (reverseLink >= 0) {
+                    maskedLinks[reverseLink] = true;
+                }
+            }
+        }
+        // Mask the switches of the root path.
+        boolean[] maskedSwitches = new boolean[network.getSwitchCount()];
+        for (int i = 0; i < spurPosition; i++) {
+            maskedSwitches[network.getSrcSwitch(bestPath[i])] = true;
+        }
+
+        int[] pathFromSpurNode = getPath(network, spurNode, end, weightFunction, maskedLinks, maskedSwitches);
+        if (pathFromSpurNode == null || pathFromSpurNode.length == 0) {
+            return pathFromSpurNode;
+        }
+        int[] totalPath = Arrays.copyOf(bestPath, spurPosition + pathFromSpurNode.length);
+        System.arraycopy(pathFromSpurNode, 0, totalPath, spurPosition, pathFromSpurNode.length);
+        return totalPath;
+    }
+
+    private static boolean isSamePrefix(int[] first, int[] second, int length) {
+        for (int i = 0; i < length; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long getMinAvailableBandwidth(CompactNetwork network, int[] path) {
+        long result = Long.MAX_VALUE;
+        for (int link : path) {
+            result = Math.min(result, network.getAvailableBandwidth(link));
+        }
+        return result;
+    }
+
+    private static long getTotalWeight(CompactNetwork network, int[] path, WeightFunction weightFunction) {
+        long[] linkWeight = new long[weightFunction.getArity()];
+        long result = 0;
+        for (int link : path) {
+            weightFunction.apply(network, link, linkWeight, 0);
+            result += linkWeight[0];
+        }
+        return result;
+    }
+
+    /**
+     * A candidate for the next k-shortest path. Candidates are ordered by the highest available bandwidth, the lowest
+     * weight, the least number of hops and then by their links, which follow the order of switch ids and ports.
+     */
+    private static final class PotentialPath implements Comparable<PotentialPath> {
+        final int[] links;
+        final long minAvailableBandwidth;
+        final long weight;
+
+        PotentialPath(int[] links, long minAvailableBandwidth, long weight) {
+            this.links = links;
+            this.minAvailableBandwidth = minAvailableBandwidth;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(PotentialPath other) {
+            int result = Long.compare(other.minAvailableBandwidth, minAvailableBandwidth);
+            if (result == 0) {
+                result = Long.compare(weight, other.weight);
+            }
+            if (result == 0) {
+                result = Integer.compare(links.length, other.links.length);
+            }
+            for (int i = 0; result == 0 && i < links.length; i++) {
+                result = Integer.compare(links[i], other.links[i]);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return Arrays.equals(links, ((PotentialPath) o).links);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(links);
+        }
+    }
+
+    /**
+     * Search labels of reached nodes addressed by dense indexes. The heap is keyed by weight and then by the number
+     * of hops. Weights are kept in {@link PathWeight} slots, {@code arity} slots per node, so the search doesn't
+     * allocate per relaxation.
+     */
+    private static class SearchState {
+        final int arity;
+        final long[] candidateWeight;
+        long[] weights;
+        int[] hops;
+        int[] predecessors;
+        int[] predecessorRanks;
+        boolean[] reached;
+        boolean[] settled;
+
+        int[] heap;
+        int[] heapPositions;
+        int heapSize;
+
+        SearchState(int capacity, int arity) {
+            this.arity = arity;
+            candidateWeight = new long[arity];
+            weights = new long[capacity * arity];
+            hops = new int[capacity];
+            predecessors = new int[capacity];
+            predecessorRanks = new int[capacity];
+            reached = new boolean[capacity];
+            settled = new boolean[capacity];
+            heap = new int[capacity];
+            heapPositions = new int[capacity];
+        }
+
+        void init(int start) {
+            Arrays.fill(weights, start * arity, (start + 1) * arity, 0L);
+            predecessors[start] = -1;
+            reached[start] = true;
+            heapPush(start);
+        }
+
+        boolean isHeapEmpty() {
+            return heapSize == 0;
+        }
+
+        int pollHeap() {
+            int top = heap[0];
+            heapSize--;
+            if (heapSize > 0) {
+                heap[0] = heap[heapSize];
+                heapPositions[heap[0]] = 0;
+                siftDown(0);
+            }
+            heapPositions[top] = -1;
+            settled[top] = true;
+            return top;
+        }
+
+        /**
+         * Updates the label of the node if the new one is better. The weight of the link must be written into
+         * {@link #candidateWeight} by the caller.
+         *
+         * @return true if the label has been updated and the caller has to update the predecessor link.
+         */
+        boolean relax(int from, int index, int rank) {
+            PathWeight.addTo(weights, from * arity, candidateWeight, 0, arity);
+            if (!reached[index]) {
+                reached[index] = true;
+                setLabel(index, from, rank);
+                heapPush(index);
+                return true;
+            }
+            if (settled[index]) {
+                return false;
+            }
+            int hopCount = hops[from] + 1;
+            int weightCompare = PathWeight.compare(candidateWeight, 0, weights, index * arity, arity);
+            if (weightCompare < 0 || (weightCompare == 0 && hopCount < hops[index])) {
+                setLabel(index, from, rank);
+                siftUp(heapPositions[index]);
+                return true;
+            } else if (weightCompare == 0 && hopCount == hops[index]
+                    && isLexicographicallyLess(from, rank, predecessors[index], predecessorRanks[index])) {
+                // the same heap key, so only the predecessor has to be replaced
+                setLabel(index, from, rank);
+                return true;
+            }
+            return false;
+        }
+
+        void grow(int capacity) {
+            weights = Arrays.copyOf(weights, capacity * arity);
+            hops = Arrays.copyOf(hops, capacity);
+            predecessors = Arrays.copyOf(predecessors, capacity);
+            predecessorRanks = Arrays.copyOf(predecessorRanks, capacity);
+            reached = Arrays.copyOf(reached, capacity);
+            settled = Arrays.copyOf(settled, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+        }
+
+        /**
+         * Compares two paths with the same number of hops by ranks of their edges. Predecessor chains of
+         * already settled nodes are walked back until they meet, ranks at the meeting point define the order.
+         */
+        private boolean isLexicographicallyLess(int first, int firstRank, int second, int secondRank) {
+            while (first != second) {
+                firstRank = predecessorRanks[first];
+                first = predecessors[first];
+                secondRank = predecessorRanks[second];
+                second = predecessors[second];
+            }
+            return firstRank < secondRank;
+        }
+
+        private void setLabel(int index, int from, int rank) {
+            System.arraycopy(candidateWeight, 0, weights, index * arity, arity);
+            hops[index] = hops[from] + 1;
+            predecessors[index] = from;
+            predecessorRanks[index] = rank;
+        }
+
+        private void heapPush(int index) {
+            heap[heapSize] = index;
+            heapPositions[index] = heapSize;
+            heapSize++;
+            siftUp(heapSize - 1);
+        }
+
+        private void siftUp(int position) {
+            int index = heap[position];
+            while (position > 0) {
+                int parentPosition = (position - 1) >>> 1;
+                int parent = heap[parentPosition];
+                if (!isHigherPriority(index, parent)) {
+                    break;
+                }
+                heap[position] = parent;
+                heapPositions[parent] = position;
+                position = parentPosition;
+            }
+            heap[position] = index;
+            heapPositions[index] = position;
+        }
+
+        private void siftDown(int position) {
+            int index = heap[position];
+            int half = heapSize >>> 1;
+            while (position < half) {
+                int childPosition = 2 * position + 1;
+                int child = heap[childPosition];
+                int rightPosition = childPosition + 1;
+                if (rightPosition < heapSize && isHigherPriority(heap[rightPosition], child)) {
+                    childPosition = rightPosition;
+                    child = heap[childPosition];
+                }
+                if (!isHigherPriority(child, index)) {
+                    break;
+                }
+                heap[position] = child;
+                heapPositions[child] = position;
+                position = childPosition;
+            }
+            heap[position] = index;
+            heapPositions[index] = position;
+        }
+
+        private boolean isHigherPriority(int first, int second) {
+            int weightCompare = PathWeight.compare(weights, first * arity, weights, second * arity, arity);
+            return weightCompare < 0 || (weightCompare == 0 && hops[first] < hops[second]);
+        }
+    }
+
+    /**
+     * Search state over {@link Node} instances. Node indexes are assigned in order of discovery.
+     */
+    private static final class NodeSearchState extends SearchState {
+        private static final int INITIAL_CAPACITY = 64;
+
+        final List<Node> nodes = new ArrayList<>(INITIAL_CAPACITY);
+        final Map<Node, Integer> indexes = new HashMap<>(INITIAL_CAPACITY);
+        Edge[] predecessorEdges = new Edge[INITIAL_CAPACITY];
+
+        NodeSearchState(Node start, int arity) {
+            super(INITIAL_CAPACITY, arity);
+            init(addNode(start));
+        }
+
+        void relax(int from, Edge edge, int rank) {
+            Integer known = indexes.get(edge.getDestSwitch());
+            int index = known == null ? addNode(edge.getDestSwitch()) : known;
+            if (relax(from, index, rank)) {
+                predecessorEdges[index] = edge;
+            }
+        }
+
+        List<Edge> buildPath(int endIndex) {
+            List<Edge> path = new ArrayList<>(hops[endIndex]);
+            for (int current = endIndex; predecessors[current] >= 0; current = predecessors[current]) {
+                path.add(predecessorEdges[current]);
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        private int addNode(Node node) {
+            int index = nodes.size();
+            if (index == hops.length) {
+                grow(index * 2);
+                predecessorEdges = Arrays.copyOf(predecessorEdges, index * 2);
+            }
+            nodes.add(node);
+            indexes.put(node, index);
+            return index;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.openkilda.pce.finder;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
 import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.WeightFunction;
 
@@ -27,8 +28,20 @@ import java.util.List;
 
 /**
  * Represents path finding algorithm over in-memory {@link AvailableNetwork}.
+ * <p/>
+ * A finder can also run over {@link CompactNetwork} if {@link #isCompactNetworkSupported()} says so. By default
+ * the compact network is converted into {@link AvailableNetwork}, so finders which don't search it natively should
+ * be given {@link AvailableNetwork} in the first place.
  */
 public interface PathFinder {
+    /**
+     * Checks whether the finder searches {@link CompactNetwork} natively, without converting it into
+     * {@link AvailableNetwork}.
+     */
+    default boolean isCompactNetworkSupported() {
+        return false;
+    }
+
     /**
      * Find a path from the start to the end switch.
      *
@@ -39,6 +52,18 @@ public interface PathFinder {
                                                    WeightFunction weightFunction)
             throws UnroutableFlowException;
 
+    /**
+     * Find a path from the start to the end switch.
+     *
+     * @return a pair of ordered lists that represents the path from start to end, or an empty list if no path found.
+     */
+    default Pair<List<Edge>, List<Edge>> findPathInNetwork(CompactNetwork network,
+                                                           SwitchId startSwitchId, SwitchId endSwitchId,
+                                                           WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        return findPathInNetwork(network.toAvailableNetwork(), startSwitchId, endSwitchId, weightFunction);
+    }
+
     /**
      * Finds a path whose weight is less than maxWeight and as close to maxWeight as possible.
      *
@@ -49,6 +74,18 @@ public interface PathFinder {
                                                    WeightFunction weightFunction, long maxWeight)
             throws UnroutableFlowException;
 
+    /**
+     * Finds a path whose weight is less than maxWeight and as close to maxWeight as possible.
+     *
+     * @return a pair of ordered lists that represents the path from start to end, or an empty list if no path found.
+     */
+    default Pair<List<Edge>, List<Edge>> findPathInNetwork(CompactNetwork network,
+                                                           SwitchId startSwitchId, SwitchId endSwitchId,
+                                                           WeightFunction weightFunction, long maxWeight)
+            throws UnroutableFlowException {
+        return findPathInNetwork(network.toAvailableNetwork(), startSwitchId, endSwitchId, weightFunction, maxWeight);
+    }
+
     /**
      * Find N (or less) best paths.
      *
@@ -56,4 +93,16 @@ public interface PathFinder {
      */
     List<List<Edge>> findNPathsBetweenSwitches(AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId,
                                                int count, WeightFunction weightFunction) throws UnroutableFlowException;
+
+    /**
+     * Find N (or less) best paths.
+     *
+     * @return an list of N (or less) best paths.
+     */
+    default List<List<Edge>> findNPathsBetweenSwitches(CompactNetwork network, SwitchId startSwitchId,
+                                                       SwitchId endSwitchId, int count,
+                                                       WeightFunction weightFunction) throws UnroutableFlowException {
+        return findNPathsBetweenSwitches(network.toAvailableNetwork(), startSwitchId, endSwitchId, count,
+                weightFunction);
+    }
 }
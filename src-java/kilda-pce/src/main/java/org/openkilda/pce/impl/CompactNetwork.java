@@ -0,0 +1,506 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static com.google.common.collect.Sets.newHashSet;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compact representation of {@link AvailableNetwork}. Switches are mapped to dense indexes in order of their
+ * {@link SwitchId}, links are kept in parallel primitive arrays and the outgoing links of every switch are addressed
+ * with CSR-style offsets, so the network can be built and searched without allocating an object per link.
+ * <p/>
+ * The outgoing links of a switch are ordered by destination switch, then by destination and source ports. Duplicate
+ * links (the same switches and ports) are ignored, the first one wins as in {@link AvailableNetwork}.
+ * <p/>
+ * The instance is not thread-safe: diversity processing and {@link #reduceByWeight(WeightFunction)} modify it in
+ * place.
+ */
+@Slf4j
+public final class CompactNetwork {
+    private final SwitchId[] switchIds;
+    private final String[] pops;
+    private final int[] switchDiversityGroupUseCounters;
+    private final Map<SwitchId, Integer> switchIndexes;
+
+    private final int[] srcSwitches;
+    private final int[] destSwitches;
+    private final int[] srcPorts;
+    private final int[] destPorts;
+    private final int[] costs;
+    private final long[] latencies;
+    private final long[] availableBandwidths;
+    private final boolean[] underMaintenance;
+    private final boolean[] unstable;
+    private final int[] diversityGroupUseCounters;
+    private final int[] diversityGroupPerPopUseCounters;
+    private final boolean[] removed;
+
+    private final int[] outgoingOffsets;
+    private final int[] outgoingLinks;
+
+    private final Node[] nodes;
+
+    private CompactNetwork(Map<SwitchId, String> switches, List<Isl> isls) {
+        int switchCount = switches.size();
+        switchIds = new SwitchId[switchCount];
+        pops = new String[switchCount];
+        switchDiversityGroupUseCounters = new int[switchCount];
+        switchIndexes = new HashMap<>(switchCount * 2);
+        nodes = new Node[switchCount];
+        int index = 0;
+        for (Map.Entry<SwitchId, String> entry : switches.entrySet()) {
+            switchIds[index] = entry.getKey();
+            pops[index] = entry.getValue();
+            switchIndexes.put(entry.getKey(), index);
+            index++;
+        }
+
+        int islCount = isls.size();
+        int[] order = new int[islCount];
+        int[] islSrcSwitches = new int[islCount];
+        int[] islDestSwitches = new int[islCount];
+        for (int i = 0; i < islCount; i++) {
+            Isl isl = isls.get(i);
+            order[i] = i;
+            islSrcSwitches[i] = switchIndexes.get(isl.getSrcSwitchId());
+            islDestSwitches[i] = switchIndexes.get(isl.getDestSwitchId());
+        }
+        // the sort is stable, so the first one of duplicate links goes first
+        mergeSort(order, new int[islCount], 0, islCount, isls, islSrcSwitches, islDestSwitches);
+
+        int linkCount = 0;
+        for (int i = 0; i < islCount; i++) {
+            if (i == 0 || !isSameLink(isls, islSrcSwitches, islDestSwitches, order[i - 1], order[i])) {
+                order[linkCount++] = order[i];
+            } else {
+                log.debug("Duplicate ISL has been passed to CompactNetwork: {}", isls.get(order[i]));
+            }
+        }
+
+        srcSwitches = new int[linkCount];
+        destSwitches = new int[linkCount];
+        srcPorts = new int[linkCount];
+        destPorts = new int[linkCount];
+        costs = new int[linkCount];
+        latencies = new long[linkCount];
+        availableBandwidths = new long[linkCount];
+        underMaintenance = new boolean[linkCount];
+        unstable = new boolean[linkCount];
+        diversityGroupUseCounters = new int[linkCount];
+        diversityGroupPerPopUseCounters = new int[linkCount];
+        removed = new boolean[linkCount];
+        outgoingOffsets = new int[switchCount + 1];
+        outgoingLinks = new int[linkCount];
+
+        // links are stored in the adjacency order, so CSR rows address continuous ranges of link indexes
+        for (int link = 0; link < linkCount; link++) {
+            int islIndex = order[link];
+            Isl isl = isls.get(islIndex);
+            srcSwitches[link] = islSrcSwitches[islIndex];
+            destSwitches[link] = islDestSwitches[islIndex];
+            srcPorts[link] = isl.getSrcPort();
+            destPorts[link] = isl.getDestPort();
+            costs[link] = isl.getCost();
+            latencies[link] = isl.getLatency();
+            availableBandwidths[link] = isl.getAvailableBandwidth();
+            underMaintenance[link] = isl.isUnderMaintenance();
+            unstable[link] = isl.isUnstable();
+            outgoingLinks[link] = link;
+            outgoingOffsets[srcSwitches[link] + 1]++;
+        }
+        for (int i = 0; i < switchCount; i++) {
+            outgoingOffsets[i + 1] += outgoingOffsets[i];
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getSwitchCount() {
+        return switchIds.length;
+    }
+
+    public int getLinkCount() {
+        return srcSwitches.length;
+    }
+
+    /**
+     * Gets the index of the switch.
+     *
+     * @return the index or -1 if the switch isn't present in the network.
+     */
+    public int getSwitchIndex(SwitchId switchId) {
+        Integer index = switchIndexes.get(switchId);
+        return index == null ? -1 : index;
+    }
+
+    public SwitchId getSwitchId(int switchIndex) {
+        return switchIds[switchIndex];
+    }
+
+    public String getPop(int switchIndex) {
+        return pops[switchIndex];
+    }
+
+    public int getSwitchDiversityGroupUseCounter(int switchIndex) {
+        return switchDiversityGroupUseCounters[switchIndex];
+    }
+
+    /**
+     * Gets the start of the outgoing links range of the switch in {@link #getOutgoingLink(int)} positions.
+     */
+    public int getOutgoingLinksStart(int switchIndex) {
+        return outgoingOffsets[switchIndex];
+    }
+
+    /**
+     * Gets the end (exclusive) of the outgoing links range of the switch in {@link #getOutgoingLink(int)} positions.
+     */
+    public int getOutgoingLinksEnd(int switchIndex) {
+        return outgoingOffsets[switchIndex + 1];
+    }
+
+    public int getOutgoingLink(int position) {
+        return outgoingLinks[position];
+    }
+
+    public int getSrcSwitch(int link) {
+        return srcSwitches[link];
+    }
+
+    public int getDestSwitch(int link) {
+        return destSwitches[link];
+    }
+
+    public int getSrcPort(int link) {
+        return srcPorts[link];
+    }
+
+    public int getDestPort(int link) {
+        return destPorts[link];
+    }
+
+    public int getCost(int link) {
+        return costs[link];
+    }
+
+    public long getLatency(int link) {
+        return latencies[link];
+    }
+
+    public long getAvailableBandwidth(int link) {
+        return availableBandwidths[link];
+    }
+
+    public boolean isUnderMaintenance(int link) {
+        return underMaintenance[link];
+    }
+
+    public boolean isUnstable(int link) {
+        return unstable[link];
+    }
+
+    public int getDiversityGroupUseCounter(int link) {
+        return diversityGroupUseCounters[link];
+    }
+
+    public int getDiversityGroupPerPopUseCounter(int link) {
+        return diversityGroupPerPopUseCounters[link];
+    }
+
+    /**
+     * Checks whether the link was removed by {@link #reduceByWeight(WeightFunction)}.
+     */
+    public boolean isRemoved(int link) {
+        return removed[link];
+    }
+
+    /**
+     * Finds the link by its endpoints.
+     *
+     * @return the link index or -1 if there is no such link.
+     */
+    public int findLink(int srcSwitch, int srcPort, int destSwitch, int destPort) {
+        for (int position = outgoingOffsets[srcSwitch]; position < outgoingOffsets[srcSwitch + 1]; position++) {
+            int link = outgoingLinks[position];
+            if (destSwitches[link] == destSwitch && destPorts[link] == destPort && srcPorts[link] == srcPort) {
+                return link;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the {@link Node} representation of the switch. The node has no links, it's intended to be used by
+     * {@link Edge} instances of found paths.
+     */
+    public Node getNode(int switchIndex) {
+        Node node = nodes[switchIndex];
+        if (node == null) {
+            node = Node.builder()
+                    .switchId(switchIds[switchIndex])
+                    .pop(pops[switchIndex])
+                    .incomingLinks(new HashSet<>())
+                    .outgoingLinks(new HashSet<>())
+                    .diversityGroupUseCounter(switchDiversityGroupUseCounters[switchIndex])
+                    .build();
+            nodes[switchIndex] = node;
+        }
+        return node;
+    }
+
+    /**
+     * Materializes the link as an {@link Edge}.
+     */
+    public Edge getEdge(int link) {
+        return Edge.builder()
+                .srcSwitch(getNode(srcSwitches[link]))
+                .destSwitch(getNode(destSwitches[link]))
+                .srcPort(srcPorts[link])
+                .destPort(destPorts[link])
+                .cost(costs[link])
+                .latency(latencies[link])
+                .availableBandwidth(availableBandwidths[link])
+                .underMaintenance(underMaintenance[link])
+                .unstable(unstable[link])
+                .diversityGroupUseCounter(diversityGroupUseCounters[link])
+                .diversityGroupPerPopUseCounter(diversityGroupPerPopUseCounters[link])
+                .build();
+    }
+
+    /**
+     * Adds diversity weights based on passed path segments. Works the same way as
+     * {@link AvailableNetwork#processDiversitySegments(List, Flow)}.
+     */
+    public void processDiversitySegments(List<PathSegment> segments, Flow flow) {
+        Set<SwitchId> terminatingSwitches = newHashSet(flow.getSrcSwitchId(), flow.getDestSwitchId());
+        for (PathSegment segment : segments) {
+            int srcSwitch = getSwitchIndex(segment.getSrcSwitchId());
+            int destSwitch = getSwitchIndex(segment.getDestSwitchId());
+
+            if (destSwitch >= 0 && !terminatingSwitches.contains(segment.getDestSwitchId())) {
+                switchDiversityGroupUseCounters[destSwitch]++;
+            }
+
+            if (srcSwitch >= 0 && segment.getSeqId() == 0 && !terminatingSwitches.contains(segment.getSrcSwitchId())) {
+                switchDiversityGroupUseCounters[srcSwitch]++;
+            }
+
+            if (srcSwitch < 0 || destSwitch < 0) {
+                log.debug("Diversity segment {} don't present in CompactNetwork", segment);
+                continue;
+            }
+
+            int link = findLink(srcSwitch, segment.getSrcPort(), destSwitch, segment.getDestPort());
+            if (link >= 0) {
+                diversityGroupUseCounters[link]++;
+            }
+        }
+        Arrays.fill(nodes, null);
+    }
+
+    /**
+     * Adds diversity weights based on passed path segments. Works the same way as
+     * {@link AvailableNetwork#processDiversitySegmentsWithPop(List)}.
+     */
+    public void processDiversitySegmentsWithPop(List<PathSegment> segments) {
+        if (segments.size() <= 1) {
+            return;
+        }
+
+        Set<String> allocatedPopSet = new HashSet<>();
+        for (PathSegment ps : segments) {
+            allocatedPopSet.add(ps.getSrcSwitch().getPop());
+            allocatedPopSet.add(ps.getDestSwitch().getPop());
+        }
+        allocatedPopSet.remove(segments.get(0).getSrcSwitch().getPop());
+        allocatedPopSet.remove(segments.get(segments.size() - 1).getDestSwitch().getPop());
+
+        for (int link = 0; link < srcSwitches.length; link++) {
+            String srcPop = pops[srcSwitches[link]];
+            String destPop = pops[destSwitches[link]];
+            if ((srcPop != null && allocatedPopSet.contains(srcPop))
+                    || (destPop != null && allocatedPopSet.contains(destPop))) {
+                diversityGroupPerPopUseCounters[link]++;
+            }
+        }
+    }
+
+    /**
+     * Reduces the network to single (directed) links between src and dst switches. Among parallel links the one with
+     * the least weight is kept, ties are resolved by the destination port and then by the source port.
+     * <p/>
+     * Note that {@link AvailableNetwork#reduceByWeight(WeightFunction)} resolves ties by the destination port or by the
+     * source port depending on which of the two switches is processed first, i.e. on hash order of the switches. So
+     * parallel links of equal weight may be picked differently when their port orders disagree.
+     * <p/>
+     * Removed links stay removed, so consecutive calls with different weight functions narrow the network down.
+     */
+    public void reduceByWeight(WeightFunction weightFunction) {
+        int arity = weightFunction.getArity();
+        long[] linkWeight = new long[arity];
+        long[] bestWeight = new long[arity];
+        for (int switchIndex = 0; switchIndex < switchIds.length; switchIndex++) {
+            int best = -1;
+            for (int position = outgoingOffsets[switchIndex]; position < outgoingOffsets[switchIndex + 1];
+                    position++) {
+                int link = outgoingLinks[position];
+                if (removed[link]) {
+                    continue;
+                }
+                if (best >= 0 && destSwitches[best] != destSwitches[link]) {
+                    best = -1;
+                }
+                weightFunction.apply(this, link, linkWeight, 0);
+                if (best < 0) {
+                    best = link;
+                    System.arraycopy(linkWeight, 0, bestWeight, 0, arity);
+                } else if (PathWeight.compare(linkWeight, 0, bestWeight, 0, arity) < 0) {
+                    removed[best] = true;
+                    best = link;
+                    System.arraycopy(linkWeight, 0, bestWeight, 0, arity);
+                } else {
+                    removed[link] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the network into {@link AvailableNetwork}. Links removed by {@link #reduceByWeight(WeightFunction)}
+     * are skipped.
+     */
+    public AvailableNetwork toAvailableNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        Node[] networkNodes = new Node[switchIds.length];
+        for (int switchIndex = 0; switchIndex < switchIds.length; switchIndex++) {
+            networkNodes[switchIndex] = Node.builder()
+                    .switchId(switchIds[switchIndex])
+                    .pop(pops[switchIndex])
+                    .incomingLinks(new HashSet<>())
+                    .outgoingLinks(new HashSet<>())
+                    .diversityGroupUseCounter(switchDiversityGroupUseCounters[switchIndex])
+                    .build();
+            network.switches.put(switchIds[switchIndex], networkNodes[switchIndex]);
+        }
+        for (int link = 0; link < srcSwitches.length; link++) {
+            if (removed[link]) {
+                continue;
+            }
+            Node srcNode = networkNodes[srcSwitches[link]];
+            Node destNode = networkNodes[destSwitches[link]];
+            Edge edge = getEdge(link).toBuilder()
+                    .srcSwitch(srcNode)
+                    .destSwitch(destNode)
+                    .build();
+            network.edges.add(edge);
+            srcNode.getOutgoingLinks().add(edge);
+            destNode.getIncomingLinks().add(edge);
+        }
+        return network;
+    }
+
+    private static boolean isSameLink(List<Isl> isls, int[] srcSwitches, int[] destSwitches, int first, int second) {
+        return srcSwitches[first] == srcSwitches[second]
+                && destSwitches[first] == destSwitches[second]
+                && isls.get(first).getSrcPort() == isls.get(second).getSrcPort()
+                && isls.get(first).getDestPort() == isls.get(second).getDestPort();
+    }
+
+    private static int compareLinks(List<Isl> isls, int[] srcSwitches, int[] destSwitches, int first, int second) {
+        int result = Integer.compare(srcSwitches[first], srcSwitches[second]);
+        if (result == 0) {
+            result = Integer.compare(destSwitches[first], destSwitches[second]);
+        }
+        if (result == 0) {
+            result = Integer.compare(isls.get(first).getDestPort(), isls.get(second).getDestPort());
+        }
+        if (result == 0) {
+            result = Integer.compare(isls.get(first).getSrcPort(), isls.get(second).getSrcPort());
+        }
+        return result;
+    }
+
+    /**
+     * Stable merge sort of ISL indexes, avoids boxing of {@link java.util.Arrays#sort(Object[])}.
+     */
+    private static void mergeSort(int[] order, int[] buffer, int from, int to,
+                                  List<Isl> isls, int[] srcSwitches, int[] destSwitches) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(order, buffer, from, middle, isls, srcSwitches, destSwitches);
+        mergeSort(order, buffer, middle, to, isls, srcSwitches, destSwitches);
+        if (compareLinks(isls, srcSwitches, destSwitches, order[middle - 1], order[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle
+                    && compareLinks(isls, srcSwitches, destSwitches, buffer[left], buffer[right]) <= 0)) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Collects ISLs for a {@link CompactNetwork}.
+     */
+    public static class Builder {
+        private final Map<SwitchId, String> switches = new TreeMap<>();
+        private final List<Isl> isls = new ArrayList<>();
+
+        /**
+         * Adds the ISL and its switches to the network.
+         */
+        public Builder addLink(Isl isl) {
+            switches.putIfAbsent(isl.getSrcSwitchId(), isl.getSrcSwitch().getPop());
+            switches.putIfAbsent(isl.getDestSwitchId(), isl.getDestSwitch().getPop());
+            isls.add(isl);
+            return this;
+        }
+
+        public CompactNetwork build() {
+            return new CompactNetwork(switches, isls);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory;
@@ -29,6 +30,7 @@ import org.openkilda.pce.GetPathsResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.cache.NetworkCache;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.pce.finder.PathFinder;
@@ -49,7 +51,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Implementation of {@link PathComputer} that operates over in-memory {@link AvailableNetwork}.
+ * Implementation of {@link PathComputer} that operates over in-memory {@link AvailableNetwork}, or over
+ * {@link CompactNetwork} if the finder supports it.
  * <p/>
  * The path finding algorithm is defined by provided {@link PathFinder}.
  */
@@ -74,21 +77,34 @@ public class InMemoryPathComputer implements PathComputer {
         strategies.add(flow.getPathComputationStrategy());
         strategies.addAll(Arrays.asList(backUpStrategies));
 
-        AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources);
+        NetworkSearch search;
+        if (pathFinder.isCompactNetworkSupported()) {
+            CompactNetwork network = availableNetworkFactory.getCompactNetwork(flow, reusePathsResources);
+            search = (weightFunction, strategy) -> {
+                network.reduceByWeight(weightFunction);
+                return findPathInNetwork(flow, network, weightFunction, strategy);
+            };
+        } else {
+            AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources);
+            search = (weightFunction, strategy) -> {
+                network.reduceByWeight(weightFunction);
+                return findPathInNetwork(flow, network, weightFunction, strategy);
+            };
+        }
 
         for (int i = 0; i < strategies.size() - 1; i++) {
             try {
-                return getPath(network, flow, strategies.get(i));
+                return getPath(search, flow, strategies.get(i));
             } catch (UnroutableFlowException e) {
                 log.warn(String.format("No path found for flow '%s' with '%s' strategy. Will try with "
                         + "'%s' strategy.", flow.getFlowId(), strategies.get(i), strategies.get(i + 1)), e);
             }
         }
 
-        return getPath(network, flow, strategies.get(strategies.size() - 1));
+        return getPath(search, flow, strategies.get(strategies.size() - 1));
     }
 
-    private GetPathsResult getPath(AvailableNetwork network, Flow flow, PathComputationStrategy strategy)
+    private GetPathsResult getPath(NetworkSearch search, Flow flow, PathComputationStrategy strategy)
             throws UnroutableFlowException {
         if (flow.isOneSwitchFlow()) {
             log.info("No path computation for one-switch flow");
@@ -103,9 +119,7 @@ public class InMemoryPathComputer implements PathComputer {
         WeightFunction weightFunction = getWeightFunctionByStrategy(strategy);
         Pair<List<Edge>, List<Edge>> biPath;
         try {
-            network.reduceByWeight(weightFunction);
-
-            biPath = findPathInNetwork(flow, network, weightFunction, strategy);
+            biPath = search.find(weightFunction, strategy);
         } catch (UnroutableFlowException e) {
             String message = format("Failed to find path with requested bandwidth=%s: %s",
                     flow.isIgnoreBandwidth() ? " ignored" : flow.getBandwidth(), e.getMessage());
@@ -139,6 +153,63 @@ public class InMemoryPathComputer implements PathComputer {
         }
     }
 
+    private Pair<List<Edge>, List<Edge>> findPathInNetwork(Flow flow, CompactNetwork network,
+                                                           WeightFunction weightFunction,
+                                                           PathComputationStrategy strategy)
+            throws UnroutableFlowException {
+        if (PathComputationStrategy.MAX_LATENCY.equals(strategy)
+                && (flow.getMaxLatency() == null || flow.getMaxLatency() == 0)) {
+            strategy = PathComputationStrategy.LATENCY;
+        }
+
+        switch (strategy) {
+            case COST:
+            case LATENCY:
+            case COST_AND_AVAILABLE_BANDWIDTH:
+                return pathFinder.findPathInNetwork(network, flow.getSrcSwitchId(),
+                        flow.getDestSwitchId(), weightFunction);
+            case MAX_LATENCY:
+                return pathFinder.findPathInNetwork(network, flow.getSrcSwitchId(),
+                        flow.getDestSwitchId(), weightFunction, flow.getMaxLatency());
+            default:
+                throw new UnsupportedOperationException(String.format("Unsupported strategy type %s", strategy));
+        }
+    }
+
+    @Override
+    public void onPathsAllocated(GetPathsResult paths) {
+        invalidateCachedIsls(paths);
+    }
+
+    @Override
+    public void onPathsAllocationFailed(GetPathsResult paths) {
+        invalidateCachedIsls(paths);
+    }
+
+    @Override
+    public void onPathSegmentsDeallocated(Collection<PathSegment> segments) {
+        availableNetworkFactory.getNetworkCache().ifPresent(networkCache -> {
+            for (PathSegment segment : segments) {
+                networkCache.invalidateIsl(segment.getSrcSwitchId(), segment.getSrcPort(),
+                        segment.getDestSwitchId(), segment.getDestPort());
+            }
+        });
+    }
+
+    private void invalidateCachedIsls(GetPathsResult paths) {
+        availableNetworkFactory.getNetworkCache().ifPresent(networkCache -> {
+            invalidateCachedIsls(networkCache, paths.getForward());
+            invalidateCachedIsls(networkCache, paths.getReverse());
+        });
+    }
+
+    private void invalidateCachedIsls(NetworkCache networkCache, Path path) {
+        for (Path.Segment segment : path.getSegments()) {
+            networkCache.invalidateIsl(segment.getSrcSwitchId(), segment.getSrcPort(),
+                    segment.getDestSwitchId(), segment.getDestPort());
+        }
+    }
+
     @Override
     public List<Path> getNPaths(SwitchId srcSwitchId, SwitchId dstSwitchId, int count,
                                 FlowEncapsulationType flowEncapsulationType,
@@ -153,11 +224,15 @@ public class InMemoryPathComputer implements PathComputer {
                 .bandwidth(1) // to get ISLs with non zero available bandwidth
                 .build();
 
-        AvailableNetwork availableNetwork = availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
-
-        List<List<Edge>> paths =
-                pathFinder.findNPathsBetweenSwitches(availableNetwork, srcSwitchId, dstSwitchId, count,
-                        getWeightFunctionByStrategy(pathComputationStrategy));
+        WeightFunction weightFunction = getWeightFunctionByStrategy(pathComputationStrategy);
+        List<List<Edge>> paths;
+        if (pathFinder.isCompactNetworkSupported()) {
+            CompactNetwork network = availableNetworkFactory.getCompactNetwork(flow, Collections.emptyList());
+            paths = pathFinder.findNPathsBetweenSwitches(network, srcSwitchId, dstSwitchId, count, weightFunction);
+        } else {
+            AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow, Collections.emptyList());
+            paths = pathFinder.findNPathsBetweenSwitches(network, srcSwitchId, dstSwitchId, count, weightFunction);
+        }
         return paths.stream()
                 .map(edges -> convertToPath(srcSwitchId, dstSwitchId, edges))
                 .sorted(Comparator.comparing(Path::getMinAvailableBandwidth)
@@ -170,57 +245,87 @@ public class InMemoryPathComputer implements PathComputer {
     private WeightFunction getWeightFunctionByStrategy(PathComputationStrategy strategy) {
         switch (strategy) {
             case COST:
-                return this::weightByCost;
+                return WeightFunction.of(this::weightByCost, 1, this::weightByCost);
             case LATENCY:
             case MAX_LATENCY:
-                return this::weightByLatency;
+                return WeightFunction.of(this::weightByLatency, 1, this::weightByLatency);
             case COST_AND_AVAILABLE_BANDWIDTH:
-                return this::weightByCostAndAvailableBandwidth;
+                return WeightFunction.of(this::weightByCostAndAvailableBandwidth, 2,
+                        this::weightByCostAndAvailableBandwidth);
             default:
                 throw new UnsupportedOperationException(String.format("Unsupported strategy type %s", strategy));
         }
     }
 
     private PathWeight weightByCost(Edge edge) {
-        long total = edge.getCost() == 0 ? config.getDefaultIslCost() : edge.getCost();
-        if (edge.isUnderMaintenance()) {
-            total += config.getUnderMaintenanceCostRaise();
-        }
-        if (edge.isUnstable()) {
-            total += config.getUnstableCostRaise();
-        }
-        total += edge.getDiversityGroupUseCounter() * config.getDiversityIslCost()
-                + edge.getDiversityGroupPerPopUseCounter() * config.getDiversityPopIslCost()
-                + edge.getDestSwitch().getDiversityGroupUseCounter() * config.getDiversitySwitchCost();
-        return new PathWeight(total);
+        return new PathWeight(totalCost(edge.getCost(), edge.isUnderMaintenance(), edge.isUnstable(),
+                edge.getDiversityGroupUseCounter(), edge.getDiversityGroupPerPopUseCounter(),
+                edge.getDestSwitch().getDiversityGroupUseCounter()));
+    }
+
+    private void weightByCost(CompactNetwork network, int link, long[] slots, int offset) {
+        slots[offset] = totalCost(network, link);
     }
 
     private PathWeight weightByLatency(Edge edge) {
-        long total = edge.getLatency() <= 0 ? config.getDefaultIslLatency() : edge.getLatency();
-        if (edge.isUnderMaintenance()) {
-            total += config.getUnderMaintenanceLatencyRaise();
-        }
-        if (edge.isUnstable()) {
-            total += config.getUnstableLatencyRaise();
-        }
-        total += edge.getDiversityGroupUseCounter() * config.getDiversityIslLatency()
-                + edge.getDiversityGroupPerPopUseCounter() * config.getDiversityPopIslCost()
-                + edge.getDestSwitch().getDiversityGroupUseCounter() * config.getDiversitySwitchLatency();
-        return new PathWeight(total);
+        return new PathWeight(totalLatency(edge.getLatency(), edge.isUnderMaintenance(), edge.isUnstable(),
+                edge.getDiversityGroupUseCounter(), edge.getDiversityGroupPerPopUseCounter(),
+                edge.getDestSwitch().getDiversityGroupUseCounter()));
+    }
+
+    private void weightByLatency(CompactNetwork network, int link, long[] slots, int offset) {
+        slots[offset] = totalLatency(network.getLatency(link), network.isUnderMaintenance(link),
+                network.isUnstable(link), network.getDiversityGroupUseCounter(link),
+                network.getDiversityGroupPerPopUseCounter(link),
+                network.getSwitchDiversityGroupUseCounter(network.getDestSwitch(link)));
     }
 
     private PathWeight weightByCostAndAvailableBandwidth(Edge edge) {
-        long total = edge.getCost() == 0 ? config.getDefaultIslCost() : edge.getCost();
-        if (edge.isUnderMaintenance()) {
+        long total = totalCost(edge.getCost(), edge.isUnderMaintenance(), edge.isUnstable(),
+                edge.getDiversityGroupUseCounter(), edge.getDiversityGroupPerPopUseCounter(),
+                edge.getDestSwitch().getDiversityGroupUseCounter());
+        return new PathWeight(total, edge.getAvailableBandwidth());
+    }
+
+    private void weightByCostAndAvailableBandwidth(CompactNetwork network, int link, long[] slots, int offset) {
+        slots[offset] = totalCost(network, link);
+        slots[offset + 1] = network.getAvailableBandwidth(link);
+    }
+
+    private long totalCost(CompactNetwork network, int link) {
+        return totalCost(network.getCost(link), network.isUnderMaintenance(link), network.isUnstable(link),
+                network.getDiversityGroupUseCounter(link), network.getDiversityGroupPerPopUseCounter(link),
+                network.getSwitchDiversityGroupUseCounter(network.getDestSwitch(link)));
+    }
+
+    private long totalCost(int cost, boolean underMaintenance, boolean unstable, int diversityGroupUseCounter,
+                           int diversityGroupPerPopUseCounter, int destSwitchDiversityGroupUseCounter) {
+        long total = cost == 0 ? config.getDefaultIslCost() : cost;
+        if (underMaintenance) {
             total += config.getUnderMaintenanceCostRaise();
         }
-        if (edge.isUnstable()) {
+        if (unstable) {
             total += config.getUnstableCostRaise();
         }
-        total += edge.getDiversityGroupUseCounter() * config.getDiversityIslCost()
-                + edge.getDiversityGroupPerPopUseCounter() * config.getDiversityPopIslCost()
-                + edge.getDestSwitch().getDiversityGroupUseCounter() * config.getDiversitySwitchCost();
-        return new PathWeight(total, edge.getAvailableBandwidth());
+        total += diversityGroupUseCounter * config.getDiversityIslCost()
+                + diversityGroupPerPopUseCounter * config.getDiversityPopIslCost()
+                + destSwitchDiversityGroupUseCounter * config.getDiversitySwitchCost();
+        return total;
+    }
+
+    private long totalLatency(long latency, boolean underMaintenance, boolean unstable, int diversityGroupUseCounter,
+                              int diversityGroupPerPopUseCounter, int destSwitchDiversityGroupUseCounter) {
+        long total = latency <= 0 ? config.getDefaultIslLatency() : latency;
+        if (underMaintenance) {
+            total += config.getUnderMaintenanceLatencyRaise();
+        }
+        if (unstable) {
+            total += config.getUnstableLatencyRaise();
+        }
+        total += diversityGroupUseCounter * config.getDiversityIslLatency()
+                + diversityGroupPerPopUseCounter * config.getDiversityPopIslCost()
+                + destSwitchDiversityGroupUseCounter * config.getDiversitySwitchLatency();
+        return total;
     }
 
     private GetPathsResult convertToGetPathsResult(
@@ -262,4 +367,13 @@ public class InMemoryPathComputer implements PathComputer {
                 .latency(edge.getLatency())
                 .build();
     }
+
+    /**
+     * Reduces the network built for the request by the weight function and searches it for a path.
+     */
+    @FunctionalInterface
+    private interface NetworkSearch {
+        Pair<List<Edge>, List<Edge>> find(WeightFunction weightFunction, PathComputationStrategy strategy)
+                throws UnroutableFlowException;
+    }
 }
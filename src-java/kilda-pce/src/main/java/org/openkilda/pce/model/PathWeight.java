@@ -15,26 +15,36 @@
 
 package org.openkilda.pce.model;
 
-import static com.google.common.primitives.Longs.asList;
+import com.google.common.primitives.Longs;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Vector path weight representation. Each value in vector corresponds to some path param defined
  * by {@link WeightFunction}. Only PathWeights created by one WeightFunction should be added and compared.
+ * <p/>
+ * Path finders keep weights of a search in preallocated slots of a long array, {@link WeightFunction#getArity()}
+ * slots per weight. Static methods of this class implement the weight arithmetic over such slots, so the search
+ * doesn't allocate an instance per edge relaxation.
  */
 public class PathWeight implements Comparable<PathWeight> {
+    /**
+     * The max number of params produced by weight functions of the PCE.
+     */
+    public static final int MAX_ARITY = 3;
 
-    private List<Long> params;
+    private final long[] params;
 
+    /**
+     * Creates the weight from a copy of the params, so the caller may reuse the array.
+     */
     public PathWeight(long... params) {
-        this.params = asList(params);
+        this.params = Arrays.copyOf(params, params.length);
     }
 
     public PathWeight(List<Long> params) {
-        this.params = params;
+        this.params = Longs.toArray(params);
     }
 
     /**
@@ -43,13 +53,9 @@ public class PathWeight implements Comparable<PathWeight> {
      * @return new path weight.
      */
     public PathWeight add(PathWeight toAdd) {
-        List<Long> result = new ArrayList<>();
-        Iterator<Long> firstIterator = params.iterator();
-        Iterator<Long> secondIterator = toAdd.params.iterator();
-        while (firstIterator.hasNext() || secondIterator.hasNext()) {
-            long first = firstIterator.hasNext() ? firstIterator.next() : 0L;
-            long second = secondIterator.hasNext() ? secondIterator.next() : 0L;
-            result.add(first + second);
+        long[] result = Arrays.copyOf(params, Math.max(params.length, toAdd.params.length));
+        for (int i = 0; i < toAdd.params.length; i++) {
+            result[i] += toAdd.params[i];
         }
         return new PathWeight(result);
     }
@@ -59,27 +65,55 @@ public class PathWeight implements Comparable<PathWeight> {
      * @return scalar weight representation.
      */
     public long toLong() {
-        return params.size() > 0 ? params.get(0) : 0;
+        return params.length > 0 ? params[0] : 0;
+    }
+
+    /**
+     * Writes params of the weight into the slots, missing params are filled with zeros.
+     *
+     * @throws IllegalArgumentException if the weight has more params than the arity.
+     */
+    public void copyTo(long[] slots, int offset, int arity) {
+        if (params.length > arity) {
+            throw new IllegalArgumentException(String.format("Path weight %s doesn't fit into %d slots",
+                    Arrays.toString(params), arity));
+        }
+        System.arraycopy(params, 0, slots, offset, params.length);
+        Arrays.fill(slots, offset + params.length, offset + arity, 0L);
     }
 
     @Override
     public int compareTo(PathWeight o) {
-        int firstSize = params.size();
-        int secondSize = o.params.size();
-        int limit = Math.min(firstSize, secondSize);
-        int i = 0;
-        while (i < limit) {
-            long first = params.get(i).longValue();
-            long second = o.params.get(i).longValue();
-            if (first != second) {
-                return first > second ? 1 : -1;
+        int limit = Math.min(params.length, o.params.length);
+        int result = compare(params, 0, o.params, 0, limit);
+        return result != 0 ? result : Integer.compare(params.length, o.params.length);
+    }
+
+    /**
+     * Compares two weights kept in slots.
+     */
+    public static int compare(long[] first, int firstOffset, long[] second, int secondOffset, int arity) {
+        for (int i = 0; i < arity; i++) {
+            long firstParam = first[firstOffset + i];
+            long secondParam = second[secondOffset + i];
+            if (firstParam != secondParam) {
+                return firstParam > secondParam ? 1 : -1;
             }
-            i++;
         }
-        if (firstSize == secondSize) {
-            return 0;
-        } else {
-            return Integer.compare(firstSize, secondSize);
+        return 0;
+    }
+
+    /**
+     * Adds the weight kept in the source slots to the weight kept in the target slots.
+     */
+    public static void addTo(long[] source, int sourceOffset, long[] target, int targetOffset, int arity) {
+        for (int i = 0; i < arity; i++) {
+            target[targetOffset + i] += source[sourceOffset + i];
         }
     }
+
+    @Override
+    public String toString() {
+        return "PathWeight" + Arrays.toString(params);
+    }
 }
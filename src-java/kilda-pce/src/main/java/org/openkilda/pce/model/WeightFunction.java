@@ -15,8 +15,71 @@
 
 package org.openkilda.pce.model;
 
+import org.openkilda.pce.impl.CompactNetwork;
+
 import java.util.function.Function;
 
 @FunctionalInterface
 public interface WeightFunction extends Function<Edge, PathWeight> {
+    /**
+     * Gets the number of params written by {@link #apply(CompactNetwork, int, long[], int)}.
+     */
+    default int getArity() {
+        return PathWeight.MAX_ARITY;
+    }
+
+    /**
+     * Calculates the weight of a link of {@link CompactNetwork}. By default the link is materialized as an
+     * {@link Edge}, implementations are expected to read the link attributes from the network directly.
+     */
+    default PathWeight apply(CompactNetwork network, int link) {
+        return apply(network.getEdge(link));
+    }
+
+    /**
+     * Calculates the weight of a link of {@link CompactNetwork} and writes its params into {@link #getArity()}
+     * slots starting at the offset. Path finders call it for every relaxed link, so implementations should not
+     * allocate.
+     */
+    default void apply(CompactNetwork network, int link, long[] slots, int offset) {
+        apply(network, link).copyTo(slots, offset, getArity());
+    }
+
+    /**
+     * Combines the weight calculations over {@link Edge} and over a link of {@link CompactNetwork}. Both of them
+     * must produce the same weight for the same link.
+     *
+     * @param arity the number of params produced by the functions.
+     */
+    static WeightFunction of(Function<Edge, PathWeight> edgeFunction, int arity,
+                             CompactWeightFunction compactFunction) {
+        return new WeightFunction() {
+            @Override
+            public int getArity() {
+                return arity;
+            }
+
+            @Override
+            public PathWeight apply(Edge edge) {
+                return edgeFunction.apply(edge);
+            }
+
+            @Override
+            public PathWeight apply(CompactNetwork network, int link) {
+                long[] params = new long[arity];
+                compactFunction.apply(network, link, params, 0);
+                return new PathWeight(params);
+            }
+
+            @Override
+            public void apply(CompactNetwork network, int link, long[] slots, int offset) {
+                compactFunction.apply(network, link, slots, offset);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface CompactWeightFunction {
+        void apply(CompactNetwork network, int link, long[] slots, int offset);
+    }
 }
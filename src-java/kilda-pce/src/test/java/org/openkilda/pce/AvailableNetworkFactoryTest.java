@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +41,7 @@ import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.Node;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.PathSegmentRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import com.google.common.collect.Lists;
@@ -50,7 +52,9 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class AvailableNetworkFactoryTest {
@@ -79,6 +83,8 @@ public class AvailableNetworkFactoryTest {
     private IslRepository islRepository;
     @Mock
     private FlowPathRepository flowPathRepository;
+    @Mock
+    private PathSegmentRepository pathSegmentRepository;
 
     private AvailableNetworkFactory availableNetworkFactory;
 
@@ -88,6 +94,7 @@ public class AvailableNetworkFactoryTest {
 
         when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
         when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
+        when(repositoryFactory.createPathSegmentRepository()).thenReturn(pathSegmentRepository);
 
         availableNetworkFactory = new AvailableNetworkFactory(config, repositoryFactory);
     }
@@ -133,7 +140,6 @@ public class AvailableNetworkFactoryTest {
                 .segments(Collections.singletonList(PathSegment.builder()
                         .srcSwitch(switchB).srcPort(SRC_PORT).destSwitch(switchD).destPort(DEST_PORT).build()))
                 .build();
-        when(flowPathRepository.findById(FORWARD_PATH_ID)).thenReturn(java.util.Optional.of(forwardPath));
 
         FlowPath reversePath = FlowPath.builder()
                 .srcSwitch(switchD)
@@ -142,7 +148,11 @@ public class AvailableNetworkFactoryTest {
                 .segments(Collections.singletonList(PathSegment.builder()
                         .srcSwitch(switchD).srcPort(DEST_PORT).destSwitch(switchB).destPort(SRC_PORT).build()))
                 .build();
-        when(flowPathRepository.findById(REVERSE_PATH_ID)).thenReturn(java.util.Optional.of(reversePath));
+        Map<PathId, List<PathSegment>> segments = new LinkedHashMap<>();
+        segments.put(FORWARD_PATH_ID, forwardPath.getSegments());
+        segments.put(REVERSE_PATH_ID, reversePath.getSegments());
+        when(pathSegmentRepository.findSegmentsByPathIds(Lists.newArrayList(FORWARD_PATH_ID, REVERSE_PATH_ID)))
+                .thenReturn(segments);
 
         Flow flow = getFlow(false);
         flow.setSrcSwitch(switchA);
@@ -231,6 +241,8 @@ public class AvailableNetworkFactoryTest {
         assertAvailableNetworkIsCorrect(isl, availableNetwork);
         verify(islRepository, never())
                 .findActiveAndOccupiedByFlowPathWithAvailableBandwidth(eq(pathId), anyLong(), any());
+        verify(islRepository, times(1)).findActiveAndOccupiedByFlowPathsWithAvailableBandwidth(
+                eq(Collections.singletonList(pathId)), eq(flow.getBandwidth()), eq(flow.getEncapsulationType()));
     }
 
     private static Flow getFlow(boolean ignoreBandwidth) {
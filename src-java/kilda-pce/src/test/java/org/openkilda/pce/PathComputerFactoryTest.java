@@ -17,7 +17,9 @@ package org.openkilda.pce;
 
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
 import org.junit.Test;
@@ -25,9 +27,12 @@ import org.junit.Test;
 public class PathComputerFactoryTest {
     @Test
     public void shouldCreateAnInstance() {
-        PathComputerFactory factory = new PathComputerFactory(
-                mock(PathComputerConfig.class), mock(AvailableNetworkFactory.class));
-        PathComputer pathComputer = factory.getPathComputer();
-        assertTrue(pathComputer instanceof InMemoryPathComputer);
+        for (PathFinderType pathFinderType : PathFinderType.values()) {
+            PathComputerConfig config = mock(PathComputerConfig.class);
+            when(config.getPathFinder()).thenReturn(pathFinderType.name());
+            PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
+            PathComputer pathComputer = factory.getPathComputer();
+            assertTrue(pathComputer instanceof InMemoryPathComputer);
+        }
     }
 }
@@ -0,0 +1,228 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+public class NetworkCacheTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final SwitchId SWITCH_ID_3 = new SwitchId(3);
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+    private static final Instant NOW = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Mock
+    private IslRepository islRepository;
+    @Mock
+    private Clock clock;
+
+    private NetworkCache networkCache;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        when(clock.instant()).thenReturn(NOW);
+        when(islRepository.findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN)).thenReturn(asList(
+                buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 1000),
+                buildIsl(SWITCH_ID_2, 1, SWITCH_ID_1, 1, 100),
+                buildIsl(SWITCH_ID_2, 2, SWITCH_ID_3, 2, 1000)));
+        when(islRepository.findAllActiveByEncapsulationType(FlowEncapsulationType.VXLAN)).thenReturn(singletonList(
+                buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 1000)));
+
+        networkCache = new NetworkCache(islRepository, MAX_AGE, clock);
+    }
+
+    @Test
+    public void shouldLoadNetworkOnce() {
+        NetworkSnapshot first = networkCache.getSnapshot();
+        NetworkSnapshot second = networkCache.getSnapshot();
+
+        assertSame(first, second);
+        assertEquals(3, first.getIslCount());
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.VXLAN);
+    }
+
+    @Test
+    public void shouldReloadExpiredNetwork() {
+        NetworkSnapshot first = networkCache.getSnapshot();
+        when(clock.instant()).thenReturn(NOW.plus(MAX_AGE).plusSeconds(1));
+        NetworkSnapshot second = networkCache.getSnapshot();
+
+        assertNotSame(first, second);
+        assertTrue(second.getVersion() > first.getVersion());
+        verify(islRepository, times(2)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldFilterByBandwidthAndEncapsulation() {
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+
+        assertEquals(3, snapshot.findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN).size());
+        assertEquals(2, snapshot.findAllActiveByEncapsulationType(FlowEncapsulationType.VXLAN).size());
+        assertEquals(2, snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN).size());
+        assertEquals(2, snapshot.findSymmetricActiveWithAvailableBandwidth(100,
+                FlowEncapsulationType.TRANSIT_VLAN).size());
+        assertEquals(0, snapshot.findSymmetricActiveWithAvailableBandwidth(500,
+                FlowEncapsulationType.TRANSIT_VLAN).size());
+    }
+
+    @Test
+    public void shouldRereadStaleIslWithoutChangingPreviousSnapshot() {
+        NetworkSnapshot first = networkCache.getSnapshot();
+        when(islRepository.findByEndpoints(SWITCH_ID_1, 1, SWITCH_ID_2, 1))
+                .thenReturn(Optional.of(buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 10)));
+
+        networkCache.invalidateIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 1);
+        NetworkSnapshot second = networkCache.getSnapshot();
+
+        assertEquals(2, first.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN).size());
+        assertEquals(1, second.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN).size());
+        assertEquals(3, second.getIslCount());
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldRemoveInactiveIslOnEndpointRefresh() {
+        networkCache.getSnapshot();
+        Isl isl = buildIsl(SWITCH_ID_2, 2, SWITCH_ID_3, 2, 1000);
+        isl.setStatus(IslStatus.INACTIVE);
+        when(islRepository.findByEndpoint(SWITCH_ID_2, 2)).thenReturn(singletonList(isl));
+
+        networkCache.refreshEndpoint(SWITCH_ID_2, 2);
+
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+        assertEquals(2, snapshot.getIslCount());
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldReloadWhenActivatedIslHasUnknownSwitch() {
+        networkCache.getSnapshot();
+        when(islRepository.findByEndpoint(SWITCH_ID_3, 5))
+                .thenReturn(singletonList(buildIsl(SWITCH_ID_3, 5, new SwitchId(4), 5, 1000)));
+
+        networkCache.refreshEndpoint(SWITCH_ID_3, 5);
+        networkCache.getSnapshot();
+
+        verify(islRepository, times(2)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldRereadStaleIsl() {
+        networkCache.getSnapshot();
+        when(islRepository.findByEndpoints(SWITCH_ID_2, 1, SWITCH_ID_1, 1))
+                .thenReturn(Optional.of(buildIsl(SWITCH_ID_2, 1, SWITCH_ID_1, 1, 700)));
+
+        networkCache.invalidateIsl(SWITCH_ID_2, 1, SWITCH_ID_1, 1);
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+
+        assertEquals(2, snapshot.findSymmetricActiveWithAvailableBandwidth(500,
+                FlowEncapsulationType.TRANSIT_VLAN).size());
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldRemoveStaleIslMissingInDatabase() {
+        networkCache.getSnapshot();
+        when(islRepository.findByEndpoints(SWITCH_ID_2, 2, SWITCH_ID_3, 2)).thenReturn(Optional.empty());
+
+        networkCache.invalidateIsl(SWITCH_ID_2, 2, SWITCH_ID_3, 2);
+
+        Collection<Isl> isls = networkCache.getSnapshot()
+                .findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+        assertEquals(2, isls.size());
+        isls.forEach(isl -> assertTrue(!isl.getDestSwitchId().equals(SWITCH_ID_3)));
+    }
+
+    @Test
+    public void shouldApplyManyIslChanges() {
+        networkCache.getSnapshot();
+        for (int port = 10; port < 110; port++) {
+            when(islRepository.findByEndpoints(SWITCH_ID_1, port, SWITCH_ID_2, port))
+                    .thenReturn(Optional.of(buildIsl(SWITCH_ID_1, port, SWITCH_ID_2, port, 1000)));
+            networkCache.invalidateIsl(SWITCH_ID_1, port, SWITCH_ID_2, port);
+            networkCache.getSnapshot();
+        }
+        when(islRepository.findByEndpoints(SWITCH_ID_2, 1, SWITCH_ID_1, 1))
+                .thenReturn(Optional.of(buildIsl(SWITCH_ID_2, 1, SWITCH_ID_1, 1, 700)));
+        networkCache.invalidateIsl(SWITCH_ID_2, 1, SWITCH_ID_1, 1);
+        when(islRepository.findByEndpoints(SWITCH_ID_2, 2, SWITCH_ID_3, 2)).thenReturn(Optional.empty());
+        networkCache.invalidateIsl(SWITCH_ID_2, 2, SWITCH_ID_3, 2);
+
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+
+        assertEquals(102, snapshot.getIslCount());
+        assertEquals(102, snapshot.findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN).size());
+        assertEquals(2, snapshot.findSymmetricActiveWithAvailableBandwidth(500,
+                FlowEncapsulationType.TRANSIT_VLAN).size());
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldReloadAfterInvalidation() {
+        networkCache.getSnapshot();
+        when(islRepository.findAllActiveByEncapsulationType(any())).thenReturn(emptyList());
+
+        networkCache.invalidate();
+
+        assertEquals(0, networkCache.getSnapshot().getIslCount());
+    }
+
+    private Isl buildIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                         long availableBandwidth) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcSwitchId).status(SwitchStatus.ACTIVE).build())
+                .destSwitch(Switch.builder().switchId(dstSwitchId).status(SwitchStatus.ACTIVE).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .status(IslStatus.ACTIVE)
+                .availableBandwidth(availableBandwidth)
+                .build();
+        isl.setIslConfig(IslConfig.builder().build());
+        return isl;
+    }
+}
@@ -0,0 +1,328 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class DijkstraPathFinderTest {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> new PathWeight(edge.getCost());
+    private static final WeightFunction COST_AND_BANDWIDTH_WEIGHT_FUNCTION =
+            edge -> new PathWeight(edge.getCost(), edge.getAvailableBandwidth());
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+
+    @Test
+    public void shouldFindTheSamePathsAsBestWeightAndShortestPathFinder() throws UnroutableFlowException {
+        Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            int switchCount = 5 + random.nextInt(20);
+            // narrow cost range to get a lot of equal weight paths
+            AvailableNetwork network = buildRandomNetwork(random, switchCount, switchCount * 3, 3);
+            assertSamePaths(network, switchCount, WEIGHT_FUNCTION, ALLOWED_DEPTH);
+            assertSamePaths(network, switchCount, COST_AND_BANDWIDTH_WEIGHT_FUNCTION, ALLOWED_DEPTH);
+            assertSamePaths(network, switchCount, WEIGHT_FUNCTION, 3);
+        }
+    }
+
+    @Test
+    public void shouldFindTheSameNPathsAsBestWeightAndShortestPathFinder() throws UnroutableFlowException {
+        for (int seed = 0; seed < 20; seed++) {
+            // Yen's algorithm doesn't always restore the network completely, so each finder gets its own copy
+            List<List<Edge>> expected = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH)
+                    .findNPathsBetweenSwitches(buildRandomNetwork(new Random(seed), 10, 30, 4),
+                            switchId(0), switchId(9), 10, WEIGHT_FUNCTION);
+            List<List<Edge>> actual = new DijkstraPathFinder(ALLOWED_DEPTH)
+                    .findNPathsBetweenSwitches(buildRandomNetwork(new Random(seed), 10, 30, 4),
+                            switchId(0), switchId(9), 10, WEIGHT_FUNCTION);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void shouldFindTheSamePathsInCompactNetwork() throws UnroutableFlowException {
+        Random random = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            int switchCount = 5 + random.nextInt(20);
+            List<Isl> isls = buildRandomIsls(random, switchCount, switchCount * 3, 3);
+            assertSamePathsInCompactNetwork(isls, switchCount, WEIGHT_FUNCTION, ALLOWED_DEPTH);
+            assertSamePathsInCompactNetwork(isls, switchCount, COST_AND_BANDWIDTH_WEIGHT_FUNCTION, ALLOWED_DEPTH);
+            assertSamePathsInCompactNetwork(isls, switchCount, WEIGHT_FUNCTION, 3);
+        }
+    }
+
+    @Test
+    public void shouldFindDistinctNPathsInCompactNetwork() throws UnroutableFlowException {
+        for (int seed = 0; seed < 20; seed++) {
+            List<Isl> isls = buildRandomIsls(new Random(seed), 12, 40, 4);
+            CompactNetwork.Builder builder = CompactNetwork.builder();
+            isls.forEach(builder::addLink);
+            CompactNetwork compactNetwork = builder.build();
+            if (compactNetwork.getSwitchIndex(switchId(0)) < 0 || compactNetwork.getSwitchIndex(switchId(11)) < 0) {
+                continue;
+            }
+            compactNetwork.reduceByWeight(COST_AND_BANDWIDTH_WEIGHT_FUNCTION);
+
+            PathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+            List<List<Edge>> actual = pathFinder.findNPathsBetweenSwitches(compactNetwork, switchId(0), switchId(11),
+                    15, COST_AND_BANDWIDTH_WEIGHT_FUNCTION);
+
+            List<Edge> bestPath = pathFinder.findPathInNetwork(compactNetwork, switchId(0), switchId(11),
+                    COST_AND_BANDWIDTH_WEIGHT_FUNCTION).getLeft();
+            assertEquals(bestPath, actual.get(0));
+            assertEquals(actual.size(), new HashSet<>(actual).size());
+            for (List<Edge> path : actual) {
+                List<SwitchId> switches = getInvolvedSwitches(path);
+                assertEquals(switchId(0), switches.get(0));
+                assertEquals(switchId(11), switches.get(switches.size() - 1));
+                assertEquals(switches.size(), new HashSet<>(switches).size());
+            }
+            // the network is not modified by the search, so the same paths are found again
+            assertEquals(actual, pathFinder.findNPathsBetweenSwitches(compactNetwork, switchId(0), switchId(11),
+                    15, COST_AND_BANDWIDTH_WEIGHT_FUNCTION));
+        }
+    }
+
+    @Test
+    public void shouldFindTheSameNPathsWithParallelSpurSearches() throws UnroutableFlowException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            PathFinder sequentialFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+            PathFinder parallelFinder = new DijkstraPathFinder(ALLOWED_DEPTH, executor);
+            for (int seed = 0; seed < 20; seed++) {
+                List<Isl> isls = buildRandomIsls(new Random(seed), 12, 40, 4);
+                CompactNetwork.Builder builder = CompactNetwork.builder();
+                isls.forEach(builder::addLink);
+                CompactNetwork compactNetwork = builder.build();
+                if (compactNetwork.getSwitchIndex(switchId(0)) < 0
+                        || compactNetwork.getSwitchIndex(switchId(11)) < 0) {
+                    continue;
+                }
+                compactNetwork.reduceByWeight(COST_AND_BANDWIDTH_WEIGHT_FUNCTION);
+
+                assertEquals(sequentialFinder.findNPathsBetweenSwitches(compactNetwork, switchId(0), switchId(11),
+                                15, COST_AND_BANDWIDTH_WEIGHT_FUNCTION),
+                        parallelFinder.findNPathsBetweenSwitches(compactNetwork, switchId(0), switchId(11),
+                                15, COST_AND_BANDWIDTH_WEIGHT_FUNCTION));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldPreferLowerSwitchIdWhenWeightsAreEqual() throws UnroutableFlowException {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2---SW4
+         *    |           |
+         *    +----SW3----+
+         *
+         *   All ISLs have equal cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 2, 2, 100);
+
+        Pair<List<Edge>, List<Edge>> paths = new DijkstraPathFinder(ALLOWED_DEPTH)
+                .findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4), getInvolvedSwitches(paths.getLeft()));
+        assertEquals(Arrays.asList(SWITCH_ID_4, SWITCH_ID_2, SWITCH_ID_1), getInvolvedSwitches(paths.getRight()));
+    }
+
+    @Test
+    public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2~~~SW4
+         *          |     |
+         *         SW3---SW5
+         *
+         *   SW2 - SW4 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 10000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 7, 8, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 9, 10, 100);
+
+        Pair<List<Edge>, List<Edge>> paths = new DijkstraPathFinder(2)
+                .findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+        assertThat(paths.getLeft(), Matchers.hasSize(2));
+
+        paths = new DijkstraPathFinder(4).findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+        assertThat(paths.getLeft(), Matchers.hasSize(4));
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailWhenNoPath() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 1, 1, 100);
+
+        new DijkstraPathFinder(ALLOWED_DEPTH).findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+    }
+
+    private void assertSamePaths(AvailableNetwork network, int switchCount, WeightFunction weightFunction,
+                                 int allowedDepth) throws UnroutableFlowException {
+        PathFinder expectedFinder = new BestWeightAndShortestPathFinder(allowedDepth);
+        PathFinder actualFinder = new DijkstraPathFinder(allowedDepth);
+        for (int src = 0; src < switchCount; src++) {
+            for (int dst = 0; dst < switchCount; dst++) {
+                if (src == dst) {
+                    continue;
+                }
+                Pair<List<Edge>, List<Edge>> expected = findPath(expectedFinder, network, src, dst, weightFunction);
+                Pair<List<Edge>, List<Edge>> actual = findPath(actualFinder, network, src, dst, weightFunction);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private void assertSamePathsInCompactNetwork(List<Isl> isls, int switchCount, WeightFunction weightFunction,
+                                                 int allowedDepth) throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+        network.reduceByWeight(weightFunction);
+        CompactNetwork.Builder builder = CompactNetwork.builder();
+        isls.forEach(builder::addLink);
+        CompactNetwork compactNetwork = builder.build();
+        compactNetwork.reduceByWeight(weightFunction);
+
+        PathFinder expectedFinder = new BestWeightAndShortestPathFinder(allowedDepth);
+        PathFinder actualFinder = new DijkstraPathFinder(allowedDepth);
+        for (int src = 0; src < switchCount; src++) {
+            for (int dst = 0; dst < switchCount; dst++) {
+                if (src == dst) {
+                    continue;
+                }
+                Pair<List<Edge>, List<Edge>> expected = findPath(expectedFinder, network, src, dst, weightFunction);
+                Pair<List<Edge>, List<Edge>> actual;
+                try {
+                    actual = actualFinder.findPathInNetwork(compactNetwork, switchId(src), switchId(dst),
+                            weightFunction);
+                } catch (UnroutableFlowException e) {
+                    actual = null;
+                }
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private Pair<List<Edge>, List<Edge>> findPath(PathFinder pathFinder, AvailableNetwork network, int src, int dst,
+                                                  WeightFunction weightFunction) {
+        try {
+            return pathFinder.findPathInNetwork(network, switchId(src), switchId(dst), weightFunction);
+        } catch (UnroutableFlowException e) {
+            return null;
+        }
+    }
+
+    private AvailableNetwork buildRandomNetwork(Random random, int switchCount, int linkCount, int maxCost) {
+        AvailableNetwork network = new AvailableNetwork();
+        buildRandomIsls(random, switchCount, linkCount, maxCost).forEach(network::addLink);
+        return network;
+    }
+
+    private List<Isl> buildRandomIsls(Random random, int switchCount, int linkCount, int maxCost) {
+        List<Isl> isls = new ArrayList<>();
+        for (int i = 0; i < linkCount; i++) {
+            int src = random.nextInt(switchCount);
+            int dst = random.nextInt(switchCount);
+            if (src == dst) {
+                continue;
+            }
+            // the same port on both sides allows parallel links between a pair of switches
+            int port = i + 1;
+            int cost = 1 + random.nextInt(maxCost);
+            isls.add(buildIsl(switchId(src), switchId(dst), port, port, cost, random.nextInt(3)));
+            isls.add(buildIsl(switchId(dst), switchId(src), port, port, cost, random.nextInt(3)));
+        }
+        return isls;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost, 1);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost, 1);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost, long availableBandwidth) {
+        network.addLink(buildIsl(srcDpid, dstDpid, srcPort, dstPort, cost, availableBandwidth));
+    }
+
+    private Isl buildIsl(SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort, int cost,
+                         long availableBandwidth) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .availableBandwidth(availableBandwidth)
+                .build();
+        isl.setIslConfig(IslConfig.builder().build());
+        return isl;
+    }
+
+    private SwitchId switchId(int index) {
+        return new SwitchId(index + 1);
+    }
+
+    private List<SwitchId> getInvolvedSwitches(List<Edge> path) {
+        List<SwitchId> switches = new ArrayList<>();
+        for (Edge edge : path) {
+            switches.add(edge.getSrcSwitch().getSwitchId());
+        }
+        switches.add(path.get(path.size() - 1).getDestSwitch().getSwitchId());
+        return switches;
+    }
+}
@@ -0,0 +1,259 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+public class CompactNetworkTest {
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> {
+        long total = edge.getCost();
+        total += edge.getDiversityGroupUseCounter() * 1000
+                + edge.getDiversityGroupPerPopUseCounter() * 1000
+                + edge.getDestSwitch().getDiversityGroupUseCounter() * 100;
+        return new PathWeight(total);
+    };
+
+    private static final SwitchId SWITCH_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_4 = new SwitchId("00:00:00:00:00:00:00:04");
+
+    private static final String POP_1 = "pop1";
+    private static final String POP_2 = "pop2";
+
+    private static final Flow DUMMY_FLOW = Flow.builder()
+            .flowId("flow-id")
+            .srcSwitch(Switch.builder().switchId(new SwitchId(100)).build())
+            .destSwitch(Switch.builder().switchId(new SwitchId(101)).build())
+            .build();
+
+    @Test
+    public void shouldIndexSwitchesInSwitchIdOrder() {
+        CompactNetwork network = CompactNetwork.builder()
+                .addLink(buildIsl(SWITCH_3, SWITCH_1, 1, 1, 10))
+                .addLink(buildIsl(SWITCH_2, SWITCH_3, 2, 2, 10))
+                .build();
+
+        assertEquals(3, network.getSwitchCount());
+        assertEquals(0, network.getSwitchIndex(SWITCH_1));
+        assertEquals(1, network.getSwitchIndex(SWITCH_2));
+        assertEquals(2, network.getSwitchIndex(SWITCH_3));
+        assertEquals(-1, network.getSwitchIndex(SWITCH_4));
+        assertEquals(SWITCH_3, network.getSwitchId(2));
+    }
+
+    @Test
+    public void shouldOrderOutgoingLinksByDestination() {
+        CompactNetwork network = CompactNetwork.builder()
+                .addLink(buildIsl(SWITCH_1, SWITCH_4, 1, 1, 10))
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 5, 7, 10))
+                .addLink(buildIsl(SWITCH_1, SWITCH_3, 3, 1, 10))
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 4, 6, 10))
+                .addLink(buildIsl(SWITCH_2, SWITCH_1, 7, 5, 10))
+                .build();
+
+        int src = network.getSwitchIndex(SWITCH_1);
+        assertEquals(0, network.getOutgoingLinksStart(src));
+        assertEquals(4, network.getOutgoingLinksEnd(src));
+        int[] expectedDestPorts = {6, 7, 1, 1};
+        SwitchId[] expectedDestSwitches = {SWITCH_2, SWITCH_2, SWITCH_3, SWITCH_4};
+        for (int position = 0; position < 4; position++) {
+            int link = network.getOutgoingLink(position);
+            assertEquals(src, network.getSrcSwitch(link));
+            assertEquals(expectedDestSwitches[position], network.getSwitchId(network.getDestSwitch(link)));
+            assertEquals(expectedDestPorts[position], network.getDestPort(link));
+        }
+
+        int other = network.getSwitchIndex(SWITCH_2);
+        assertEquals(1, network.getOutgoingLinksEnd(other) - network.getOutgoingLinksStart(other));
+    }
+
+    @Test
+    public void shouldNotAllowDuplicates() {
+        CompactNetwork network = CompactNetwork.builder()
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 7, 60, 10))
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 7, 60, 20))
+                .build();
+
+        assertEquals(1, network.getLinkCount());
+        assertEquals(10, network.getCost(0));
+    }
+
+    @Test
+    public void shouldReduceByWeight() {
+        CompactNetwork network = CompactNetwork.builder()
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 1, 1, 20))
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 5, 5, 1))
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 6, 6, 1))
+                .addLink(buildIsl(SWITCH_1, SWITCH_3, 2, 2, 30))
+                .build();
+
+        network.reduceByWeight(WEIGHT_FUNCTION);
+
+        int src = network.getSwitchIndex(SWITCH_1);
+        int remaining = 0;
+        for (int position = network.getOutgoingLinksStart(src); position < network.getOutgoingLinksEnd(src);
+                position++) {
+            int link = network.getOutgoingLink(position);
+            if (!network.isRemoved(link)) {
+                remaining++;
+                if (network.getDestSwitch(link) == network.getSwitchIndex(SWITCH_2)) {
+                    assertEquals(5, network.getSrcPort(link));
+                }
+            }
+        }
+        assertEquals(2, remaining);
+    }
+
+    @Test
+    public void shouldResolveReduceTiesByDestPortThenBySrcPort() {
+        CompactNetwork network = CompactNetwork.builder()
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 5, 6, 1))
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 6, 5, 1))
+                .addLink(buildIsl(SWITCH_1, SWITCH_3, 8, 9, 1))
+                .addLink(buildIsl(SWITCH_1, SWITCH_3, 7, 9, 1))
+                .build();
+
+        network.reduceByWeight(WEIGHT_FUNCTION);
+
+        int src = network.getSwitchIndex(SWITCH_1);
+        assertTrue(network.isRemoved(network.findLink(src, 5, network.getSwitchIndex(SWITCH_2), 6)));
+        assertFalse(network.isRemoved(network.findLink(src, 6, network.getSwitchIndex(SWITCH_2), 5)));
+        assertTrue(network.isRemoved(network.findLink(src, 8, network.getSwitchIndex(SWITCH_3), 9)));
+        assertFalse(network.isRemoved(network.findLink(src, 7, network.getSwitchIndex(SWITCH_3), 9)));
+    }
+
+    @Test
+    public void shouldFillDiversityWeightsAsAvailableNetwork() {
+        List<Isl> isls = asList(
+                buildIsl(SWITCH_1, SWITCH_2, 1, 1, 10, POP_1, POP_2),
+                buildIsl(SWITCH_2, SWITCH_3, 2, 2, 10, POP_2, null),
+                buildIsl(SWITCH_3, SWITCH_4, 3, 3, 10, null, POP_1),
+                buildIsl(SWITCH_2, SWITCH_4, 4, 4, 10, POP_2, POP_1));
+        List<PathSegment> segments = asList(
+                buildPathSegment(SWITCH_1, SWITCH_2, 1, 1, POP_1, POP_2, 0),
+                buildPathSegment(SWITCH_2, SWITCH_3, 2, 2, POP_2, null, 1),
+                buildPathSegment(SWITCH_3, SWITCH_4, 3, 3, null, POP_1, 2));
+
+        AvailableNetwork expected = new AvailableNetwork();
+        CompactNetwork.Builder builder = CompactNetwork.builder();
+        isls.forEach(expected::addLink);
+        isls.forEach(builder::addLink);
+        CompactNetwork network = builder.build();
+
+        expected.processDiversitySegments(segments, DUMMY_FLOW);
+        expected.processDiversitySegmentsWithPop(segments);
+        network.processDiversitySegments(segments, DUMMY_FLOW);
+        network.processDiversitySegmentsWithPop(segments);
+
+        for (int link = 0; link < network.getLinkCount(); link++) {
+            Edge edge = network.getEdge(link);
+            Edge expectedEdge = expected.getSwitch(edge.getSrcSwitch().getSwitchId()).getOutgoingLinks().stream()
+                    .filter(edge::equals)
+                    .findAny().orElseThrow(() -> new IllegalStateException("Link not found"));
+            assertEquals(expectedEdge.getDiversityGroupUseCounter(), edge.getDiversityGroupUseCounter());
+            assertEquals(expectedEdge.getDiversityGroupPerPopUseCounter(), edge.getDiversityGroupPerPopUseCounter());
+            assertEquals(expectedEdge.getDestSwitch().getDiversityGroupUseCounter(),
+                    edge.getDestSwitch().getDiversityGroupUseCounter());
+            assertEquals(WEIGHT_FUNCTION.apply(expectedEdge).toLong(), WEIGHT_FUNCTION.apply(network, link).toLong());
+        }
+    }
+
+    @Test
+    public void shouldConvertToAvailableNetwork() {
+        CompactNetwork network = CompactNetwork.builder()
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 1, 1, 20))
+                .addLink(buildIsl(SWITCH_1, SWITCH_2, 5, 5, 1))
+                .addLink(buildIsl(SWITCH_2, SWITCH_1, 1, 1, 20))
+                .addLink(buildIsl(SWITCH_2, SWITCH_1, 5, 5, 1))
+                .build();
+        network.processDiversitySegments(singletonList(buildPathSegment(SWITCH_1, SWITCH_2, 5, 5, null, null, 0)),
+                DUMMY_FLOW);
+        network.reduceByWeight(WEIGHT_FUNCTION);
+
+        AvailableNetwork availableNetwork = network.toAvailableNetwork();
+
+        Node srcNode = availableNetwork.getSwitch(SWITCH_1);
+        Node dstNode = availableNetwork.getSwitch(SWITCH_2);
+        assertEquals(1, srcNode.getOutgoingLinks().size());
+        assertEquals(1, srcNode.getIncomingLinks().size());
+        assertEquals(1, dstNode.getDiversityGroupUseCounter());
+        Edge edge = srcNode.getOutgoingLinks().iterator().next();
+        assertEquals(20, edge.getCost());
+        assertTrue(dstNode.getIncomingLinks().contains(edge));
+        assertFalse(srcNode.getIncomingLinks().contains(edge));
+    }
+
+    private Isl buildIsl(SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort, int cost) {
+        return buildIsl(srcDpid, dstDpid, srcPort, dstPort, cost, null, null);
+    }
+
+    private Isl buildIsl(SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort, int cost,
+                         String srcPop, String dstPop) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).pop(srcPop).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).pop(dstPop).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .availableBandwidth(500000)
+                .build();
+        isl.setIslConfig(IslConfig.builder().build());
+        return isl;
+    }
+
+    private PathSegment buildPathSegment(SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                                         String srcPop, String dstPop, int seqId) {
+        Switch srcSwitch = Switch.builder().switchId(srcDpid).pop(srcPop).build();
+        Switch dstSwitch = Switch.builder().switchId(dstDpid).pop(dstPop).build();
+
+        FlowPath flowPath = FlowPath.builder()
+                .pathId(new PathId(UUID.randomUUID().toString()))
+                .srcSwitch(srcSwitch)
+                .destSwitch(dstSwitch)
+                .segments(IntStream.rangeClosed(0, seqId)
+                        .mapToObj(i -> PathSegment.builder()
+                                .srcSwitch(srcSwitch).destSwitch(dstSwitch).srcPort(srcPort).destPort(dstPort).build())
+                        .collect(toList()))
+                .build();
+
+        return flowPath.getSegments().get(seqId);
+    }
+}
@@ -15,6 +15,7 @@
 
 package org.openkilda.pce.model;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -47,4 +48,39 @@ public class PathWeightTest {
         assertTrue(third.compareTo(fourth) < 0);
         assertTrue(fourth.compareTo(third) > 0);
     }
+
+    @Test
+    public void addToSlots() {
+        long[] slots = new long[4];
+        new PathWeight(2, 7).copyTo(slots, 0, 2);
+        new PathWeight(1).copyTo(slots, 2, 2);
+
+        PathWeight.addTo(slots, 2, slots, 0, 2);
+
+        assertArrayEquals(new long[] {3, 7, 1, 0}, slots);
+    }
+
+    @Test
+    public void compareSlots() {
+        long[] slots = {2, 7, 5, 7, 5, 7, 7, 0};
+
+        assertTrue(PathWeight.compare(slots, 0, slots, 2, 2) < 0);
+        assertTrue(PathWeight.compare(slots, 2, slots, 0, 2) > 0);
+        assertEquals(0, PathWeight.compare(slots, 2, slots, 4, 2));
+        assertTrue(PathWeight.compare(slots, 4, slots, 6, 2) < 0);
+    }
+
+    @Test
+    public void notAffectedByReusedParams() {
+        long[] params = {2, 7};
+        PathWeight weight = new PathWeight(params);
+        params[0] = 5;
+
+        assertEquals(0, weight.compareTo(new PathWeight(2, 7)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failOnCopyToLesserArity() {
+        new PathWeight(1, 2, 3).copyTo(new long[2], 0, 2);
+    }
 }
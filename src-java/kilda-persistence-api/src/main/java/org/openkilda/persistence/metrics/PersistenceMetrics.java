@@ -0,0 +1,237 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics of repository calls and transactions: call counts, latency histograms, returned row counts,
+ * transaction durations and retries.
+ * <p/>
+ * The statistics are accumulated per JVM and periodically drained by a reporter, which turns them into OpenTSDB
+ * datapoints. All counters are reset on {@link #drain()}, so every sample holds a value for the last reporting
+ * interval. Nothing is reported for an interval without repository calls or transactions. The collector is
+ * thread-safe.
+ */
+public final class PersistenceMetrics {
+    public static final String REPOSITORY_CALLS = "persistence.repository.calls";
+    public static final String REPOSITORY_ERRORS = "persistence.repository.errors";
+    public static final String REPOSITORY_ROWS = "persistence.repository.rows";
+    public static final String REPOSITORY_LATENCY = "persistence.repository.latency";
+    public static final String TRANSACTION_COMMITS = "persistence.transaction.commits";
+    public static final String TRANSACTION_ROLLBACKS = "persistence.transaction.rollbacks";
+    public static final String TRANSACTION_RETRIES = "persistence.transaction.retries";
+    public static final String TRANSACTION_DURATION = "persistence.transaction.duration";
+
+    public static final String REPOSITORY_TAG = "repository";
+    public static final String METHOD_TAG = "method";
+    public static final String BUCKET_TAG = "le";
+
+    public static final long DEFAULT_SLOW_CALL_THRESHOLD_MILLIS = 1000;
+
+    /**
+     * Upper bounds of the latency histogram buckets in milliseconds, the last bucket is unbounded.
+     */
+    static final long[] LATENCY_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+    static final String UNBOUNDED_BUCKET = "inf";
+
+    private static final PersistenceMetrics INSTANCE = new PersistenceMetrics();
+
+    private final ConcurrentMap<String, RepositoryMethodStats> repositoryMethods = new ConcurrentHashMap<>();
+    private final LatencyHistogram transactionDurations = new LatencyHistogram();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * Repository calls which take longer are logged along with the traversals they executed, 0 disables the log.
+     */
+    @Getter
+    @Setter
+    private volatile long slowCallThresholdMillis = DEFAULT_SLOW_CALL_THRESHOLD_MILLIS;
+
+    PersistenceMetrics() {
+    }
+
+    public static PersistenceMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a completed repository call.
+     *
+     * @param rows the number of returned entities, or a negative value if the result is not countable.
+     */
+    public void recordRepositoryCall(String repository, String method, long durationNanos, long rows,
+                                     boolean failed) {
+        RepositoryMethodStats stats = repositoryMethods.computeIfAbsent(repository + "." + method,
+                key -> new RepositoryMethodStats(repository, method));
+        stats.calls.increment();
+        if (failed) {
+            stats.errors.increment();
+        }
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        stats.latency.record(durationNanos);
+    }
+
+    /**
+     * Records a completed top-level transaction.
+     */
+    public void recordTransaction(long durationNanos, boolean committed) {
+        if (committed) {
+            commits.increment();
+        } else {
+            rollbacks.increment();
+        }
+        transactionDurations.record(durationNanos);
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    /**
+     * Returns the samples accumulated since the previous call and resets the counters. The list is empty if nothing
+     * was recorded since the previous call.
+     */
+    public List<Sample> drain() {
+        List<Sample> samples = new ArrayList<>();
+        for (RepositoryMethodStats stats : repositoryMethods.values()) {
+            stats.drain(samples);
+        }
+
+        Map<String, String> noTags = Collections.emptyMap();
+        long commitCount = commits.sumThenReset();
+        long rollbackCount = rollbacks.sumThenReset();
+        long retryCount = retries.sumThenReset();
+        if (commitCount > 0 || rollbackCount > 0 || retryCount > 0) {
+            samples.add(new Sample(TRANSACTION_COMMITS, noTags, commitCount));
+            samples.add(new Sample(TRANSACTION_ROLLBACKS, noTags, rollbackCount));
+            samples.add(new Sample(TRANSACTION_RETRIES, noTags, retryCount));
+        }
+        transactionDurations.drain(TRANSACTION_DURATION, noTags, samples);
+        return samples;
+    }
+
+    /**
+     * A single value of a metric.
+     */
+    @Value
+    public static class Sample {
+        String metric;
+        Map<String, String> tags;
+        Number value;
+    }
+
+    private static final class RepositoryMethodStats {
+        private final Map<String, String> tags;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        RepositoryMethodStats(String repository, String method) {
+            Map<String, String> tags = new HashMap<>();
+            tags.put(REPOSITORY_TAG, repository);
+            tags.put(METHOD_TAG, method);
+            this.tags = Collections.unmodifiableMap(tags);
+        }
+
+        void drain(List<Sample> samples) {
+            long callCount = calls.sumThenReset();
+            if (callCount == 0) {
+                // The method hasn't been called within the interval, so there's nothing to report.
+                return;
+            }
+            samples.add(new Sample(REPOSITORY_CALLS, tags, callCount));
+            samples.add(new Sample(REPOSITORY_ERRORS, tags, errors.sumThenReset()));
+            samples.add(new Sample(REPOSITORY_ROWS, tags, rows.sumThenReset()));
+            latency.drain(REPOSITORY_LATENCY, tags, samples);
+        }
+    }
+
+    /**
+     * A histogram with fixed exponential buckets. Reports the cumulative count of every bucket, i.e. the number of
+     * values less than or equal to its upper bound, tagged with the bound as in Prometheus histograms. Also reports
+     * the sum and maximum of the recorded values in milliseconds. An empty histogram reports nothing.
+     */
+    private static final class LatencyHistogram {
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BOUNDS_MILLIS.length + 1];
+        private final LongAdder sumNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        LatencyHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            int bucket = 0;
+            while (bucket < LATENCY_BOUNDS_MILLIS.length
+                    && nanos > TimeUnit.MILLISECONDS.toNanos(LATENCY_BOUNDS_MILLIS[bucket])) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            sumNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        void drain(String metric, Map<String, String> tags, List<Sample> samples) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sumThenReset();
+                total += counts[i];
+            }
+            long sum = sumNanos.sumThenReset();
+            long max = maxNanos.getThenReset();
+            if (total == 0) {
+                return;
+            }
+
+            long cumulativeCount = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulativeCount += counts[i];
+                Map<String, String> bucketTags = new HashMap<>(tags);
+                bucketTags.put(BUCKET_TAG, i < LATENCY_BOUNDS_MILLIS.length
+                        ? String.valueOf(LATENCY_BOUNDS_MILLIS[i]) : UNBOUNDED_BUCKET);
+                samples.add(new Sample(metric, bucketTags, cumulativeCount));
+            }
+            samples.add(new Sample(metric + ".sum", tags, toMillis(sum)));
+            samples.add(new Sample(metric + ".max", tags, toMillis(max)));
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
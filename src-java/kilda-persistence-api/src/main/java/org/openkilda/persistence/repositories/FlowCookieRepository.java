@@ -35,4 +35,13 @@ public interface FlowCookieRepository extends Repository<FlowCookie> {
      * @return the found cookie value
      */
     Optional<Long> findFirstUnassignedCookie(long lowestCookieValue, long highestCookieValue);
+
+    /**
+     * Find cookie values which are assigned to flows within the range.
+     *
+     * @param lowestCookieValue the lowest value of the range (inclusive).
+     * @param highestCookieValue the highest value of the range (inclusive).
+     * @return the found cookie values
+     */
+    Collection<Long> findAssignedCookies(long lowestCookieValue, long highestCookieValue);
 }
@@ -45,4 +45,14 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      * @return the found meter ID
      */
     Optional<MeterId> findFirstUnassignedMeter(SwitchId switchId, MeterId lowestMeterId, MeterId highestMeterId);
+
+    /**
+     * Find meter IDs which are assigned to flows on the switch within the range.
+     *
+     * @param switchId the switch defines where the meters are applied on.
+     * @param lowestMeterId the lowest value of the range (inclusive).
+     * @param highestMeterId the highest value of the range (inclusive).
+     * @return the found meter IDs
+     */
+    Collection<MeterId> findAssignedMeters(SwitchId switchId, MeterId lowestMeterId, MeterId highestMeterId);
 }
@@ -23,6 +23,7 @@ import org.openkilda.model.SwitchId;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface FlowRepository extends Repository<Flow> {
     long countFlows();
@@ -32,6 +33,24 @@ public interface FlowRepository extends Repository<Flow> {
      */
     Collection<Flow> findAll();
 
+    /**
+     * Fetches a page of flows ordered by flow ID, starting after the specified flow ID.
+     *
+     * @param afterFlowId the last flow ID of the previous page, or null to fetch the first page.
+     * @param limit the maximum number of flows in the page.
+     */
+    Collection<Flow> findAll(String afterFlowId, int limit);
+
+    /**
+     * Streams all flows ordered by flow ID. The flows are fetched page by page together with their paths, segments
+     * and switches, so only the current page is held in memory and walking the relations doesn't query the storage.
+     * <p/>
+     * The stream must be consumed within the transaction (if any) it's created in.
+     *
+     * @param pageSize the number of flows fetched at once.
+     */
+    Stream<Flow> streamAll(int pageSize);
+
     boolean exists(String flowId);
 
     Optional<Flow> findById(String flowId);
@@ -42,6 +61,11 @@ public interface FlowRepository extends Repository<Flow> {
 
     Collection<Flow> findWithPeriodicPingsEnabled();
 
+    /**
+     * Streams flows with periodic pings enabled page by page, the same way as {@link #streamAll(int)}.
+     */
+    Stream<Flow> streamWithPeriodicPingsEnabled(int pageSize);
+
     Collection<Flow> findByEndpoint(SwitchId switchId, int port);
 
     /**
@@ -72,6 +96,11 @@ public interface FlowRepository extends Repository<Flow> {
 
     Collection<Flow> findInactiveFlows();
 
+    /**
+     * Streams inactive flows page by page, the same way as {@link #streamAll(int)}.
+     */
+    Stream<Flow> streamInactiveFlows(int pageSize);
+
     /**
      * Find flows by flow status.
      * <p/>
@@ -79,6 +108,12 @@ public interface FlowRepository extends Repository<Flow> {
      */
     Collection<Flow> findByFlowFilter(FlowFilter flowFilter);
 
+    /**
+     * Streams flows by flow status page by page, the same way as {@link #streamAll(int)}.
+     * Unlike {@link #findByFlowFilter(FlowFilter)}, the flows are completed with their paths.
+     */
+    Stream<Flow> streamByFlowFilter(FlowFilter flowFilter, int pageSize);
+
     Optional<String> getOrCreateFlowGroupId(String flowId);
 
     void updateStatus(String flowId, FlowStatus flowStatus);
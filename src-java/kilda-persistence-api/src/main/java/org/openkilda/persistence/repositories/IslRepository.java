@@ -68,6 +68,21 @@ public interface IslRepository extends Repository<Isl> {
     Collection<Isl> findActiveAndOccupiedByFlowPathWithAvailableBandwidth(PathId pathId, long requiredBandwidth,
                                                                           FlowEncapsulationType flowEncapsulationType);
 
+    /**
+     * Finds all active ISLs occupied by the flow paths, the same way as
+     * {@link #findActiveAndOccupiedByFlowPathWithAvailableBandwidth(PathId, long, FlowEncapsulationType)} does,
+     * but for several paths at once. Paths which ignore bandwidth are skipped.
+     * <p/>
+     * ISLs are returned in the order of the paths, an ISL occupied by several paths is returned for each of them.
+     *
+     * @param pathIds          the pathIds.
+     * @param requiredBandwidth required bandwidth amount that should be available on ISLs.
+     * @param flowEncapsulationType required encapsulation support
+     */
+    Collection<Isl> findActiveAndOccupiedByFlowPathsWithAvailableBandwidth(Collection<PathId> pathIds,
+                                                                           long requiredBandwidth,
+                                                                           FlowEncapsulationType flowEncapsulationType);
+
     /**
      * Finds all active ISLs.
      */
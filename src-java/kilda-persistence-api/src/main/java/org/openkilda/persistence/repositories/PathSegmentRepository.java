@@ -16,8 +16,22 @@
 package org.openkilda.persistence.repositories;
 
 import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathId;
 import org.openkilda.model.PathSegment;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface PathSegmentRepository extends Repository<PathSegment> {
     void updateFailedStatus(FlowPath path, PathSegment segment, boolean failed);
+
+    /**
+     * Finds segments of the paths, including their source and destination switches.
+     * <p/>
+     * Returned segments are detached and don't refer to the path entities.
+     *
+     * @return segments sorted by seqId per path id. Paths without segments are omitted.
+     */
+    Map<PathId, List<PathSegment>> findSegmentsByPathIds(Collection<PathId> pathIds);
 }
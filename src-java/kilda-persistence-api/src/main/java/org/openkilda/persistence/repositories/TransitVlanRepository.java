@@ -40,4 +40,13 @@ public interface TransitVlanRepository extends Repository<TransitVlan> {
      * @return the found transit vlan
      */
     Optional<Integer> findFirstUnassignedVlan(int lowestTransitVlan, int highestTransitVlan);
+
+    /**
+     * Find transit vlans which are assigned to flows within the range.
+     *
+     * @param lowestTransitVlan the lowest value of the range (inclusive).
+     * @param highestTransitVlan the highest value of the range (inclusive).
+     * @return the found transit vlans
+     */
+    Collection<Integer> findAssignedVlans(int lowestTransitVlan, int highestTransitVlan);
 }
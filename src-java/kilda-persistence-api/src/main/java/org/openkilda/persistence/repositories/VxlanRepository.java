@@ -36,4 +36,13 @@ public interface VxlanRepository extends Repository<Vxlan> {
      * @return the found vxvlan
      */
     Optional<Integer> findFirstUnassignedVxlan(int lowestVxlan, int highestVxlan);
+
+    /**
+     * Find vxlans which are assigned to flows within the range.
+     *
+     * @param lowestVxlan the lowest value of the range (inclusive).
+     * @param highestVxlan the highest value of the range (inclusive).
+     * @return the found vxlans
+     */
+    Collection<Integer> findAssignedVxlans(int lowestVxlan, int highestVxlan);
 }
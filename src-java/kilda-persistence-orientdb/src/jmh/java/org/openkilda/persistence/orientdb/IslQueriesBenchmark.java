@@ -0,0 +1,222 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.orientdb;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.NetworkConfig;
+import org.openkilda.persistence.PersistenceConfig;
+import org.openkilda.persistence.ferma.frames.IslFrame;
+import org.openkilda.persistence.ferma.frames.SwitchFrame;
+import org.openkilda.persistence.ferma.frames.SwitchPropertiesFrame;
+import org.openkilda.persistence.ferma.repositories.FermaIslRepository;
+import org.openkilda.persistence.orientdb.repositories.OrientDbRepositoryFactory;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.tx.TransactionManager;
+
+import org.apache.tinkerpop.gremlin.orientdb.OrientGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the native OrientDB queries of {@link org.openkilda.persistence.orientdb.repositories.OrientDbIslRepository}
+ * with the Gremlin traversals of {@link FermaIslRepository} they override, on an in-memory database with
+ * 5000 ISLs. A few switches and ISLs are inactive and some switches don't support VXLAN, so the queries have
+ * something to filter out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IslQueriesBenchmark {
+    private static final long SEED = 42L;
+    private static final int SWITCHES_COUNT = 500;
+    private static final int ISL_PAIRS_COUNT = 2500;
+    private static final long MAX_BANDWIDTH = 10_000_000L;
+    private static final long REQUIRED_BANDWIDTH = 1_000_000L;
+
+    @Param({"ALL_ACTIVE", "AVAILABLE_BANDWIDTH", "SYMMETRIC_AVAILABLE_BANDWIDTH"})
+    public Query query;
+
+    @Param({"TRANSIT_VLAN", "VXLAN"})
+    public FlowEncapsulationType encapsulationType;
+
+    private OrientDbGraphFactory graphFactory;
+    private IslRepository nativeRepository;
+    private IslRepository gremlinRepository;
+
+    /**
+     * Creates the database and persists the network.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("orientdb.url", "memory:isl-queries-benchmark");
+        properties.setProperty("orientdb.user", "admin");
+        properties.setProperty("orientdb.password", "admin");
+        PropertiesBasedConfigurationProvider configurationProvider
+                = new PropertiesBasedConfigurationProvider(properties);
+        PersistenceConfig persistenceConfig = configurationProvider.getConfiguration(PersistenceConfig.class);
+        NetworkConfig networkConfig = configurationProvider.getConfiguration(NetworkConfig.class);
+
+        ThreadLocalPersistenceContextHolder.INSTANCE.initContext();
+        graphFactory = new OrientDbGraphFactory(configurationProvider.getConfiguration(OrientDbConfig.class));
+        TransactionManager transactionManager = new OrientDbTransactionManager(graphFactory,
+                persistenceConfig.getTransactionRetriesLimit(), persistenceConfig.getTransactionRetriesMaxDelay());
+        OrientDbRepositoryFactory repositoryFactory = new OrientDbRepositoryFactory(graphFactory, transactionManager,
+                networkConfig);
+        nativeRepository = repositoryFactory.createIslRepository();
+        gremlinRepository = new FermaIslRepository(graphFactory, transactionManager, IslConfig.builder()
+                .unstableIslTimeout(Duration.ofSeconds(networkConfig.getIslUnstableTimeoutSec()))
+                .build());
+
+        createSchema();
+        transactionManager.doInTransaction(() -> persistNetwork(repositoryFactory.createSwitchRepository(),
+                repositoryFactory.createSwitchPropertiesRepository(), nativeRepository));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadLocalPersistenceContextHolder.INSTANCE.closeContext();
+    }
+
+    @Benchmark
+    public Collection<Isl> nativeQuery() {
+        return query.run(nativeRepository, encapsulationType);
+    }
+
+    @Benchmark
+    public Collection<Isl> gremlinQuery() {
+        return query.run(gremlinRepository, encapsulationType);
+    }
+
+    private void createSchema() {
+        OrientGraph graph = graphFactory.getOrientGraph();
+        graph.createVertexClass(SwitchFrame.FRAME_LABEL);
+        graph.createVertexClass(SwitchPropertiesFrame.FRAME_LABEL);
+        graph.createEdgeClass(SwitchPropertiesFrame.HAS_BY_EDGE);
+        graph.createEdgeClass(IslFrame.FRAME_LABEL);
+    }
+
+    private void persistNetwork(SwitchRepository switchRepository,
+                                SwitchPropertiesRepository switchPropertiesRepository, IslRepository islRepository) {
+        Random random = new Random(SEED);
+        List<Switch> switches = new ArrayList<>(SWITCHES_COUNT);
+        for (int i = 0; i < SWITCHES_COUNT; i++) {
+            Switch sw = Switch.builder()
+                    .switchId(new SwitchId(i + 1))
+                    .status(random.nextInt(50) == 0 ? SwitchStatus.INACTIVE : SwitchStatus.ACTIVE)
+                    .pop("pop" + i % 10)
+                    .build();
+            switchRepository.add(sw);
+            switchPropertiesRepository.add(SwitchProperties.builder()
+                    .switchObj(sw)
+                    .supportedTransitEncapsulation(random.nextInt(5) == 0
+                            ? EnumSet.of(FlowEncapsulationType.TRANSIT_VLAN)
+                            : EnumSet.of(FlowEncapsulationType.TRANSIT_VLAN, FlowEncapsulationType.VXLAN))
+                    .build());
+            switches.add(sw);
+        }
+
+        int[] nextPorts = new int[SWITCHES_COUNT];
+        for (int i = 0; i < ISL_PAIRS_COUNT; i++) {
+            int src = i % SWITCHES_COUNT;
+            int dst = (src + 1 + random.nextInt(SWITCHES_COUNT - 1)) % SWITCHES_COUNT;
+            int srcPort = ++nextPorts[src];
+            int dstPort = ++nextPorts[dst];
+            long availableBandwidth = (long) (random.nextDouble() * MAX_BANDWIDTH);
+            IslStatus status = random.nextInt(20) == 0 ? IslStatus.INACTIVE : IslStatus.ACTIVE;
+            islRepository.add(makeIsl(switches.get(src), srcPort, switches.get(dst), dstPort, availableBandwidth,
+                    status, random));
+            // The reverse ISL has the same status, but its available bandwidth may differ.
+            islRepository.add(makeIsl(switches.get(dst), dstPort, switches.get(src), srcPort,
+                    random.nextInt(4) == 0 ? (long) (random.nextDouble() * MAX_BANDWIDTH) : availableBandwidth,
+                    status, random));
+        }
+    }
+
+    private Isl makeIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort, long availableBandwidth,
+                        IslStatus status, Random random) {
+        return Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(dstSwitch)
+                .destPort(dstPort)
+                .status(status)
+                .actualStatus(status)
+                .cost(random.nextInt(1000))
+                .latency(random.nextInt(100_000))
+                .speed(MAX_BANDWIDTH)
+                .maxBandwidth(MAX_BANDWIDTH)
+                .defaultMaxBandwidth(MAX_BANDWIDTH)
+                .availableBandwidth(availableBandwidth)
+                .build();
+    }
+
+    public enum Query {
+        ALL_ACTIVE {
+            @Override
+            Collection<Isl> run(IslRepository repository, FlowEncapsulationType encapsulationType) {
+                return repository.findAllActiveByEncapsulationType(encapsulationType);
+            }
+        },
+        AVAILABLE_BANDWIDTH {
+            @Override
+            Collection<Isl> run(IslRepository repository, FlowEncapsulationType encapsulationType) {
+                return repository.findActiveWithAvailableBandwidth(REQUIRED_BANDWIDTH, encapsulationType);
+            }
+        },
+        SYMMETRIC_AVAILABLE_BANDWIDTH {
+            @Override
+            Collection<Isl> run(IslRepository repository, FlowEncapsulationType encapsulationType) {
+                return repository.findSymmetricActiveWithAvailableBandwidth(REQUIRED_BANDWIDTH, encapsulationType);
+            }
+        };
+
+        abstract Collection<Isl> run(IslRepository repository, FlowEncapsulationType encapsulationType);
+    }
+}
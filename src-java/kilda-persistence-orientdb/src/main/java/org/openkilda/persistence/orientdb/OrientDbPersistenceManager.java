@@ -18,6 +18,7 @@ package org.openkilda.persistence.orientdb;
 import org.openkilda.persistence.NetworkConfig;
 import org.openkilda.persistence.PersistenceConfig;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.metrics.PersistenceMetrics;
 import org.openkilda.persistence.orientdb.repositories.OrientDbRepositoryFactory;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.tx.TransactionManager;
@@ -59,6 +60,10 @@ public class OrientDbPersistenceManager implements PersistenceManager {
                 if (graphFactory == null) {
                     log.debug("Creating an instance of OrientDbGraphFactory for {}", config);
                     graphFactory = new OrientDbGraphFactory(config);
+                    // The graph factory is created lazily on the first use, which happens in the worker rather
+                    // than on topology submission, so the worker-wide setting takes effect from here.
+                    PersistenceMetrics.getInstance()
+                            .setSlowCallThresholdMillis(persistenceConfig.getSlowCallThreshold());
                 }
             }
         }
@@ -26,8 +26,10 @@ import org.openkilda.persistence.tx.TransactionManager;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResult;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * OrientDB implementation of {@link FlowCookieRepository}.
@@ -75,4 +77,18 @@ public class OrientDbFlowCookieRepository extends FermaFlowCookieRepository {
             return Optional.empty();
         }
     }
+
+    @Override
+    public Collection<Long> findAssignedCookies(long lowestCookieValue, long highestCookieValue) {
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
+                format("SELECT %s FROM %s WHERE %s >= ? AND %s <= ?",
+                        FlowCookieFrame.UNMASKED_COOKIE_PROPERTY, FlowCookieFrame.FRAME_LABEL,
+                        FlowCookieFrame.UNMASKED_COOKIE_PROPERTY, FlowCookieFrame.UNMASKED_COOKIE_PROPERTY),
+                lowestCookieValue, highestCookieValue)) {
+            return results.stream()
+                    .map(r -> r.getProperty(FlowCookieFrame.UNMASKED_COOKIE_PROPERTY))
+                    .map(cookie -> ((Number) cookie).longValue())
+                    .collect(Collectors.toList());
+        }
+    }
 }
@@ -30,8 +30,10 @@ import org.openkilda.persistence.tx.TransactionManager;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResult;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * OrientDB implementation of {@link FlowMeterRepository}.
@@ -89,4 +91,20 @@ public class OrientDbFlowMeterRepository extends FermaFlowMeterRepository {
             return Optional.empty();
         }
     }
+
+    @Override
+    public Collection<MeterId> findAssignedMeters(SwitchId switchId, MeterId lowestMeterId, MeterId highestMeterId) {
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
+                format("SELECT %s FROM %s WHERE %s = ? AND %s >= ? AND %s <= ?",
+                        FlowMeterFrame.METER_ID_PROPERTY, FlowMeterFrame.FRAME_LABEL, FlowMeterFrame.SWITCH_PROPERTY,
+                        FlowMeterFrame.METER_ID_PROPERTY, FlowMeterFrame.METER_ID_PROPERTY),
+                SwitchIdConverter.INSTANCE.toGraphProperty(switchId),
+                MeterIdConverter.INSTANCE.toGraphProperty(lowestMeterId),
+                MeterIdConverter.INSTANCE.toGraphProperty(highestMeterId))) {
+            return results.stream()
+                    .map(r -> r.getProperty(FlowMeterFrame.METER_ID_PROPERTY))
+                    .map(meterId -> new MeterId(((Number) meterId).longValue()))
+                    .collect(Collectors.toList());
+        }
+    }
 }
@@ -27,6 +27,10 @@ import org.openkilda.persistence.tx.TransactionManager;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * OrientDB implementation of {@link FlowRepository}.
  */
@@ -48,4 +52,31 @@ public class OrientDbFlowRepository extends FermaFlowRepository {
             return results.iterator().hasNext();
         }
     }
+
+    @Override
+    protected List<? extends FlowFrame> findFlowFramesPage(FlowPageFilter filter, String afterFlowId, int pageSize) {
+        // the range read over the ordered index of the flow ID fetches the page without ordering the rest of flows
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (afterFlowId != null) {
+            conditions.add(format("%s > ?", FlowFrame.FLOW_ID_PROPERTY));
+            params.add(afterFlowId);
+        }
+        if (filter.getProperty() != null) {
+            conditions.add(format("%s IN ?", filter.getProperty()));
+            params.add(filter.getValues());
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        params.add(pageSize);
+
+        List<String> flowIds;
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
+                format("SELECT %s FROM %s%s ORDER BY %s LIMIT ?", FlowFrame.FLOW_ID_PROPERTY,
+                        FlowFrame.FRAME_LABEL, where, FlowFrame.FLOW_ID_PROPERTY), params.toArray())) {
+            flowIds = results.stream()
+                    .map(row -> row.<String>getProperty(FlowFrame.FLOW_ID_PROPERTY))
+                    .collect(Collectors.toList());
+        }
+        return findFlowFramesByIds(flowIds);
+    }
 }
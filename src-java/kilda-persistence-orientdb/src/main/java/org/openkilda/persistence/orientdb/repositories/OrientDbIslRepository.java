@@ -17,23 +17,56 @@ package org.openkilda.persistence.orientdb.repositories;
 
 import static java.lang.String.format;
 
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
 import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.ferma.frames.IslFrame;
+import org.openkilda.persistence.ferma.frames.SwitchFrame;
+import org.openkilda.persistence.ferma.frames.SwitchPropertiesFrame;
+import org.openkilda.persistence.ferma.frames.converters.FlowEncapsulationTypeConverter;
+import org.openkilda.persistence.ferma.frames.converters.InstantStringConverter;
+import org.openkilda.persistence.ferma.frames.converters.IslStatusConverter;
 import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
+import org.openkilda.persistence.ferma.frames.converters.SwitchStatusConverter;
 import org.openkilda.persistence.ferma.repositories.FermaIslRepository;
 import org.openkilda.persistence.orientdb.OrientDbGraphFactory;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.tx.TransactionManager;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResult;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * OrientDB implementation of {@link IslRepository}.
+ * <p/>
+ * The queries used by the PCE are native MATCH statements: the join with active switches which support
+ * the encapsulation type and the ISL predicates are evaluated by the server, and only the columns used for path
+ * computation are returned. ISLs of these queries are detached entities built from the returned columns,
+ * the fields not used by the PCE are left unset.
  */
 @Slf4j
 public class OrientDbIslRepository extends FermaIslRepository {
+    private static final String SRC_SWITCH_ALIAS = "src_switch";
+    private static final String SRC_POP_ALIAS = "src_pop";
+    private static final String DST_SWITCH_ALIAS = "dst_switch";
+    private static final String DST_POP_ALIAS = "dst_pop";
+    private static final String POP_PROPERTY = "pop";
+    private static final String TIME_UNSTABLE_PROPERTY = "time_unstable";
+    private static final String UNDER_MAINTENANCE_PROPERTY = "under_maintenance";
+
     private final OrientDbGraphFactory orientDbGraphFactory;
 
     public OrientDbIslRepository(OrientDbGraphFactory orientDbGraphFactory,
@@ -44,13 +77,120 @@ public class OrientDbIslRepository extends FermaIslRepository {
 
     @Override
     public boolean existsByEndpoint(SwitchId switchId, int port) {
-        String switchIdAsStr = SwitchIdConverter.INSTANCE.toGraphProperty(switchId);
+        String endpoint = IslFrame.makeEndpointKey(switchId, port);
         try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
-                format("SELECT @rid FROM %s WHERE (%s = ? AND %s = ?) OR (%s = ? AND %s = ?) LIMIT 1",
-                        IslFrame.FRAME_LABEL, IslFrame.SRC_SWITCH_ID_PROPERTY, IslFrame.SRC_PORT_PROPERTY,
-                        IslFrame.DST_SWITCH_ID_PROPERTY, IslFrame.DST_PORT_PROPERTY),
-                switchIdAsStr, port, switchIdAsStr, port)) {
+                format("SELECT @rid FROM %s WHERE %s = ? OR %s = ? LIMIT 1",
+                        IslFrame.FRAME_LABEL, IslFrame.SRC_ENDPOINT_PROPERTY, IslFrame.DST_ENDPOINT_PROPERTY),
+                endpoint, endpoint)) {
             return results.iterator().hasNext();
         }
     }
+
+    @Override
+    public Collection<Isl> findAllActiveByEncapsulationType(FlowEncapsulationType flowEncapsulationType) {
+        return findActiveIsls(null, flowEncapsulationType);
+    }
+
+    @Override
+    public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                            FlowEncapsulationType flowEncapsulationType) {
+        return findActiveIsls(requiredBandwidth, flowEncapsulationType);
+    }
+
+    @Override
+    public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                     FlowEncapsulationType flowEncapsulationType) {
+        Map<IslEndpoints, Isl> isls = new HashMap<>();
+        for (Isl isl : findActiveIsls(requiredBandwidth, flowEncapsulationType)) {
+            isls.put(new IslEndpoints(SwitchIdConverter.INSTANCE.toGraphProperty(isl.getSrcSwitchId()),
+                    isl.getSrcPort(), SwitchIdConverter.INSTANCE.toGraphProperty(isl.getDestSwitchId()),
+                    isl.getDestPort()), isl);
+        }
+        return isls.entrySet().stream()
+                .filter(entry -> isls.containsKey(new IslEndpoints(
+                        entry.getKey().getDstSwitch(), entry.getKey().getDstPort(),
+                        entry.getKey().getSrcSwitch(), entry.getKey().getSrcPort())))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads active ISLs between active switches which support the encapsulation type.
+     *
+     * @param requiredBandwidth if not null, only ISLs with at least this available bandwidth are loaded.
+     */
+    private List<Isl> findActiveIsls(Long requiredBandwidth, FlowEncapsulationType flowEncapsulationType) {
+        String switchCondition = format("%s = ?", SwitchFrame.STATUS_PROPERTY);
+        // A single transit encapsulation may be stored as a plain value rather than a collection.
+        String propertiesNode = format(".out('%1$s'){class: %2$s, where: (%3$s CONTAINS ? OR %3$s = ?)}",
+                SwitchPropertiesFrame.HAS_BY_EDGE, SwitchPropertiesFrame.FRAME_LABEL,
+                SwitchPropertiesFrame.SUPPORTED_TRANSIT_ENCAPSULATION_PROPERTY);
+        String islCondition = format("%s = ?", IslFrame.STATUS_PROPERTY);
+        if (requiredBandwidth != null) {
+            islCondition += format(" AND %s >= ?", IslFrame.AVAILABLE_BANDWIDTH_PROPERTY);
+        }
+        String projection = Stream.of(IslFrame.SRC_PORT_PROPERTY, IslFrame.DST_PORT_PROPERTY, IslFrame.COST_PROPERTY,
+                IslFrame.LATENCY_PROPERTY, IslFrame.AVAILABLE_BANDWIDTH_PROPERTY, IslFrame.MAX_BANDWIDTH_PROPERTY,
+                UNDER_MAINTENANCE_PROPERTY, TIME_UNSTABLE_PROPERTY)
+                .map(property -> format("isl.%1$s AS %1$s", property))
+                .collect(Collectors.joining(", "));
+        String query = format("MATCH {class: %s, as: src, where: (%s)}%s, "
+                        + "{as: src}.outE('%s'){as: isl, where: (%s)}.inV(){as: dst, where: (%s)}%s "
+                        + "RETURN src.%s AS %s, src.%s AS %s, dst.%s AS %s, dst.%s AS %s, %s",
+                SwitchFrame.FRAME_LABEL, switchCondition, propertiesNode,
+                IslFrame.FRAME_LABEL, islCondition, switchCondition, propertiesNode,
+                SwitchFrame.SWITCH_ID_PROPERTY, SRC_SWITCH_ALIAS, POP_PROPERTY, SRC_POP_ALIAS,
+                SwitchFrame.SWITCH_ID_PROPERTY, DST_SWITCH_ALIAS, POP_PROPERTY, DST_POP_ALIAS, projection);
+
+        String switchStatus = SwitchStatusConverter.INSTANCE.toGraphProperty(SwitchStatus.ACTIVE);
+        String encapsulationType = FlowEncapsulationTypeConverter.INSTANCE.toGraphProperty(flowEncapsulationType);
+        List<Object> params = new ArrayList<>();
+        params.add(switchStatus);
+        params.add(encapsulationType);
+        params.add(encapsulationType);
+        params.add(IslStatusConverter.INSTANCE.toGraphProperty(IslStatus.ACTIVE));
+        if (requiredBandwidth != null) {
+            params.add(requiredBandwidth);
+        }
+        params.add(switchStatus);
+        params.add(encapsulationType);
+        params.add(encapsulationType);
+
+        Map<String, Switch> switches = new HashMap<>();
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(query, params.toArray())) {
+            return results.stream()
+                    .map(row -> addIslConfigToIsl(makeIsl(row, switches)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Isl makeIsl(OGremlinResult row, Map<String, Switch> switches) {
+        return Isl.builder()
+                .srcSwitch(makeSwitch(switches, row.getProperty(SRC_SWITCH_ALIAS), row.getProperty(SRC_POP_ALIAS)))
+                .destSwitch(makeSwitch(switches, row.getProperty(DST_SWITCH_ALIAS), row.getProperty(DST_POP_ALIAS)))
+                .srcPort(getNumber(row, IslFrame.SRC_PORT_PROPERTY).intValue())
+                .destPort(getNumber(row, IslFrame.DST_PORT_PROPERTY).intValue())
+                .cost(getNumber(row, IslFrame.COST_PROPERTY).intValue())
+                .latency(getNumber(row, IslFrame.LATENCY_PROPERTY).longValue())
+                .availableBandwidth(getNumber(row, IslFrame.AVAILABLE_BANDWIDTH_PROPERTY).longValue())
+                .maxBandwidth(getNumber(row, IslFrame.MAX_BANDWIDTH_PROPERTY).longValue())
+                .status(IslStatus.ACTIVE)
+                .underMaintenance(Boolean.TRUE.equals(row.getProperty(UNDER_MAINTENANCE_PROPERTY)))
+                .timeUnstable(InstantStringConverter.INSTANCE.toEntityAttribute(
+                        row.getProperty(TIME_UNSTABLE_PROPERTY)))
+                .build();
+    }
+
+    private Switch makeSwitch(Map<String, Switch> switches, String switchId, String pop) {
+        return switches.computeIfAbsent(switchId, key -> Switch.builder()
+                .switchId(SwitchIdConverter.INSTANCE.toEntityAttribute(key))
+                .status(SwitchStatus.ACTIVE)
+                .pop(pop)
+                .build());
+    }
+
+    private Number getNumber(OGremlinResult row, String property) {
+        Number value = row.getProperty(property);
+        return value != null ? value : 0;
+    }
 }
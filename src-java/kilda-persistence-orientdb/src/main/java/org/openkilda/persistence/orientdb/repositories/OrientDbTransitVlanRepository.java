@@ -26,8 +26,10 @@ import org.openkilda.persistence.tx.TransactionManager;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResult;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * OrientDB implementation of {@link TransitVlanRepository}.
@@ -75,4 +77,18 @@ public class OrientDbTransitVlanRepository extends FermaTransitVlanRepository {
             return Optional.empty();
         }
     }
+
+    @Override
+    public Collection<Integer> findAssignedVlans(int lowestTransitVlan, int highestTransitVlan) {
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
+                format("SELECT %s FROM %s WHERE %s >= ? AND %s <= ?",
+                        TransitVlanFrame.VLAN_PROPERTY, TransitVlanFrame.FRAME_LABEL,
+                        TransitVlanFrame.VLAN_PROPERTY, TransitVlanFrame.VLAN_PROPERTY),
+                lowestTransitVlan, highestTransitVlan)) {
+            return results.stream()
+                    .map(r -> r.getProperty(TransitVlanFrame.VLAN_PROPERTY))
+                    .map(vlan -> ((Number) vlan).intValue())
+                    .collect(Collectors.toList());
+        }
+    }
 }
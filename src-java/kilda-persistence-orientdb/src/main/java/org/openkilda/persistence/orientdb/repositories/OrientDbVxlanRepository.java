@@ -26,8 +26,10 @@ import org.openkilda.persistence.tx.TransactionManager;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResult;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * OrientDB implementation of {@link VxlanRepository}.
@@ -74,4 +76,18 @@ public class OrientDbVxlanRepository extends FermaVxlanRepository {
             return Optional.empty();
         }
     }
+
+    @Override
+    public Collection<Integer> findAssignedVxlans(int lowestVxlan, int highestVxlan) {
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
+                format("SELECT %s FROM %s WHERE %s >= ? AND %s <= ?",
+                        VxlanFrame.VNI_PROPERTY, VxlanFrame.FRAME_LABEL,
+                        VxlanFrame.VNI_PROPERTY, VxlanFrame.VNI_PROPERTY),
+                lowestVxlan, highestVxlan)) {
+            return results.stream()
+                    .map(r -> r.getProperty(VxlanFrame.VNI_PROPERTY))
+                    .map(vni -> ((Number) vni).intValue())
+                    .collect(Collectors.toList());
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.orientdb;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowFilter;
+import org.openkilda.model.FlowStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.NetworkConfig;
+import org.openkilda.persistence.PersistenceConfig;
+import org.openkilda.persistence.ferma.frames.FlowFrame;
+import org.openkilda.persistence.ferma.frames.FlowPathFrame;
+import org.openkilda.persistence.ferma.frames.SwitchFrame;
+import org.openkilda.persistence.ferma.repositories.FermaFlowRepository;
+import org.openkilda.persistence.orientdb.repositories.OrientDbRepositoryFactory;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.tx.TransactionManager;
+
+import org.apache.tinkerpop.gremlin.orientdb.OrientGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks the native OrientDB paging of {@link org.openkilda.persistence.orientdb.repositories.OrientDbFlowRepository}
+ * against the Gremlin traversals of {@link FermaFlowRepository} it overrides.
+ */
+public class OrientDbFlowRepositoryTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+
+    private static final List<Integer> PAGE_SIZES = Arrays.asList(1, 2, 3, 100);
+
+    private FlowRepository nativeRepository;
+    private FlowRepository gremlinRepository;
+
+    @Before
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("orientdb.url", "memory:flow-repository-test-" + UUID.randomUUID());
+        properties.setProperty("orientdb.user", "admin");
+        properties.setProperty("orientdb.password", "admin");
+        PropertiesBasedConfigurationProvider configurationProvider
+                = new PropertiesBasedConfigurationProvider(properties);
+        PersistenceConfig persistenceConfig = configurationProvider.getConfiguration(PersistenceConfig.class);
+
+        ThreadLocalPersistenceContextHolder.INSTANCE.initContext();
+        OrientDbGraphFactory graphFactory
+                = new OrientDbGraphFactory(configurationProvider.getConfiguration(OrientDbConfig.class));
+        TransactionManager transactionManager = new OrientDbTransactionManager(graphFactory,
+                persistenceConfig.getTransactionRetriesLimit(), persistenceConfig.getTransactionRetriesMaxDelay());
+        OrientDbRepositoryFactory repositoryFactory = new OrientDbRepositoryFactory(graphFactory, transactionManager,
+                configurationProvider.getConfiguration(NetworkConfig.class));
+        nativeRepository = repositoryFactory.createFlowRepository();
+        gremlinRepository = new FermaFlowRepository(graphFactory, repositoryFactory.createFlowPathRepository(),
+                transactionManager);
+
+        OrientGraph graph = graphFactory.getOrientGraph();
+        graph.createVertexClass(SwitchFrame.FRAME_LABEL);
+        graph.createVertexClass(FlowFrame.FRAME_LABEL);
+        graph.createVertexClass(FlowPathFrame.FRAME_LABEL);
+        graph.createEdgeClass(FlowFrame.OWNS_PATHS_EDGE);
+
+        transactionManager.doInTransaction(() -> persistFlows(repositoryFactory.createSwitchRepository()));
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalPersistenceContextHolder.INSTANCE.closeContext();
+    }
+
+    @Test
+    public void shouldStreamAllAsGremlin() {
+        assertSameFlows(repository -> repository::streamAll,
+                Arrays.asList("flow-a", "flow-b", "flow-c", "flow-d", "flow-e"));
+    }
+
+    @Test
+    public void shouldStreamInactiveFlowsAsGremlin() {
+        assertSameFlows(repository -> repository::streamInactiveFlows, Arrays.asList("flow-b", "flow-c", "flow-e"));
+    }
+
+    @Test
+    public void shouldStreamByFlowFilterAsGremlin() {
+        FlowFilter filter = FlowFilter.builder().flowStatus(FlowStatus.DOWN).build();
+        assertSameFlows(repository -> pageSize -> repository.streamByFlowFilter(filter, pageSize),
+                Arrays.asList("flow-b", "flow-e"));
+    }
+
+    @Test
+    public void shouldStreamWithPeriodicPingsEnabledAsGremlin() {
+        assertSameFlows(repository -> repository::streamWithPeriodicPingsEnabled, Arrays.asList("flow-a", "flow-d"));
+    }
+
+    private void assertSameFlows(Function<FlowRepository, Function<Integer, Stream<Flow>>> streamer,
+                                 List<String> expected) {
+        for (int pageSize : PAGE_SIZES) {
+            assertEquals(describe(streamer.apply(gremlinRepository).apply(pageSize)),
+                    describe(streamer.apply(nativeRepository).apply(pageSize)));
+            assertEquals(expected, describe(streamer.apply(nativeRepository).apply(pageSize)));
+        }
+    }
+
+    private List<String> describe(Stream<Flow> flows) {
+        return flows.map(Flow::getFlowId)
+                .collect(Collectors.toList());
+    }
+
+    private void persistFlows(SwitchRepository switchRepository) {
+        Switch switch1 = Switch.builder().switchId(SWITCH_ID_1).build();
+        switchRepository.add(switch1);
+        Switch switch2 = Switch.builder().switchId(SWITCH_ID_2).build();
+        switchRepository.add(switch2);
+
+        // added out of order to check the ordering of the pages
+        addFlow("flow-d", switch1, switch2, FlowStatus.UP, true);
+        addFlow("flow-b", switch1, switch2, FlowStatus.DOWN, false);
+        addFlow("flow-a", switch1, switch2, FlowStatus.UP, true);
+        addFlow("flow-e", switch2, switch1, FlowStatus.DOWN, false);
+        addFlow("flow-c", switch2, switch1, FlowStatus.DEGRADED, false);
+    }
+
+    private void addFlow(String flowId, Switch srcSwitch, Switch dstSwitch, FlowStatus status, boolean pings) {
+        nativeRepository.add(Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(srcSwitch)
+                .srcPort(1)
+                .destSwitch(dstSwitch)
+                .destPort(2)
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .status(status)
+                .periodicPings(pings)
+                .build());
+    }
+}
@@ -0,0 +1,301 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.orientdb;
+
+import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.NetworkConfig;
+import org.openkilda.persistence.PersistenceConfig;
+import org.openkilda.persistence.ferma.frames.IslFrame;
+import org.openkilda.persistence.ferma.frames.SwitchFrame;
+import org.openkilda.persistence.ferma.frames.SwitchPropertiesFrame;
+import org.openkilda.persistence.ferma.frames.converters.FlowEncapsulationTypeConverter;
+import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
+import org.openkilda.persistence.ferma.repositories.FermaIslRepository;
+import org.openkilda.persistence.orientdb.repositories.OrientDbRepositoryFactory;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.tx.TransactionManager;
+
+import org.apache.tinkerpop.gremlin.orientdb.OrientGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the native OrientDB queries of {@link org.openkilda.persistence.orientdb.repositories.OrientDbIslRepository}
+ * against the Gremlin traversals of {@link FermaIslRepository} they override.
+ */
+public class OrientDbIslRepositoryTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final SwitchId VLAN_ONLY_SWITCH_ID = new SwitchId(3);
+    private static final SwitchId INACTIVE_SWITCH_ID = new SwitchId(4);
+    private static final SwitchId SINGLE_VXLAN_SWITCH_ID = new SwitchId(5);
+    private static final SwitchId SINGLE_VLAN_SWITCH_ID = new SwitchId(6);
+
+    private static final long MAX_BANDWIDTH = 10_000L;
+    private static final long REQUIRED_BANDWIDTH = 1_000L;
+    private static final long LOW_BANDWIDTH = 100L;
+
+    private OrientDbGraphFactory graphFactory;
+    private IslRepository nativeRepository;
+    private IslRepository gremlinRepository;
+
+    private int nextCost = 1;
+
+    @Before
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("orientdb.url", "memory:isl-repository-test-" + UUID.randomUUID());
+        properties.setProperty("orientdb.user", "admin");
+        properties.setProperty("orientdb.password", "admin");
+        PropertiesBasedConfigurationProvider configurationProvider
+                = new PropertiesBasedConfigurationProvider(properties);
+        PersistenceConfig persistenceConfig = configurationProvider.getConfiguration(PersistenceConfig.class);
+        NetworkConfig networkConfig = configurationProvider.getConfiguration(NetworkConfig.class);
+
+        ThreadLocalPersistenceContextHolder.INSTANCE.initContext();
+        graphFactory = new OrientDbGraphFactory(configurationProvider.getConfiguration(OrientDbConfig.class));
+        TransactionManager transactionManager = new OrientDbTransactionManager(graphFactory,
+                persistenceConfig.getTransactionRetriesLimit(), persistenceConfig.getTransactionRetriesMaxDelay());
+        OrientDbRepositoryFactory repositoryFactory = new OrientDbRepositoryFactory(graphFactory, transactionManager,
+                networkConfig);
+        nativeRepository = repositoryFactory.createIslRepository();
+        gremlinRepository = new FermaIslRepository(graphFactory, transactionManager, IslConfig.builder()
+                .unstableIslTimeout(Duration.ofSeconds(networkConfig.getIslUnstableTimeoutSec()))
+                .build());
+
+        createSchema();
+        transactionManager.doInTransaction(() -> persistNetwork(repositoryFactory.createSwitchRepository(),
+                repositoryFactory.createSwitchPropertiesRepository()));
+        transactionManager.doInTransaction(() -> {
+            // a single transit encapsulation may be stored as a plain value rather than a collection
+            setSingleEncapsulation(SINGLE_VXLAN_SWITCH_ID, FlowEncapsulationType.VXLAN);
+            setSingleEncapsulation(SINGLE_VLAN_SWITCH_ID, FlowEncapsulationType.TRANSIT_VLAN);
+        });
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalPersistenceContextHolder.INSTANCE.closeContext();
+    }
+
+    @Test
+    public void shouldFindAllActiveByEncapsulationTypeAsGremlin() {
+        for (FlowEncapsulationType encapsulationType : FlowEncapsulationType.values()) {
+            assertSameIsls(gremlinRepository.findAllActiveByEncapsulationType(encapsulationType),
+                    nativeRepository.findAllActiveByEncapsulationType(encapsulationType));
+        }
+
+        List<String> vxlan = describe(nativeRepository.findAllActiveByEncapsulationType(FlowEncapsulationType.VXLAN));
+        assertTrue(containsIsl(vxlan, SWITCH_ID_2, SINGLE_VXLAN_SWITCH_ID));
+        assertFalse(containsIsl(vxlan, SWITCH_ID_2, SINGLE_VLAN_SWITCH_ID));
+        assertFalse(containsIsl(vxlan, SWITCH_ID_1, VLAN_ONLY_SWITCH_ID));
+        assertFalse(containsIsl(vxlan, SWITCH_ID_1, INACTIVE_SWITCH_ID));
+
+        List<String> vlan = describe(
+                nativeRepository.findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN));
+        assertTrue(containsIsl(vlan, SWITCH_ID_2, SINGLE_VLAN_SWITCH_ID));
+        assertTrue(containsIsl(vlan, SWITCH_ID_1, VLAN_ONLY_SWITCH_ID));
+        assertFalse(containsIsl(vlan, SWITCH_ID_1, INACTIVE_SWITCH_ID));
+    }
+
+    @Test
+    public void shouldFindActiveWithAvailableBandwidthAsGremlin() {
+        for (FlowEncapsulationType encapsulationType : FlowEncapsulationType.values()) {
+            assertSameIsls(gremlinRepository.findActiveWithAvailableBandwidth(REQUIRED_BANDWIDTH, encapsulationType),
+                    nativeRepository.findActiveWithAvailableBandwidth(REQUIRED_BANDWIDTH, encapsulationType));
+        }
+
+        List<String> isls = describe(nativeRepository.findActiveWithAvailableBandwidth(
+                REQUIRED_BANDWIDTH, FlowEncapsulationType.TRANSIT_VLAN));
+        assertTrue(containsIsl(isls, SWITCH_ID_2, SWITCH_ID_1, 6));
+        assertFalse(containsIsl(isls, SWITCH_ID_1, SWITCH_ID_2, 6));
+        assertTrue(containsIsl(isls, SWITCH_ID_1, SWITCH_ID_2, 8));
+    }
+
+    @Test
+    public void shouldFindSymmetricActiveWithAvailableBandwidthAsGremlin() {
+        for (FlowEncapsulationType encapsulationType : FlowEncapsulationType.values()) {
+            assertSameIsls(
+                    gremlinRepository.findSymmetricActiveWithAvailableBandwidth(REQUIRED_BANDWIDTH, encapsulationType),
+                    nativeRepository.findSymmetricActiveWithAvailableBandwidth(REQUIRED_BANDWIDTH, encapsulationType));
+        }
+
+        List<String> isls = describe(nativeRepository.findSymmetricActiveWithAvailableBandwidth(
+                REQUIRED_BANDWIDTH, FlowEncapsulationType.TRANSIT_VLAN));
+        assertTrue(containsIsl(isls, SWITCH_ID_1, SWITCH_ID_2, 1));
+        assertFalse(containsIsl(isls, SWITCH_ID_2, SWITCH_ID_1, 5));
+        assertFalse(containsIsl(isls, SWITCH_ID_2, SWITCH_ID_1, 6));
+        assertFalse(containsIsl(isls, SWITCH_ID_1, SWITCH_ID_2, 8));
+    }
+
+    private void assertSameIsls(Collection<Isl> expected, Collection<Isl> actual) {
+        List<String> actualIsls = describe(actual);
+        assertEquals(describe(expected), actualIsls);
+        Set<String> uniqueIsls = new HashSet<>(actualIsls);
+        assertEquals("ISLs must not be duplicated", uniqueIsls.size(), actualIsls.size());
+    }
+
+    private List<String> describe(Collection<Isl> isls) {
+        return isls.stream()
+                .map(isl -> format("%s_%d(%s) -> %s_%d(%s) cost=%d latency=%d available=%d max=%d maintenance=%s "
+                                + "unstable=%s",
+                        isl.getSrcSwitchId(), isl.getSrcPort(), isl.getSrcSwitch().getPop(),
+                        isl.getDestSwitchId(), isl.getDestPort(), isl.getDestSwitch().getPop(),
+                        isl.getCost(), isl.getLatency(), isl.getAvailableBandwidth(), isl.getMaxBandwidth(),
+                        isl.isUnderMaintenance(), isl.getTimeUnstable()))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private boolean containsIsl(List<String> isls, SwitchId srcSwitch, SwitchId dstSwitch) {
+        return isls.stream().anyMatch(isl -> isl.startsWith(srcSwitch + "_") && isl.contains("-> " + dstSwitch + "_"));
+    }
+
+    private boolean containsIsl(List<String> isls, SwitchId srcSwitch, SwitchId dstSwitch, int srcPort) {
+        return isls.stream().anyMatch(isl -> isl.startsWith(srcSwitch + "_" + srcPort + "(")
+                && isl.contains("-> " + dstSwitch + "_"));
+    }
+
+    private void createSchema() {
+        OrientGraph graph = graphFactory.getOrientGraph();
+        graph.createVertexClass(SwitchFrame.FRAME_LABEL);
+        graph.createVertexClass(SwitchPropertiesFrame.FRAME_LABEL);
+        graph.createEdgeClass(SwitchPropertiesFrame.HAS_BY_EDGE);
+        graph.createEdgeClass(IslFrame.FRAME_LABEL);
+    }
+
+    private void persistNetwork(SwitchRepository switchRepository,
+                                SwitchPropertiesRepository switchPropertiesRepository) {
+        Set<FlowEncapsulationType> allEncapsulations
+                = EnumSet.of(FlowEncapsulationType.TRANSIT_VLAN, FlowEncapsulationType.VXLAN);
+        Switch switch1 = makeSwitch(switchRepository, switchPropertiesRepository, SWITCH_ID_1, SwitchStatus.ACTIVE,
+                allEncapsulations);
+        Switch switch2 = makeSwitch(switchRepository, switchPropertiesRepository, SWITCH_ID_2, SwitchStatus.ACTIVE,
+                allEncapsulations);
+        Switch vlanOnlySwitch = makeSwitch(switchRepository, switchPropertiesRepository, VLAN_ONLY_SWITCH_ID,
+                SwitchStatus.ACTIVE, EnumSet.of(FlowEncapsulationType.TRANSIT_VLAN));
+        Switch inactiveSwitch = makeSwitch(switchRepository, switchPropertiesRepository, INACTIVE_SWITCH_ID,
+                SwitchStatus.INACTIVE, allEncapsulations);
+        Switch singleVxlanSwitch = makeSwitch(switchRepository, switchPropertiesRepository, SINGLE_VXLAN_SWITCH_ID,
+                SwitchStatus.ACTIVE, allEncapsulations);
+        Switch singleVlanSwitch = makeSwitch(switchRepository, switchPropertiesRepository, SINGLE_VLAN_SWITCH_ID,
+                SwitchStatus.ACTIVE, allEncapsulations);
+
+        // parallel ISLs between the same switches
+        addIslPair(switch1, 1, switch2, 1, MAX_BANDWIDTH, MAX_BANDWIDTH, IslStatus.ACTIVE, IslStatus.ACTIVE);
+        addIslPair(switch1, 2, switch2, 2, REQUIRED_BANDWIDTH, REQUIRED_BANDWIDTH, IslStatus.ACTIVE, IslStatus.ACTIVE);
+        addIslPair(switch1, 3, vlanOnlySwitch, 1, MAX_BANDWIDTH, MAX_BANDWIDTH, IslStatus.ACTIVE, IslStatus.ACTIVE);
+        addIslPair(switch1, 4, inactiveSwitch, 1, MAX_BANDWIDTH, MAX_BANDWIDTH, IslStatus.ACTIVE, IslStatus.ACTIVE);
+        addIslPair(switch2, 3, singleVxlanSwitch, 1, MAX_BANDWIDTH, MAX_BANDWIDTH,
+                IslStatus.ACTIVE, IslStatus.ACTIVE);
+        addIslPair(switch2, 4, singleVlanSwitch, 1, MAX_BANDWIDTH, MAX_BANDWIDTH,
+                IslStatus.ACTIVE, IslStatus.ACTIVE);
+        // asymmetric status
+        addIslPair(switch1, 5, switch2, 5, MAX_BANDWIDTH, MAX_BANDWIDTH, IslStatus.INACTIVE, IslStatus.ACTIVE);
+        // asymmetric available bandwidth
+        addIslPair(switch1, 6, switch2, 6, LOW_BANDWIDTH, MAX_BANDWIDTH, IslStatus.ACTIVE, IslStatus.ACTIVE);
+        // a single direction only
+        addIsl(switch1, 8, switch2, 8, MAX_BANDWIDTH, IslStatus.ACTIVE);
+        // an ISL under maintenance which was unstable recently
+        Isl unstable = makeIsl(switch1, 7, switch2, 7, MAX_BANDWIDTH, IslStatus.ACTIVE);
+        unstable.setUnderMaintenance(true);
+        unstable.setTimeUnstable(Instant.parse("2020-01-01T00:00:00Z"));
+        nativeRepository.add(unstable);
+        addIsl(switch2, 7, switch1, 7, MAX_BANDWIDTH, IslStatus.ACTIVE);
+    }
+
+    private Switch makeSwitch(SwitchRepository switchRepository, SwitchPropertiesRepository switchPropertiesRepository,
+                              SwitchId switchId, SwitchStatus status, Set<FlowEncapsulationType> encapsulations) {
+        Switch sw = Switch.builder()
+                .switchId(switchId)
+                .status(status)
+                .pop("pop" + switchId.toLong())
+                .build();
+        switchRepository.add(sw);
+        switchPropertiesRepository.add(SwitchProperties.builder()
+                .switchObj(sw)
+                .supportedTransitEncapsulation(encapsulations)
+                .build());
+        return sw;
+    }
+
+    private void setSingleEncapsulation(SwitchId switchId, FlowEncapsulationType encapsulationType) {
+        graphFactory.getOrientGraph().traversal().V()
+                .hasLabel(SwitchPropertiesFrame.FRAME_LABEL)
+                .has(SwitchPropertiesFrame.SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
+                .next()
+                .property(SwitchPropertiesFrame.SUPPORTED_TRANSIT_ENCAPSULATION_PROPERTY,
+                        FlowEncapsulationTypeConverter.INSTANCE.toGraphProperty(encapsulationType));
+    }
+
+    private void addIslPair(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort,
+                            long forwardBandwidth, long reverseBandwidth, IslStatus forwardStatus,
+                            IslStatus reverseStatus) {
+        addIsl(srcSwitch, srcPort, dstSwitch, dstPort, forwardBandwidth, forwardStatus);
+        addIsl(dstSwitch, dstPort, srcSwitch, srcPort, reverseBandwidth, reverseStatus);
+    }
+
+    private void addIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort, long availableBandwidth,
+                        IslStatus status) {
+        nativeRepository.add(makeIsl(srcSwitch, srcPort, dstSwitch, dstPort, availableBandwidth, status));
+    }
+
+    private Isl makeIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort, long availableBandwidth,
+                        IslStatus status) {
+        int cost = nextCost++;
+        return Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(dstSwitch)
+                .destPort(dstPort)
+                .status(status)
+                .actualStatus(status)
+                .cost(cost)
+                .latency(cost * 10L)
+                .speed(MAX_BANDWIDTH)
+                .maxBandwidth(MAX_BANDWIDTH)
+                .defaultMaxBandwidth(MAX_BANDWIDTH)
+                .availableBandwidth(availableBandwidth)
+                .build();
+    }
+}
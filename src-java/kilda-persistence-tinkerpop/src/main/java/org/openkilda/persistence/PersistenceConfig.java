@@ -31,4 +31,12 @@ public interface PersistenceConfig extends Serializable {
     @Key("transaction.retries.maxdelay")
     @Default("50")
     int getTransactionRetriesMaxDelay();
+
+    /**
+     * Repository calls which take longer (in milliseconds) are logged along with their traversals, 0 disables
+     * the log.
+     */
+    @Key("slow.call.threshold")
+    @Default("1000")
+    long getSlowCallThreshold();
 }
@@ -18,13 +18,13 @@ package org.openkilda.persistence.ferma;
 import org.openkilda.persistence.context.PersistenceContextRequired;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.exceptions.RecoverablePersistenceException;
+import org.openkilda.persistence.metrics.PersistenceMetrics;
 import org.openkilda.persistence.tx.TransactionCallback;
 import org.openkilda.persistence.tx.TransactionCallbackWithoutResult;
 import org.openkilda.persistence.tx.TransactionManager;
 
 import com.syncleus.ferma.DelegatingFramedGraph;
 import com.syncleus.ferma.WrappedTransaction;
-import com.syncleus.ferma.tx.AbstractTx;
 import com.syncleus.ferma.tx.Tx;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -107,7 +107,11 @@ public class FermaTransactionManager implements TransactionManager {
     private <T> T execute(RetryPolicy retryPolicy, Callable<T> action) {
         try {
             return Failsafe.with(retryPolicy)
-                    .onRetry(e -> log.debug("Failure in transaction. Retrying...", e))
+                    .onRetry(e -> {
+                        PersistenceMetrics.getInstance().recordRetry();
+                        log.info("Failure in transaction. Retrying... ({})", e.toString());
+                        log.debug("Failure in transaction", e);
+                    })
                     .onRetriesExceeded(e -> log.error("Failure in transaction. No more retries", e))
                     .get(() -> execute(action));
         } catch (FailsafeException ex) {
@@ -170,26 +174,7 @@ public class FermaTransactionManager implements TransactionManager {
     }
 
     private Tx openNewTransaction(DelegatingFramedGraph<?> graph) {
-        Tx tx = new AbstractTx(graph.getBaseGraph().tx(), graph) {
-            private Boolean isSuccess = null;
-
-            @Override
-            public void success() {
-                if (isSuccess == null) {
-                    isSuccess = true;
-                }
-            }
-
-            @Override
-            public void failure() {
-                isSuccess = false;
-            }
-
-            @Override
-            protected boolean isSuccess() {
-                return isSuccess != null ? isSuccess : false;
-            }
-        };
+        Tx tx = new FermaTx(graph.getBaseGraph().tx(), graph);
         if (tx.isOpen()) {
             throw new PersistenceException("Attempt to reopen transaction: " + tx);
         }
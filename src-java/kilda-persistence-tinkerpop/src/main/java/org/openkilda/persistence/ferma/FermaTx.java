@@ -0,0 +1,75 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.ferma;
+
+import org.openkilda.persistence.metrics.PersistenceMetrics;
+
+import com.syncleus.ferma.WrappedFramedGraph;
+import com.syncleus.ferma.tx.AbstractTx;
+import com.syncleus.ferma.tx.FramedTxGraph;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+
+/**
+ * A transaction opened by {@link FermaTransactionManager}. It's committed only if marked as succeeded and never
+ * marked as failed, and holds the {@link FrameCache} of the transaction. The duration and the outcome of the
+ * transaction are recorded to {@link PersistenceMetrics} on close.
+ */
+@Slf4j
+class FermaTx extends AbstractTx<FramedTxGraph> {
+    @Getter
+    private final FrameCache frameCache = new FrameCache();
+    private Boolean isSuccess = null;
+    private final long createdAt = System.nanoTime();
+
+    FermaTx(Transaction delegate, WrappedFramedGraph<? extends Graph> parentGraph) {
+        super(delegate, parentGraph);
+    }
+
+    @Override
+    public void success() {
+        if (isSuccess == null) {
+            isSuccess = true;
+        }
+    }
+
+    @Override
+    public void failure() {
+        isSuccess = false;
+        frameCache.invalidate();
+    }
+
+    @Override
+    protected boolean isSuccess() {
+        return isSuccess != null ? isSuccess : false;
+    }
+
+    @Override
+    public void close() {
+        log.debug("The frame cache of the transaction {}: {} hits, {} misses", this, frameCache.getHits(),
+                frameCache.getMisses());
+        frameCache.invalidate();
+        boolean committed = false;
+        try {
+            super.close();
+            committed = isSuccess();
+        } finally {
+            PersistenceMetrics.getInstance().recordTransaction(System.nanoTime() - createdAt, committed);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.ferma;
+
+import com.syncleus.ferma.VertexFrame;
+import com.syncleus.ferma.tx.Tx;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A first-level cache of vertex frames bound to a transaction. Repeated lookups of an entity within the transaction
+ * return the same frame, so the relations the frame has already traversed (paths, segments, switches, etc.) are
+ * served from memory as well.
+ * <p/>
+ * Frames read their properties from the graph, so property updates don't affect the cache. Changes of entities and
+ * their relations (adding, removing, linking) invalidate the whole cache, as well as a rollback.
+ * <p/>
+ * The cache is not thread-safe, a transaction is bound to a thread.
+ */
+public class FrameCache {
+    private final Map<Class<?>, Map<Object, VertexFrame>> frames = new HashMap<>();
+
+    @Getter
+    private long hits;
+    @Getter
+    private long misses;
+
+    /**
+     * Returns the cache of the active transaction, or empty if there's no active transaction.
+     */
+    public static Optional<FrameCache> active() {
+        Tx activeTx = Tx.getActive();
+        return activeTx instanceof FermaTx ? Optional.of(((FermaTx) activeTx).getFrameCache()) : Optional.empty();
+    }
+
+    /**
+     * Looks the frame up in the cache of the active transaction, or just loads it if there's no active transaction.
+     */
+    public static <F extends VertexFrame> Optional<F> lookup(Class<F> frameClass, Object key,
+                                                             Supplier<Optional<F>> loader) {
+        Optional<FrameCache> cache = active();
+        return cache.isPresent() ? cache.get().get(frameClass, key, loader) : loader.get();
+    }
+
+    /**
+     * Invalidates the cache of the active transaction, if there is one.
+     */
+    public static void invalidateActive() {
+        active().ifPresent(FrameCache::invalidate);
+    }
+
+    /**
+     * Returns the cached frame of the entity with the key, or loads the frame and caches it. Entities which are not
+     * found, as well as null keys, are not cached.
+     */
+    public <F extends VertexFrame> Optional<F> get(Class<F> frameClass, Object key, Supplier<Optional<F>> loader) {
+        if (key == null) {
+            misses++;
+            return loader.get();
+        }
+        VertexFrame frame = framesOf(frameClass).get(key);
+        if (frame != null) {
+            hits++;
+            return Optional.of(frameClass.cast(frame));
+        }
+        misses++;
+        Optional<F> result = loader.get();
+        result.ifPresent(loaded -> framesOf(frameClass).put(key, loaded));
+        return result;
+    }
+
+    /**
+     * Returns the cached frame of the entity with the key if there's one, otherwise caches the provided frame.
+     * Unlike {@link #get(Class, Object, Supplier)}, it's used for frames which have already been loaded.
+     */
+    public <F extends VertexFrame> F intern(Class<F> frameClass, Object key, F frame) {
+        return frameClass.cast(framesOf(frameClass).computeIfAbsent(key, k -> frame));
+    }
+
+    /**
+     * Drops all cached frames.
+     */
+    public void invalidate() {
+        frames.clear();
+    }
+
+    private Map<Object, VertexFrame> framesOf(Class<?> frameClass) {
+        return frames.computeIfAbsent(frameClass, k -> new HashMap<>());
+    }
+}
@@ -0,0 +1,117 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.ferma;
+
+import org.openkilda.model.CompositeDataEntity;
+import org.openkilda.persistence.metrics.PersistenceMetrics;
+
+import com.syncleus.ferma.Traversable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An aspect which times repository calls and records them to {@link PersistenceMetrics}. The calls which take longer
+ * than {@link PersistenceMetrics#getSlowCallThresholdMillis()} are logged along with the Gremlin bytecode of the
+ * traversals they built.
+ * <p/>
+ * Only the outermost repository call is recorded, so a call isn't counted twice when a repository method delegates
+ * to another one. A method returning a stream is timed until the stream is returned, not until it's consumed.
+ */
+@Aspect
+@Slf4j
+public class RepositoryCallInspector {
+    private static final int MAX_LOGGED_TRAVERSALS = 20;
+
+    private static final ThreadLocal<List<Bytecode>> traversals = new ThreadLocal<>();
+
+    @Pointcut("execution(public !static * org.openkilda.persistence.repositories.Repository+.*(..))"
+            + " && within(org.openkilda.persistence..*)")
+    public void repositoryCall() {
+    }
+
+    /**
+     * Times the outermost repository call and collects the traversals built within it.
+     */
+    @Around("repositoryCall() && !cflowbelow(repositoryCall())")
+    public Object aroundRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        PersistenceMetrics metrics = PersistenceMetrics.getInstance();
+        long slowCallThreshold = metrics.getSlowCallThresholdMillis();
+        List<Bytecode> builtTraversals = slowCallThreshold > 0 ? new ArrayList<>() : null;
+        traversals.set(builtTraversals);
+
+        long startedAt = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long duration = System.nanoTime() - startedAt;
+            traversals.remove();
+
+            String repository = joinPoint.getTarget().getClass().getSimpleName();
+            String method = joinPoint.getSignature().getName();
+            metrics.recordRepositoryCall(repository, method, duration, countRows(result), failed);
+            if (builtTraversals != null && duration > TimeUnit.MILLISECONDS.toNanos(slowCallThreshold)) {
+                log.warn("Slow repository call {}.{} took {} ms, traversals: {}", repository, method,
+                        TimeUnit.NANOSECONDS.toMillis(duration), builtTraversals);
+            }
+        }
+    }
+
+    /**
+     * Collects a traversal built within a repository call. The bytecode is kept by reference, so the steps added
+     * to the traversal after it's built are logged as well.
+     */
+    @AfterReturning(pointcut = "call(* com.syncleus.ferma.FramedGraph+.traverse(..))"
+            + " && within(org.openkilda.persistence..*)", returning = "traversable")
+    public void afterTraverse(Traversable<?, ?> traversable) {
+        List<Bytecode> builtTraversals = traversals.get();
+        if (builtTraversals != null && traversable != null && builtTraversals.size() < MAX_LOGGED_TRAVERSALS) {
+            builtTraversals.add(traversable.getRawTraversal().asAdmin().getBytecode());
+        }
+    }
+
+    /**
+     * Counts the entities returned by a repository method, or returns -1 if the result is not countable (e.g. void
+     * or a stream).
+     */
+    static long countRows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else if (result instanceof CompositeDataEntity) {
+            return 1;
+        }
+        return -1;
+    }
+}
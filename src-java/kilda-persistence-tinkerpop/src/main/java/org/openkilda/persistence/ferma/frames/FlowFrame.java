@@ -18,15 +18,18 @@ package org.openkilda.persistence.ferma.frames;
 import static java.lang.String.format;
 
 import org.openkilda.model.DetectConnectedDevices;
+import org.openkilda.model.Flow;
 import org.openkilda.model.Flow.FlowData;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.exceptions.PersistenceException;
+import org.openkilda.persistence.ferma.FrameCache;
 import org.openkilda.persistence.ferma.frames.converters.Convert;
 import org.openkilda.persistence.ferma.frames.converters.FlowEncapsulationTypeConverter;
 import org.openkilda.persistence.ferma.frames.converters.FlowStatusConverter;
@@ -34,15 +37,22 @@ import org.openkilda.persistence.ferma.frames.converters.PathComputationStrategy
 import org.openkilda.persistence.ferma.frames.converters.PathIdConverter;
 import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
 
+import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.VertexFrame;
 import com.syncleus.ferma.annotations.Property;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -454,6 +464,7 @@ public abstract class FlowFrame extends KildaBaseVertexFrame implements FlowData
             paths = traverse(v -> v.out(OWNS_PATHS_EDGE)
                     .hasLabel(FlowPathFrame.FRAME_LABEL))
                     .toListExplicit(FlowPathFrame.class).stream()
+                    .map(this::internPathFrame)
                     .map(FlowPath::new)
                     .collect(Collectors.toList());
         }
@@ -492,7 +503,8 @@ public abstract class FlowFrame extends KildaBaseVertexFrame implements FlowData
                 .hasLabel(FlowPathFrame.FRAME_LABEL)
                 .has(FlowPathFrame.PATH_ID_PROPERTY, PathIdConverter.INSTANCE.toGraphProperty(pathId)))
                 .toListExplicit(FlowPathFrame.class);
-        return flowPathFrames.isEmpty() ? Optional.empty() : Optional.of(flowPathFrames.get(0)).map(FlowPath::new);
+        return flowPathFrames.isEmpty() ? Optional.empty() : Optional.of(internPathFrame(flowPathFrames.get(0)))
+                .map(FlowPath::new);
     }
 
     @Override
@@ -538,4 +550,109 @@ public abstract class FlowFrame extends KildaBaseVertexFrame implements FlowData
         // force to reload
         this.paths = null;
     }
+
+    /**
+     * Loads the flow frame, the frame is shared within a transaction via {@link FrameCache}.
+     */
+    public static Optional<FlowFrame> load(FramedGraph graph, String flowId) {
+        return FrameCache.lookup(FlowFrame.class, flowId, () -> {
+            List<? extends FlowFrame> flowFrames = graph.traverse(input -> input.V()
+                    .hasLabel(FRAME_LABEL)
+                    .has(FLOW_ID_PROPERTY, flowId))
+                    .toListExplicit(FlowFrame.class);
+            return flowFrames.isEmpty() ? Optional.empty() : Optional.of(flowFrames.get(0));
+        });
+    }
+
+    /**
+     * Loads the paths of the flows, the segments of the paths and the switches they refer to with a traversal per
+     * kind of entity, and caches them in the frames. So walking the relations of the flows doesn't cost a traversal
+     * per relation. A switch which can't be found is left to the lazy lookup.
+     */
+    public static void loadRelations(FramedGraph graph, Collection<? extends FlowFrame> flowFrames) {
+        if (flowFrames.isEmpty()) {
+            return;
+        }
+
+        List<? extends FlowPathFrame> pathFrames = graph.traverse(g -> g.V(vertexIds(flowFrames))
+                .out(OWNS_PATHS_EDGE)
+                .hasLabel(FlowPathFrame.FRAME_LABEL))
+                .toListExplicit(FlowPathFrame.class);
+        List<? extends PathSegmentFrame> segmentFrames = pathFrames.isEmpty() ? new ArrayList<>()
+                : graph.traverse(g -> g.V(vertexIds(pathFrames))
+                .out(FlowPathFrame.OWNS_SEGMENTS_EDGE)
+                .hasLabel(PathSegmentFrame.FRAME_LABEL))
+                .toListExplicit(PathSegmentFrame.class);
+
+        Set<String> switchIds = new HashSet<>();
+        flowFrames.forEach(frame -> {
+            switchIds.add(frame.getProperty(SRC_SWITCH_ID_PROPERTY));
+            switchIds.add(frame.getProperty(DST_SWITCH_ID_PROPERTY));
+        });
+        pathFrames.forEach(frame -> {
+            switchIds.add(frame.getProperty(FlowPathFrame.SRC_SWITCH_ID_PROPERTY));
+            switchIds.add(frame.getProperty(FlowPathFrame.DST_SWITCH_ID_PROPERTY));
+        });
+        segmentFrames.forEach(frame -> {
+            switchIds.add(frame.getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY));
+            switchIds.add(frame.getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY));
+        });
+        switchIds.remove(null);
+        Map<String, Switch> switches = new HashMap<>();
+        graph.traverse(g -> g.V()
+                .hasLabel(SwitchFrame.FRAME_LABEL)
+                .has(SwitchFrame.SWITCH_ID_PROPERTY, P.within(switchIds)))
+                .toListExplicit(SwitchFrame.class)
+                .forEach(frame -> switches.put(frame.getProperty(SwitchFrame.SWITCH_ID_PROPERTY), new Switch(frame)));
+
+        Map<String, Flow> flows = new HashMap<>();
+        flowFrames.forEach(frame -> flows.put(frame.getProperty(FLOW_ID_PROPERTY), new Flow(frame)));
+        Map<String, FlowPath> paths = new HashMap<>();
+        Map<String, List<FlowPath>> pathsByFlow = new HashMap<>();
+        pathFrames.forEach(frame -> {
+            FlowPath path = new FlowPath(frame);
+            paths.put(frame.getProperty(FlowPathFrame.PATH_ID_PROPERTY), path);
+            pathsByFlow.computeIfAbsent(frame.getProperty(FlowPathFrame.FLOW_ID_PROPERTY), k -> new ArrayList<>())
+                    .add(path);
+        });
+        Map<String, List<PathSegment>> segmentsByPath = new HashMap<>();
+        segmentFrames.forEach(frame -> {
+            String pathId = frame.getProperty(PathSegmentFrame.PATH_ID_PROPERTY);
+            frame.setLoadedRelations(paths.get(pathId),
+                    switches.get(frame.<String>getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY)),
+                    switches.get(frame.<String>getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY)));
+            segmentsByPath.computeIfAbsent(pathId, k -> new ArrayList<>()).add(new PathSegment(frame));
+        });
+
+        pathFrames.forEach(frame -> {
+            List<PathSegment> segments = segmentsByPath.getOrDefault(
+                    frame.<String>getProperty(FlowPathFrame.PATH_ID_PROPERTY), new ArrayList<>());
+            segments.sort(Comparator.comparingInt(PathSegment::getSeqId));
+            frame.setLoadedRelations(flows.get(frame.<String>getProperty(FlowPathFrame.FLOW_ID_PROPERTY)),
+                    switches.get(frame.<String>getProperty(FlowPathFrame.SRC_SWITCH_ID_PROPERTY)),
+                    switches.get(frame.<String>getProperty(FlowPathFrame.DST_SWITCH_ID_PROPERTY)),
+                    segments);
+        });
+        flowFrames.forEach(frame -> frame.setLoadedRelations(
+                switches.get(frame.<String>getProperty(SRC_SWITCH_ID_PROPERTY)),
+                switches.get(frame.<String>getProperty(DST_SWITCH_ID_PROPERTY)),
+                pathsByFlow.getOrDefault(frame.<String>getProperty(FLOW_ID_PROPERTY), new ArrayList<>())));
+    }
+
+    private FlowPathFrame internPathFrame(FlowPathFrame frame) {
+        return FrameCache.active()
+                .map(cache -> cache.intern(FlowPathFrame.class, frame.getProperty(FlowPathFrame.PATH_ID_PROPERTY),
+                        frame))
+                .orElse(frame);
+    }
+
+    void setLoadedRelations(Switch srcSwitch, Switch destSwitch, Collection<FlowPath> paths) {
+        this.srcSwitch = srcSwitch;
+        this.destSwitch = destSwitch;
+        this.paths = paths;
+    }
+
+    private static Object[] vertexIds(Collection<? extends KildaBaseVertexFrame> frames) {
+        return frames.stream().map(frame -> frame.getElement().id()).toArray();
+    }
 }
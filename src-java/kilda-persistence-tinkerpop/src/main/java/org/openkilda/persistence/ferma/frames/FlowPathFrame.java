@@ -28,6 +28,7 @@ import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.cookie.FlowSegmentCookie;
+import org.openkilda.persistence.ferma.FrameCache;
 import org.openkilda.persistence.ferma.frames.converters.Convert;
 import org.openkilda.persistence.ferma.frames.converters.FlowApplicationConverter;
 import org.openkilda.persistence.ferma.frames.converters.FlowPathStatusConverter;
@@ -37,6 +38,7 @@ import org.openkilda.persistence.ferma.frames.converters.MeterIdConverter;
 import org.openkilda.persistence.ferma.frames.converters.PathIdConverter;
 import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
 
+import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.VertexFrame;
 import com.syncleus.ferma.annotations.Property;
 import lombok.NonNull;
@@ -312,10 +314,12 @@ public abstract class FlowPathFrame extends KildaBaseVertexFrame implements Flow
     @Override
     public Flow getFlow() {
         if (flow == null) {
-            List<? extends FlowFrame> flowFrames = traverse(v -> v.in(FlowFrame.OWNS_PATHS_EDGE)
-                    .hasLabel(FlowFrame.FRAME_LABEL))
-                    .toListExplicit(FlowFrame.class);
-            flow = !flowFrames.isEmpty() ? new Flow(flowFrames.get(0)) : null;
+            flow = FrameCache.lookup(FlowFrame.class, getFlowId(), () -> {
+                List<? extends FlowFrame> flowFrames = traverse(v -> v.in(FlowFrame.OWNS_PATHS_EDGE)
+                        .hasLabel(FlowFrame.FRAME_LABEL))
+                        .toListExplicit(FlowFrame.class);
+                return flowFrames.isEmpty() ? Optional.empty() : Optional.of(flowFrames.get(0));
+            }).map(Flow::new).orElse(null);
             String flowId = flow != null ? flow.getFlowId() : null;
             if (!Objects.equals(getFlowId(), flowId)) {
                 throw new IllegalStateException(format("The flow path %s has inconsistent flow_id %s / %s",
@@ -324,4 +328,24 @@ public abstract class FlowPathFrame extends KildaBaseVertexFrame implements Flow
         }
         return flow;
     }
+
+    /**
+     * Loads the flow path frame, the frame is shared within a transaction via {@link FrameCache}.
+     */
+    public static Optional<FlowPathFrame> load(FramedGraph graph, String pathId) {
+        return FrameCache.lookup(FlowPathFrame.class, pathId, () -> {
+            List<? extends FlowPathFrame> pathFrames = graph.traverse(input -> input.V()
+                    .hasLabel(FRAME_LABEL)
+                    .has(PATH_ID_PROPERTY, pathId))
+                    .toListExplicit(FlowPathFrame.class);
+            return pathFrames.isEmpty() ? Optional.empty() : Optional.of(pathFrames.get(0));
+        });
+    }
+
+    void setLoadedRelations(Flow flow, Switch srcSwitch, Switch destSwitch, List<PathSegment> segments) {
+        this.flow = flow;
+        this.srcSwitch = srcSwitch;
+        this.destSwitch = destSwitch;
+        this.segments = segments;
+    }
 }
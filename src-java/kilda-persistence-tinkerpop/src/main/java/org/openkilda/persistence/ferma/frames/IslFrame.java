@@ -49,6 +49,8 @@ public abstract class IslFrame extends KildaBaseEdgeFrame implements IslData {
     public static final String COST_PROPERTY = "cost";
     public static final String AVAILABLE_BANDWIDTH_PROPERTY = "available_bandwidth";
     public static final String MAX_BANDWIDTH_PROPERTY = "max_bandwidth";
+    public static final String SRC_ENDPOINT_PROPERTY = "src_endpoint";
+    public static final String DST_ENDPOINT_PROPERTY = "dst_endpoint";
 
     private Switch srcSwitch;
     private Switch destSwitch;
@@ -68,16 +70,20 @@ public abstract class IslFrame extends KildaBaseEdgeFrame implements IslData {
     public abstract int getSrcPort();
 
     @Override
-    @Property(SRC_PORT_PROPERTY)
-    public abstract void setSrcPort(int srcPort);
+    public void setSrcPort(int srcPort) {
+        setProperty(SRC_PORT_PROPERTY, srcPort);
+        setProperty(SRC_ENDPOINT_PROPERTY, makeEndpointKey((String) getProperty(SRC_SWITCH_ID_PROPERTY), srcPort));
+    }
 
     @Override
     @Property(DST_PORT_PROPERTY)
     public abstract int getDestPort();
 
     @Override
-    @Property(DST_PORT_PROPERTY)
-    public abstract void setDestPort(int destPort);
+    public void setDestPort(int destPort) {
+        setProperty(DST_PORT_PROPERTY, destPort);
+        setProperty(DST_ENDPOINT_PROPERTY, makeEndpointKey((String) getProperty(DST_SWITCH_ID_PROPERTY), destPort));
+    }
 
     @Override
     @Property(LATENCY_PROPERTY)
@@ -254,4 +260,16 @@ public abstract class IslFrame extends KildaBaseEdgeFrame implements IslData {
     @Property("time_unstable")
     @Convert(InstantStringConverter.class)
     public abstract void setTimeUnstable(Instant timeUnstable);
+
+    /**
+     * Builds the value of {@link #SRC_ENDPOINT_PROPERTY} / {@link #DST_ENDPOINT_PROPERTY}, which is a single indexed
+     * key of the switch and port pair.
+     */
+    public static String makeEndpointKey(String switchId, int port) {
+        return switchId + "_" + port;
+    }
+
+    public static String makeEndpointKey(SwitchId switchId, int port) {
+        return makeEndpointKey(SwitchIdConverter.INSTANCE.toGraphProperty(switchId), port);
+    }
 }
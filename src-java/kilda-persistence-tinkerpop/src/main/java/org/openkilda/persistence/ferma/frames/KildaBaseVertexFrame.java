@@ -15,11 +15,13 @@
 
 package org.openkilda.persistence.ferma.frames;
 
+import org.openkilda.persistence.ferma.FrameCache;
 import org.openkilda.persistence.ferma.frames.converters.InstantStringConverter;
 
 import com.syncleus.ferma.AbstractVertexFrame;
 import com.syncleus.ferma.DelegatingFramedGraph;
 import com.syncleus.ferma.FramedGraph;
+import com.syncleus.ferma.VertexFrame;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -42,6 +44,24 @@ public abstract class KildaBaseVertexFrame extends AbstractVertexFrame {
         super.setProperty(name, value);
     }
 
+    @Override
+    public void linkOut(VertexFrame vertex, String... labels) {
+        FrameCache.invalidateActive();
+        super.linkOut(vertex, labels);
+    }
+
+    @Override
+    public void linkIn(VertexFrame vertex, String... labels) {
+        FrameCache.invalidateActive();
+        super.linkIn(vertex, labels);
+    }
+
+    @Override
+    public void remove() {
+        FrameCache.invalidateActive();
+        super.remove();
+    }
+
     public Instant getTimeCreate() {
         return InstantStringConverter.INSTANCE.toEntityAttribute(getProperty(TIME_CREATE_PROPERTY));
     }
@@ -240,6 +240,12 @@ public abstract class PathSegmentFrame extends KildaBaseVertexFrame implements P
     @Property(DST_W_MULTI_TABLE_PROPERTY)
     public abstract void setDestWithMultiTable(boolean destWithMultiTable);
 
+    void setLoadedRelations(FlowPath path, Switch srcSwitch, Switch destSwitch) {
+        this.path = path;
+        this.srcSwitch = srcSwitch;
+        this.destSwitch = destSwitch;
+    }
+
     public static PathSegmentFrame create(FramedGraph framedGraph, PathSegmentData data) {
         PathSegmentFrame frame = KildaBaseVertexFrame.addNewFramedVertex(framedGraph, FRAME_LABEL,
                 PathSegmentFrame.class);
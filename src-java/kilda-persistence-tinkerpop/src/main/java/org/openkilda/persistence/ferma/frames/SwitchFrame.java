@@ -21,6 +21,7 @@ import org.openkilda.model.Switch.SwitchData;
 import org.openkilda.model.SwitchFeature;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.ferma.FrameCache;
 import org.openkilda.persistence.ferma.frames.converters.Convert;
 import org.openkilda.persistence.ferma.frames.converters.SwitchFeatureConverter;
 import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
@@ -251,11 +252,16 @@ public abstract class SwitchFrame extends KildaBaseVertexFrame implements Switch
                 .map(SwitchFeatureConverter.INSTANCE::toGraphProperty).collect(Collectors.toSet()));
     }
 
+    /**
+     * Loads the switch frame, the frame is shared within a transaction via {@link FrameCache}.
+     */
     public static Optional<SwitchFrame> load(FramedGraph graph, String switchId) {
-        List<? extends SwitchFrame> switchFrames = graph.traverse(input -> input.V()
-                .hasLabel(FRAME_LABEL)
-                .has(SWITCH_ID_PROPERTY, switchId))
-                .toListExplicit(SwitchFrame.class);
-        return switchFrames.isEmpty() ? Optional.empty() : Optional.of(switchFrames.get(0));
+        return FrameCache.lookup(SwitchFrame.class, switchId, () -> {
+            List<? extends SwitchFrame> switchFrames = graph.traverse(input -> input.V()
+                    .hasLabel(FRAME_LABEL)
+                    .has(SWITCH_ID_PROPERTY, switchId))
+                    .toListExplicit(SwitchFrame.class);
+            return switchFrames.isEmpty() ? Optional.empty() : Optional.of(switchFrames.get(0));
+        });
     }
 }
@@ -109,6 +109,18 @@ public class FermaFlowCookieRepository extends FermaGenericRepository<FlowCookie
         return Optional.empty();
     }
 
+    @Override
+    public Collection<Long> findAssignedCookies(long lowestCookieValue, long highestCookieValue) {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowCookieFrame.FRAME_LABEL)
+                .has(FlowCookieFrame.UNMASKED_COOKIE_PROPERTY, P.gte(lowestCookieValue))
+                .has(FlowCookieFrame.UNMASKED_COOKIE_PROPERTY, P.lte(highestCookieValue))
+                .values(FlowCookieFrame.UNMASKED_COOKIE_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(cookie -> ((Number) cookie).longValue())
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected FlowCookieFrame doAdd(FlowCookieData data) {
         FlowCookieFrame frame = KildaBaseVertexFrame.addNewFramedVertex(framedGraph(),
@@ -129,6 +129,19 @@ public class FermaFlowMeterRepository extends FermaGenericRepository<FlowMeter,
         return Optional.empty();
     }
 
+    @Override
+    public Collection<MeterId> findAssignedMeters(SwitchId switchId, MeterId lowestMeterId, MeterId highestMeterId) {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowMeterFrame.FRAME_LABEL)
+                .has(FlowMeterFrame.METER_ID_PROPERTY, P.gte(MeterIdConverter.INSTANCE.toGraphProperty(lowestMeterId)))
+                .has(FlowMeterFrame.METER_ID_PROPERTY, P.lte(MeterIdConverter.INSTANCE.toGraphProperty(highestMeterId)))
+                .has(FlowMeterFrame.SWITCH_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
+                .values(FlowMeterFrame.METER_ID_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(meterId -> new MeterId(((Number) meterId).longValue()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected FlowMeterFrame doAdd(FlowMeterData data) {
         FlowMeterFrame frame = KildaBaseVertexFrame.addNewFramedVertex(framedGraph(),
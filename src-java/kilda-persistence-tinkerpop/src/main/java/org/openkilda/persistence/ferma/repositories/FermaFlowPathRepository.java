@@ -72,11 +72,7 @@ public class FermaFlowPathRepository extends FermaGenericRepository<FlowPath, Fl
 
     @Override
     public Optional<FlowPath> findById(PathId pathId) {
-        List<? extends FlowPathFrame> flowPathFrames = framedGraph().traverse(g -> g.V()
-                .hasLabel(FlowPathFrame.FRAME_LABEL)
-                .has(FlowPathFrame.PATH_ID_PROPERTY, PathIdConverter.INSTANCE.toGraphProperty(pathId)))
-                .toListExplicit(FlowPathFrame.class);
-        return flowPathFrames.isEmpty() ? Optional.empty() : Optional.of(flowPathFrames.get(0))
+        return FlowPathFrame.load(framedGraph(), PathIdConverter.INSTANCE.toGraphProperty(pathId))
                 .map(FlowPath::new);
     }
 
@@ -35,6 +35,7 @@ import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.persistence.tx.TransactionRequired;
 
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
@@ -42,15 +43,25 @@ import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Ferma implementation of {@link FlowRepository}.
@@ -85,6 +96,27 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<Flow> findAll(String afterFlowId, int limit) {
+        return framedGraph().traverse(g -> {
+            GraphTraversal<Vertex, Vertex> traversal = g.V()
+                    .hasLabel(FlowFrame.FRAME_LABEL);
+            if (afterFlowId != null) {
+                traversal = traversal.has(FlowFrame.FLOW_ID_PROPERTY, P.gt(afterFlowId));
+            }
+            return traversal
+                    .order().by(FlowFrame.FLOW_ID_PROPERTY)
+                    .limit(limit);
+        }).toListExplicit(FlowFrame.class).stream()
+                .map(Flow::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Flow> streamAll(int pageSize) {
+        return streamPages(FlowPageFilter.ALL, pageSize);
+    }
+
     @Override
     public boolean exists(String flowId) {
         try (GraphTraversal<?, ?> traversal = framedGraph().traverse(g -> g.V()
@@ -99,12 +131,7 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
 
     @Override
     public Optional<Flow> findById(String flowId) {
-        List<? extends FlowFrame> flowFrames = framedGraph().traverse(g -> g.V()
-                .hasLabel(FlowFrame.FRAME_LABEL)
-                .has(FlowFrame.FLOW_ID_PROPERTY, flowId))
-                .toListExplicit(FlowFrame.class);
-        return flowFrames.isEmpty() ? Optional.empty() : Optional.of(flowFrames.get(0))
-                .map(Flow::new);
+        return FlowFrame.load(framedGraph(), flowId).map(Flow::new);
     }
 
     @Override
@@ -138,6 +165,12 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<Flow> streamWithPeriodicPingsEnabled(int pageSize) {
+        return streamPages(new FlowPageFilter(FlowFrame.PERIODIC_PINGS_PROPERTY, Collections.singleton(true)),
+                pageSize);
+    }
+
     @Override
     public Collection<Flow> findByEndpoint(SwitchId switchId, int port) {
         Map<String, Flow> result = new HashMap<>();
@@ -359,6 +392,15 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<Flow> streamInactiveFlows(int pageSize) {
+        String downFlowStatus = FlowStatusConverter.INSTANCE.toGraphProperty(FlowStatus.DOWN);
+        String degragedFlowStatus = FlowStatusConverter.INSTANCE.toGraphProperty(FlowStatus.DEGRADED);
+
+        return streamPages(new FlowPageFilter(FlowFrame.STATUS_PROPERTY,
+                Arrays.asList(downFlowStatus, degragedFlowStatus)), pageSize);
+    }
+
     @Override
     public Collection<Flow> findByFlowFilter(FlowFilter flowFilter) {
         return framedGraph().traverse(g -> {
@@ -374,6 +416,16 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<Flow> streamByFlowFilter(FlowFilter flowFilter, int pageSize) {
+        if (flowFilter.getFlowStatus() == null) {
+            return streamAll(pageSize);
+        }
+        String flowStatus = FlowStatusConverter.INSTANCE.toGraphProperty(flowFilter.getFlowStatus());
+        return streamPages(new FlowPageFilter(FlowFrame.STATUS_PROPERTY, Collections.singleton(flowStatus)),
+                pageSize);
+    }
+
     @Override
     public Optional<String> getOrCreateFlowGroupId(String flowId) {
         return transactionManager.doInTransaction(() -> findById(flowId)
@@ -540,6 +592,115 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    private Stream<Flow> streamPages(FlowPageFilter filter, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size must be positive: " + pageSize);
+        }
+        Iterator<List<Flow>> pages = new FlowPageIterator(filter, pageSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Find the flows of a page: the first pageSize flows matching the filter with the flow ID greater than
+     * afterFlowId, ordered by the flow ID.
+     * <p/>
+     * The traversal orders all the remaining flows to pick a page. Implementations with an ordered index of
+     * the flow ID should override it with a range read of the index.
+     */
+    protected List<? extends FlowFrame> findFlowFramesPage(FlowPageFilter filter, String afterFlowId, int pageSize) {
+        return framedGraph().traverse(g -> {
+            GraphTraversal<Vertex, Vertex> traversal = g.V()
+                    .hasLabel(FlowFrame.FRAME_LABEL);
+            if (filter.getProperty() != null) {
+                traversal = traversal.has(filter.getProperty(), P.within(filter.getValues()));
+            }
+            if (afterFlowId != null) {
+                traversal = traversal.has(FlowFrame.FLOW_ID_PROPERTY, P.gt(afterFlowId));
+            }
+            return traversal
+                    .order().by(FlowFrame.FLOW_ID_PROPERTY)
+                    .limit(pageSize);
+        }).toListExplicit(FlowFrame.class);
+    }
+
+    /**
+     * Find the flows by the flow IDs, ordered as the IDs.
+     */
+    protected List<? extends FlowFrame> findFlowFramesByIds(List<String> flowIds) {
+        if (flowIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, FlowFrame> flowFrames = framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowFrame.FRAME_LABEL)
+                .has(FlowFrame.FLOW_ID_PROPERTY, P.within(flowIds)))
+                .toListExplicit(FlowFrame.class).stream()
+                .collect(Collectors.toMap(FlowFrame::getFlowId, Function.identity()));
+        return flowIds.stream()
+                .map(flowFrames::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The flows to be streamed: the flows having one of the values of the property, or all the flows if the
+     * property is not set.
+     */
+    @Value
+    protected static class FlowPageFilter {
+        static final FlowPageFilter ALL = new FlowPageFilter(null, Collections.emptyList());
+
+        String property;
+        Collection<?> values;
+    }
+
+    /**
+     * Fetches flows page by page using the last flow ID of a page as the lower bound of the next one, and loads
+     * the relations of each page in bulk.
+     */
+    private class FlowPageIterator implements Iterator<List<Flow>> {
+        private final FlowPageFilter filter;
+        private final int pageSize;
+        private String lastFlowId;
+        private List<Flow> nextPage;
+        private boolean lastPageFetched;
+
+        FlowPageIterator(FlowPageFilter filter, int pageSize) {
+            this.filter = filter;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextPage == null && !lastPageFetched) {
+                nextPage = fetchPage();
+                lastPageFetched = nextPage.size() < pageSize;
+            }
+            return nextPage != null && !nextPage.isEmpty();
+        }
+
+        @Override
+        public List<Flow> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<Flow> page = nextPage;
+            nextPage = null;
+            return page;
+        }
+
+        private List<Flow> fetchPage() {
+            List<? extends FlowFrame> flowFrames = findFlowFramesPage(filter, lastFlowId, pageSize);
+            if (!flowFrames.isEmpty()) {
+                lastFlowId = flowFrames.get(flowFrames.size() - 1).getFlowId();
+            }
+            FlowFrame.loadRelations(framedGraph(), flowFrames);
+            return flowFrames.stream()
+                    .map(Flow::new)
+                    .collect(Collectors.toList());
+        }
+    }
+
     @Override
     protected FlowFrame doAdd(FlowData data) {
         FlowFrame frame = KildaBaseVertexFrame.addNewFramedVertex(framedGraph(), FlowFrame.FRAME_LABEL,
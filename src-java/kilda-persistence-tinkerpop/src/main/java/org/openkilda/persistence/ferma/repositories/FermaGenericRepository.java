@@ -17,6 +17,7 @@ package org.openkilda.persistence.ferma.repositories;
 
 import org.openkilda.model.CompositeDataEntity;
 import org.openkilda.persistence.exceptions.PersistenceException;
+import org.openkilda.persistence.ferma.FrameCache;
 import org.openkilda.persistence.ferma.FramedGraphFactory;
 import org.openkilda.persistence.repositories.Repository;
 import org.openkilda.persistence.tx.TransactionManager;
@@ -52,7 +53,10 @@ abstract class FermaGenericRepository<E extends CompositeDataEntity<D>, D, F ext
         if (data instanceof ElementFrame) {
             throw new IllegalArgumentException("Can't add entity " + entity + " which is already framed graph element");
         }
-        transactionManager.doInTransaction(() -> entity.setData(doAdd(data)));
+        transactionManager.doInTransaction(() -> {
+            FrameCache.invalidateActive();
+            entity.setData(doAdd(data));
+        });
     }
 
     protected abstract F doAdd(D data);
@@ -69,6 +73,7 @@ abstract class FermaGenericRepository<E extends CompositeDataEntity<D>, D, F ext
 
         D data = entity.getData();
         if (data instanceof ElementFrame) {
+            FrameCache.invalidateActive();
             D detachedData = doDetach(entity, (F) data);
             doRemove((F) data);
             entity.setData(detachedData);
@@ -29,6 +29,7 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.ferma.FramedGraphFactory;
+import org.openkilda.persistence.ferma.frames.FlowPathFrame;
 import org.openkilda.persistence.ferma.frames.IslFrame;
 import org.openkilda.persistence.ferma.frames.KildaBaseEdgeFrame;
 import org.openkilda.persistence.ferma.frames.PathSegmentFrame;
@@ -52,6 +53,7 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -83,21 +85,11 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
 
     @Override
     public boolean existsByEndpoint(SwitchId switchId, int port) {
+        String endpoint = IslFrame.makeEndpointKey(switchId, port);
         try (GraphTraversal<?, ?> traversal = framedGraph().traverse(g -> g.E()
                 .hasLabel(IslFrame.FRAME_LABEL)
-                .has(IslFrame.SRC_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
-                .has(IslFrame.SRC_PORT_PROPERTY, port))
-                .getRawTraversal()) {
-            if (traversal.hasNext()) {
-                return true;
-            }
-        } catch (Exception e) {
-            throw new PersistenceException("Failed to traverse", e);
-        }
-        try (GraphTraversal<?, ?> traversal = framedGraph().traverse(g -> g.E()
-                .hasLabel(IslFrame.FRAME_LABEL)
-                .has(IslFrame.DST_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
-                .has(IslFrame.DST_PORT_PROPERTY, port))
+                .or(__.has(IslFrame.SRC_ENDPOINT_PROPERTY, endpoint),
+                        __.has(IslFrame.DST_ENDPOINT_PROPERTY, endpoint)))
                 .getRawTraversal()) {
             return traversal.hasNext();
         } catch (Exception e) {
@@ -107,28 +99,22 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
 
     @Override
     public Collection<Isl> findByEndpoint(SwitchId switchId, int port) {
-        List<Isl> result = new ArrayList<>();
-        framedGraph().traverse(g -> g.E()
-                .hasLabel(IslFrame.FRAME_LABEL)
-                .has(IslFrame.SRC_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
-                .has(IslFrame.SRC_PORT_PROPERTY, port))
-                .frameExplicit(IslFrame.class)
-                .forEachRemaining(frame -> result.add(addIslConfigToIsl(new Isl(frame))));
-        framedGraph().traverse(g -> g.E()
+        String endpoint = IslFrame.makeEndpointKey(switchId, port);
+        return framedGraph().traverse(g -> g.E()
                 .hasLabel(IslFrame.FRAME_LABEL)
-                .has(IslFrame.DST_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
-                .has(IslFrame.DST_PORT_PROPERTY, port))
-                .frameExplicit(IslFrame.class)
-                .forEachRemaining(frame -> result.add(addIslConfigToIsl(new Isl(frame))));
-        return result;
+                .or(__.has(IslFrame.SRC_ENDPOINT_PROPERTY, endpoint),
+                        __.has(IslFrame.DST_ENDPOINT_PROPERTY, endpoint)))
+                .toListExplicit(IslFrame.class).stream()
+                .map(Isl::new)
+                .map(this::addIslConfigToIsl)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Collection<Isl> findBySrcEndpoint(SwitchId srcSwitchId, int srcPort) {
         return framedGraph().traverse(g -> g.E()
                 .hasLabel(IslFrame.FRAME_LABEL)
-                .has(IslFrame.SRC_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(srcSwitchId))
-                .has(IslFrame.SRC_PORT_PROPERTY, srcPort))
+                .has(IslFrame.SRC_ENDPOINT_PROPERTY, IslFrame.makeEndpointKey(srcSwitchId, srcPort)))
                 .toListExplicit(IslFrame.class).stream()
                 .map(Isl::new)
                 .map(this::addIslConfigToIsl)
@@ -139,8 +125,7 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
     public Collection<Isl> findByDestEndpoint(SwitchId dstSwitchId, int dstPort) {
         return framedGraph().traverse(g -> g.E()
                 .hasLabel(IslFrame.FRAME_LABEL)
-                .has(IslFrame.DST_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(dstSwitchId))
-                .has(IslFrame.DST_PORT_PROPERTY, dstPort))
+                .has(IslFrame.DST_ENDPOINT_PROPERTY, IslFrame.makeEndpointKey(dstSwitchId, dstPort)))
                 .toListExplicit(IslFrame.class).stream()
                 .map(Isl::new)
                 .map(this::addIslConfigToIsl)
@@ -189,35 +174,65 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
             return emptyList();
         }
 
+        Map<IslEndpointKeys, IslFrame> islFrames = findIslsBySrcEndpoints(segmentFrames.stream()
+                .map(this::makeSrcEndpointKey)
+                .collect(Collectors.toSet()), null);
         List<Isl> result = new ArrayList<>();
-        segmentFrames.forEach(segmentFrame -> {
-            framedGraph().traverse(g -> g.E()
-                    .hasLabel(IslFrame.FRAME_LABEL)
-                    .has(IslFrame.SRC_SWITCH_ID_PROPERTY,
-                            SwitchIdConverter.INSTANCE.toGraphProperty(segmentFrame.getSrcSwitchId()))
-                    .has(IslFrame.DST_SWITCH_ID_PROPERTY,
-                            SwitchIdConverter.INSTANCE.toGraphProperty(segmentFrame.getDestSwitchId()))
-                    .has(IslFrame.SRC_PORT_PROPERTY, segmentFrame.getSrcPort())
-                    .has(IslFrame.DST_PORT_PROPERTY, segmentFrame.getDestPort()))
-                    .frameExplicit(IslFrame.class)
-                    .forEachRemaining(frame -> result.add(addIslConfigToIsl(new Isl(frame))));
-        });
+        for (PathSegmentFrame segmentFrame : segmentFrames) {
+            IslFrame frame = islFrames.get(makeEndpointKeys(segmentFrame));
+            if (frame != null) {
+                result.add(addIslConfigToIsl(new Isl(frame)));
+            }
+        }
         return result;
-
-
     }
 
-    private Optional<IslFrame> findIsl(SwitchId srcSwitchId, long srcPort, SwitchId dstSwitchId, long dstPort) {
+    private Optional<IslFrame> findIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
         List<? extends IslFrame> islFrames = framedGraph().traverse(g -> g.E()
                 .hasLabel(IslFrame.FRAME_LABEL)
-                .has(IslFrame.SRC_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(srcSwitchId))
-                .has(IslFrame.DST_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(dstSwitchId))
-                .has(IslFrame.SRC_PORT_PROPERTY, srcPort)
-                .has(IslFrame.DST_PORT_PROPERTY, dstPort))
+                .has(IslFrame.SRC_ENDPOINT_PROPERTY, IslFrame.makeEndpointKey(srcSwitchId, srcPort))
+                .has(IslFrame.DST_ENDPOINT_PROPERTY, IslFrame.makeEndpointKey(dstSwitchId, dstPort)))
                 .toListExplicit(IslFrame.class);
         return islFrames.isEmpty() ? Optional.empty() : Optional.of(islFrames.get(0));
     }
 
+    /**
+     * Loads ISLs which start at any of the endpoints in a single traversal over the indexed endpoint key.
+     *
+     * @param status if not null, only ISLs in this status are loaded.
+     * @return ISL frames by their endpoint keys.
+     */
+    private Map<IslEndpointKeys, IslFrame> findIslsBySrcEndpoints(Set<String> srcEndpoints, String status) {
+        Map<IslEndpointKeys, IslFrame> result = new HashMap<>();
+        if (srcEndpoints.isEmpty()) {
+            return result;
+        }
+        framedGraph().traverse(g -> {
+            GraphTraversal<Edge, Edge> traversal = g.E()
+                    .hasLabel(IslFrame.FRAME_LABEL)
+                    .has(IslFrame.SRC_ENDPOINT_PROPERTY, P.within(srcEndpoints));
+            if (status != null) {
+                traversal = traversal.has(IslFrame.STATUS_PROPERTY, status);
+            }
+            return traversal;
+        }).frameExplicit(IslFrame.class)
+                .forEachRemaining(frame -> result.put(new IslEndpointKeys(
+                        frame.getProperty(IslFrame.SRC_ENDPOINT_PROPERTY),
+                        frame.getProperty(IslFrame.DST_ENDPOINT_PROPERTY)), frame));
+        return result;
+    }
+
+    private String makeSrcEndpointKey(PathSegmentFrame segmentFrame) {
+        return IslFrame.makeEndpointKey((String) segmentFrame.getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY),
+                segmentFrame.getSrcPort());
+    }
+
+    private IslEndpointKeys makeEndpointKeys(PathSegmentFrame segmentFrame) {
+        return new IslEndpointKeys(makeSrcEndpointKey(segmentFrame),
+                IslFrame.makeEndpointKey((String) segmentFrame.getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY),
+                        segmentFrame.getDestPort()));
+    }
+
     @Override
     public Collection<Isl> findByPartialEndpoints(SwitchId srcSwitchId, Integer srcPort,
                                                   SwitchId dstSwitchId, Integer dstPort) {
@@ -253,7 +268,7 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
         String activeIslStatusAsStr = IslStatusConverter.INSTANCE.toGraphProperty(IslStatus.ACTIVE);
 
         Set<String> activeSwitches = findActiveSwitchesWithSupportEncapsulationType(flowEncapsulationType);
-        List<Isl> result = new ArrayList<>();
+        List<PathSegmentFrame> segmentFrames = new ArrayList<>();
         framedGraph().traverse(g -> g.V()
                 .hasLabel(PathSegmentFrame.FRAME_LABEL)
                 .has(PathSegmentFrame.PATH_ID_PROPERTY, pathIdAsStr))
@@ -262,19 +277,83 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
                     String srcSwitch = segmentFrame.getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY);
                     String dstSwitch = segmentFrame.getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY);
                     if (activeSwitches.contains(srcSwitch) && activeSwitches.contains(dstSwitch)) {
-                        framedGraph().traverse(g -> g.E()
-                                .hasLabel(IslFrame.FRAME_LABEL)
-                                .has(IslFrame.SRC_SWITCH_ID_PROPERTY, srcSwitch)
-                                .has(IslFrame.DST_SWITCH_ID_PROPERTY, dstSwitch)
-                                .has(IslFrame.SRC_PORT_PROPERTY, segmentFrame.getSrcPort())
-                                .has(IslFrame.DST_PORT_PROPERTY, segmentFrame.getDestPort())
-                                .has(IslFrame.STATUS_PROPERTY, activeIslStatusAsStr)
-                                .has(IslFrame.AVAILABLE_BANDWIDTH_PROPERTY,
-                                        P.gte(requiredBandwidth - segmentFrame.getBandwidth())))
-                                .frameExplicit(IslFrame.class)
-                                .forEachRemaining(frame -> result.add(addIslConfigToIsl(new Isl(frame))));
+                        segmentFrames.add(segmentFrame);
                     }
                 });
+        if (segmentFrames.isEmpty()) {
+            return emptyList();
+        }
+
+        Map<IslEndpointKeys, IslFrame> islFrames = findIslsBySrcEndpoints(segmentFrames.stream()
+                .map(this::makeSrcEndpointKey)
+                .collect(Collectors.toSet()), activeIslStatusAsStr);
+        List<Isl> result = new ArrayList<>();
+        for (PathSegmentFrame segmentFrame : segmentFrames) {
+            IslFrame frame = islFrames.get(makeEndpointKeys(segmentFrame));
+            if (frame != null && frame.getAvailableBandwidth() >= requiredBandwidth - segmentFrame.getBandwidth()) {
+                result.add(addIslConfigToIsl(new Isl(frame)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Isl> findActiveAndOccupiedByFlowPathsWithAvailableBandwidth(
+            Collection<PathId> pathIds, long requiredBandwidth, FlowEncapsulationType flowEncapsulationType) {
+        if (pathIds.isEmpty()) {
+            return emptyList();
+        }
+        Set<String> pathIdsAsStr = pathIds.stream()
+                .map(PathIdConverter.INSTANCE::toGraphProperty)
+                .collect(Collectors.toSet());
+        Set<String> occupyingPathIds = framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowPathFrame.FRAME_LABEL)
+                .has(FlowPathFrame.PATH_ID_PROPERTY, P.within(pathIdsAsStr)))
+                .toListExplicit(FlowPathFrame.class).stream()
+                .filter(frame -> !frame.isIgnoreBandwidth())
+                .map(frame -> (String) frame.getProperty(FlowPathFrame.PATH_ID_PROPERTY))
+                .collect(Collectors.toSet());
+        if (occupyingPathIds.isEmpty()) {
+            return emptyList();
+        }
+
+        Set<String> activeSwitches = findActiveSwitchesWithSupportEncapsulationType(flowEncapsulationType);
+        Map<String, List<PathSegmentFrame>> segmentsByPath = new HashMap<>();
+        Set<String> srcEndpoints = new HashSet<>();
+        framedGraph().traverse(g -> g.V()
+                .hasLabel(PathSegmentFrame.FRAME_LABEL)
+                .has(PathSegmentFrame.PATH_ID_PROPERTY, P.within(occupyingPathIds)))
+                .frameExplicit(PathSegmentFrame.class)
+                .forEachRemaining(segmentFrame -> {
+                    String srcSwitch = segmentFrame.getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY);
+                    String dstSwitch = segmentFrame.getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY);
+                    if (activeSwitches.contains(srcSwitch) && activeSwitches.contains(dstSwitch)) {
+                        String pathId = segmentFrame.getProperty(PathSegmentFrame.PATH_ID_PROPERTY);
+                        segmentsByPath.computeIfAbsent(pathId, key -> new ArrayList<>()).add(segmentFrame);
+                        srcEndpoints.add(makeSrcEndpointKey(segmentFrame));
+                    }
+                });
+        if (srcEndpoints.isEmpty()) {
+            return emptyList();
+        }
+
+        Map<IslEndpointKeys, IslFrame> islFrames = findIslsBySrcEndpoints(srcEndpoints,
+                IslStatusConverter.INSTANCE.toGraphProperty(IslStatus.ACTIVE));
+
+        List<Isl> result = new ArrayList<>();
+        for (PathId pathId : pathIds) {
+            List<PathSegmentFrame> segmentFrames = segmentsByPath.get(PathIdConverter.INSTANCE.toGraphProperty(pathId));
+            if (segmentFrames == null) {
+                continue;
+            }
+            for (PathSegmentFrame segmentFrame : segmentFrames) {
+                IslFrame frame = islFrames.get(makeEndpointKeys(segmentFrame));
+                if (frame != null
+                        && frame.getAvailableBandwidth() >= requiredBandwidth - segmentFrame.getBandwidth()) {
+                    result.add(addIslConfigToIsl(new Isl(frame)));
+                }
+            }
+        }
         return result;
     }
 
@@ -385,7 +464,7 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
                 .collect(Collectors.toSet());
     }
 
-    private Isl addIslConfigToIsl(Isl isl) {
+    protected Isl addIslConfigToIsl(Isl isl) {
         isl.setIslConfig(islConfig);
         return isl;
     }
@@ -398,6 +477,12 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
         int dstPort;
     }
 
+    @Value
+    private static class IslEndpointKeys {
+        String srcEndpoint;
+        String dstEndpoint;
+    }
+
     @Override
     public long updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
                                          long usedBandwidth) {
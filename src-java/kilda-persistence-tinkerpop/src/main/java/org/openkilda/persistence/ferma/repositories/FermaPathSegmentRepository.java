@@ -16,17 +16,35 @@
 package org.openkilda.persistence.ferma.repositories;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
 
 import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathId;
 import org.openkilda.model.PathSegment;
 import org.openkilda.model.PathSegment.PathSegmentData;
+import org.openkilda.model.Switch;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.ferma.FramedGraphFactory;
 import org.openkilda.persistence.ferma.frames.PathSegmentFrame;
+import org.openkilda.persistence.ferma.frames.SwitchFrame;
+import org.openkilda.persistence.ferma.frames.converters.PathIdConverter;
 import org.openkilda.persistence.repositories.PathSegmentRepository;
 import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.persistence.tx.TransactionRequired;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Ferma (Tinkerpop) implementation of {@link PathSegmentRepository}.
  */
@@ -61,6 +79,72 @@ public class FermaPathSegmentRepository extends FermaGenericRepository<PathSegme
         segmentToUpdate.setFailed(failed);
     }
 
+    @Override
+    public Map<PathId, List<PathSegment>> findSegmentsByPathIds(Collection<PathId> pathIds) {
+        if (pathIds.isEmpty()) {
+            return emptyMap();
+        }
+        Set<String> pathIdsAsStr = pathIds.stream()
+                .map(PathIdConverter.INSTANCE::toGraphProperty)
+                .collect(Collectors.toSet());
+        List<? extends PathSegmentFrame> segmentFrames = framedGraph().traverse(g -> g.V()
+                .hasLabel(PathSegmentFrame.FRAME_LABEL)
+                .has(PathSegmentFrame.PATH_ID_PROPERTY, P.within(pathIdsAsStr)))
+                .toListExplicit(PathSegmentFrame.class);
+        if (segmentFrames.isEmpty()) {
+            return emptyMap();
+        }
+
+        // Load all switches at once instead of traversing the segment edges one by one.
+        Set<String> switchIds = new HashSet<>();
+        segmentFrames.forEach(frame -> {
+            switchIds.add(frame.getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY));
+            switchIds.add(frame.getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY));
+        });
+        Map<String, Switch> switches = new HashMap<>();
+        framedGraph().traverse(g -> g.V()
+                .hasLabel(SwitchFrame.FRAME_LABEL)
+                .has(SwitchFrame.SWITCH_ID_PROPERTY, P.within(switchIds)))
+                .frameExplicit(SwitchFrame.class)
+                .forEachRemaining(frame -> switches.put(frame.getProperty(SwitchFrame.SWITCH_ID_PROPERTY),
+                        new Switch(frame)));
+
+        Map<PathId, List<PathSegment>> segmentsByPath = new HashMap<>();
+        for (PathSegmentFrame frame : segmentFrames) {
+            Switch srcSwitch = switches.get(frame.<String>getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY));
+            Switch destSwitch = switches.get(frame.<String>getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY));
+            if (srcSwitch == null || destSwitch == null) {
+                // Fallback to the lazy loading of switches as the frame does.
+                srcSwitch = frame.getSrcSwitch();
+                destSwitch = frame.getDestSwitch();
+            }
+            PathSegment segment = PathSegment.builder()
+                    .srcSwitch(srcSwitch)
+                    .destSwitch(destSwitch)
+                    .srcPort(frame.getSrcPort())
+                    .destPort(frame.getDestPort())
+                    .srcWithMultiTable(frame.isSrcWithMultiTable())
+                    .destWithMultiTable(frame.isDestWithMultiTable())
+                    .seqId(frame.getSeqId())
+                    .latency(frame.getLatency())
+                    .bandwidth(frame.getBandwidth())
+                    .ignoreBandwidth(frame.isIgnoreBandwidth())
+                    .failed(frame.isFailed())
+                    .build();
+            segmentsByPath.computeIfAbsent(frame.getPathId(), key -> new ArrayList<>()).add(segment);
+        }
+
+        Map<PathId, List<PathSegment>> result = new LinkedHashMap<>();
+        for (PathId pathId : pathIds) {
+            List<PathSegment> segments = segmentsByPath.get(pathId);
+            if (segments != null) {
+                segments.sort(Comparator.comparingInt(PathSegment::getSeqId));
+                result.put(pathId, segments);
+            }
+        }
+        return result;
+    }
+
     @Override
     protected PathSegmentFrame doAdd(PathSegmentData data) {
         return PathSegmentFrame.create(framedGraph(), data);
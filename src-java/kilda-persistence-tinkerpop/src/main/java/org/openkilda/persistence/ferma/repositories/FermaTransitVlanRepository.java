@@ -147,6 +147,18 @@ public class FermaTransitVlanRepository extends FermaGenericRepository<TransitVl
         return Optional.empty();
     }
 
+    @Override
+    public Collection<Integer> findAssignedVlans(int lowestTransitVlan, int highestTransitVlan) {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(TransitVlanFrame.FRAME_LABEL)
+                .has(TransitVlanFrame.VLAN_PROPERTY, P.gte(lowestTransitVlan))
+                .has(TransitVlanFrame.VLAN_PROPERTY, P.lte(highestTransitVlan))
+                .values(TransitVlanFrame.VLAN_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(vlan -> ((Number) vlan).intValue())
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected TransitVlanFrame doAdd(TransitVlanData data) {
         TransitVlanFrame frame = KildaBaseVertexFrame.addNewFramedVertex(framedGraph(),
@@ -118,6 +118,18 @@ public class FermaVxlanRepository extends FermaGenericRepository<Vxlan, VxlanDat
         return Optional.empty();
     }
 
+    @Override
+    public Collection<Integer> findAssignedVxlans(int lowestVxlan, int highestVxlan) {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(VxlanFrame.FRAME_LABEL)
+                .has(VxlanFrame.VNI_PROPERTY, P.gte(lowestVxlan))
+                .has(VxlanFrame.VNI_PROPERTY, P.lte(highestVxlan))
+                .values(VxlanFrame.VNI_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(vni -> ((Number) vni).intValue())
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected VxlanFrame doAdd(VxlanData data) {
         VxlanFrame frame = KildaBaseVertexFrame.addNewFramedVertex(framedGraph(), VxlanFrame.FRAME_LABEL,
@@ -0,0 +1,167 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.ferma;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowPathDirection;
+import org.openkilda.model.FlowPathStatus;
+import org.openkilda.model.FlowStatus;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.PathId;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.FlowSegmentCookie;
+import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import com.syncleus.ferma.WrappedFramedGraph;
+import com.syncleus.ferma.tx.Tx;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrameCacheTest extends InMemoryGraphBasedTest {
+    static final String TEST_FLOW_ID = "test_flow_1";
+    static final String TEST_FLOW_ID_2 = "test_flow_2";
+    static final SwitchId TEST_SWITCH_A_ID = new SwitchId(1);
+    static final SwitchId TEST_SWITCH_B_ID = new SwitchId(2);
+
+    FlowRepository flowRepository;
+    FlowPathRepository flowPathRepository;
+    SwitchRepository switchRepository;
+
+    Switch switchA;
+    Switch switchB;
+
+    @Before
+    public void setUp() {
+        flowRepository = repositoryFactory.createFlowRepository();
+        flowPathRepository = repositoryFactory.createFlowPathRepository();
+        switchRepository = repositoryFactory.createSwitchRepository();
+
+        switchA = createTestSwitch(TEST_SWITCH_A_ID.getId());
+        switchB = createTestSwitch(TEST_SWITCH_B_ID.getId());
+        createTestFlow(TEST_FLOW_ID);
+    }
+
+    @After
+    public void closeTx() {
+        Tx.setActive(null);
+    }
+
+    @Test
+    public void shouldNotCacheOutsideTransaction() {
+        assertFalse(FrameCache.active().isPresent());
+
+        Flow first = flowRepository.findById(TEST_FLOW_ID).get();
+        Flow second = flowRepository.findById(TEST_FLOW_ID).get();
+        assertNotSame(first.getData(), second.getData());
+    }
+
+    @Test
+    public void shouldShareFramesWithinTransaction() {
+        FrameCache frameCache = openTx().getFrameCache();
+
+        Flow first = flowRepository.findById(TEST_FLOW_ID).get();
+        Flow second = flowRepository.findById(TEST_FLOW_ID).get();
+        assertSame(first.getData(), second.getData());
+        assertSame(switchRepository.findById(TEST_SWITCH_A_ID).get().getData(),
+                switchRepository.findById(TEST_SWITCH_A_ID).get().getData());
+        assertEquals(2, frameCache.getHits());
+        assertEquals(2, frameCache.getMisses());
+
+        FlowPath forwardPath = first.getForwardPath();
+        assertSame(forwardPath.getData(), flowPathRepository.findById(forwardPath.getPathId()).get().getData());
+        assertSame(first.getData(), forwardPath.getFlow().getData());
+        assertEquals(4, frameCache.getHits());
+    }
+
+    @Test
+    public void shouldNotCacheMissingEntities() {
+        final FermaTx tx = openTx();
+
+        assertFalse(flowRepository.findById(TEST_FLOW_ID_2).isPresent());
+        createTestFlow(TEST_FLOW_ID_2);
+        assertTrue(flowRepository.findById(TEST_FLOW_ID_2).isPresent());
+        assertEquals(0, tx.getFrameCache().getHits());
+    }
+
+    @Test
+    public void shouldInvalidateOnWrite() {
+        final FermaTx tx = openTx();
+
+        Flow flow = flowRepository.findById(TEST_FLOW_ID).get();
+        createTestFlow(TEST_FLOW_ID_2);
+        assertNotSame(flow.getData(), flowRepository.findById(TEST_FLOW_ID).get().getData());
+
+        flow = flowRepository.findById(TEST_FLOW_ID).get();
+        transactionManager.doInTransaction(() -> flowRepository.remove(flowRepository.findById(TEST_FLOW_ID_2).get()));
+        assertNotSame(flow.getData(), flowRepository.findById(TEST_FLOW_ID).get().getData());
+        assertEquals(1, tx.getFrameCache().getHits());
+    }
+
+    @Test
+    public void shouldInvalidateOnFailure() {
+        FermaTx tx = openTx();
+
+        Flow flow = flowRepository.findById(TEST_FLOW_ID).get();
+        tx.failure();
+        assertNotSame(flow.getData(), flowRepository.findById(TEST_FLOW_ID).get().getData());
+        assertEquals(0, tx.getFrameCache().getHits());
+    }
+
+    private FermaTx openTx() {
+        FermaTx tx = new FermaTx(mock(Transaction.class), mock(WrappedFramedGraph.class));
+        Tx.setActive(tx);
+        return tx;
+    }
+
+    private void createTestFlow(String flowId) {
+        Flow flow = Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(switchA)
+                .srcPort(1)
+                .destSwitch(switchB)
+                .destPort(2)
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .status(FlowStatus.UP)
+                .build();
+        flowRepository.add(flow);
+
+        FlowPath forwardPath = FlowPath.builder()
+                .pathId(new PathId(flowId + "_forward_path"))
+                .cookie(new FlowSegmentCookie(FlowPathDirection.FORWARD, 1L))
+                .meterId(new MeterId(1))
+                .srcSwitch(switchA)
+                .destSwitch(switchB)
+                .status(FlowPathStatus.ACTIVE)
+                .build();
+        flowPathRepository.add(forwardPath);
+        flow.setForwardPath(forwardPath);
+    }
+}
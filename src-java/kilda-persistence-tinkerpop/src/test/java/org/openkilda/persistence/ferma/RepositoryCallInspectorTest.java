@@ -0,0 +1,115 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.ferma;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.REPOSITORY_CALLS;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.REPOSITORY_ERRORS;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.REPOSITORY_ROWS;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.TRANSACTION_COMMITS;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.TRANSACTION_ROLLBACKS;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.exceptions.PersistenceException;
+import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
+import org.openkilda.persistence.metrics.PersistenceMetrics;
+import org.openkilda.persistence.metrics.PersistenceMetrics.Sample;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import com.syncleus.ferma.WrappedFramedGraph;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Objects;
+
+public class RepositoryCallInspectorTest extends InMemoryGraphBasedTest {
+    SwitchRepository switchRepository;
+
+    @Before
+    public void setUp() {
+        switchRepository = repositoryFactory.createSwitchRepository();
+        createTestSwitch(1);
+        createTestSwitch(2);
+        PersistenceMetrics.getInstance().drain();
+    }
+
+    @Test
+    public void shouldRecordRepositoryCallsAndReturnedRows() {
+        switchRepository.findAll();
+        switchRepository.findAll();
+        switchRepository.findById(new SwitchId(1));
+        switchRepository.findById(new SwitchId(3));
+
+        List<Sample> samples = PersistenceMetrics.getInstance().drain();
+        assertEquals(2L, getValue(samples, REPOSITORY_CALLS, "findAll"));
+        assertEquals(4L, getValue(samples, REPOSITORY_ROWS, "findAll"));
+        assertEquals(0L, getValue(samples, REPOSITORY_ERRORS, "findAll"));
+        assertEquals(2L, getValue(samples, REPOSITORY_CALLS, "findById"));
+        assertEquals(1L, getValue(samples, REPOSITORY_ROWS, "findById"));
+    }
+
+    @Test
+    public void shouldRecordFailedRepositoryCalls() {
+        try {
+            switchRepository.remove(switchRepository.findById(new SwitchId(1)).get());
+            fail("Expected PersistenceException");
+        } catch (PersistenceException e) {
+            // expected, removal requires an outer transaction
+        }
+
+        List<Sample> samples = PersistenceMetrics.getInstance().drain();
+        assertEquals(1L, getValue(samples, REPOSITORY_CALLS, "remove"));
+        assertEquals(1L, getValue(samples, REPOSITORY_ERRORS, "remove"));
+    }
+
+    @Test
+    public void shouldRecordTransactionOutcome() {
+        final FermaTx committedTx = new FermaTx(mock(Transaction.class), mock(WrappedFramedGraph.class));
+        committedTx.success();
+        committedTx.close();
+        final FermaTx failedTx = new FermaTx(mock(Transaction.class), mock(WrappedFramedGraph.class));
+        failedTx.success();
+        failedTx.failure();
+        failedTx.close();
+
+        List<Sample> samples = PersistenceMetrics.getInstance().drain();
+        assertEquals(1L, getValue(samples, TRANSACTION_COMMITS, null));
+        assertEquals(1L, getValue(samples, TRANSACTION_ROLLBACKS, null));
+    }
+
+    @Test
+    public void shouldNotReportMethodsWithoutCalls() {
+        switchRepository.findAll();
+        PersistenceMetrics.getInstance().drain();
+
+        List<Sample> samples = PersistenceMetrics.getInstance().drain();
+        assertFalse(samples.stream().anyMatch(sample -> REPOSITORY_CALLS.equals(sample.getMetric())));
+    }
+
+    private static Object getValue(List<Sample> samples, String metric, String method) {
+        return samples.stream()
+                .filter(sample -> sample.getMetric().equals(metric))
+                .filter(sample -> Objects.equals(method, sample.getTags().get(PersistenceMetrics.METHOD_TAG)))
+                .map(Sample::getValue)
+                .findAny()
+                .orElseThrow(() -> new AssertionError("No sample " + metric + " for " + method));
+    }
+}
@@ -30,7 +30,9 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
 
 public class FermaFlowMeterRepositoryTest extends InMemoryGraphBasedTest {
@@ -131,6 +133,26 @@ public class FermaFlowMeterRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(6, secondCookie);
     }
 
+    @Test
+    public void shouldFindAssignedMetersOfSwitchWithinRange() {
+        createFlowMeter(4, new PathId(TEST_PATH_ID + "_1"));
+        createFlowMeter(5, new PathId(TEST_PATH_ID + "_2"));
+        createFlowMeter(25, new PathId(TEST_PATH_ID + "_3"));
+        createFlowMeter(26, new PathId(TEST_PATH_ID + "_4"));
+        Switch otherSwitch = createTestSwitch(2);
+        flowMeterRepository.add(FlowMeter.builder()
+                .switchId(otherSwitch.getSwitchId())
+                .meterId(new MeterId(10))
+                .pathId(new PathId(TEST_PATH_ID + "_5"))
+                .flowId(TEST_FLOW_ID)
+                .build());
+
+        Collection<MeterId> assignedMeters = flowMeterRepository.findAssignedMeters(theSwitch.getSwitchId(),
+                MIN_METER_ID, MAX_METER_ID);
+
+        assertEquals(new HashSet<>(Arrays.asList(MIN_METER_ID, MAX_METER_ID)), new HashSet<>(assignedMeters));
+    }
+
     private long findUnassignedMeterAndCreate(String flowId) {
         return findUnassignedMeterAndCreate(flowId, TEST_PATH_ID);
     }
@@ -46,6 +46,7 @@ import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -117,6 +118,92 @@ public class FermaFlowRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(switchB.getSwitchId(), flowWithoutPaths.get().getDestSwitchId());
     }
 
+    @Test
+    public void shouldFindAllFlowsPageByPage() {
+        createTestFlow(TEST_FLOW_ID_3, switchA, switchB);
+        createTestFlow(TEST_FLOW_ID, switchA, switchB);
+        createTestFlow(TEST_FLOW_ID_2, switchA, switchB);
+
+        List<String> firstPage = flowRepository.findAll(null, 2).stream()
+                .map(Flow::getFlowId)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(TEST_FLOW_ID, TEST_FLOW_ID_2), firstPage);
+
+        List<String> secondPage = flowRepository.findAll(TEST_FLOW_ID_2, 2).stream()
+                .map(Flow::getFlowId)
+                .collect(Collectors.toList());
+        assertEquals(Collections.singletonList(TEST_FLOW_ID_3), secondPage);
+
+        assertTrue(flowRepository.findAll(TEST_FLOW_ID_3, 2).isEmpty());
+    }
+
+    @Test
+    public void shouldStreamAllFlowsPageByPage() {
+        createTestFlow(TEST_FLOW_ID_3, switchA, switchB);
+        createTestFlow(TEST_FLOW_ID, switchA, switchB);
+        createTestFlow(TEST_FLOW_ID_2, switchA, switchB);
+
+        List<String> flowIds = flowRepository.streamAll(2)
+                .map(Flow::getFlowId)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(TEST_FLOW_ID, TEST_FLOW_ID_2, TEST_FLOW_ID_3), flowIds);
+
+        assertEquals(3, flowRepository.streamAll(3).count());
+        assertEquals(3, flowRepository.streamAll(100).count());
+    }
+
+    @Test
+    public void shouldStreamFlowsWithLoadedPathsAndSegments() {
+        Switch switchC = createTestSwitch(TEST_SWITCH_C_ID.getId());
+        createTestFlowWithIntermediate(TEST_FLOW_ID, switchA, switchC, PORT_3, switchB);
+        createTestFlowWithIntermediate(TEST_FLOW_ID_2, switchB, switchC, PORT_3, switchA);
+
+        List<Flow> flows = flowRepository.streamAll(1).collect(Collectors.toList());
+        assertEquals(2, flows.size());
+
+        Flow flow = flows.get(0);
+        assertEquals(TEST_FLOW_ID, flow.getFlowId());
+        assertEquals(TEST_SWITCH_A_ID, flow.getSrcSwitch().getSwitchId());
+        assertEquals(TEST_SWITCH_B_ID, flow.getDestSwitch().getSwitchId());
+        assertEquals(2, flow.getPaths().size());
+
+        FlowPath forwardPath = flow.getForwardPath();
+        assertEquals(TEST_FLOW_ID, forwardPath.getFlow().getFlowId());
+        assertEquals(TEST_SWITCH_A_ID, forwardPath.getSrcSwitch().getSwitchId());
+        assertEquals(1, forwardPath.getSegments().size());
+        PathSegment segment = forwardPath.getSegments().get(0);
+        assertEquals(forwardPath.getPathId(), segment.getPath().getPathId());
+        assertEquals(TEST_SWITCH_C_ID, segment.getDestSwitch().getSwitchId());
+
+        assertEquals(TEST_SWITCH_C_ID, flows.get(1).getReversePath().getSegments().get(0).getSrcSwitchId());
+    }
+
+    @Test
+    public void shouldStreamFlowsByStatus() {
+        createTestFlow(TEST_FLOW_ID, switchA, switchB).setStatus(FlowStatus.DOWN);
+        createTestFlow(TEST_FLOW_ID_2, switchA, switchB).setStatus(FlowStatus.DEGRADED);
+        createTestFlow(TEST_FLOW_ID_3, switchA, switchB);
+        createTestFlow(TEST_FLOW_ID_4, switchA, switchB).setStatus(FlowStatus.DOWN);
+
+        List<String> inactiveFlowIds = flowRepository.streamInactiveFlows(2)
+                .map(Flow::getFlowId)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(TEST_FLOW_ID, TEST_FLOW_ID_2, TEST_FLOW_ID_4), inactiveFlowIds);
+
+        List<String> downFlowIds = flowRepository.streamByFlowFilter(
+                FlowFilter.builder().flowStatus(FlowStatus.DOWN).build(), 1)
+                .map(Flow::getFlowId)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(TEST_FLOW_ID, TEST_FLOW_ID_4), downFlowIds);
+
+        assertEquals(4, flowRepository.streamByFlowFilter(FlowFilter.builder().build(), 3).count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToStreamWithNonPositivePageSize() {
+        flowRepository.streamAll(0);
+    }
+
     @Test
     public void shouldNotFindByIdWithEndpoints() {
         assertFalse(flowRepository.findById("Non_existent").isPresent());
@@ -17,6 +17,8 @@ package org.openkilda.persistence.ferma.repositories;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
@@ -125,6 +127,20 @@ public class FermaIslRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(switchB.getSwitchId(), foundIsls.get(0).getDestSwitchId());
     }
 
+    @Test
+    public void shouldCheckIslExistsByEndpoint() {
+        Isl isl = Isl.builder()
+                .srcSwitch(switchA).srcPort(111)
+                .destSwitch(switchB).destPort(112).build();
+
+        islRepository.add(isl);
+
+        assertTrue(islRepository.existsByEndpoint(TEST_SWITCH_A_ID, 111));
+        assertTrue(islRepository.existsByEndpoint(TEST_SWITCH_B_ID, 112));
+        assertFalse(islRepository.existsByEndpoint(TEST_SWITCH_A_ID, 112));
+        assertFalse(islRepository.existsByEndpoint(TEST_SWITCH_B_ID, 111));
+    }
+
     @Test
     public void shouldFindIslBySrcEndpoint() {
         Isl isl = Isl.builder()
@@ -269,6 +285,43 @@ public class FermaIslRepositoryTest extends InMemoryGraphBasedTest {
         assertThat(foundIsls, Matchers.hasSize(0));
     }
 
+    @Test
+    public void shouldFindIslsOccupiedByFlowPathsWithAvailableBandwidth() {
+        islRepository.add(Isl.builder()
+                .srcSwitch(switchA).srcPort(1)
+                .destSwitch(switchB).destPort(2)
+                .status(IslStatus.ACTIVE).availableBandwidth(101).build());
+        islRepository.add(Isl.builder()
+                .srcSwitch(switchB).srcPort(2)
+                .destSwitch(switchA).destPort(1)
+                .status(IslStatus.ACTIVE).availableBandwidth(99).build());
+
+        Flow flow = createFlowWithPath(0, 0);
+
+        List<Isl> foundIsls = Lists.newArrayList(
+                islRepository.findActiveAndOccupiedByFlowPathsWithAvailableBandwidth(
+                        flow.getPathIds(), 100, FlowEncapsulationType.TRANSIT_VLAN));
+        assertThat(foundIsls, Matchers.hasSize(1));
+        assertEquals(switchA.getSwitchId(), foundIsls.get(0).getSrcSwitchId());
+        assertEquals(1, foundIsls.get(0).getSrcPort());
+    }
+
+    @Test
+    public void shouldSkipIslsOccupiedByFlowPathsWithIgnoreBandwidth() {
+        islRepository.add(Isl.builder()
+                .srcSwitch(switchA).srcPort(1)
+                .destSwitch(switchB).destPort(2)
+                .status(IslStatus.ACTIVE).availableBandwidth(101).build());
+
+        Flow flow = createFlowWithPath(0, 0);
+        flow.getForwardPath().setIgnoreBandwidth(true);
+
+        List<Isl> foundIsls = Lists.newArrayList(
+                islRepository.findActiveAndOccupiedByFlowPathsWithAvailableBandwidth(
+                        flow.getPathIds(), 100, FlowEncapsulationType.TRANSIT_VLAN));
+        assertThat(foundIsls, Matchers.hasSize(0));
+    }
+
     @Ignore("Need to fix merging of bandwidth values.")
     @Test
     public void shouldGetUsedBandwidth() {
@@ -0,0 +1,111 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.ferma.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowPathStatus;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.cookie.FlowSegmentCookie;
+import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.PathSegmentRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class FermaPathSegmentRepositoryTest extends InMemoryGraphBasedTest {
+    static final PathId TEST_PATH_ID_1 = new PathId("test_path_1");
+    static final PathId TEST_PATH_ID_2 = new PathId("test_path_2");
+    static final PathId TEST_PATH_ID_3 = new PathId("test_path_3");
+
+    PathSegmentRepository pathSegmentRepository;
+    FlowPathRepository flowPathRepository;
+
+    Switch switchA;
+    Switch switchB;
+    Switch switchC;
+
+    @Before
+    public void setUp() {
+        pathSegmentRepository = repositoryFactory.createPathSegmentRepository();
+        flowPathRepository = repositoryFactory.createFlowPathRepository();
+
+        switchA = createTestSwitch(1);
+        switchB = createTestSwitch(2);
+        switchC = createTestSwitch(3);
+    }
+
+    @Test
+    public void shouldFindSegmentsByPathIds() {
+        createPath(TEST_PATH_ID_1, 1, Arrays.asList(
+                PathSegment.builder().srcSwitch(switchA).srcPort(1).destSwitch(switchB).destPort(1).build(),
+                PathSegment.builder().srcSwitch(switchB).srcPort(2).destSwitch(switchC).destPort(2).build()));
+        createPath(TEST_PATH_ID_2, 2, Collections.singletonList(
+                PathSegment.builder().srcSwitch(switchC).srcPort(3).destSwitch(switchA).destPort(3).build()));
+        createPath(TEST_PATH_ID_3, 3, Collections.singletonList(
+                PathSegment.builder().srcSwitch(switchA).srcPort(4).destSwitch(switchC).destPort(4).build()));
+
+        Map<PathId, List<PathSegment>> segments = pathSegmentRepository.findSegmentsByPathIds(
+                Arrays.asList(TEST_PATH_ID_2, TEST_PATH_ID_1));
+
+        assertEquals(Arrays.asList(TEST_PATH_ID_2, TEST_PATH_ID_1), Arrays.asList(segments.keySet().toArray()));
+
+        List<PathSegment> firstPathSegments = segments.get(TEST_PATH_ID_1);
+        assertEquals(2, firstPathSegments.size());
+        assertEquals(0, firstPathSegments.get(0).getSeqId());
+        assertEquals(switchA.getSwitchId(), firstPathSegments.get(0).getSrcSwitch().getSwitchId());
+        assertEquals(switchB.getSwitchId(), firstPathSegments.get(0).getDestSwitch().getSwitchId());
+        assertEquals(1, firstPathSegments.get(1).getSeqId());
+        assertEquals(switchC.getSwitchId(), firstPathSegments.get(1).getDestSwitch().getSwitchId());
+
+        List<PathSegment> secondPathSegments = segments.get(TEST_PATH_ID_2);
+        assertEquals(1, secondPathSegments.size());
+        assertEquals(3, secondPathSegments.get(0).getSrcPort());
+    }
+
+    @Test
+    public void shouldOmitPathsWithoutSegments() {
+        createPath(TEST_PATH_ID_1, 1, Collections.emptyList());
+
+        assertTrue(pathSegmentRepository.findSegmentsByPathIds(
+                Arrays.asList(TEST_PATH_ID_1, TEST_PATH_ID_2)).isEmpty());
+        assertTrue(pathSegmentRepository.findSegmentsByPathIds(Collections.emptyList()).isEmpty());
+    }
+
+    private void createPath(PathId pathId, long cookie, List<PathSegment> segments) {
+        FlowPath path = FlowPath.builder()
+                .srcSwitch(switchA)
+                .destSwitch(switchC)
+                .pathId(pathId)
+                .cookie(new FlowSegmentCookie(cookie))
+                .meterId(new MeterId(cookie))
+                .status(FlowPathStatus.ACTIVE)
+                .build();
+        path.setSegments(segments);
+        flowPathRepository.add(path);
+    }
+}
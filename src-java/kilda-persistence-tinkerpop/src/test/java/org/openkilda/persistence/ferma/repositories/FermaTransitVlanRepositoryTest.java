@@ -26,7 +26,9 @@ import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
 
 public class FermaTransitVlanRepositoryTest extends InMemoryGraphBasedTest {
@@ -115,6 +117,24 @@ public class FermaTransitVlanRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(8, fifth);
     }
 
+    @Test
+    public void shouldFindAssignedTransitVlansWithinRange() {
+        int[] vlans = {MIN_TRANSIT_VLAN - 1, MIN_TRANSIT_VLAN, 10, MAX_TRANSIT_VLAN, MAX_TRANSIT_VLAN + 1};
+        for (int vlan : vlans) {
+            transitVlanRepository.add(TransitVlan.builder()
+                    .vlan(vlan)
+                    .pathId(new PathId(TEST_FLOW_ID + "_path_" + vlan))
+                    .flowId(TEST_FLOW_ID)
+                    .build());
+        }
+
+        Collection<Integer> assignedVlans = transitVlanRepository.findAssignedVlans(
+                MIN_TRANSIT_VLAN, MAX_TRANSIT_VLAN);
+
+        assertEquals(new HashSet<>(Arrays.asList(MIN_TRANSIT_VLAN, 10, MAX_TRANSIT_VLAN)),
+                new HashSet<>(assignedVlans));
+    }
+
     private int findUnassignedTransitVlanAndCreate(String flowId) {
         int availableVlan = transitVlanRepository.findFirstUnassignedVlan(MIN_TRANSIT_VLAN, MAX_TRANSIT_VLAN).get();
         TransitVlan transitVlan = TransitVlan.builder()
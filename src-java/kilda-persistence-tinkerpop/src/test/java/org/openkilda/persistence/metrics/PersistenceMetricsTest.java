@@ -0,0 +1,80 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.BUCKET_TAG;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.REPOSITORY_CALLS;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.REPOSITORY_LATENCY;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.TRANSACTION_DURATION;
+import static org.openkilda.persistence.metrics.PersistenceMetrics.TRANSACTION_RETRIES;
+
+import org.openkilda.persistence.metrics.PersistenceMetrics.Sample;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class PersistenceMetricsTest {
+    private final PersistenceMetrics metrics = new PersistenceMetrics();
+
+    @Test
+    public void shouldPutLatenciesIntoBuckets() {
+        metrics.recordRepositoryCall("repo", "find", TimeUnit.MICROSECONDS.toNanos(500), 1, false);
+        metrics.recordRepositoryCall("repo", "find", TimeUnit.MILLISECONDS.toNanos(1), 1, false);
+        metrics.recordRepositoryCall("repo", "find", TimeUnit.MILLISECONDS.toNanos(3), 1, false);
+        metrics.recordRepositoryCall("repo", "find", TimeUnit.SECONDS.toNanos(7), 1, false);
+
+        List<Sample> samples = metrics.drain();
+        Map<String, Number> buckets = samples.stream()
+                .filter(sample -> REPOSITORY_LATENCY.equals(sample.getMetric()))
+                .collect(Collectors.toMap(sample -> sample.getTags().get(BUCKET_TAG), Sample::getValue));
+        assertEquals(PersistenceMetrics.LATENCY_BOUNDS_MILLIS.length + 1, buckets.size());
+        assertEquals(2L, buckets.get("1"));
+        assertEquals(2L, buckets.get("2"));
+        assertEquals(3L, buckets.get("5"));
+        assertEquals(3L, buckets.get("5000"));
+        assertEquals(4L, buckets.get(PersistenceMetrics.UNBOUNDED_BUCKET));
+        assertEquals(7000.0, getValue(samples, REPOSITORY_LATENCY + ".max"));
+        assertEquals(7004.5, getValue(samples, REPOSITORY_LATENCY + ".sum"));
+    }
+
+    @Test
+    public void shouldResetOnDrain() {
+        metrics.recordRepositoryCall("repo", "find", 1, 1, false);
+        metrics.recordTransaction(TimeUnit.MILLISECONDS.toNanos(30), true);
+        metrics.recordRetry();
+
+        List<Sample> samples = metrics.drain();
+        assertEquals(1L, getValue(samples, REPOSITORY_CALLS));
+        assertEquals(1L, getValue(samples, TRANSACTION_RETRIES));
+        assertEquals(30.0, getValue(samples, TRANSACTION_DURATION + ".max"));
+
+        assertTrue(metrics.drain().isEmpty());
+    }
+
+    private static Number getValue(List<Sample> samples, String metric) {
+        return samples.stream()
+                .filter(sample -> sample.getMetric().equals(metric))
+                .map(Sample::getValue)
+                .findAny()
+                .orElseThrow(() -> new AssertionError("No sample " + metric));
+    }
+}
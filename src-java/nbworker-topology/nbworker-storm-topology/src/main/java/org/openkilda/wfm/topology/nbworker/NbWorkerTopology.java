@@ -201,7 +201,8 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         declareBolt(tb, historyBolt, HISTORY_BOLT_NAME)
                 .shuffleGrouping(ROUTER_BOLT_NAME, StreamType.HISTORY.toString());
 
-        ResponseSplitterBolt splitterBolt = new ResponseSplitterBolt();
+        ResponseSplitterBolt splitterBolt = new ResponseSplitterBolt(topologyConfig.getResponseChunkMaxItems(),
+                topologyConfig.getResponseChunkMaxBytes());
         declareBolt(tb, splitterBolt, SPLITTER_BOLT_NAME)
                 .shuffleGrouping(SWITCHES_BOLT_NAME)
                 .shuffleGrouping(LINKS_BOLT_NAME)
@@ -73,6 +73,18 @@ public interface NbWorkerTopologyConfig extends AbstractTopologyConfig {
     @Description("The timeout for performing H&S operations")
     int getProcessTimeout();
 
+    @Key("nbworker.response.chunk.items")
+    @Default("500")
+    @Min(1)
+    @Description("The maximum number of items in a message of a chunked response")
+    int getResponseChunkMaxItems();
+
+    @Key("nbworker.response.chunk.bytes")
+    @Default("524288")
+    @Min(0)
+    @Description("The maximum size (in bytes) of items in a message of a chunked response, 0 means unlimited")
+    int getResponseChunkMaxBytes();
+
     @Key("burst.coefficient")
     @Default("1.05")
     double getFlowMeterBurstCoefficient();
@@ -18,24 +18,32 @@ package org.openkilda.wfm.topology.nbworker.bolts;
 import static org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper.BOLT_KEY;
 import static org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE;
 
-import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ResponseSplitterBolt extends AbstractBolt {
     public static final String FIELD_ID_RESPONSE = "response";
 
+    private final int chunkMaxItems;
+    private final int chunkMaxBytes;
+
+    public ResponseSplitterBolt(int chunkMaxItems, int chunkMaxBytes) {
+        this.chunkMaxItems = chunkMaxItems;
+        this.chunkMaxBytes = chunkMaxBytes;
+    }
+
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
         @SuppressWarnings("unchecked")
@@ -45,25 +53,23 @@ public class ResponseSplitterBolt extends AbstractBolt {
         sendChunkedResponse(responses, input, getCommandContext().getCorrelationId());
     }
 
-    private void sendChunkedResponse(List<InfoData> responses, Tuple input, String requestId) {
-        List<Message> messages = new ArrayList<>(responses.size());
+    private void sendChunkedResponse(List<InfoData> responses, Tuple input, String requestId)
+            throws PipelineException {
         if (CollectionUtils.isEmpty(responses)) {
             log.debug("No records found in the database");
-            Message message = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId,
-                    responses.size());
-            messages.add(message);
-        } else {
-            int i = 0;
-            for (InfoData data : responses) {
-                Message message = new ChunkedInfoMessage(data, System.currentTimeMillis(), requestId, i++,
-                        responses.size());
-                messages.add(message);
-            }
+        }
 
-            log.debug("Response is divided into {} messages", messages.size());
+        List<ChunkedInfoMessage> messages;
+        try {
+            messages = ChunkedInfoMessage.createChunkedList(
+                    responses != null ? responses : Collections.emptyList(), requestId, chunkMaxItems, chunkMaxBytes);
+        } catch (JsonProcessingException e) {
+            throw new PipelineException(this, input, FIELD_ID_RESPONSE, e.toString());
         }
+        log.debug("Response of {} items is divided into {} messages",
+                responses != null ? responses.size() : 0, messages.size());
 
-        // emit all found messages
+        // emit all pages of the response
         messages.forEach(message ->
                 getOutput().emit(input, new Values(requestId, message)));
     }
@@ -80,6 +80,7 @@ public class FlowOperationsService {
 
     private static final int MAX_TRANSACTION_RETRY_COUNT = 3;
     private static final int RETRY_DELAY = 100;
+    private static final int DUMP_PAGE_SIZE = 500;
 
     private TransactionManager transactionManager;
     private IslRepository islRepository;
@@ -138,9 +139,10 @@ public class FlowOperationsService {
     public Collection<Flow> getAllFlows(FlowsDumpRequest request) {
         return (Collection<Flow>) getReadOperationFailsafe().get(() ->
                 transactionManager.doInTransaction(() ->
-                        flowRepository.findByFlowFilter(FlowFilter.builder()
+                        flowRepository.streamByFlowFilter(FlowFilter.builder()
                                 .flowStatus(request.getStatus())
-                                .build()))
+                                .build(), DUMP_PAGE_SIZE)
+                                .collect(Collectors.toList()))
         );
     }
 
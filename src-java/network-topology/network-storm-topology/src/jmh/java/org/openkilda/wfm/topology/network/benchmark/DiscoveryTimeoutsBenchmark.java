@@ -0,0 +1,143 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.benchmark;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.topology.network.utils.TimingWheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TimingWheel} with the sorted map of deadlines used by the discovery services before it, on the
+ * operations of the watch list: an endpoint poll mode change (cancel and reschedule of a single timeout) and
+ * a timer tick in the steady state, when every endpoint is polled once per period.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscoveryTimeoutsBenchmark {
+    private static final long PERIOD = TimeUnit.SECONDS.toNanos(3);
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Param({"1000", "30000"})
+    public int endpointsCount;
+
+    private Endpoint[] endpoints;
+    private int nextEndpoint;
+    private long now;
+
+    private SortedMapTimeouts<Endpoint> sortedMapTimeouts;
+    private TimingWheel<Endpoint> timingWheel;
+    private Map<Endpoint, TimingWheel.Handle<Endpoint>> handles;
+
+    /**
+     * Schedules a timeout for every endpoint in both implementations.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        endpoints = new Endpoint[endpointsCount];
+        for (int i = 0; i < endpointsCount; i++) {
+            endpoints[i] = Endpoint.of(new SwitchId(i / 48 + 1), i % 48 + 1);
+        }
+
+        sortedMapTimeouts = new SortedMapTimeouts<>();
+        timingWheel = TimingWheel.withBuckets(PERIOD, 256);
+        handles = new HashMap<>();
+        // endpoints are added to the watch list one by one, so their deadlines are spread over the period
+        for (int i = 0; i < endpointsCount; i++) {
+            long addedAt = PERIOD * i / endpointsCount;
+            sortedMapTimeouts.schedule(endpoints[i], addedAt, PERIOD);
+            handles.put(endpoints[i], timingWheel.schedule(endpoints[i], addedAt, PERIOD));
+        }
+        now = PERIOD;
+    }
+
+    /**
+     * Poll mode change of an endpoint with the sorted map.
+     */
+    @Benchmark
+    public void rescheduleSortedMap() {
+        Endpoint endpoint = nextEndpoint();
+        sortedMapTimeouts.cancel(endpoint);
+        sortedMapTimeouts.schedule(endpoint, now, PERIOD);
+    }
+
+    /**
+     * Poll mode change of an endpoint with the timing wheel.
+     */
+    @Benchmark
+    public void rescheduleTimingWheel() {
+        Endpoint endpoint = nextEndpoint();
+        timingWheel.cancel(handles.get(endpoint));
+        handles.put(endpoint, timingWheel.schedule(endpoint, now, PERIOD));
+    }
+
+    /**
+     * Timer tick with the sorted map, the expired endpoints are scheduled for the next period.
+     */
+    @Benchmark
+    public void tickSortedMap(Blackhole blackhole) {
+        long tickTime = nextTick();
+        sortedMapTimeouts.advance(tickTime, endpoint -> {
+            blackhole.consume(endpoint);
+            sortedMapTimeouts.schedule(endpoint, tickTime, PERIOD);
+        });
+    }
+
+    /**
+     * Timer tick with the timing wheel, the expired endpoints are scheduled for the next period.
+     */
+    @Benchmark
+    public void tickTimingWheel(Blackhole blackhole) {
+        long tickTime = nextTick();
+        timingWheel.advance(tickTime, endpoint -> {
+            blackhole.consume(endpoint);
+            handles.put(endpoint, timingWheel.schedule(endpoint, tickTime, PERIOD));
+        });
+    }
+
+    private Endpoint nextEndpoint() {
+        now += 1; // poll mode changes come at distinct times, as the services use nanosecond timestamps
+        Endpoint endpoint = endpoints[nextEndpoint];
+        nextEndpoint = (nextEndpoint + 1) % endpoints.length;
+        return endpoint;
+    }
+
+    private long nextTick() {
+        now += TICK;
+        return now;
+    }
+}
@@ -0,0 +1,53 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.benchmark;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * The timeouts as they were kept by the discovery services before the timing wheel: a sorted map of sets by
+ * deadline. Cancelling a timeout scans every deadline, as the services did not know the deadline of an entry.
+ */
+class SortedMapTimeouts<T> {
+    private final SortedMap<Long, Set<T>> timeouts = new TreeMap<>();
+
+    void schedule(T value, long now, long timeout) {
+        timeouts.computeIfAbsent(now + timeout, key -> new HashSet<>())
+                .add(value);
+    }
+
+    void cancel(T value) {
+        for (Set<T> entry : timeouts.values()) {
+            entry.remove(value);
+        }
+    }
+
+    void advance(long now, Consumer<T> action) {
+        SortedMap<Long, Set<T>> range = timeouts.subMap(Long.MIN_VALUE, now + 1);
+        if (!range.isEmpty()) {
+            Set<T> expired = new HashSet<>();
+            for (Set<T> entry : range.values()) {
+                expired.addAll(entry);
+            }
+            range.clear();
+            expired.forEach(action);
+        }
+    }
+}
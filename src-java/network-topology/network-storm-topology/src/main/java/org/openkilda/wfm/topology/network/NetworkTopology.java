@@ -230,9 +230,9 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
 
     private void watcher(TopologyBuilder topology) {
         WatcherHandler bolt = new WatcherHandler(options);
-        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH,
-                WatchListHandler.FIELD_ID_PORT_NUMBER);
-        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH, SpeakerRouter.FIELD_ID_PORT_NUMBER);
+        // all endpoints of a switch are handled by one watcher, so it can batch discovery requests of the switch
+        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH);
+        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH);
         declareBolt(topology, bolt, WatcherHandler.BOLT_ID)
                 .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(WatchListHandler.BOLT_ID, watchListGrouping)
@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.topology.network.utils.TimingWheel;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.AllArgsConstructor;
@@ -25,23 +26,22 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatchListService {
+    private static final int TIMING_WHEEL_BUCKETS = 256;
+
     private final IWatchListCarrier carrier;
     private final long genericTickPeriod;
     private final long exhaustedTickPeriod;
     private final long auxiliaryTickPeriod;
 
     private final Map<Endpoint, WatchListEntry> endpoints = new HashMap<>();
-    private final SortedMap<Long, Set<Endpoint>> timeouts = new TreeMap<>();
-
+    private final Map<Endpoint, TimingWheel.Handle<Endpoint>> timeoutHandles = new HashMap<>();
+    private final TimingWheel<Endpoint> timeouts;
 
     public NetworkWatchListService(IWatchListCarrier carrier, long genericTickPeriod,
                                    long exhaustedTickPeriod, long auxiliaryTickPeriod) {
@@ -49,6 +49,9 @@ public class NetworkWatchListService {
         this.genericTickPeriod = genericTickPeriod;
         this.exhaustedTickPeriod = exhaustedTickPeriod;
         this.auxiliaryTickPeriod = auxiliaryTickPeriod;
+
+        long longestPeriod = Math.max(genericTickPeriod, Math.max(exhaustedTickPeriod, auxiliaryTickPeriod));
+        timeouts = TimingWheel.withBuckets(longestPeriod, TIMING_WHEEL_BUCKETS);
     }
 
     @VisibleForTesting
@@ -57,7 +60,7 @@ public class NetworkWatchListService {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Endpoint>> getTimeouts() {
+    TimingWheel<Endpoint> getTimeouts() {
         return timeouts;
     }
 
@@ -65,7 +68,7 @@ public class NetworkWatchListService {
     void addWatch(Endpoint endpoint, long currentTime) {
         if (endpoints.put(endpoint, new WatchListEntry()) == null) {
             carrier.discoveryRequest(endpoint, currentTime);
-            addTimeout(endpoint, currentTime + genericTickPeriod);
+            addTimeout(endpoint, currentTime, genericTickPeriod);
         }
     }
 
@@ -81,6 +84,7 @@ public class NetworkWatchListService {
         log.debug("Watch-list service receive REMOVE-WATCH request for {}", endpoint);
         carrier.watchRemoved(endpoint);
         endpoints.remove(endpoint);
+        timeouts.cancel(timeoutHandles.remove(endpoint));
     }
 
     @VisibleForTesting
@@ -120,22 +124,12 @@ public class NetworkWatchListService {
      */
     @VisibleForTesting
     void tick(long tickTime) {
-        SortedMap<Long, Set<Endpoint>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            Map<Endpoint, WatchListEntry> renew = new HashMap<>();
-
-            for (Set<Endpoint> endpointSet : range.values()) {
-                for (Endpoint endpoint : endpointSet) {
-                    WatchListEntry watchListEntry = endpoints.get(endpoint);
-                    if (watchListEntry != null && renew.put(endpoint, watchListEntry) == null) {
-                        carrier.discoveryRequest(endpoint, tickTime);
-                    }
-                }
+        timeouts.advance(tickTime, endpoint -> {
+            if (endpoints.containsKey(endpoint)) {
+                carrier.discoveryRequest(endpoint, tickTime);
+                addTimeout(endpoint, tickTime, calculateTimeout(endpoint));
             }
-            range.clear();
-
-            renew.forEach((endpoint, watchListEntry) -> addTimeout(endpoint, tickTime + calculateTimeout(endpoint)));
-        }
+        });
     }
 
     public void tick() {
@@ -146,9 +140,8 @@ public class NetworkWatchListService {
         return System.nanoTime();
     }
 
-    private void addTimeout(Endpoint endpoint, long timeoutAt) {
-        timeouts.computeIfAbsent(timeoutAt, mappingFunction -> new HashSet<>())
-                .add(endpoint);
+    private void addTimeout(Endpoint endpoint, long currentTime, long timeout) {
+        timeouts.cancel(timeoutHandles.put(endpoint, timeouts.schedule(endpoint, currentTime, timeout)));
     }
 
     @VisibleForTesting
@@ -165,12 +158,8 @@ public class NetworkWatchListService {
     }
 
     private void reloadEndpointTimeout(Endpoint endpoint, long currentTime) {
-        for (Set<Endpoint> e : timeouts.values()) {
-            e.remove(endpoint);
-        }
-
         carrier.discoveryRequest(endpoint, currentTime);
-        addTimeout(endpoint, currentTime + calculateTimeout(endpoint));
+        addTimeout(endpoint, currentTime, calculateTimeout(endpoint));
     }
 
     @Getter
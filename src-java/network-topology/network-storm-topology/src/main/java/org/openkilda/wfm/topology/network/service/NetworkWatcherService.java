@@ -15,22 +15,30 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.topology.network.utils.TimingWheel;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatcherService {
+    private static final int TIMING_WHEEL_BUCKETS = 64;
+
     private final IWatcherCarrier carrier;
     private final long awaitTime;
     private final Integer taskId;
@@ -40,12 +48,17 @@ public class NetworkWatcherService {
     private Set<Packet> roundTripPackets = new HashSet<>();
 
     private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+    private final TimingWheel<Packet> timeouts;
+    // timeouts of the packets which are still awaited, by endpoint and packet number
+    private final Map<Endpoint, Map<Long, TimingWheel.Handle<Packet>>> endpointTimeouts = new HashMap<>();
+    // discovery requests produced since the last tick, they are sent to the speaker as one batch per switch
+    private Map<SwitchId, List<DiscoverIslCommandData>> pendingRequests = new LinkedHashMap<>();
 
     public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId) {
         this.carrier = carrier;
         this.awaitTime = awaitTime;
         this.taskId = taskId;
+        timeouts = TimingWheel.withBuckets(awaitTime, TIMING_WHEEL_BUCKETS);
     }
 
     public void addWatch(Endpoint endpoint) {
@@ -60,12 +73,13 @@ public class NetworkWatcherService {
         discoveryPackets.add(packet);
         roundTripPackets.add(packet);
 
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
-                .add(packet);
+        endpointTimeouts.computeIfAbsent(endpoint, key -> new HashMap<>())
+                .put(packet.packetNo, timeouts.schedule(packet, currentTime, awaitTime));
 
         DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
                 endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
-        carrier.sendDiscovery(discoveryRequest);
+        pendingRequests.computeIfAbsent(endpoint.getDatapath(), key -> new ArrayList<>())
+                .add(discoveryRequest);
 
         packetNo += 1;
     }
@@ -76,9 +90,23 @@ public class NetworkWatcherService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watcher service receive REMOVE-watch request for {}", endpoint);
         carrier.clearDiscovery(endpoint);
-        discoveryPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        roundTripPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+        List<DiscoverIslCommandData> switchRequests = pendingRequests.get(endpoint.getDatapath());
+        if (switchRequests != null) {
+            switchRequests.removeIf(entry -> entry.getPortNumber() == endpoint.getPortNumber());
+            if (switchRequests.isEmpty()) {
+                pendingRequests.remove(endpoint.getDatapath());
+            }
+        }
+        Map<Long, TimingWheel.Handle<Packet>> packetTimeouts = endpointTimeouts.remove(endpoint);
+        if (packetTimeouts != null) {
+            for (TimingWheel.Handle<Packet> handle : packetTimeouts.values()) {
+                timeouts.cancel(handle);
+                Packet packet = handle.getValue();
+                discoveryPackets.remove(packet);
+                roundTripPackets.remove(packet);
+                confirmedPackets.remove(packet);
+            }
+        }
     }
 
     public void tick() {
@@ -86,14 +114,29 @@ public class NetworkWatcherService {
     }
 
     void tick(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
+        flushDiscoveryRequests();
+        timeouts.advance(tickTime, this::timeoutAction);
+    }
+
+    /**
+     * Send discovery requests produced since the last tick, one batch per switch.
+     */
+    void flushDiscoveryRequests() {
+        if (pendingRequests.isEmpty()) {
+            return;
+        }
+        Map<SwitchId, List<DiscoverIslCommandData>> batches = pendingRequests;
+        pendingRequests = new LinkedHashMap<>();
+
+        for (Map.Entry<SwitchId, List<DiscoverIslCommandData>> entry : batches.entrySet()) {
+            List<DiscoverIslCommandData> requests = entry.getValue();
+            if (requests.size() == 1) {
+                carrier.sendDiscovery(requests.get(0));
+            } else {
+                log.debug("Watcher service send {} discovery requests for {} as a batch task:{}",
+                          requests.size(), entry.getKey(), taskId);
+                carrier.sendDiscoveryBatch(new DiscoverIslBatchCommandData(entry.getKey(), requests));
             }
-            range.clear();
         }
     }
 
@@ -156,6 +199,14 @@ public class NetworkWatcherService {
     }
 
     private void timeoutAction(Packet packet) {
+        Map<Long, TimingWheel.Handle<Packet>> packetTimeouts = endpointTimeouts.get(packet.endpoint);
+        if (packetTimeouts != null) {
+            packetTimeouts.remove(packet.packetNo);
+            if (packetTimeouts.isEmpty()) {
+                endpointTimeouts.remove(packet.endpoint);
+            }
+        }
+
         discoveryPackets.remove(packet);
         roundTripPackets.remove(packet);
 
@@ -181,7 +232,7 @@ public class NetworkWatcherService {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
+    TimingWheel<Packet> getTimeouts() {
         return timeouts;
     }
 
@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.network.storm.bolt.watcher;
 
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.SwitchId;
@@ -133,6 +134,12 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
         emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequest));
     }
 
+    @Override
+    public void sendDiscoveryBatch(DiscoverIslBatchCommandData discoveryRequests) {
+        SwitchId switchId = discoveryRequests.getSwitchId();
+        emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequests));
+    }
+
     @Override
     public void clearDiscovery(Endpoint endpoint) {
         emit(getCurrentTuple(), makeDefaultTuple(new DecisionMakerClearCommand(endpoint)));
@@ -0,0 +1,198 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: timeouts are placed into a ring of buckets by their deadline, so scheduling and cancelling
+ * a timeout take constant time and {@link #advance(long, Consumer)} visits only the buckets which have come due.
+ * <p/>
+ * A timeout fires on the first advance to a time equal to or after its deadline; the resolution only defines how
+ * timeouts are spread over buckets. Timeouts further than the span of the wheel are kept for several rotations.
+ * <p/>
+ * The wheel is not thread-safe.
+ */
+public class TimingWheel<T> {
+    private final long resolution;
+    private final Handle<T>[] buckets;
+
+    private long cursorTick;
+    private boolean started;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param resolution time covered by one bucket.
+     * @param span the longest timeout expected, the wheel has enough buckets to keep it without rotations.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long resolution, long span) {
+        if (resolution <= 0 || span <= 0) {
+            throw new IllegalArgumentException("Resolution and span of timing wheel must be positive");
+        }
+        this.resolution = resolution;
+        buckets = new Handle[(int) Math.min(span / resolution + 2, Integer.MAX_VALUE)];
+    }
+
+    /**
+     * Creates a wheel with about the given count of buckets for the timeouts no longer than the span.
+     */
+    public static <T> TimingWheel<T> withBuckets(long span, int bucketsCount) {
+        return new TimingWheel<>(Math.max(1, span / bucketsCount), span);
+    }
+
+    /**
+     * Schedules the value to be passed to the {@link #advance(long, Consumer)} action once the timeout has passed.
+     *
+     * @return the handle to cancel the timeout.
+     */
+    public Handle<T> schedule(T value, long now, long timeout) {
+        if (!started) {
+            cursorTick = tickOf(now);
+            started = true;
+        }
+        Handle<T> handle = new Handle<>(value, now + timeout);
+        link(handle, Math.max(tickOf(handle.deadline), cursorTick));
+        return handle;
+    }
+
+    /**
+     * Cancels the timeout if it hasn't fired yet.
+     *
+     * @return true if the timeout was cancelled.
+     */
+    public boolean cancel(Handle<T> handle) {
+        if (handle == null || handle.bucket < 0) {
+            return false;
+        }
+        unlink(handle);
+        return true;
+    }
+
+    /**
+     * Removes the timeouts which deadline is not after the time and passes their values to the action. The action
+     * is called after the wheel is updated, so it can schedule new timeouts.
+     */
+    public void advance(long now, Consumer<T> action) {
+        long nowTick = tickOf(now);
+        if (!started) {
+            cursorTick = nowTick;
+            started = true;
+            return;
+        }
+        if (nowTick < cursorTick) {
+            nowTick = cursorTick;
+        }
+
+        List<T> expired = null;
+        // The current tick is visited again on the next advance, as it may have timeouts later within the tick.
+        long firstTick = Math.max(cursorTick, nowTick - buckets.length + 1);
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            Handle<T> entry = buckets[bucketOf(tick)];
+            while (entry != null) {
+                Handle<T> next = entry.next;
+                if (entry.deadline <= now) {
+                    unlink(entry);
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(entry.value);
+                }
+                entry = next;
+            }
+        }
+        cursorTick = nowTick;
+
+        if (expired != null) {
+            expired.forEach(action);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void link(Handle<T> handle, long tick) {
+        int bucket = bucketOf(tick);
+        handle.bucket = bucket;
+        handle.next = buckets[bucket];
+        if (handle.next != null) {
+            handle.next.prev = handle;
+        }
+        buckets[bucket] = handle;
+        size++;
+    }
+
+    private void unlink(Handle<T> handle) {
+        if (handle.prev != null) {
+            handle.prev.next = handle.next;
+        } else {
+            buckets[handle.bucket] = handle.next;
+        }
+        if (handle.next != null) {
+            handle.next.prev = handle.prev;
+        }
+        handle.prev = null;
+        handle.next = null;
+        handle.bucket = -1;
+        size--;
+    }
+
+    private long tickOf(long time) {
+        return Math.floorDiv(time, resolution);
+    }
+
+    private int bucketOf(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.length);
+    }
+
+    /**
+     * Scheduled timeout.
+     */
+    public static final class Handle<T> {
+        private final T value;
+        private final long deadline;
+
+        private int bucket = -1;
+        private Handle<T> prev;
+        private Handle<T> next;
+
+        private Handle(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return bucket >= 0;
+        }
+    }
+}
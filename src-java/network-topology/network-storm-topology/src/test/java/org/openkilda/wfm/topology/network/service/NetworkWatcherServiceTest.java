@@ -25,6 +25,7 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
@@ -34,9 +35,12 @@ import org.openkilda.wfm.share.model.Endpoint;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.List;
+
 @RunWith(MockitoJUnitRunner.class)
 public class NetworkWatcherServiceTest {
     private final Integer taskId = 0;
@@ -59,9 +63,12 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslCommandData.class));
 
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        w.flushDiscoveryRequests();
+        verify(carrier, times(2)).sendDiscoveryBatch(any(DiscoverIslBatchCommandData.class));
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslCommandData.class));
     }
 
     @Test
@@ -73,7 +80,9 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 4);
         w.addWatch(Endpoint.of(new SwitchId(3), 1), 5);
 
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        w.flushDiscoveryRequests();
+        verify(carrier, times(2)).sendDiscoveryBatch(any(DiscoverIslBatchCommandData.class));
+        verify(carrier).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 2), 1);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -90,6 +99,7 @@ public class NetworkWatcherServiceTest {
 
         assertThat(w.getConfirmedPackets().size(), is(1));
         assertThat(w.getDiscoveryPackets().size(), is(2));
+        assertThat(w.getTimeouts().size(), is(3));
 
         w.tick(100);
         assertThat(w.getTimeouts().size(), is(0));
@@ -105,8 +115,9 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        assertThat(w.getTimeouts().size(), is(5));
+        w.flushDiscoveryRequests();
+        verify(carrier, times(2)).sendDiscoveryBatch(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -134,8 +145,9 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        assertThat(w.getTimeouts().size(), is(5));
+        w.flushDiscoveryRequests();
+        verify(carrier, times(2)).sendDiscoveryBatch(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -171,6 +183,7 @@ public class NetworkWatcherServiceTest {
 
         NetworkWatcherService w = makeService(awaitTime);
         w.addWatch(Endpoint.of(source.getSwitchId(), source.getPortNo()), 1);
+        w.tick(1);
 
         verify(carrier, times(1)).sendDiscovery(any(DiscoverIslCommandData.class));
 
@@ -186,6 +199,38 @@ public class NetworkWatcherServiceTest {
         assertThat(w.getConfirmedPackets().size(), is(0));
     }
 
+    @Test
+    public void discoveryRequestsAreBatchedPerSwitch() {
+        NetworkWatcherService w = makeService();
+        w.addWatch(Endpoint.of(new SwitchId(1), 1), 1);
+        w.addWatch(Endpoint.of(new SwitchId(2), 1), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 2), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 3), 1);
+        w.addWatch(Endpoint.of(new SwitchId(2), 2), 1);
+        w.removeWatch(Endpoint.of(new SwitchId(2), 2));
+
+        w.tick(2);
+
+        ArgumentCaptor<DiscoverIslBatchCommandData> batchCatcher = ArgumentCaptor.forClass(
+                DiscoverIslBatchCommandData.class);
+        verify(carrier).sendDiscoveryBatch(batchCatcher.capture());
+        DiscoverIslBatchCommandData batch = batchCatcher.getValue();
+        assertThat(batch.getSwitchId(), is(new SwitchId(1)));
+
+        List<DiscoverIslCommandData> requests = batch.getRequests();
+        assertThat(requests.size(), is(3));
+        assertThat(requests.get(0), is(new DiscoverIslCommandData(new SwitchId(1), 1, 0L)));
+        assertThat(requests.get(1), is(new DiscoverIslCommandData(new SwitchId(1), 2, 2L)));
+        assertThat(requests.get(2), is(new DiscoverIslCommandData(new SwitchId(1), 3, 3L)));
+
+        verify(carrier).sendDiscovery(eq(new DiscoverIslCommandData(new SwitchId(2), 1, 1L)));
+
+        // requests are sent only once
+        w.tick(3);
+        verify(carrier).sendDiscoveryBatch(any(DiscoverIslBatchCommandData.class));
+        verify(carrier).sendDiscovery(any(DiscoverIslCommandData.class));
+    }
+
     private NetworkWatcherService makeService() {
         return makeService(10);
     }
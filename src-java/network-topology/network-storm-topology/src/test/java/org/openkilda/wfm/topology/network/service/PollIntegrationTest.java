@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -87,6 +88,7 @@ public class PollIntegrationTest {
         // should produce discovery request
         Endpoint endpoint = Endpoint.of(new SwitchId(1), 1);
         watchListService.addWatch(endpoint, 1);
+        watcherService.tick(1);
 
         ArgumentCaptor<DiscoverIslCommandData> discoveryRequestCatcher = ArgumentCaptor.forClass(
                 DiscoverIslCommandData.class);
@@ -181,6 +183,11 @@ public class PollIntegrationTest {
 
         public abstract void sendDiscovery(DiscoverIslCommandData discoveryRequest);
 
+        @Override
+        public void sendDiscoveryBatch(DiscoverIslBatchCommandData discoveryRequests) {
+            discoveryRequests.getRequests().forEach(this::sendDiscovery);
+        }
+
         @Override
         public void clearDiscovery(Endpoint endpoint) {
             // TBD
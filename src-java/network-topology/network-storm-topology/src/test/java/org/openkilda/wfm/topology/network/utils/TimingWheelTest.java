@@ -0,0 +1,120 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TimingWheelTest {
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    public void shouldFireTimeoutOnDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 100);
+        wheel.schedule("a", 0, 25);
+        wheel.schedule("b", 0, 30);
+
+        wheel.advance(24, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(25, fired::add);
+        assertEquals(Collections.singletonList("a"), fired);
+
+        wheel.advance(29, fired::add);
+        assertEquals(1, fired.size());
+
+        wheel.advance(30, fired::add);
+        assertEquals(Arrays.asList("a", "b"), fired);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldNotFireCancelledTimeout() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 100);
+        TimingWheel.Handle<String> handle = wheel.schedule("a", 0, 20);
+        wheel.schedule("b", 0, 20);
+
+        assertTrue(wheel.cancel(handle));
+        assertFalse(wheel.cancel(handle));
+        assertFalse(handle.isScheduled());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(100, fired::add);
+        assertEquals(Collections.singletonList("b"), fired);
+    }
+
+    @Test
+    public void shouldFireTimeoutsLongerThanSpan() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 50);
+        wheel.schedule("a", 0, 500);
+
+        for (long now = 0; now < 500; now += 5) {
+            wheel.advance(now, fired::add);
+        }
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(500, fired::add);
+        assertEquals(Collections.singletonList("a"), fired);
+    }
+
+    @Test
+    public void shouldFireAllTimeoutsAfterLongPause() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 50);
+        for (int i = 0; i < 10; i++) {
+            wheel.schedule(String.valueOf(i), 0, i * 10);
+        }
+
+        wheel.advance(10_000, fired::add);
+        assertEquals(10, fired.size());
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldAllowActionToScheduleTimeouts() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 10);
+        wheel.schedule("a", 0, 3);
+
+        for (long now = 0; now <= 10; now++) {
+            long current = now;
+            wheel.advance(now, value -> {
+                fired.add(value + current);
+                wheel.schedule(value, current, 3);
+            });
+        }
+        assertEquals(Arrays.asList("a3", "a6", "a9"), fired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void shouldHandleNegativeTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 100);
+        wheel.schedule("a", -35, 20);
+
+        wheel.advance(-16, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(-15, fired::add);
+        assertEquals(Collections.singletonList("a"), fired);
+    }
+}
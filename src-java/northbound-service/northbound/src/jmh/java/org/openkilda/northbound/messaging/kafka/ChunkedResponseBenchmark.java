@@ -0,0 +1,124 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.info.ChunkedInfoMessage;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.flow.FlowResponse;
+import org.openkilda.messaging.model.FlowDto;
+import org.openkilda.messaging.nbtopology.request.FlowsDumpRequest;
+import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.model.SwitchId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a flow dump from the moment nbworker splits the response into chunks until northbound
+ * completes the request: every chunk is serialized and deserialized as it would be on the way through Kafka and
+ * passed to {@link KafkaMessagingChannel}. A page of a single item corresponds to the former record per item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChunkedResponseBenchmark {
+    private static final String TOPIC = "kilda.topo.nb";
+
+    @Param({"10000", "40000"})
+    public int flows;
+
+    @Param({"1", "100", "500"})
+    public int pageItems;
+
+    @Param({"0", "524288"})
+    public int pageBytes;
+
+    private List<InfoData> response;
+    private KafkaMessagingChannel channel;
+
+    /**
+     * Creates the dumped flows and the messaging channel.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        response = new ArrayList<>(flows);
+        for (int i = 0; i < flows; i++) {
+            response.add(new FlowResponse(FlowDto.builder()
+                    .flowId("flow-" + i)
+                    .bandwidth(10_000)
+                    .description("benchmark flow " + i)
+                    .sourceSwitch(new SwitchId(i % 100 + 1))
+                    .sourcePort(i % 48 + 1)
+                    .sourceVlan(i % 4000 + 1)
+                    .destinationSwitch(new SwitchId(i % 100 + 101))
+                    .destinationPort(i % 48 + 1)
+                    .destinationVlan(i % 4000 + 1)
+                    .meterId(i + 32)
+                    .transitEncapsulationId(i + 1024)
+                    .state(FlowState.UP)
+                    .build()));
+        }
+
+        channel = new KafkaMessagingChannel((topic, message) -> {
+            SettableListenableFuture<SendResult<String, Message>> future = new SettableListenableFuture<>();
+            future.set(null);
+            return future;
+        }, 1);
+    }
+
+    /**
+     * Requests a flow dump and feeds northbound with its chunks until the request is completed.
+     */
+    @Benchmark
+    public List<InfoData> dump() throws Exception {
+        String correlationId = UUID.randomUUID().toString();
+        CommandMessage request = new CommandMessage(new FlowsDumpRequest(), System.currentTimeMillis(),
+                correlationId, Destination.WFM);
+        CompletableFuture<List<InfoData>> future = channel.sendAndGetChunked(TOPIC, request);
+
+        for (ChunkedInfoMessage chunk : ChunkedInfoMessage.createChunkedList(response, correlationId, pageItems,
+                pageBytes)) {
+            byte[] record = Utils.MAPPER.writeValueAsBytes(chunk);
+            channel.onResponse(Utils.MAPPER.readValue(record, Message.class));
+        }
+        return future.get();
+    }
+}
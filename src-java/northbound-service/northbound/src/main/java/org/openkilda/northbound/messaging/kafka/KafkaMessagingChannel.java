@@ -27,7 +27,7 @@ import org.openkilda.northbound.messaging.MessagingChannel;
 import org.openkilda.northbound.messaging.exception.MessageNotSentException;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
+import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,16 +38,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Implementation of {@link MessagingChannel} for kafka.
@@ -61,19 +61,11 @@ public class KafkaMessagingChannel implements MessagingChannel {
      * Requests that are in progress of processing.
      */
     private final Map<String, CompletableFuture<InfoData>> pendingRequests = new ConcurrentHashMap<>();
-    private final Map<String, CompletableFuture<List<InfoData>>> pendingChunkedRequests = new ConcurrentHashMap<>();
 
     /**
-     * Chains of chunked messages, it is filling by messages one by one as soon as the next linked message is received.
+     * Chunked requests that are in progress of processing, along with the pages of the responses received so far.
      */
-    private Map<String, List<ChunkedInfoMessage>> messagesChains;
-
-    /**
-     * The storage for received chunked message ids. It is needed to identify whether we have already received specific
-     * chunked message or not in order to do not have duplicates, because current version of kafka do not guarantee
-     * exactly once delivery.
-     */
-    private Map<String, Set<String>> chunkedMessageIdsPerRequest = new ConcurrentHashMap<>();
+    private final Map<String, ChunkedResponse> pendingChunkedRequests = new ConcurrentHashMap<>();
 
     @Value("${northbound.messages.expiration.minutes}")
     private int expiredTime;
@@ -81,12 +73,13 @@ public class KafkaMessagingChannel implements MessagingChannel {
     @Autowired
     private MessageProducer messageProducer;
 
-    /**
-     * Creates storage for chains of messages.
-     */
-    @PostConstruct
-    public void setUp() {
-        messagesChains = new PassiveExpiringMap<>(expiredTime, TimeUnit.MINUTES, new ConcurrentHashMap<>());
+    public KafkaMessagingChannel() {
+    }
+
+    @VisibleForTesting
+    KafkaMessagingChannel(MessageProducer messageProducer, int expiredTime) {
+        this.messageProducer = messageProducer;
+        this.expiredTime = expiredTime;
     }
 
     /**
@@ -111,11 +104,11 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message) {
-        CompletableFuture<List<InfoData>> future = new CompletableFuture<>();
-        pendingChunkedRequests.put(message.getCorrelationId(), future);
+        removeExpiredChunkedRequests();
 
-        messagesChains.put(message.getCorrelationId(), new ArrayList<>());
-        chunkedMessageIdsPerRequest.put(message.getCorrelationId(), new HashSet<>());
+        ChunkedResponse chunkedResponse = new ChunkedResponse();
+        CompletableFuture<List<InfoData>> future = chunkedResponse.getFuture();
+        pendingChunkedRequests.put(message.getCorrelationId(), chunkedResponse);
 
         ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
         futureResult.addCallback(
@@ -123,12 +116,7 @@ public class KafkaMessagingChannel implements MessagingChannel {
                 error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
         );
 
-        return future.whenComplete((response, error) -> {
-            pendingChunkedRequests.remove(message.getCorrelationId());
-
-            messagesChains.remove(message.getCorrelationId());
-            chunkedMessageIdsPerRequest.remove(message.getCorrelationId());
-        });
+        return future.whenComplete((response, error) -> pendingChunkedRequests.remove(message.getCorrelationId()));
     }
 
     /**
@@ -180,50 +168,36 @@ public class KafkaMessagingChannel implements MessagingChannel {
     }
 
     /**
-     * Performs searching and collecting all chunked messages into one chain if possible.
+     * Stores the page of the response and completes the request once all pages are received.
      */
-    private synchronized void processChunkedMessage(ChunkedInfoMessage received) {
-        String requestId = received.getCorrelationId();
-        Set<String> associatedMessages = chunkedMessageIdsPerRequest.get(requestId);
-        if (!associatedMessages.add(received.getMessageId())) {
-            logger.debug("Skipping chunked message, it is already received: {}", received);
-            return;
-        }
-
-        List<ChunkedInfoMessage> chain = messagesChains.get(requestId);
-        if (received.getTotalMessages() != 0) {
-            chain.add(received);
-        }
-
-        if (chain.size() == received.getTotalMessages()) {
-            completeRequest(requestId, chain);
+    private void processChunkedMessage(ChunkedInfoMessage received) {
+        ChunkedResponse chunkedResponse = pendingChunkedRequests.get(received.getCorrelationId());
+        if (chunkedResponse != null && !chunkedResponse.add(received)) {
+            logger.debug("Skipping chunked message, it is already received: {}", received.getMessageId());
         }
     }
 
     /**
-     * Completes pending request with received responses.
+     * Drops the requests which haven't been responded within the expiration time. Their futures are not completed,
+     * the callers are supposed to stop waiting on their own timeouts.
      */
-    private void completeRequest(String requestId, List<ChunkedInfoMessage> chain) {
-        List<InfoData> response = chain.stream()
-                .map(ChunkedInfoMessage::getData)
-                .collect(Collectors.toList());
-
-        pendingChunkedRequests
-                .get(requestId)
-                .complete(response);
+    private void removeExpiredChunkedRequests() {
+        long expiredBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(expiredTime);
+        pendingChunkedRequests.values().removeIf(chunkedResponse -> chunkedResponse.getCreatedAt() < expiredBefore);
     }
 
     /**
      * Completes a request with an error response.
      */
-    private synchronized void completeWithError(ErrorMessage error) {
+    private void completeWithError(ErrorMessage error) {
         String correlationId = error.getCorrelationId();
 
-        CompletableFuture request = null;
-        if (pendingRequests.containsKey(correlationId)) {
-            request = pendingRequests.remove(correlationId);
-        } else if (pendingChunkedRequests.containsKey(correlationId)) {
-            request = pendingChunkedRequests.remove(correlationId);
+        CompletableFuture<?> request = pendingRequests.remove(correlationId);
+        if (request == null) {
+            ChunkedResponse chunkedResponse = pendingChunkedRequests.remove(correlationId);
+            if (chunkedResponse != null) {
+                request = chunkedResponse.getFuture();
+            }
         }
 
         if (request != null) {
@@ -259,6 +233,61 @@ public class KafkaMessagingChannel implements MessagingChannel {
 
     @VisibleForTesting
     Map<String, CompletableFuture<List<InfoData>>> getPendingChunkedRequests() {
-        return new HashMap<>(pendingChunkedRequests);
+        Map<String, CompletableFuture<List<InfoData>>> result = new HashMap<>();
+        pendingChunkedRequests.forEach((requestId, chunkedResponse) -> result.put(requestId,
+                chunkedResponse.getFuture()));
+        return result;
+    }
+
+    /**
+     * The pages of a chunked response. Pages are stored by their indexes, so a duplicated page is detected without
+     * keeping ids of the received messages, and a counter of the received pages tells when the response is complete.
+     */
+    private static final class ChunkedResponse {
+        @Getter
+        private final CompletableFuture<List<InfoData>> future = new CompletableFuture<>();
+        @Getter
+        private final long createdAt = System.currentTimeMillis();
+        private final AtomicReference<AtomicReferenceArray<List<InfoData>>> pages = new AtomicReference<>();
+        private final AtomicInteger received = new AtomicInteger();
+
+        /**
+         * Adds the page to the response, completes the response if it's the last missing page.
+         *
+         * @return false if the page has already been received.
+         */
+        boolean add(ChunkedInfoMessage message) {
+            int total = message.getTotalMessages();
+            if (total == 0) {
+                return future.complete(Collections.emptyList());
+            }
+
+            AtomicReferenceArray<List<InfoData>> chunks = pages.get();
+            if (chunks == null) {
+                pages.compareAndSet(null, new AtomicReferenceArray<>(total));
+                chunks = pages.get();
+            }
+            int index = message.getMessageIndex();
+            if (index < 0 || index >= chunks.length()) {
+                logger.warn("Skipping chunked message with index {} out of {} total", index, chunks.length());
+                return true;
+            }
+            if (!chunks.compareAndSet(index, null, message.getItems())) {
+                return false;
+            }
+
+            if (received.incrementAndGet() == chunks.length()) {
+                int size = 0;
+                for (int i = 0; i < chunks.length(); i++) {
+                    size += chunks.get(i).size();
+                }
+                List<InfoData> response = new ArrayList<>(size);
+                for (int i = 0; i < chunks.length(); i++) {
+                    response.addAll(chunks.get(i));
+                }
+                future.complete(response);
+            }
+            return true;
+        }
     }
 }
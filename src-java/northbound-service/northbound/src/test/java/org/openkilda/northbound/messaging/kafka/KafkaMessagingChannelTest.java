@@ -51,6 +51,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.SettableListenableFuture;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -117,12 +118,12 @@ public class KafkaMessagingChannelTest {
     }
 
     @Test
-    public void shouldReturnCompletedChunked() throws TimeoutException, InterruptedException, ExecutionException {
+    public void shouldReturnCompletedChunked() throws Exception {
         String requestId = UUID.randomUUID().toString();
         long timestamp = System.currentTimeMillis();
         int messagesAmount = 10000;
 
-        prepareChunkedResponses(requestId, timestamp, messagesAmount);
+        prepareChunkedResponses(requestId, messagesAmount);
         Message request = new Message(timestamp, requestId);
 
         CompletableFuture<List<InfoData>> future = messagingChannel.sendAndGetChunked(CHUNKED_TOPIC, request);
@@ -140,7 +141,7 @@ public class KafkaMessagingChannelTest {
         long timestamp = System.currentTimeMillis();
         int responses = 1;
 
-        prepareChunkedResponses(requestId, timestamp, responses);
+        prepareChunkedResponses(requestId, responses);
         Message request = new Message(timestamp, requestId);
 
         CompletableFuture<List<InfoData>> future = messagingChannel.sendAndGetChunked(CHUNKED_TOPIC, request);
@@ -156,7 +157,7 @@ public class KafkaMessagingChannelTest {
         String requestId = UUID.randomUUID().toString();
         long timestamp = System.currentTimeMillis();
 
-        ChunkedInfoMessage emptyResponse = new ChunkedInfoMessage(null, timestamp, requestId, requestId, 0);
+        ChunkedInfoMessage emptyResponse = new ChunkedInfoMessage(null, timestamp, requestId, 0, 0);
         CHUNKED_RESPONSES.add(emptyResponse);
         Message request = new Message(timestamp, requestId);
 
@@ -241,16 +242,43 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
     }
 
+    @Test
+    public void shouldAssemblePagesInOrderAndSkipDuplicates() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int messagesAmount = 1000;
+
+        List<ChunkedInfoMessage> pages = makeChunkedResponses(requestId, messagesAmount, 7);
+        CHUNKED_RESPONSES.addAll(pages);
+        Message request = new Message(timestamp, requestId);
+
+        CompletableFuture<List<InfoData>> future = messagingChannel.sendAndGetChunked(CHUNKED_TOPIC, request);
+        // a redelivered page must not be counted twice
+        messagingChannel.onResponse(pages.get(0));
+        prepareResponses(CHUNKED_TOPIC);
+
+        List<InfoData> result = future.get(10, TimeUnit.SECONDS);
+        assertEquals(messagesAmount, result.size());
+        for (int i = 0; i < messagesAmount; i++) {
+            assertEquals(new SwitchId(i), ((SwitchInfoData) result.get(i)).getSwitchId());
+        }
+        assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+    }
+
     /**
-     * Creates chunk of responses started from requestId, with predefined size.
+     * Creates pages of responses for requestId, with predefined size.
      */
-    private void prepareChunkedResponses(String requestId, long timestamp, int size) {
+    private void prepareChunkedResponses(String requestId, int size) throws Exception {
+        CHUNKED_RESPONSES.addAll(makeChunkedResponses(requestId, size, 100));
+    }
+
+    private List<ChunkedInfoMessage> makeChunkedResponses(String requestId, int size, int pageSize)
+            throws Exception {
+        List<InfoData> data = new ArrayList<>(size);
         for (int i = 0; i < size; i++) {
-            InfoData data = new SwitchInfoData(new SwitchId(i), SwitchChangeType.ACTIVATED,
-                    null, null, null, null, false);
-            ChunkedInfoMessage response = new ChunkedInfoMessage(data, timestamp, requestId, requestId + i, size);
-            CHUNKED_RESPONSES.add(response);
+            data.add(new SwitchInfoData(new SwitchId(i), SwitchChangeType.ACTIVATED, null, null, null, null, false));
         }
+        return ChunkedInfoMessage.createChunkedList(data, requestId, pageSize, 0);
     }
 
     @TestConfiguration
@@ -15,16 +15,15 @@
 
 package org.openkilda.wfm.topology.opentsdb;
 
-import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.LaunchEnvironment;
-import org.openkilda.wfm.kafka.InfoDataDeserializer;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.opentsdb.OpenTsdbTopologyConfig.OpenTsdbConfig;
 import org.openkilda.wfm.topology.opentsdb.bolts.DatapointParseBolt;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
-import org.openkilda.wfm.topology.utils.InfoDataTranslator;
+import org.openkilda.wfm.topology.utils.ByteArrayTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.spout.KafkaSpout;
 import org.apache.storm.kafka.spout.KafkaSpoutConfig;
@@ -86,15 +85,17 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
     private void attachInput(TopologyBuilder topology) {
         String otsdbTopic = topologyConfig.getKafkaOtsdbTopic();
 
-        //FIXME: We have to use the Message class for messaging.
-        KafkaSpoutConfig<String, InfoData> config = getKafkaSpoutConfigBuilder(otsdbTopic, OTSDB_SPOUT_ID)
-                .setValue(InfoDataDeserializer.class)
-                .setRecordTranslator(new InfoDataTranslator())
+        // The topic carries both JSON encoded datapoints and binary datapoint batches, so the payload is decoded
+        // by DatapointParseBolt.
+        KafkaSpoutConfig<String, byte[]> config = makeKafkaSpoutConfig(
+                Collections.singletonList(otsdbTopic), OTSDB_SPOUT_ID, ByteArrayDeserializer.class,
+                COMMON_COMPONENT_NAME, COMMON_COMPONENT_RUN_ID)
+                .setRecordTranslator(new ByteArrayTranslator())
                 .setFirstPollOffsetStrategy(KafkaSpoutConfig.FirstPollOffsetStrategy.UNCOMMITTED_EARLIEST)
                 .setTupleTrackingEnforced(true)
                 .build();
 
-        KafkaSpout<String, InfoData> kafkaSpout = new KafkaSpout<>(config);
+        KafkaSpout<String, byte[]> kafkaSpout = new KafkaSpout<>(config);
         declareSpout(topology, kafkaSpout, OTSDB_SPOUT_ID);
     }
 
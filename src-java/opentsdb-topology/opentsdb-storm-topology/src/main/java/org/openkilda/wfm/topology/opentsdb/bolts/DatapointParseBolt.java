@@ -17,7 +17,9 @@ package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.wfm.share.metrics.DatapointBatchDecoder;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -28,6 +30,7 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -44,24 +47,43 @@ public class DatapointParseBolt extends BaseRichBolt {
 
     @Override
     public void execute(Tuple tuple) {
-        InfoData data = (InfoData) tuple.getValueByField(MessageKafkaTranslator.FIELD_ID_PAYLOAD);
-        LOGGER.debug("Processing datapoint: {}", data);
+        Object payload = tuple.getValueByField(MessageKafkaTranslator.FIELD_ID_PAYLOAD);
         try {
-            if (data instanceof Datapoint) {
-                Datapoint datapoint = (Datapoint) data;
-                List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
-                        .collect(Collectors.toList());
-                collector.emit(stream);
+            if (payload instanceof byte[]) {
+                handleRaw((byte[]) payload);
             } else {
-                LOGGER.error("Unhandled input tuple from {} with data {}", getClass().getName(), data);
+                handleInfoData((InfoData) payload);
             }
         } catch (Exception e) {
-            LOGGER.error("Failed process data: {}", data, e);
+            LOGGER.error("Failed process data: {}", payload, e);
         } finally {
             collector.ack(tuple);
         }
     }
 
+    private void handleRaw(byte[] payload) throws IOException {
+        if (DatapointBatchDecoder.isBatch(payload)) {
+            DatapointBatchDecoder.decode(payload, this::emit);
+        } else {
+            handleInfoData(SerializationUtils.MAPPER.readValue(payload, InfoData.class));
+        }
+    }
+
+    private void handleInfoData(InfoData data) {
+        LOGGER.debug("Processing datapoint: {}", data);
+        if (data instanceof Datapoint) {
+            emit((Datapoint) data);
+        } else {
+            LOGGER.error("Unhandled input tuple from {} with data {}", getClass().getName(), data);
+        }
+    }
+
+    private void emit(Datapoint datapoint) {
+        List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
+                .collect(Collectors.toList());
+        collector.emit(stream);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(new Fields("hash", "datapoint"));
@@ -16,10 +16,12 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.topology.opentsdb.filter.SeriesStore;
 
-import lombok.Value;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
+import org.apache.storm.metric.api.MeanReducer;
+import org.apache.storm.metric.api.ReducedMetric;
 import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -30,7 +32,7 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.time.Clock;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +45,8 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenTSDBFilterBolt.class);
     private static final long MUTE_IF_NO_UPDATES_SECS = TimeUnit.MINUTES.toSeconds(10);
     private static final long MUTE_IF_NO_UPDATES_MILLIS = TimeUnit.SECONDS.toMillis(MUTE_IF_NO_UPDATES_SECS);
+    private static final long EXPIRE_TICK_SECS = TimeUnit.MINUTES.toSeconds(1);
+    private static final int METRICS_BUCKET_SECS = 60;
 
     private static final Fields DECLARED_FIELDS =
             new Fields(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getMetricField(),
@@ -50,18 +54,25 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
 
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
-    private OutputCollector collector;
+    private transient SeriesStore storage;
+    private transient ReducedMetric suppressionRatio;
+    private transient OutputCollector collector;
 
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        storage = new SeriesStore(Clock.systemUTC(), MUTE_IF_NO_UPDATES_MILLIS,
+                TimeUnit.SECONDS.toMillis(EXPIRE_TICK_SECS));
+
+        suppressionRatio = context.registerMetric("suppression-ratio", new ReducedMetric(new MeanReducer()),
+                METRICS_BUCKET_SECS);
+        context.registerMetric("series-count", () -> storage.size(), METRICS_BUCKET_SECS);
     }
     
     @Override
     public Map<String, Object> getComponentConfiguration() {
         Config conf = new Config();
-        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, MUTE_IF_NO_UPDATES_SECS);
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, EXPIRE_TICK_SECS);
         return conf;
     }
 
@@ -70,13 +81,8 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
     public void execute(Tuple tuple) {
         
         if (isTickTuple(tuple)) {
-            // opentsdb using current epoch time (date +%s) in seconds
-            long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
-
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("storage after clean tulpe: {}", storage.toString());
-            }
+            storage.expire();
+            LOGGER.debug("storage.size after expiration: {}", storage.size());
 
             collector.ack(tuple);
             return;
@@ -89,8 +95,8 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
 
         Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
 
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
+        if (storage.offer(datapoint.getMetric(), datapoint.getTags(), datapoint.getTime(), datapoint.getValue())) {
+            suppressionRatio.update(0);
 
             List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
                     datapoint.getTags()).collect(Collectors.toList());
@@ -98,6 +104,7 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
             LOGGER.debug("emit datapoint: {}", stream);
             collector.emit(stream);
         } else {
+            suppressionRatio.update(1);
             LOGGER.debug("skip datapoint: {}", datapoint);
         }
         collector.ack(tuple);
@@ -108,34 +115,6 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         declarer.declare(DECLARED_FIELDS);
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
-        }
-    }
-
-    private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
-
-        if (prevDatapoint != null) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
-            }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
-        }
-        return update;
-    }
-    
     private boolean isTickTuple(Tuple tuple) {
         String sourceComponent = tuple.getSourceComponent();
         String sourceStreamId = tuple.getSourceStreamId();
@@ -143,12 +122,4 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         return Constants.SYSTEM_COMPONENT_ID.equals(sourceComponent)
                 && Constants.SYSTEM_TICK_STREAM_ID.equals(sourceStreamId);
     }
-
-    @Value
-    private static class DatapointKey {
-
-        private String metric;
-
-        private Map<String, String> tags;
-    }
 }
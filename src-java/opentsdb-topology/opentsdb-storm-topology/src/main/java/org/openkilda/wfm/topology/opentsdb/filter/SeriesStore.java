@@ -0,0 +1,290 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.filter;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Keeps the last emitted value and time of every time series to suppress datapoints which don't change the series.
+ * <p/>
+ * A series is identified by a 64-bit hash of its metric and tags, so no per-datapoint key objects are created and
+ * the store holds only primitive arrays: an open addressing hash table of series and a timing wheel which expires
+ * series not updated within the mute interval. Expiration visits only the wheel buckets which have come due instead
+ * of the whole table.
+ * <p/>
+ * Two series with the same hash are treated as one. With 64-bit hashes it is unlikely even for millions of series,
+ * and a collision only makes some datapoints of the series emitted or suppressed unnecessarily.
+ * <p/>
+ * The store is not thread-safe.
+ */
+public class SeriesStore {
+    private static final int MIN_CAPACITY = 1024;
+    private static final int INITIAL_BUCKET_SIZE = 16;
+    private static final long NULL_VALUE_BITS = 0x7ff80000000000ffL;
+
+    private final Clock clock;
+    private final long muteMillis;
+    private final long tickMillis;
+    private final int wheelSize;
+
+    private long[] ids;
+    private long[] values;
+    private long[] times;
+    private long[] scheduledTicks;
+    private int mask;
+    private int size;
+
+    private final long[][] buckets;
+    private final int[] bucketSizes;
+    private long[] spareBucket = new long[INITIAL_BUCKET_SIZE];
+    private long cursorTick;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param muteMillis a datapoint equal to the last emitted one is suppressed within this interval.
+     * @param tickMillis the resolution of expiration, {@link #expire()} is supposed to be called at this interval.
+     */
+    public SeriesStore(Clock clock, long muteMillis, long tickMillis) {
+        if (muteMillis <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Mute and tick intervals must be positive");
+        }
+        this.clock = clock;
+        this.muteMillis = muteMillis;
+        this.tickMillis = tickMillis;
+        this.wheelSize = (int) (muteMillis / tickMillis) + 2;
+
+        allocateTable(MIN_CAPACITY);
+        buckets = new long[wheelSize][];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new long[INITIAL_BUCKET_SIZE];
+        }
+        bucketSizes = new int[wheelSize];
+        cursorTick = Math.floorDiv(clock.millis(), tickMillis) - 1;
+    }
+
+    /**
+     * Checks whether the datapoint changes the series and records it as the last emitted one if so.
+     *
+     * @return true if the datapoint must be emitted, false if it is suppressed.
+     */
+    public boolean offer(String metric, Map<String, String> tags, long time, Number value) {
+        long id = seriesId(metric, tags);
+        long valueBits = valueBits(value);
+        int slot = indexOf(id);
+        if (slot >= 0) {
+            if (values[slot] == valueBits && time - times[slot] < muteMillis) {
+                return false;
+            }
+        } else {
+            slot = -slot - 1;
+            ids[slot] = id;
+            scheduledTicks[slot] = Long.MIN_VALUE;
+            size++;
+        }
+        values[slot] = valueBits;
+        times[slot] = time;
+        schedule(slot);
+
+        if (size * 4L > ids.length * 3L) {
+            resize(ids.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the series not updated within the mute interval, visiting only the wheel buckets which have come due.
+     */
+    public void expire() {
+        long now = clock.millis();
+        long nowTick = Math.floorDiv(now, tickMillis);
+        long firstTick = Math.max(cursorTick + 1, nowTick - wheelSize);
+        cursorTick = nowTick - 1;
+        for (long tick = firstTick; tick < nowTick; tick++) {
+            expireBucket(tick, now);
+        }
+
+        if (ids.length > MIN_CAPACITY && size * 8L < ids.length) {
+            resize(Math.max(MIN_CAPACITY, ids.length / 2));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void expireBucket(long tick, long now) {
+        int bucket = bucketOf(tick);
+        long[] refs = buckets[bucket];
+        int count = bucketSizes[bucket];
+        buckets[bucket] = spareBucket;
+        bucketSizes[bucket] = 0;
+
+        for (int i = 0; i < count; i++) {
+            int slot = indexOf(refs[i]);
+            if (slot < 0 || bucketOf(scheduledTicks[slot]) != bucket) {
+                // The series was removed or rescheduled into another bucket, so the reference is stale.
+                continue;
+            }
+            if (scheduledTicks[slot] > tick) {
+                append(bucket, refs[i]);
+            } else if (now - times[slot] > muteMillis) {
+                removeAt(slot);
+            } else {
+                schedule(slot);
+            }
+        }
+        spareBucket = refs;
+    }
+
+    private void schedule(int slot) {
+        long tick = Math.floorDiv(times[slot] + muteMillis, tickMillis);
+        tick = Math.min(Math.max(tick, cursorTick + 1), cursorTick + wheelSize - 1);
+        if (scheduledTicks[slot] != tick) {
+            scheduledTicks[slot] = tick;
+            append(bucketOf(tick), ids[slot]);
+        }
+    }
+
+    private void append(int bucket, long id) {
+        int count = bucketSizes[bucket];
+        if (count == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], count * 2);
+        }
+        buckets[bucket][count] = id;
+        bucketSizes[bucket] = count + 1;
+    }
+
+    private int bucketOf(long tick) {
+        return (int) Math.floorMod(tick, (long) wheelSize);
+    }
+
+    /**
+     * Returns the slot of the series or, if there is no such series, -(insertion slot + 1).
+     */
+    private int indexOf(long id) {
+        int slot = (int) id & mask;
+        while (ids[slot] != 0) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void removeAt(int slot) {
+        // Backward shift deletion keeps probe sequences intact without tombstones.
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (ids[next] == 0) {
+                break;
+            }
+            int home = (int) ids[next] & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                moveSlot(next, gap);
+                gap = next;
+            }
+        }
+        ids[gap] = 0;
+        size--;
+    }
+
+    private void moveSlot(int from, int to) {
+        ids[to] = ids[from];
+        values[to] = values[from];
+        times[to] = times[from];
+        scheduledTicks[to] = scheduledTicks[from];
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        long[] oldValues = values;
+        long[] oldTimes = times;
+        long[] oldScheduledTicks = scheduledTicks;
+        allocateTable(capacity);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                int slot = -indexOf(oldIds[i]) - 1;
+                ids[slot] = oldIds[i];
+                values[slot] = oldValues[i];
+                times[slot] = oldTimes[i];
+                scheduledTicks[slot] = oldScheduledTicks[i];
+            }
+        }
+    }
+
+    private void allocateTable(int capacity) {
+        ids = new long[capacity];
+        values = new long[capacity];
+        times = new long[capacity];
+        scheduledTicks = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Hashes the series to a non-zero id. Tags are combined independently of their order.
+     */
+    static long seriesId(String metric, Map<String, String> tags) {
+        long hash = mix(hash(metric));
+        if (tags != null) {
+            long tagsHash = 0;
+            for (Map.Entry<String, String> entry : tags.entrySet()) {
+                tagsHash += mix(hash(entry.getKey()) * 31 + hash(entry.getValue()));
+            }
+            hash = hash * 31 + tagsHash;
+        }
+        hash = mix(hash);
+        return hash != 0 ? hash : 1;
+    }
+
+    private static long hash(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        // The finalizer of MurmurHash3
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long valueBits(Number value) {
+        if (value == null) {
+            return NULL_VALUE_BITS;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value.longValue();
+        }
+        return Double.doubleToLongBits(value.doubleValue());
+    }
+}
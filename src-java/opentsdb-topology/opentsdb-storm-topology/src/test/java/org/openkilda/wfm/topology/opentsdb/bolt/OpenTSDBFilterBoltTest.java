@@ -23,8 +23,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsSecondArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -35,7 +38,9 @@ import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
 
+import org.apache.storm.metric.api.IMetric;
 import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
 import org.junit.Before;
 import org.junit.Test;
@@ -65,6 +70,9 @@ public class OpenTSDBFilterBoltTest {
     @Mock
     private OutputCollector outputCollector;
 
+    @Mock
+    private TopologyContext topologyContext;
+
     @Mock
     private Tuple tuple;
 
@@ -73,16 +81,17 @@ public class OpenTSDBFilterBoltTest {
 
     @Before
     public void init() {
-        Mockito.reset(outputCollector, tuple);
+        Mockito.reset(outputCollector, topologyContext, tuple);
 
         when(outputCollector.emit(anyList())).thenReturn(Collections.emptyList());
+        when(topologyContext.registerMetric(anyString(), any(IMetric.class), anyInt())).then(returnsSecondArg());
     }
 
     @Test
     public void shouldEmitMessage() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
 
         verify(outputCollector).emit(argumentCaptor.capture());
@@ -100,7 +109,7 @@ public class OpenTSDBFilterBoltTest {
     public void shouldEmitMessageOnlyOnce() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
         target.execute(tuple);
 
@@ -112,7 +121,7 @@ public class OpenTSDBFilterBoltTest {
     public void shouldEmitMessageOnlyOnceBecauseOfInterval() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
 
         mockTuple(TIMESTAMP + TimeUnit.MINUTES.toMillis(10) - 1);
@@ -126,7 +135,7 @@ public class OpenTSDBFilterBoltTest {
     public void shouldEmitBothMessagesBecauseOfInterval() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
 
         mockTuple(TIMESTAMP + TimeUnit.MINUTES.toMillis(10) + 1);
@@ -139,7 +148,7 @@ public class OpenTSDBFilterBoltTest {
     @Test
     public void shouldEmitBothMessagesIfHashcodeConflicts() throws Exception {
         // given
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
 
         Datapoint infoData1 = new Datapoint("1", TIMESTAMP, singletonMap("key",  "a"), VALUE);
         Datapoint infoData2 = new Datapoint("2", TIMESTAMP, singletonMap("key",  "\u0040"), VALUE);
@@ -161,7 +170,7 @@ public class OpenTSDBFilterBoltTest {
     @Test
     public void shouldEmitAfterTickCleanup() throws Exception {
         // given
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
 
         when(tuple.contains(eq("datapoint"))).thenReturn(true);
 
@@ -0,0 +1,141 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.filter;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.stubs.ManualClock;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class SeriesStoreTest {
+    private static final String METRIC = "METRIC";
+    private static final long MUTE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long TICK_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ManualClock clock = new ManualClock();
+    private final SeriesStore store = new SeriesStore(clock, MUTE_MILLIS, TICK_MILLIS);
+
+    @Test
+    public void shouldSuppressSameValueWithinMuteInterval() {
+        long now = clock.millis();
+        assertTrue(store.offer(METRIC, singletonMap("key", "a"), now, 1));
+        assertFalse(store.offer(METRIC, singletonMap("key", "a"), now + MUTE_MILLIS - 1, 1));
+        assertTrue(store.offer(METRIC, singletonMap("key", "a"), now + MUTE_MILLIS, 1));
+    }
+
+    @Test
+    public void shouldEmitChangedValue() {
+        long now = clock.millis();
+        assertTrue(store.offer(METRIC, singletonMap("key", "a"), now, 1));
+        assertTrue(store.offer(METRIC, singletonMap("key", "a"), now + 1, 2));
+        assertTrue(store.offer(METRIC, singletonMap("key", "a"), now + 2, 2.5));
+        assertFalse(store.offer(METRIC, singletonMap("key", "a"), now + 3, 2.5));
+    }
+
+    @Test
+    public void shouldIdentifySeriesByMetricAndTags() {
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("switchid", "00:01");
+        tags.put("port", "1");
+        Map<String, String> reorderedTags = new LinkedHashMap<>();
+        reorderedTags.put("port", "1");
+        reorderedTags.put("switchid", "00:01");
+
+        long now = clock.millis();
+        assertTrue(store.offer(METRIC, tags, now, 1));
+        assertFalse(store.offer(METRIC, reorderedTags, now, 1));
+        assertTrue(store.offer(METRIC, singletonMap("port", "1"), now, 1));
+        assertTrue(store.offer("OTHER", tags, now, 1));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    public void shouldExpireNotUpdatedSeries() {
+        long now = clock.millis();
+        store.offer(METRIC, singletonMap("key", "a"), now, 1);
+        clock.adjust(Duration.ofMinutes(5));
+        store.offer(METRIC, singletonMap("key", "b"), clock.millis(), 1);
+
+        clock.adjust(Duration.ofMinutes(6));
+        store.expire();
+        assertEquals(1, store.size());
+        assertTrue(store.offer(METRIC, singletonMap("key", "a"), clock.millis(), 1));
+        assertFalse(store.offer(METRIC, singletonMap("key", "b"), clock.millis(), 1));
+
+        clock.adjust(Duration.ofMinutes(12));
+        store.expire();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void shouldKeepSeriesUpdatedWithinMuteInterval() {
+        for (int i = 0; i < 30; i++) {
+            store.offer(METRIC, singletonMap("key", "a"), clock.millis(), i);
+            clock.adjust(Duration.ofMinutes(3));
+            store.expire();
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    public void shouldExpireSeriesAfterLongPause() {
+        store.offer(METRIC, singletonMap("key", "a"), clock.millis(), 1);
+        store.offer(METRIC, singletonMap("key", "b"), clock.millis() + TimeUnit.DAYS.toMillis(1), 1);
+
+        clock.adjust(Duration.ofHours(5));
+        store.expire();
+        assertEquals(1, store.size());
+
+        clock.adjust(Duration.ofDays(1));
+        store.expire();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void shouldKeepSeriesConsistentWhileGrowingAndShrinking() {
+        int count = 10_000;
+        long start = clock.millis();
+        for (int i = 0; i < count; i++) {
+            assertTrue(store.offer(METRIC, singletonMap("key", String.valueOf(i)), start, i));
+        }
+        clock.adjust(Duration.ofMinutes(5));
+        for (int i = 0; i < count; i += 2) {
+            assertTrue(store.offer(METRIC, singletonMap("key", String.valueOf(i)), clock.millis(), count + i));
+        }
+
+        clock.adjust(Duration.ofMinutes(7));
+        store.expire();
+        assertEquals(count / 2, store.size());
+        for (int i = 0; i < count; i++) {
+            boolean expired = i % 2 == 1;
+            Map<String, String> tags = singletonMap("key", String.valueOf(i));
+            assertEquals(expired, store.offer(METRIC, tags, clock.millis(), count + i));
+        }
+
+        clock.adjust(Duration.ofMinutes(12));
+        store.expire();
+        assertEquals(0, store.size());
+    }
+}
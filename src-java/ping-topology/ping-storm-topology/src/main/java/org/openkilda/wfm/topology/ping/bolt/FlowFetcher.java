@@ -62,6 +62,8 @@ public class FlowFetcher extends Abstract {
             FIELD_ID_ON_DEMAND_RESPONSE, FIELD_ID_CONTEXT);
     public static final String STREAM_ON_DEMAND_RESPONSE_ID = "on_demand_response";
 
+    private static final int REFRESH_PAGE_SIZE = 500;
+
     private final PersistenceManager persistenceManager;
     private final FlowResourcesConfig flowResourcesConfig;
     private transient FlowResourcesManager flowResourcesManager;
@@ -111,7 +113,7 @@ public class FlowFetcher extends Abstract {
     private void refreshHeap(Tuple input, boolean emitCacheExpiry) throws PipelineException {
         log.debug("Handle periodic ping request");
         Set<FlowWithTransitEncapsulation> flowsWithTransitEncapsulation =
-                flowRepository.findWithPeriodicPingsEnabled().stream()
+                flowRepository.streamWithPeriodicPingsEnabled(REFRESH_PAGE_SIZE)
                         .map(this::getFlowWithTransitEncapsulation)
                         .flatMap(o -> o.isPresent() ? Stream.of(o.get()) : Stream.empty())
                         .collect(Collectors.toSet());
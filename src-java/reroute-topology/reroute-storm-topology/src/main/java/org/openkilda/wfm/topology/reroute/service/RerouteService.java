@@ -63,6 +63,8 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class RerouteService {
+    private static final int INACTIVE_FLOWS_PAGE_SIZE = 500;
+
     private final FlowOperationsDashboardLogger flowDashboardLogger = new FlowOperationsDashboardLogger(log);
     private FlowRepository flowRepository;
     private FlowPathRepository flowPathRepository;
@@ -337,7 +339,7 @@ public class RerouteService {
      */
     public Map<Flow, Set<PathId>> getInactiveFlowsForRerouting() {
         log.info("Get inactive flows");
-        return flowRepository.findInactiveFlows().stream()
+        return flowRepository.streamInactiveFlows(INACTIVE_FLOWS_PAGE_SIZE)
                 .filter(flow -> !flow.isOneSwitchFlow())
                 .collect(toMap(Function.identity(),
                         flow -> flow.getPaths().stream()
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
@@ -70,6 +71,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RerouteServiceTest {
@@ -230,8 +232,8 @@ public class RerouteServiceTest {
         }
         RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
         FlowRepository flowRepository = mock(FlowRepository.class);
-        when(flowRepository.findInactiveFlows())
-                .thenReturn(Collections.singletonList(pinnedFlow));
+        when(flowRepository.streamInactiveFlows(anyInt()))
+                .thenAnswer(invocation -> Stream.of(pinnedFlow));
         doAnswer(invocation -> {
             FlowStatus status = invocation.getArgument(1);
             pinnedFlow.setStatus(status);
@@ -277,8 +279,8 @@ public class RerouteServiceTest {
         }
         RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
         FlowRepository flowRepository = mock(FlowRepository.class);
-        when(flowRepository.findInactiveFlows())
-                .thenReturn(Collections.singletonList(pinnedFlow));
+        when(flowRepository.streamInactiveFlows(anyInt()))
+                .thenAnswer(invocation -> Stream.of(pinnedFlow));
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
         FlowPathRepository pathRepository = mock(FlowPathRepository.class);
         when(repositoryFactory.createFlowPathRepository()).thenReturn(pathRepository);
@@ -19,6 +19,7 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
@@ -56,6 +57,14 @@ public class CommandBolt extends BaseRichBolt {
     protected void processCommand(Tuple tuple, CommandMessage command) throws Exception {
         if (command.getDestination() == Destination.CONTROLLER) {
             CommandData data = command.getData();
+            if (data instanceof DiscoverIslBatchCommandData) {
+                for (DiscoverIslCommandData request : ((DiscoverIslBatchCommandData) data).getRequests()) {
+                    collector.emit(SimulatorTopology.COMMAND_BOLT_STREAM, tuple, new Values(
+                            request.getSwitchId(), Commands.DO_DISCOVER_ISL_COMMAND.name(), request));
+                }
+                return;
+            }
+
             Commands switchCommand;
             SwitchId sw;
             if (data instanceof DiscoverIslCommandData) {
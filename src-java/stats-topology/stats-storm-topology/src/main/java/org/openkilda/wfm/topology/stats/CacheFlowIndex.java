@@ -0,0 +1,147 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import org.openkilda.model.SwitchId;
+
+/**
+ * Maps a (switch, cookie) or a (switch, meter) pair to the flow entry.
+ * <p/>
+ * Keys are kept in primitive arrays of an open addressing hash table, so neither an insertion nor a lookup creates
+ * key objects. The index is not thread-safe.
+ */
+public class CacheFlowIndex {
+    private static final int MIN_CAPACITY = 1024;
+
+    private long[] switchIds;
+    private long[] keys;
+    private CacheFlowEntry[] entries;
+    private int mask;
+    private int size;
+
+    public CacheFlowIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the entry of the (switch, key) pair or null if there is no such entry.
+     */
+    public CacheFlowEntry get(SwitchId switchId, long key) {
+        int slot = indexOf(switchId.getId(), key);
+        return slot >= 0 ? entries[slot] : null;
+    }
+
+    /**
+     * Adds or replaces the entry of the (switch, key) pair.
+     */
+    public void put(SwitchId switchId, long key, CacheFlowEntry entry) {
+        if (entry == null) {
+            throw new IllegalArgumentException("Entry must not be null");
+        }
+        int slot = indexOf(switchId.getId(), key);
+        if (slot < 0) {
+            slot = -slot - 1;
+            switchIds[slot] = switchId.getId();
+            keys[slot] = key;
+            size++;
+        }
+        entries[slot] = entry;
+
+        if (size * 4L > entries.length * 3L) {
+            resize(entries.length * 2);
+        }
+    }
+
+    /**
+     * Removes the entry of the (switch, key) pair if there is one.
+     */
+    public void remove(SwitchId switchId, long key) {
+        int slot = indexOf(switchId.getId(), key);
+        if (slot < 0) {
+            return;
+        }
+
+        // Backward shift deletion keeps probe sequences intact without tombstones.
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (entries[next] == null) {
+                break;
+            }
+            int home = hash(switchIds[next], keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                switchIds[gap] = switchIds[next];
+                keys[gap] = keys[next];
+                entries[gap] = entries[next];
+                gap = next;
+            }
+        }
+        entries[gap] = null;
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot of the pair or, if there is no such pair, -(insertion slot + 1).
+     */
+    private int indexOf(long switchId, long key) {
+        int slot = hash(switchId, key) & mask;
+        while (entries[slot] != null) {
+            if (switchIds[slot] == switchId && keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldSwitchIds = switchIds;
+        long[] oldKeys = keys;
+        CacheFlowEntry[] oldEntries = entries;
+        allocate(capacity);
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (oldEntries[i] != null) {
+                int slot = -indexOf(oldSwitchIds[i], oldKeys[i]) - 1;
+                switchIds[slot] = oldSwitchIds[i];
+                keys[slot] = oldKeys[i];
+                entries[slot] = oldEntries[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        switchIds = new long[capacity];
+        keys = new long[capacity];
+        entries = new CacheFlowEntry[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long switchId, long key) {
+        // The finalizer of MurmurHash3
+        long hash = switchId * 31 + key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+}
@@ -61,8 +61,10 @@ import org.openkilda.wfm.topology.stats.metrics.TableStatsMetricGenBolt;
 import org.openkilda.wfm.topology.utils.JsonKafkaTranslator;
 
 import com.google.common.collect.ImmutableList;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.storm.generated.StormTopology;
+import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
 import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.topology.TopologyBuilder;
@@ -70,6 +72,7 @@ import org.apache.storm.tuple.Fields;
 
 public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
     public static final String STATS_FIELD = "stats";
+    public static final String SWITCH_ID_FIELD = "switch_id";
     public static final Fields statsFields = new Fields(STATS_FIELD, FIELD_ID_CONTEXT);
 
     public StatsTopology(LaunchEnvironment env) {
@@ -108,32 +111,36 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         // Cache bolt get data from the database on start
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().getPersistenceManager(configurationProvider);
+        // Both streams are grouped by switch, so a cache bolt task gets stats and cache updates of the same switches.
         declareBolt(builder, new CacheBolt(persistenceManager), STATS_CACHE_BOLT.name())
-                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), statsFields);
+                .fieldsGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name(),
+                        new Fields(CacheFilterBolt.FieldsNames.SWITCH.name()))
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), new Fields(SWITCH_ID_FIELD));
 
+        String metricPrefix = topologyConfig.getMetricPrefix();
+        boolean metricBatchEnabled = topologyConfig.getMetricBatchEnabled();
         declareBolt(builder,
-                new PortMetricGenBolt(topologyConfig.getMetricPrefix()), PORT_STATS_METRIC_GEN.name())
+                new PortMetricGenBolt(metricPrefix, metricBatchEnabled), PORT_STATS_METRIC_GEN.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldMessage);
         declareBolt(builder,
-                new MeterConfigMetricGenBolt(topologyConfig.getMetricPrefix()), METER_CFG_STATS_METRIC_GEN.name())
+                new MeterConfigMetricGenBolt(metricPrefix, metricBatchEnabled), METER_CFG_STATS_METRIC_GEN.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_CONFIG_STATS.toString(), fieldMessage);
         declareBolt(builder,
-                new SystemRuleMetricGenBolt(topologyConfig.getMetricPrefix()), SYSTEM_RULE_STATS_METRIC_GEN.name())
+                new SystemRuleMetricGenBolt(metricPrefix, metricBatchEnabled), SYSTEM_RULE_STATS_METRIC_GEN.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.SYSTEM_RULE_STATS.toString(), statsFields);
         declareBolt(builder,
-                new TableStatsMetricGenBolt(topologyConfig.getMetricPrefix()), TABLE_STATS_METRIC_GEN.name())
+                new TableStatsMetricGenBolt(metricPrefix, metricBatchEnabled), TABLE_STATS_METRIC_GEN.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.TABLE_STATS.toString(), statsFields);
         declareBolt(builder,
-                new PacketInOutMetricGenBolt(topologyConfig.getMetricPrefix()), PACKET_IN_OUT_STATS_METRIC_GEN.name())
+                new PacketInOutMetricGenBolt(metricPrefix, metricBatchEnabled), PACKET_IN_OUT_STATS_METRIC_GEN.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PACKET_IN_OUT_STATS.toString(), statsFields);
 
         logger.debug("starting flow_stats_metric_gen");
         declareBolt(builder,
-                new FlowMetricGenBolt(topologyConfig.getMetricPrefix()), FLOW_STATS_METRIC_GEN.name())
+                new FlowMetricGenBolt(metricPrefix, metricBatchEnabled), FLOW_STATS_METRIC_GEN.name())
                 .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), statsWithCacheFields);
         declareBolt(builder,
-                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix()), METER_STATS_METRIC_GEN.name())
+                new MeterStatsMetricGenBolt(metricPrefix, metricBatchEnabled), METER_STATS_METRIC_GEN.name())
                 .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.METER_STATS.toString(), statsWithCacheFields);
 
         declareBolt(builder,
@@ -151,11 +158,15 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 SERVER42_STATS_FLOW_RTT_SPOUT.name());
 
         declareBolt(builder,
-                new FlowRttMetricGenBolt(topologyConfig.getMetricPrefix()), SERVER42_STATS_FLOW_RTT_METRIC_GEN.name())
+                new FlowRttMetricGenBolt(metricPrefix, metricBatchEnabled), SERVER42_STATS_FLOW_RTT_METRIC_GEN.name())
                 .shuffleGrouping(SERVER42_STATS_FLOW_RTT_SPOUT.name());
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
-        declareBolt(builder, createKafkaBolt(openTsdbTopic), "stats-opentsdb")
+        KafkaBolt<String, ?> openTsdbBolt = metricBatchEnabled
+                ? makeKafkaBolt(openTsdbTopic, ByteArraySerializer.class,
+                        COMMON_COMPONENT_NAME, COMMON_COMPONENT_RUN_ID)
+                : createKafkaBolt(openTsdbTopic);
+        declareBolt(builder, openTsdbBolt, "stats-opentsdb")
                 .shuffleGrouping(PORT_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
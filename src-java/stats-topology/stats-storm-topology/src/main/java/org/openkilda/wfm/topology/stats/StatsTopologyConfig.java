@@ -52,6 +52,14 @@ public interface StatsTopologyConfig extends AbstractTopologyConfig {
     @Default("kilda.")
     String getMetricPrefix();
 
+    /**
+     * Whether metrics are sent to OpenTSDB topology in binary batches rather than a JSON message per datapoint.
+     * OpenTSDB topology must be able to decode batches before it is enabled.
+     */
+    @Key("opentsdb.metric.batch.enabled")
+    @Default("false")
+    boolean getMetricBatchEnabled();
+
     @Key("statistics.interval")
     @Default("60")
     int getStatisticsRequestInterval();
@@ -45,23 +45,27 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
-import org.openkilda.wfm.topology.stats.CookieCacheKey;
+import org.openkilda.wfm.topology.stats.CacheFlowIndex;
 import org.openkilda.wfm.topology.stats.MeasurePoint;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -69,9 +73,16 @@ import java.util.stream.Stream;
 
 public class CacheBolt extends AbstractBolt {
 
+    /**
+     * Flow entries of the flow stats entries (or of the meter stats entries for {@link #METER_CACHE_FIELD}) in the
+     * order of the stats entries, null if the stats entry doesn't belong to a known flow.
+     */
     public static final String COOKIE_CACHE_FIELD = "cookie_cache";
     public static final String METER_CACHE_FIELD = "meter_cache";
 
+    @VisibleForTesting
+    static final int WARMUP_PAGE_SIZE = 500;
+
     public static final Fields statsWithCacheFields =
             new Fields(STATS_FIELD, COOKIE_CACHE_FIELD, METER_CACHE_FIELD, FIELD_ID_CONTEXT);
     /**
@@ -86,10 +97,14 @@ public class CacheBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
 
     /**
-     * Cookie to flow and meter to flow maps.
+     * (Switch, cookie) to flow and (switch, meter) to flow indexes. Stats and cache updates are grouped by switch, so
+     * the bolt task keeps only entries of the switches it is responsible for.
      */
-    private final Map<CookieCacheKey, CacheFlowEntry> cookieToFlow = new HashMap<>();
-    private final Map<MeterCacheKey, CacheFlowEntry> switchAndMeterToFlow = new HashMap<>();
+    private transient CacheFlowIndex cookieToFlow;
+    private transient CacheFlowIndex switchAndMeterToFlow;
+
+    private transient int taskIndex;
+    private transient int taskCount;
 
     public CacheBolt(PersistenceManager persistenceManager) {
         this.persistenceManager = persistenceManager;
@@ -97,49 +112,59 @@ public class CacheBolt extends AbstractBolt {
 
     private void initFlowCache(FlowRepository flowRepository) {
         try {
-            flowRepository.findAll().stream()
-                    .flatMap(this::extractAllFlowPaths)
-                    .forEach(path -> {
-                        long cookie = path.getCookie().getValue();
-                        String flowId = path.getFlow().getFlowId();
-                        SwitchId srcSwitchId = path.getSrcSwitchId();
-                        SwitchId dstSwitchId = path.getDestSwitchId();
-
-                        path.getSegments().stream()
-                                .skip(1) // src switch of first segment is path ingress switch
-                                .map(PathSegment::getSrcSwitch)
-                                .map(Switch::getSwitchId)
-                                .map(switchId -> new CookieCacheKey(switchId, cookie))
-                                .forEach(key -> cookieToFlow.put(key, new CacheFlowEntry(flowId, cookie, TRANSIT)));
-
-                        CookieCacheKey srcKey = new CookieCacheKey(srcSwitchId, cookie);
-
-                        if (path.isOneSwitchFlow()) {
-                            cookieToFlow.put(srcKey, new CacheFlowEntry(flowId, cookie, ONE_SWITCH));
-                        } else {
-                            cookieToFlow.put(srcKey, new CacheFlowEntry(flowId, cookie, INGRESS));
-                            cookieToFlow.putAll(makeFlowAttendantCookiesMapping(flowId, srcSwitchId, path.getCookie()));
-                            cookieToFlow.put(
-                                    new CookieCacheKey(dstSwitchId, cookie),
-                                    new CacheFlowEntry(flowId, cookie, EGRESS));
-                        }
-
-                        if (path.getMeterId() != null) {
-                            MeasurePoint measurePoint = path.isOneSwitchFlow() ? ONE_SWITCH : INGRESS;
-                            switchAndMeterToFlow.put(
-                                    new MeterCacheKey(srcSwitchId, path.getMeterId().getValue()),
-                                    new CacheFlowEntry(flowId, cookie, measurePoint));
-                        } else {
-                            log.warn("Flow {} has no meter ID", flowId);
-                        }
-                    });
-            logger.debug("cookieToFlow cache: {}, switchAndMeterToFlow cache: {}", cookieToFlow, switchAndMeterToFlow);
-            logger.info("Stats Cache: Initialized");
+            int flowCount = 0;
+            Iterator<Flow> flows = flowRepository.streamAll(WARMUP_PAGE_SIZE).iterator();
+            while (flows.hasNext()) {
+                extractAllFlowPaths(flows.next()).forEach(this::cacheFlowPath);
+                flowCount++;
+            }
+            logger.info("Stats Cache: Initialized with {} flows, cookieToFlow size: {}, switchAndMeterToFlow size: {}",
+                    flowCount, cookieToFlow.size(), switchAndMeterToFlow.size());
         } catch (Exception ex) {
             logger.error("Error on initFlowCache", ex);
         }
     }
 
+    private void cacheFlowPath(FlowPath path) {
+        long cookie = path.getCookie().getValue();
+        String flowId = path.getFlow().getFlowId();
+        SwitchId srcSwitchId = path.getSrcSwitchId();
+        SwitchId dstSwitchId = path.getDestSwitchId();
+
+        path.getSegments().stream()
+                .skip(1) // src switch of first segment is path ingress switch
+                .map(PathSegment::getSrcSwitch)
+                .map(Switch::getSwitchId)
+                .filter(this::isOwnSwitch)
+                .forEach(switchId -> cookieToFlow.put(switchId, cookie, new CacheFlowEntry(flowId, cookie, TRANSIT)));
+
+        if (isOwnSwitch(srcSwitchId)) {
+            if (path.isOneSwitchFlow()) {
+                cookieToFlow.put(srcSwitchId, cookie, new CacheFlowEntry(flowId, cookie, ONE_SWITCH));
+            } else {
+                cookieToFlow.put(srcSwitchId, cookie, new CacheFlowEntry(flowId, cookie, INGRESS));
+                putFlowAttendantCookies(flowId, srcSwitchId, path.getCookie());
+            }
+
+            if (path.getMeterId() != null) {
+                MeasurePoint measurePoint = path.isOneSwitchFlow() ? ONE_SWITCH : INGRESS;
+                switchAndMeterToFlow.put(srcSwitchId, path.getMeterId().getValue(),
+                        new CacheFlowEntry(flowId, cookie, measurePoint));
+            } else {
+                log.warn("Flow {} has no meter ID", flowId);
+            }
+        }
+        if (!path.isOneSwitchFlow() && isOwnSwitch(dstSwitchId)) {
+            cookieToFlow.put(dstSwitchId, cookie, new CacheFlowEntry(flowId, cookie, EGRESS));
+        }
+    }
+
+    private boolean isOwnSwitch(SwitchId switchId) {
+        // Must match the fields grouping of stats and cache updates, see StatsTopology.
+        return taskCount <= 1
+                || TupleUtils.chooseTaskIndex(Collections.singletonList(switchId), taskCount) == taskIndex;
+    }
+
     private Stream<FlowPath> extractAllFlowPaths(Flow flow) {
         return Stream.concat(
                 Stream.of(flow.getForwardPath(), flow.getProtectedForwardPath()).filter(Objects::nonNull),
@@ -147,12 +172,22 @@ public class CacheBolt extends AbstractBolt {
         );
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        taskIndex = context.getThisTaskIndex();
+        taskCount = context.getComponentTasks(context.getThisComponentId()).size();
+        super.prepare(stormConf, context, collector);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @PersistenceContextRequired(requiresNew = true)
     public void init() {
+        cookieToFlow = new CacheFlowIndex();
+        switchAndMeterToFlow = new CacheFlowIndex();
+
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         initFlowCache(repositoryFactory.createFlowRepository());
     }
@@ -173,18 +208,16 @@ public class CacheBolt extends AbstractBolt {
 
     private void handleGetDataFromCache(Tuple tuple) throws PipelineException {
         InfoData data = pullValue(tuple, STATS_FIELD, InfoData.class);
-        Map<Long, CacheFlowEntry> cookieDataCache = null;
-        Map<MeterCacheKey, CacheFlowEntry> meterDataCache = null;
+        CacheFlowEntry[] cookieDataCache = null;
+        CacheFlowEntry[] meterDataCache = null;
         String streamId;
 
         if (data instanceof FlowStatsData) {
             streamId = FLOW_STATS.name();
-            cookieDataCache = createCookieToFlowCache((FlowStatsData) data);
-            logger.debug("execute:cookieDataCache: {}", cookieDataCache);
+            cookieDataCache = resolveFlowStats((FlowStatsData) data);
         } else if (data instanceof MeterStatsData) {
             streamId = METER_STATS.name();
-            meterDataCache = createSwitchAndMeterToFlowCache((MeterStatsData) data);
-            logger.debug("execute:meterDataCache: {}", meterDataCache);
+            meterDataCache = resolveMeterStats((MeterStatsData) data);
         } else {
             unhandledInput(tuple);
             return;
@@ -210,42 +243,37 @@ public class CacheBolt extends AbstractBolt {
                 break;
             case REMOVE:
                 removeCookieFlowCache(switchId, cookie);
-                switchAndMeterToFlow.remove(new MeterCacheKey(switchId, meterId));
+                if (meterId != null) {
+                    switchAndMeterToFlow.remove(switchId, meterId);
+                }
                 break;
             default:
                 logger.error("invalid command");
                 break;
         }
 
-        logger.debug("updated cookieToFlow: {}", cookieToFlow);
+        logger.debug("updated cookieToFlow size: {}, switchAndMeterToFlow size: {}",
+                cookieToFlow.size(), switchAndMeterToFlow.size());
     }
 
     @VisibleForTesting
-    Map<Long, CacheFlowEntry> createCookieToFlowCache(FlowStatsData data) {
-        Map<Long, CacheFlowEntry> cache = new HashMap<>();
-
-        for (FlowStatsEntry entry : data.getStats()) {
-            CookieCacheKey key = new CookieCacheKey(data.getSwitchId(), entry.getCookie());
-            if (cookieToFlow.containsKey(key)) {
-                CacheFlowEntry cacheFlowEntry = cookieToFlow.get(key);
-                cache.put(entry.getCookie(), cacheFlowEntry);
-            }
+    CacheFlowEntry[] resolveFlowStats(FlowStatsData data) {
+        List<FlowStatsEntry> stats = data.getStats();
+        CacheFlowEntry[] result = new CacheFlowEntry[stats.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = cookieToFlow.get(data.getSwitchId(), stats.get(i).getCookie());
         }
-        return cache;
+        return result;
     }
 
     @VisibleForTesting
-    Map<MeterCacheKey, CacheFlowEntry> createSwitchAndMeterToFlowCache(MeterStatsData data) {
-        Map<MeterCacheKey, CacheFlowEntry> cache = new HashMap<>();
-
-        for (MeterStatsEntry entry : data.getStats()) {
-            MeterCacheKey key = new MeterCacheKey(data.getSwitchId(), entry.getMeterId());
-            if (switchAndMeterToFlow.containsKey(key)) {
-                CacheFlowEntry cacheEntry = switchAndMeterToFlow.get(key);
-                cache.put(key, cacheEntry);
-            }
+    CacheFlowEntry[] resolveMeterStats(MeterStatsData data) {
+        List<MeterStatsEntry> stats = data.getStats();
+        CacheFlowEntry[] result = new CacheFlowEntry[stats.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = switchAndMeterToFlow.get(data.getSwitchId(), stats.get(i).getMeterId());
         }
-        return cache;
+        return result;
     }
 
     /**
@@ -259,40 +287,30 @@ public class CacheBolt extends AbstractBolt {
 
     private void updateCookieFlowCache(
             Long cookie, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
-        cookieToFlow.put(new CookieCacheKey(switchId, cookie), new CacheFlowEntry(flowId, cookie, measurePoint));
+        cookieToFlow.put(switchId, cookie, new CacheFlowEntry(flowId, cookie, measurePoint));
         if (measurePoint == INGRESS) {
-            cookieToFlow.putAll(makeFlowAttendantCookiesMapping(flowId, switchId, cookie));
+            putFlowAttendantCookies(flowId, switchId, new FlowSegmentCookie(cookie));
         }
     }
 
     private void updateSwitchMeterFlowCache(
             Long cookie, Long meterId, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
-        MeterCacheKey key = new MeterCacheKey(switchId, meterId);
-        switchAndMeterToFlow.put(key, new CacheFlowEntry(flowId, cookie, measurePoint));
+        if (meterId != null) {
+            switchAndMeterToFlow.put(switchId, meterId, new CacheFlowEntry(flowId, cookie, measurePoint));
+        }
     }
 
     private void removeCookieFlowCache(SwitchId switchId, long cookie) {
-        cookieToFlow.remove(new CookieCacheKey(switchId, cookie));
+        cookieToFlow.remove(switchId, cookie);
         for (Long entry : makeAttendantFlowCookies(cookie)) {
-            cookieToFlow.remove(new CookieCacheKey(switchId, entry));
+            cookieToFlow.remove(switchId, entry);
         }
     }
 
-    private Map<CookieCacheKey, CacheFlowEntry> makeFlowAttendantCookiesMapping(
-            String flowId, SwitchId ingressSwitchId, long cookie) {
-        return makeFlowAttendantCookiesMapping(flowId, ingressSwitchId, new FlowSegmentCookie(cookie));
-    }
-
-    private Map<CookieCacheKey, CacheFlowEntry> makeFlowAttendantCookiesMapping(
-            String flowId, SwitchId ingressSwitchId, FlowSegmentCookie cookie) {
-        Map<CookieCacheKey, CacheFlowEntry> results = new HashMap<>();
-
+    private void putFlowAttendantCookies(String flowId, SwitchId ingressSwitchId, FlowSegmentCookie cookie) {
         long server42Cookie = cookie.toBuilder().type(CookieType.SERVER_42_INGRESS).build().getValue();
-        results.put(
-                new CookieCacheKey(ingressSwitchId, server42Cookie),
+        cookieToFlow.put(ingressSwitchId, server42Cookie,
                 new CacheFlowEntry(flowId, server42Cookie, INGRESS_ATTENDANT));
-
-        return results;
     }
 
     private Set<Long> makeAttendantFlowCookies(long rawCookie) {
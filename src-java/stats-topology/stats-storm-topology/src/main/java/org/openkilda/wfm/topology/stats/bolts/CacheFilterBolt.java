@@ -19,6 +19,7 @@ import static org.openkilda.wfm.AbstractBolt.FIELD_ID_CONTEXT;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.CACHE_UPDATE;
 
 import org.openkilda.floodlight.api.request.EgressFlowSegmentInstallRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
 import org.openkilda.floodlight.api.request.IngressFlowSegmentInstallRequest;
 import org.openkilda.floodlight.api.request.OneSwitchFlowInstallRequest;
@@ -163,6 +164,10 @@ public class CacheFilterBolt extends BaseRichBolt {
     private void handleSpeakerCommand(Tuple input, AbstractMessage request) {
         if (request instanceof FlowSegmentRequest) {
             handleSpeakerCommand(input, (FlowSegmentRequest) request);
+        } else if (request instanceof FlowSegmentBatchRequest) {
+            for (FlowSegmentRequest entry : ((FlowSegmentBatchRequest) request).getRequests()) {
+                handleSpeakerCommand(input, entry);
+            }
         } else if (logger.isDebugEnabled()) {
             logger.debug("Ignore speaker command: {}", request);
         }
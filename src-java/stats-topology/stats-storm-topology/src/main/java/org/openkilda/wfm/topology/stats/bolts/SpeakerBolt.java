@@ -70,14 +70,15 @@ public class SpeakerBolt extends AbstractBolt {
             emitWithContext(METER_CFG_STATS_STREAM, tuple, new Values(infoMessage));
         } else if (data instanceof MeterStatsData) {
             logger.debug("Meter stats message: {}", infoMessage);
-            emitWithContext(CACHE_STREAM, tuple, new Values(data));
+            emitWithContext(CACHE_STREAM, tuple, new Values(data, ((MeterStatsData) data).getSwitchId()));
         } else if (data instanceof FlowStatsData) {
             logger.debug("Flow stats message: {}", infoMessage);
             ImmutablePair<FlowStatsData, FlowStatsData> splitData =
                     splitSystemRuleStatsAndFlowStats((FlowStatsData) data);
 
             emitWithContext(SYSTEM_RULES_STATS_STREAM, tuple, new Values(splitData.getKey()));
-            emitWithContext(CACHE_STREAM, tuple, new Values(splitData.getValue()));
+            FlowStatsData flowStats = splitData.getValue();
+            emitWithContext(CACHE_STREAM, tuple, new Values(flowStats, flowStats.getSwitchId()));
         } else if (data instanceof SwitchTableStatsData) {
             logger.debug("Table stats message: {}", infoMessage);
             emitWithContext(TABLE_STATS_STREAM, tuple, new Values(data));
@@ -117,7 +118,8 @@ public class SpeakerBolt extends AbstractBolt {
         outputFieldsDeclarer.declareStream(METER_CFG_STATS_STREAM, fields);
 
         Fields statsFields = new Fields(StatsTopology.STATS_FIELD, FIELD_ID_CONTEXT);
-        outputFieldsDeclarer.declareStream(CACHE_STREAM, statsFields);
+        outputFieldsDeclarer.declareStream(CACHE_STREAM, new Fields(
+                StatsTopology.STATS_FIELD, StatsTopology.SWITCH_ID_FIELD, FIELD_ID_CONTEXT));
         outputFieldsDeclarer.declareStream(SYSTEM_RULES_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(TABLE_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(PACKET_IN_OUT_STATS_STREAM, statsFields);
@@ -35,6 +35,7 @@ import org.openkilda.wfm.topology.stats.FlowDirectionHelper.Direction;
 import org.apache.storm.tuple.Tuple;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -44,22 +45,22 @@ import javax.annotation.Nullable;
  */
 public class FlowMetricGenBolt extends MetricGenBolt {
 
-    public FlowMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public FlowMetricGenBolt(String metricPrefix, boolean batchEnabled) {
+        super(metricPrefix, batchEnabled);
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
-        Map<Long, CacheFlowEntry> dataCache = (Map<Long, CacheFlowEntry>) input.getValueByField(COOKIE_CACHE_FIELD);
-        log.debug("dataCache in FlowMetricGenBolt {}", dataCache);
+        CacheFlowEntry[] flowEntries = (CacheFlowEntry[]) input.getValueByField(COOKIE_CACHE_FIELD);
 
         FlowStatsData data = (FlowStatsData) input.getValueByField(STATS_FIELD);
         long timestamp = pullContext(input).getCreateTime();
         SwitchId switchId = data.getSwitchId();
 
-        for (FlowStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
-            emit(entry, timestamp, switchId, flowEntry);
+        List<FlowStatsEntry> stats = data.getStats();
+        for (int i = 0; i < stats.size(); i++) {
+            @Nullable CacheFlowEntry flowEntry = flowEntries[i];
+            emit(stats.get(i), timestamp, switchId, flowEntry);
         }
     }
 
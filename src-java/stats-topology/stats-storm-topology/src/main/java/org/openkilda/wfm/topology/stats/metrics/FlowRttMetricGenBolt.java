@@ -31,8 +31,8 @@ public class FlowRttMetricGenBolt extends MetricGenBolt {
 
     public static final long TEN_TO_NINE = 1_000_000_000;
 
-    public FlowRttMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public FlowRttMetricGenBolt(String metricPrefix, boolean batchEnabled) {
+        super(metricPrefix, batchEnabled);
     }
 
     @Override
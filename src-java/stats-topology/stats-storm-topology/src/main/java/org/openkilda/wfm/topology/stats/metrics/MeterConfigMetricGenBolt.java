@@ -29,8 +29,8 @@ import java.util.Map;
 
 public class MeterConfigMetricGenBolt extends MetricGenBolt {
 
-    public MeterConfigMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public MeterConfigMetricGenBolt(String metricPrefix, boolean batchEnabled) {
+        super(metricPrefix, batchEnabled);
     }
 
     @Override
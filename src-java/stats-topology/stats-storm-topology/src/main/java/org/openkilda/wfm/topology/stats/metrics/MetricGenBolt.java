@@ -19,11 +19,13 @@ import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
+import org.openkilda.wfm.share.metrics.DatapointBatchEncoder;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.AbstractTopology;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
 
 import java.util.Collections;
 import java.util.List;
@@ -31,10 +33,38 @@ import java.util.Map;
 
 public abstract class MetricGenBolt extends AbstractBolt {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private MetricFormatter metricFormatter;
+    private final boolean batchEnabled;
+
+    private transient DatapointBatchEncoder batch;
 
-    public MetricGenBolt(String metricPrefix) {
+    /**
+     * Creates the bolt.
+     *
+     * @param batchEnabled if true, all datapoints produced from an input tuple are emitted as a binary
+     *     {@link DatapointBatchEncoder batch} in a single tuple instead of a JSON encoded tuple per datapoint.
+     */
+    public MetricGenBolt(String metricPrefix, boolean batchEnabled) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
+        this.batchEnabled = batchEnabled;
+    }
+
+    @Override
+    protected void init() {
+        if (batchEnabled) {
+            batch = new DatapointBatchEncoder();
+        }
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        try {
+            super.dispatch(input);
+        } finally {
+            flushBatch();
+        }
     }
 
     protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
@@ -50,6 +80,14 @@ public abstract class MetricGenBolt extends AbstractBolt {
     }
 
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
+        if (batch != null) {
+            batch.add(metricFormatter.format(metric), timestamp, value, tag);
+            if (batch.size() >= MAX_BATCH_SIZE) {
+                flushBatch();
+            }
+            return;
+        }
+
         try {
             getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
         } catch (JsonEncodeException e) {
@@ -57,6 +95,12 @@ public abstract class MetricGenBolt extends AbstractBolt {
         }
     }
 
+    private void flushBatch() {
+        if (batch != null && !batch.isEmpty()) {
+            getOutput().emit(Collections.singletonList(batch.encode()));
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
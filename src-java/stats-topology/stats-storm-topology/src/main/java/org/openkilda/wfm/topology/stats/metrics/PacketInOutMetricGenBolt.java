@@ -27,8 +27,8 @@ import java.util.Map;
 
 public class PacketInOutMetricGenBolt extends MetricGenBolt {
 
-    public PacketInOutMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public PacketInOutMetricGenBolt(String metricPrefix, boolean batchEnabled) {
+        super(metricPrefix, batchEnabled);
     }
 
     @Override
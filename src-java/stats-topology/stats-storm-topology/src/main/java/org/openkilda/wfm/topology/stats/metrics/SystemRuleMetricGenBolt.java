@@ -31,8 +31,8 @@ import java.util.Map;
 @Slf4j
 public class SystemRuleMetricGenBolt extends MetricGenBolt {
 
-    public SystemRuleMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public SystemRuleMetricGenBolt(String metricPrefix, boolean batchEnabled) {
+        super(metricPrefix, batchEnabled);
     }
 
     @Override
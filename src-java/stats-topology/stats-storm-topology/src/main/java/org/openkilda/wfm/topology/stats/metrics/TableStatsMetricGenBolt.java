@@ -28,8 +28,8 @@ import java.util.Map;
 
 public class TableStatsMetricGenBolt extends MetricGenBolt {
 
-    public TableStatsMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public TableStatsMetricGenBolt(String metricPrefix, boolean batchEnabled) {
+        super(metricPrefix, batchEnabled);
     }
 
     @Override
@@ -0,0 +1,80 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+public class CacheFlowIndexTest {
+    private static final SwitchId SWITCH_A = new SwitchId(1L);
+    private static final SwitchId SWITCH_B = new SwitchId(2L);
+
+    private final CacheFlowIndex index = new CacheFlowIndex();
+
+    @Test
+    public void shouldDistinguishSwitches() {
+        CacheFlowEntry first = new CacheFlowEntry("flow-1", 1L, MeasurePoint.INGRESS);
+        CacheFlowEntry second = new CacheFlowEntry("flow-1", 1L, MeasurePoint.EGRESS);
+        index.put(SWITCH_A, 1L, first);
+        index.put(SWITCH_B, 1L, second);
+
+        assertSame(first, index.get(SWITCH_A, 1L));
+        assertSame(second, index.get(SWITCH_B, 1L));
+        assertNull(index.get(SWITCH_A, 2L));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void shouldReplaceAndRemoveEntry() {
+        CacheFlowEntry first = new CacheFlowEntry("flow-1", 1L, MeasurePoint.INGRESS);
+        CacheFlowEntry second = new CacheFlowEntry("flow-2", 1L, MeasurePoint.INGRESS);
+        index.put(SWITCH_A, 1L, first);
+        index.put(SWITCH_A, 1L, second);
+        assertSame(second, index.get(SWITCH_A, 1L));
+        assertEquals(1, index.size());
+
+        index.remove(SWITCH_A, 1L);
+        index.remove(SWITCH_A, 1L);
+        assertNull(index.get(SWITCH_A, 1L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void shouldKeepEntriesWhileGrowingAndRemoving() {
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            index.put(new SwitchId(i % 7), i, new CacheFlowEntry("flow-" + i, (long) i, MeasurePoint.TRANSIT));
+        }
+        for (int i = 0; i < count; i += 2) {
+            index.remove(new SwitchId(i % 7), i);
+        }
+
+        assertEquals(count / 2, index.size());
+        for (int i = 0; i < count; i++) {
+            CacheFlowEntry entry = index.get(new SwitchId(i % 7), i);
+            if (i % 2 == 0) {
+                assertNull(entry);
+            } else {
+                assertEquals("flow-" + i, entry.getFlowId());
+            }
+        }
+    }
+}
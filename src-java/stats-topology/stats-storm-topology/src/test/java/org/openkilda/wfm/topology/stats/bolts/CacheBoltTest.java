@@ -16,6 +16,8 @@
 package org.openkilda.wfm.topology.stats.bolts;
 
 import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.openkilda.wfm.topology.stats.MeasurePoint.EGRESS;
 import static org.openkilda.wfm.topology.stats.MeasurePoint.INGRESS;
@@ -38,8 +40,9 @@ import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.MeasurePoint;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -48,9 +51,11 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CacheBoltTest {
@@ -79,28 +84,28 @@ public class CacheBoltTest {
     @Test
     public void cacheBoltInitCookieTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
+        when(flowRepository.streamAll(CacheBolt.WARMUP_PAGE_SIZE)).thenAnswer(invocation -> Stream.of(flow));
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
         CacheBolt cacheBolt = new CacheBolt(persistenceManager);
         cacheBolt.init();
 
-        Map<Long, CacheFlowEntry> srcCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataSrcSwitch());
+        Map<Long, CacheFlowEntry> srcCache = resolveFlowStats(cacheBolt, getFlowStatsDataSrcSwitch());
 
         Assert.assertEquals(3, srcCache.size());
         assertCookieCache(flow, srcCache, FORWARD_PATH_COOKIE, INGRESS);
         assertCookieCache(flow, srcCache, REVERSE_PATH_COOKIE, EGRESS);
         assertCookieCache(flow, srcCache, PROTECTED_REVERSE_PATH_COOKIE, EGRESS);
 
-        Map<Long, CacheFlowEntry> dstCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataDstSwitch());
+        Map<Long, CacheFlowEntry> dstCache = resolveFlowStats(cacheBolt, getFlowStatsDataDstSwitch());
 
         Assert.assertEquals(3, dstCache.size());
         assertCookieCache(flow, dstCache, FORWARD_PATH_COOKIE, EGRESS);
         assertCookieCache(flow, dstCache, REVERSE_PATH_COOKIE, INGRESS);
         assertCookieCache(flow, dstCache, PROTECTED_FORWARD_PATH_COOKIE, EGRESS);
 
-        Map<Long, CacheFlowEntry> transitCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataTransitSwitch());
+        Map<Long, CacheFlowEntry> transitCache = resolveFlowStats(cacheBolt, getFlowStatsDataTransitSwitch());
 
         Assert.assertEquals(4, transitCache.size());
         assertCookieCache(flow, transitCache, REVERSE_PATH_COOKIE, TRANSIT);
@@ -112,29 +117,107 @@ public class CacheBoltTest {
     @Test
     public void cacheBoltInitMeterTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
+        when(flowRepository.streamAll(CacheBolt.WARMUP_PAGE_SIZE)).thenAnswer(invocation -> Stream.of(flow));
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
         CacheBolt cacheBolt = new CacheBolt(persistenceManager);
         cacheBolt.init();
 
-        Map<MeterCacheKey, CacheFlowEntry> srcCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataSrcSwitch());
+        Map<Long, CacheFlowEntry> srcCache = resolveMeterStats(cacheBolt, getMeterStatsDataSrcSwitch());
 
         Assert.assertEquals(2, srcCache.size());
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, FORWARD_METER_ID, FORWARD_PATH_COOKIE);
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, PROTECTED_FORWARD_METER_ID, PROTECTED_FORWARD_PATH_COOKIE);
+        assertMeterCache(flow, srcCache, FORWARD_METER_ID, FORWARD_PATH_COOKIE);
+        assertMeterCache(flow, srcCache, PROTECTED_FORWARD_METER_ID, PROTECTED_FORWARD_PATH_COOKIE);
 
-        Map<MeterCacheKey, CacheFlowEntry> dstCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataDstSwitch());
+        Map<Long, CacheFlowEntry> dstCache = resolveMeterStats(cacheBolt, getMeterStatsDataDstSwitch());
         Assert.assertEquals(2, dstCache.size());
 
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, REVERSE_METER_ID, REVERSE_PATH_COOKIE);
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, PROTECTED_REVERSE_METER_ID, PROTECTED_REVERSE_PATH_COOKIE);
+        assertMeterCache(flow, dstCache, REVERSE_METER_ID, REVERSE_PATH_COOKIE);
+        assertMeterCache(flow, dstCache, PROTECTED_REVERSE_METER_ID, PROTECTED_REVERSE_PATH_COOKIE);
+    }
+
+    @Test
+    public void cacheBoltWarmsUpAllStreamedFlows() {
+        List<Flow> flows = new ArrayList<>();
+        for (int i = 0; i <= CacheBolt.WARMUP_PAGE_SIZE; i++) {
+            flows.add(getFlow());
+        }
+        when(flowRepository.streamAll(CacheBolt.WARMUP_PAGE_SIZE)).thenAnswer(invocation -> flows.stream());
+        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+
+        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
+        cacheBolt.init();
+
+        // All the flows share cookies, so the entries of the last loaded flow win.
+        Map<Long, CacheFlowEntry> srcCache = resolveFlowStats(cacheBolt, getFlowStatsDataSrcSwitch());
+        assertCookieCache(flows.get(flows.size() - 1), srcCache, FORWARD_PATH_COOKIE, INGRESS);
+    }
+
+    @Test
+    public void cacheBoltKeepsOnlyOwnSwitches() {
+        Flow flow = getFlow();
+        when(flowRepository.streamAll(CacheBolt.WARMUP_PAGE_SIZE)).thenAnswer(invocation -> Stream.of(flow));
+        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+
+        int taskCount = 2;
+        List<CacheBolt> bolts = new ArrayList<>();
+        for (int taskIndex = 0; taskIndex < taskCount; taskIndex++) {
+            CacheBolt cacheBolt = new CacheBolt(persistenceManager);
+            cacheBolt.prepare(Collections.emptyMap(), mockTopologyContext(taskIndex, taskCount),
+                    mock(OutputCollector.class));
+            bolts.add(cacheBolt);
+        }
+
+        for (FlowStatsData data : asList(getFlowStatsDataSrcSwitch(), getFlowStatsDataDstSwitch(),
+                getFlowStatsDataTransitSwitch())) {
+            int ownerCount = 0;
+            for (CacheBolt cacheBolt : bolts) {
+                if (!resolveFlowStats(cacheBolt, data).isEmpty()) {
+                    ownerCount++;
+                }
+            }
+            Assert.assertEquals(1, ownerCount);
+        }
+    }
+
+    private TopologyContext mockTopologyContext(int taskIndex, int taskCount) {
+        List<Integer> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(i + 1);
+        }
+        TopologyContext context = mock(TopologyContext.class);
+        when(context.getThisTaskIndex()).thenReturn(taskIndex);
+        when(context.getThisTaskId()).thenReturn(tasks.get(taskIndex));
+        when(context.getThisComponentId()).thenReturn("cache");
+        when(context.getComponentTasks(any())).thenReturn(tasks);
+        return context;
+    }
+
+    private Map<Long, CacheFlowEntry> resolveFlowStats(CacheBolt cacheBolt, FlowStatsData data) {
+        CacheFlowEntry[] entries = cacheBolt.resolveFlowStats(data);
+        Assert.assertEquals(data.getStats().size(), entries.length);
+        Map<Long, CacheFlowEntry> result = new HashMap<>();
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != null) {
+                result.put(data.getStats().get(i).getCookie(), entries[i]);
+            }
+        }
+        return result;
+    }
 
-        Map<MeterCacheKey, CacheFlowEntry> transitCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataDstSwitch());
+    private Map<Long, CacheFlowEntry> resolveMeterStats(CacheBolt cacheBolt, MeterStatsData data) {
+        CacheFlowEntry[] entries = cacheBolt.resolveMeterStats(data);
+        Assert.assertEquals(data.getStats().size(), entries.length);
+        Map<Long, CacheFlowEntry> result = new HashMap<>();
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != null) {
+                result.put(data.getStats().get(i).getMeterId(), entries[i]);
+            }
+        }
+        return result;
     }
 
     private void assertCookieCache(Flow flow, Map<Long, CacheFlowEntry> cookieToFlowCache, Long cookie,
@@ -145,9 +228,8 @@ public class CacheBoltTest {
         Assert.assertEquals(measurePoint, entry.getMeasurePoint());
     }
 
-    private void assertMeterCache(Flow flow, SwitchId switchId, Map<MeterCacheKey, CacheFlowEntry> cache,
-                                  Long meterId, Long cookie) {
-        CacheFlowEntry entry = cache.get(new MeterCacheKey(switchId, meterId));
+    private void assertMeterCache(Flow flow, Map<Long, CacheFlowEntry> cache, Long meterId, Long cookie) {
+        CacheFlowEntry entry = cache.get(meterId);
         Assert.assertEquals(flow.getFlowId(), entry.getFlowId());
         Assert.assertEquals(cookie, entry.getCookie());
     }